@@ -0,0 +1,55 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.runtime;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/** Entry of a {@link CheckedMap}, validating new values with the map's put method. */
+class CheckedEntry<K, V> implements Map.Entry<K, V> {
+
+  private final Map.Entry<K, V> entry;
+  private final BiConsumer<K, V> put;
+
+  CheckedEntry(Map.Entry<K, V> entry, BiConsumer<K, V> put) {
+    this.entry = entry;
+    this.put = put;
+  }
+
+  @Override public K getKey() {
+    return entry.getKey();
+  }
+
+  @Override public V getValue() {
+    return entry.getValue();
+  }
+
+  @Override public V setValue(V value) {
+    Objects.requireNonNull(value);
+    V oldValue = entry.getValue();
+    put.accept(entry.getKey(), value);
+    return oldValue;
+  }
+
+  @Override public boolean equals(Object o) {
+    return entry.equals(o);
+  }
+
+  @Override public int hashCode() {
+    return entry.hashCode();
+  }
+}
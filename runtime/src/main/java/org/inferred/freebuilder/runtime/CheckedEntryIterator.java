@@ -0,0 +1,44 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.runtime;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/** Entry iterator of a {@link CheckedMap}. */
+class CheckedEntryIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+
+  private final Iterator<Map.Entry<K, V>> iterator;
+  private final BiConsumer<K, V> put;
+
+  CheckedEntryIterator(Iterator<Map.Entry<K, V>> iterator, BiConsumer<K, V> put) {
+    this.iterator = iterator;
+    this.put = put;
+  }
+
+  @Override public boolean hasNext() {
+    return iterator.hasNext();
+  }
+
+  @Override public Map.Entry<K, V> next() {
+    return new CheckedEntry<K, V>(iterator.next(), put);
+  }
+
+  @Override public void remove() {
+    iterator.remove();
+  }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.runtime;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/** Entry set of a {@link CheckedMap}. */
+class CheckedEntrySet<K, V> extends AbstractSet<Map.Entry<K, V>> {
+
+  private final Set<Map.Entry<K, V>> set;
+  private final BiConsumer<K, V> put;
+
+  CheckedEntrySet(Set<Map.Entry<K, V>> set, BiConsumer<K, V> put) {
+    this.set = set;
+    this.put = put;
+  }
+
+  @Override public int size() {
+    return set.size();
+  }
+
+  @Override public Iterator<Map.Entry<K, V>> iterator() {
+    return new CheckedEntryIterator<K, V>(set.iterator(), put);
+  }
+
+  @Override public boolean contains(Object o) {
+    return set.contains(o);
+  }
+
+  @Override public boolean remove(Object o) {
+    return set.remove(o);
+  }
+
+  @Override public void clear() {
+    set.clear();
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.runtime;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * A list implementation that delegates to a provided add method to perform
+ * element validation and insertion into a random-access backing list.
+ */
+public class CheckedList<E> extends AbstractList<E> implements RandomAccess {
+
+  private final List<E> list;
+  private final Consumer<E> add;
+
+  public CheckedList(List<E> list, Consumer<E> add) {
+    this.list = list;
+    this.add = add;
+  }
+
+  @Override public int size() {
+    return list.size();
+  }
+
+  @Override public E get(int index) {
+    return list.get(index);
+  }
+
+  @Override public E set(int index, E element) {
+    add.accept(element);
+    return list.set(index, list.remove(list.size() - 1));
+  }
+
+  @Override public void add(int index, E element) {
+    // Append to the end of the list with add, then move the inserted element
+    // to the desired location.
+    int endIndex = list.size();
+    add.accept(element);
+    if (index != endIndex) {
+      list.add(index, list.remove(endIndex));
+    }
+  }
+
+  @Override public boolean addAll(Collection<? extends E> elements) {
+    int size = list.size();
+    for (Object element : elements.toArray()) {
+      @SuppressWarnings("unchecked")
+      E e = (E) element;
+      add.accept(e);
+    }
+    return list.size() != size;
+  }
+
+  @Override public boolean addAll(int index, Collection<? extends E> elements) {
+    // Append all elements to the end of the list with add, then rotate the
+    // inserted elements to the desired location in a single pass.
+    int endIndex = list.size();
+    if (index < 0 || index > endIndex) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + endIndex);
+    }
+    addAll(elements);
+    int inserted = list.size() - endIndex;
+    if (index != endIndex && inserted != 0) {
+      Collections.rotate(list.subList(index, list.size()), inserted);
+    }
+    return inserted != 0;
+  }
+
+  @Override public void replaceAll(UnaryOperator<E> operator) {
+    // Append all replacement elements to the end of the list with add, then
+    // remove the originals in a single pass.
+    int size = list.size();
+    try {
+      for (int i = 0; i < size; i++) {
+        add.accept(operator.apply(list.get(i)));
+      }
+    } catch (RuntimeException e) {
+      list.subList(size, list.size()).clear();
+      throw e;
+    }
+    list.subList(0, size).clear();
+  }
+
+  @Override public boolean removeIf(Predicate<? super E> filter) {
+    return list.removeIf(filter);
+  }
+
+  @Override public E remove(int index) {
+    return list.remove(index);
+  }
+
+  @Override public void clear() {
+    list.clear();
+  }
+
+  @Override protected void removeRange(int fromIndex, int toIndex) {
+    list.subList(fromIndex, toIndex).clear();
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.runtime;
+
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A map implementation that delegates to a provided put method
+ * to perform entry validation and insertion into a backing map.
+ */
+public class CheckedMap<K, V> extends AbstractMap<K, V> {
+
+  private final Map<K, V> map;
+  private final BiConsumer<K, V> put;
+
+  public CheckedMap(Map<K, V> map, BiConsumer<K, V> put) {
+    this.map = map;
+    this.put = put;
+  }
+
+  @Override public V get(Object key) {
+    return map.get(key);
+  }
+
+  @Override public boolean containsKey(Object key) {
+    return map.containsKey(key);
+  }
+
+  @Override public V put(K key, V value) {
+    V oldValue = map.get(key);
+    put.accept(key, value);
+    return oldValue;
+  }
+
+  @Override public void putAll(Map<? extends K, ? extends V> entries) {
+    for (Map.Entry<? extends K, ? extends V> entry : entries.entrySet()) {
+      put.accept(entry.getKey(), entry.getValue());
+    }
+  }
+
+  @Override public V computeIfAbsent(
+      K key, Function<? super K, ? extends V> mappingFunction) {
+    V value = map.get(key);
+    if (value == null) {
+      value = mappingFunction.apply(key);
+      if (value != null) {
+        put.accept(key, value);
+        // The builder's put method may have substituted a different value
+        value = map.get(key);
+      }
+    }
+    return value;
+  }
+
+  @Override public void replaceAll(
+      BiFunction<? super K, ? super V, ? extends V> function) {
+    for (Map.Entry<K, V> entry : map.entrySet()) {
+      K key = entry.getKey();
+      put.accept(key, function.apply(key, entry.getValue()));
+    }
+  }
+
+  @Override public V remove(Object key) {
+    return map.remove(key);
+  }
+
+  @Override public void clear() {
+    map.clear();
+  }
+
+  @Override public Set<Map.Entry<K, V>> entrySet() {
+    return new CheckedEntrySet<>(map.entrySet(), put);
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.runtime;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ForwardingMultiset;
+import com.google.common.collect.Multiset;
+
+import java.util.Collection;
+import java.util.function.BiConsumer;
+
+import javax.annotation.Nullable;
+
+/**
+ * A multiset implementation that delegates to a provided setCount method
+ * to perform element validation and insertion into a backing multiset.
+ */
+public class CheckedMultiset<E> extends ForwardingMultiset<E> {
+
+  private final Multiset<E> multiset;
+  private final BiConsumer<E, Integer> setCount;
+
+  public CheckedMultiset(Multiset<E> multiset, BiConsumer<E, Integer> setCount) {
+    this.multiset = multiset;
+    this.setCount = setCount;
+  }
+
+  @Override protected Multiset<E> delegate() {
+    return multiset;
+  }
+
+  @Override public boolean add(@Nullable E element) {
+    return standardAdd(element);
+  }
+
+  @Override public int add(@Nullable E element, int occurrences) {
+    Preconditions.checkArgument(occurrences >= 0,
+        "occurrences cannot be negative: %s", occurrences);
+    int oldCount = multiset.count(element);
+    if (occurrences > 0) {
+      long newCount = (long) oldCount + occurrences;
+      Preconditions.checkArgument(newCount <= Integer.MAX_VALUE,
+          "too many occurrences: %s", newCount);
+      setCount.accept(element, (int) newCount);
+    }
+    return oldCount;
+  }
+
+  @Override public boolean addAll(Collection<? extends E> elementsToAdd) {
+    if (elementsToAdd instanceof Multiset) {
+      // Validate each distinct element once, with its total count.
+      for (Multiset.Entry<? extends E> entry
+          : ((Multiset<? extends E>) elementsToAdd).entrySet()) {
+        add(entry.getElement(), entry.getCount());
+      }
+    } else {
+      for (E element : elementsToAdd) {
+        add(element, 1);
+      }
+    }
+    return !elementsToAdd.isEmpty();
+  }
+
+  @Override public int setCount(@Nullable E element, int count) {
+    return standardSetCount(element, count);
+  }
+
+  @Override public boolean setCount(
+      @Nullable E element, int oldCount, int newCount) {
+    return standardSetCount(element, oldCount, newCount);
+  }
+}
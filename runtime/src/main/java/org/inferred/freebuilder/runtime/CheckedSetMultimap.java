@@ -0,0 +1,91 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.runtime;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ForwardingSetMultimap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Multimap;
+import com.google.common.collect.Multimaps;
+import com.google.common.collect.SetMultimap;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import javax.annotation.Nullable;
+
+/**
+ * A multimap implementation that delegates to a provided put method
+ * to perform entry validation and insertion into a backing multimap.
+ */
+public class CheckedSetMultimap<K, V> extends ForwardingSetMultimap<K, V> {
+
+  private final SetMultimap<K, V> multimap;
+  private final BiConsumer<K, V> put;
+
+  public CheckedSetMultimap(SetMultimap<K, V> multimap, BiConsumer<K, V> put) {
+    this.multimap = multimap;
+    this.put = put;
+  }
+
+  @Override protected SetMultimap<K, V> delegate() {
+    return multimap;
+  }
+
+  @Override public boolean put(@Nullable K key, @Nullable V value) {
+    put.accept(key, value);
+    return true;
+  }
+
+  @Override public boolean putAll(@Nullable K key, Iterable<? extends V> values) {
+    boolean anyModified = false;
+    for (V value : values) {
+      put.accept(key, value);
+      anyModified = true;
+    }
+    return anyModified;
+  }
+
+  @Override public boolean putAll(Multimap<? extends K, ? extends V> multimap) {
+    boolean anyModified = false;
+    for (Map.Entry<? extends K, ? extends V> entry : multimap.entries()) {
+      put.accept(entry.getKey(), entry.getValue());
+      anyModified = true;
+    }
+    return anyModified;
+  }
+
+  @Override
+  public Set<V> replaceValues(@Nullable K key, Iterable<? extends V> values) {
+    Preconditions.checkNotNull(values);
+    Set<V> result = removeAll(key);
+    putAll(key, values);
+    return result;
+  }
+
+  @Override public Set<V> get(@Nullable K key) {
+    return new CheckedSet<>(
+        multimap.get(key), value -> put.accept(key, value));
+  }
+
+  @Override public Map<K, Collection<V>> asMap() {
+    return Maps.transformEntries(Multimaps.asMap(multimap), (key, values) ->
+        (Collection<V>) new CheckedSet<>(
+            values, value -> put.accept(key, value)));
+  }
+}
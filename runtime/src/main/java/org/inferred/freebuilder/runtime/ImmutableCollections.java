@@ -0,0 +1,69 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.runtime;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Unmodifiable copies of collections, used by generated builders when Guava is not available.
+ */
+public class ImmutableCollections {
+
+  @SuppressWarnings("unchecked")
+  public static <E> List<E> immutableList(List<E> elements, Class<E> type) {
+    switch (elements.size()) {
+    case 0:
+      return Collections.emptyList();
+    case 1:
+      return Collections.singletonList(elements.get(0));
+    default:
+      return Collections.unmodifiableList(Arrays.asList(elements.toArray(
+          (E[]) Array.newInstance(type, elements.size()))));
+    }
+  }
+
+  public static <E> Set<E> immutableSet(Set<E> elements) {
+    switch (elements.size()) {
+    case 0:
+      return Collections.emptySet();
+    case 1:
+      return Collections.singleton(elements.iterator().next());
+    default:
+      return Collections.unmodifiableSet(new LinkedHashSet<>(elements));
+    }
+  }
+
+  public static <K, V> Map<K, V> immutableMap(Map<K, V> entries) {
+    switch (entries.size()) {
+    case 0:
+      return Collections.emptyMap();
+    case 1:
+      Map.Entry<K, V> entry = entries.entrySet().iterator().next();
+      return Collections.singletonMap(entry.getKey(), entry.getValue());
+    default:
+      return Collections.unmodifiableMap(new LinkedHashMap<>(entries));
+    }
+  }
+
+  private ImmutableCollections() {}
+}
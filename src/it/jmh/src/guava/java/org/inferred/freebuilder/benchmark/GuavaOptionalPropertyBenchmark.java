@@ -0,0 +1,103 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.benchmark;
+
+import com.google.common.base.Optional;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Benchmarks the code generated for a Guava {@link Optional} property. */
+@State(Scope.Thread)
+public class GuavaOptionalPropertyBenchmark {
+
+  private static final Optional<String> NAME = Optional.of("beta");
+
+  private GuavaOptionalProperty value;
+  private GuavaOptionalProperty equalValue;
+
+  @Setup
+  public void setUp() {
+    value = newPopulatedBuilder().build();
+    equalValue = newPopulatedBuilder().build();
+  }
+
+  @Benchmark
+  public GuavaOptionalProperty.Builder newBuilder() {
+    return new GuavaOptionalProperty.Builder();
+  }
+
+  @Benchmark
+  public GuavaOptionalProperty.Builder set() {
+    return new GuavaOptionalProperty.Builder().setName("beta");
+  }
+
+  @Benchmark
+  public GuavaOptionalProperty.Builder setOptional() {
+    return new GuavaOptionalProperty.Builder().setName(NAME);
+  }
+
+  @Benchmark
+  public GuavaOptionalProperty.Builder setNullable() {
+    return new GuavaOptionalProperty.Builder().setNullableName(null);
+  }
+
+  @Benchmark
+  public GuavaOptionalProperty.Builder map() {
+    return newPopulatedBuilder().mapName(String::toUpperCase);
+  }
+
+  @Benchmark
+  public GuavaOptionalProperty.Builder clear() {
+    return newPopulatedBuilder().clearName();
+  }
+
+  @Benchmark
+  public GuavaOptionalProperty build() {
+    return newPopulatedBuilder().build();
+  }
+
+  @Benchmark
+  public GuavaOptionalProperty fromBuild() {
+    return GuavaOptionalProperty.Builder.from(value).build();
+  }
+
+  @Benchmark
+  public GuavaOptionalProperty.Builder mergeFrom() {
+    return new GuavaOptionalProperty.Builder().mergeFrom(value);
+  }
+
+  @Benchmark
+  public boolean valueEquals() {
+    return value.equals(equalValue);
+  }
+
+  @Benchmark
+  public int valueHashCode() {
+    return value.hashCode();
+  }
+
+  @Benchmark
+  public String valueToString() {
+    return value.toString();
+  }
+
+  private static GuavaOptionalProperty.Builder newPopulatedBuilder() {
+    return new GuavaOptionalProperty.Builder().setName("alpha");
+  }
+}
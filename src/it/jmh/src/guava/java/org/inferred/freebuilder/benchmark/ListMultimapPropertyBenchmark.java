@@ -0,0 +1,119 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.benchmark;
+
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ListMultimap;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.List;
+
+/** Benchmarks the code generated for a {@link ListMultimap} property. */
+@State(Scope.Thread)
+public class ListMultimapPropertyBenchmark {
+
+  private static final List<String> TAGS = Arrays.asList("alpha", "beta", "gamma");
+  private static final ListMultimap<String, String> ALL_TAGS =
+      ImmutableListMultimap.of("a", "alpha", "b", "beta", "c", "gamma");
+
+  private ListMultimapProperty value;
+  private ListMultimapProperty equalValue;
+
+  @Setup
+  public void setUp() {
+    value = newPopulatedBuilder().build();
+    equalValue = newPopulatedBuilder().build();
+  }
+
+  @Benchmark
+  public ListMultimapProperty.Builder newBuilder() {
+    return new ListMultimapProperty.Builder();
+  }
+
+  @Benchmark
+  public ListMultimapProperty.Builder put() {
+    return new ListMultimapProperty.Builder().putTags("a", "alpha");
+  }
+
+  @Benchmark
+  public ListMultimapProperty.Builder putAllValues() {
+    return new ListMultimapProperty.Builder().putAllTags("a", TAGS);
+  }
+
+  @Benchmark
+  public ListMultimapProperty.Builder putAll() {
+    return new ListMultimapProperty.Builder().putAllTags(ALL_TAGS);
+  }
+
+  @Benchmark
+  public ListMultimapProperty.Builder remove() {
+    return newPopulatedBuilder().removeTags("a", "alpha");
+  }
+
+  @Benchmark
+  public ListMultimapProperty.Builder removeAll() {
+    return newPopulatedBuilder().removeAllTags("a");
+  }
+
+  @Benchmark
+  public ListMultimapProperty.Builder mutate() {
+    return newPopulatedBuilder().mutateTags(tags -> tags.put("d", "delta"));
+  }
+
+  @Benchmark
+  public ListMultimapProperty.Builder clear() {
+    return newPopulatedBuilder().clearTags();
+  }
+
+  @Benchmark
+  public ListMultimapProperty build() {
+    return newPopulatedBuilder().build();
+  }
+
+  @Benchmark
+  public ListMultimapProperty fromBuild() {
+    return ListMultimapProperty.Builder.from(value).build();
+  }
+
+  @Benchmark
+  public ListMultimapProperty.Builder mergeFrom() {
+    return new ListMultimapProperty.Builder().mergeFrom(value);
+  }
+
+  @Benchmark
+  public boolean valueEquals() {
+    return value.equals(equalValue);
+  }
+
+  @Benchmark
+  public int valueHashCode() {
+    return value.hashCode();
+  }
+
+  @Benchmark
+  public String valueToString() {
+    return value.toString();
+  }
+
+  private static ListMultimapProperty.Builder newPopulatedBuilder() {
+    return new ListMultimapProperty.Builder().putAllTags(ALL_TAGS);
+  }
+}
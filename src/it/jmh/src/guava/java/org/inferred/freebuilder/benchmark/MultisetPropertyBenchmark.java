@@ -0,0 +1,114 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.List;
+
+/** Benchmarks the code generated for a {@link com.google.common.collect.Multiset} property. */
+@State(Scope.Thread)
+public class MultisetPropertyBenchmark {
+
+  private static final List<String> NAMES = Arrays.asList("alpha", "beta", "gamma");
+
+  private MultisetProperty value;
+  private MultisetProperty equalValue;
+
+  @Setup
+  public void setUp() {
+    value = newPopulatedBuilder().build();
+    equalValue = newPopulatedBuilder().build();
+  }
+
+  @Benchmark
+  public MultisetProperty.Builder newBuilder() {
+    return new MultisetProperty.Builder();
+  }
+
+  @Benchmark
+  public MultisetProperty.Builder add() {
+    return new MultisetProperty.Builder().addNames("alpha");
+  }
+
+  @Benchmark
+  public MultisetProperty.Builder addVarargs() {
+    return new MultisetProperty.Builder().addNames("alpha", "beta", "gamma");
+  }
+
+  @Benchmark
+  public MultisetProperty.Builder addAll() {
+    return new MultisetProperty.Builder().addAllNames(NAMES);
+  }
+
+  @Benchmark
+  public MultisetProperty.Builder addCopies() {
+    return new MultisetProperty.Builder().addCopiesToNames("alpha", 3);
+  }
+
+  @Benchmark
+  public MultisetProperty.Builder setCount() {
+    return newPopulatedBuilder().setCountOfNames("alpha", 3);
+  }
+
+  @Benchmark
+  public MultisetProperty.Builder mutate() {
+    return newPopulatedBuilder().mutateNames(names -> names.add("delta"));
+  }
+
+  @Benchmark
+  public MultisetProperty.Builder clear() {
+    return newPopulatedBuilder().clearNames();
+  }
+
+  @Benchmark
+  public MultisetProperty build() {
+    return newPopulatedBuilder().build();
+  }
+
+  @Benchmark
+  public MultisetProperty fromBuild() {
+    return MultisetProperty.Builder.from(value).build();
+  }
+
+  @Benchmark
+  public MultisetProperty.Builder mergeFrom() {
+    return new MultisetProperty.Builder().mergeFrom(value);
+  }
+
+  @Benchmark
+  public boolean valueEquals() {
+    return value.equals(equalValue);
+  }
+
+  @Benchmark
+  public int valueHashCode() {
+    return value.hashCode();
+  }
+
+  @Benchmark
+  public String valueToString() {
+    return value.toString();
+  }
+
+  private static MultisetProperty.Builder newPopulatedBuilder() {
+    return new MultisetProperty.Builder().addAllNames(NAMES);
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Benchmarks the code generated for a property of a buildable type. */
+@State(Scope.Thread)
+public class BuildablePropertyBenchmark {
+
+  private static final Item ITEM = new Item.Builder().setName("beta").build();
+
+  private BuildableProperty value;
+  private BuildableProperty equalValue;
+
+  @Setup
+  public void setUp() {
+    value = newPopulatedBuilder().build();
+    equalValue = newPopulatedBuilder().build();
+  }
+
+  @Benchmark
+  public BuildableProperty.Builder newBuilder() {
+    return new BuildableProperty.Builder();
+  }
+
+  @Benchmark
+  public BuildableProperty.Builder setValue() {
+    return new BuildableProperty.Builder().setItem(ITEM);
+  }
+
+  @Benchmark
+  public BuildableProperty.Builder setBuilder() {
+    return new BuildableProperty.Builder().setItem(new Item.Builder().setName("beta"));
+  }
+
+  @Benchmark
+  public BuildableProperty.Builder mutate() {
+    return newPopulatedBuilder().mutateItem(item -> item.setName("beta"));
+  }
+
+  @Benchmark
+  public BuildableProperty build() {
+    return newPopulatedBuilder().build();
+  }
+
+  @Benchmark
+  public BuildableProperty fromBuild() {
+    return BuildableProperty.Builder.from(value).build();
+  }
+
+  @Benchmark
+  public BuildableProperty.Builder mergeFrom() {
+    return new BuildableProperty.Builder().mergeFrom(value);
+  }
+
+  @Benchmark
+  public boolean valueEquals() {
+    return value.equals(equalValue);
+  }
+
+  @Benchmark
+  public int valueHashCode() {
+    return value.hashCode();
+  }
+
+  @Benchmark
+  public String valueToString() {
+    return value.toString();
+  }
+
+  private static BuildableProperty.Builder newPopulatedBuilder() {
+    return new BuildableProperty.Builder().setItem(new Item.Builder().setName("alpha"));
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.List;
+
+/** Benchmarks the code generated for a {@link List} property. */
+@State(Scope.Thread)
+public class ListPropertyBenchmark {
+
+  private static final List<String> NAMES = Arrays.asList("alpha", "beta", "gamma");
+
+  private ListProperty value;
+  private ListProperty equalValue;
+
+  @Setup
+  public void setUp() {
+    value = newPopulatedBuilder().build();
+    equalValue = newPopulatedBuilder().build();
+  }
+
+  @Benchmark
+  public ListProperty.Builder newBuilder() {
+    return new ListProperty.Builder();
+  }
+
+  @Benchmark
+  public ListProperty.Builder add() {
+    return new ListProperty.Builder().addNames("alpha");
+  }
+
+  @Benchmark
+  public ListProperty.Builder addVarargs() {
+    return new ListProperty.Builder().addNames("alpha", "beta", "gamma");
+  }
+
+  @Benchmark
+  public ListProperty.Builder addAll() {
+    return new ListProperty.Builder().addAllNames(NAMES);
+  }
+
+  @Benchmark
+  public ListProperty.Builder mutate() {
+    return newPopulatedBuilder().mutateNames(names -> names.add("delta"));
+  }
+
+  @Benchmark
+  public ListProperty.Builder clear() {
+    return newPopulatedBuilder().clearNames();
+  }
+
+  @Benchmark
+  public ListProperty build() {
+    return newPopulatedBuilder().build();
+  }
+
+  @Benchmark
+  public ListProperty fromBuild() {
+    return ListProperty.Builder.from(value).build();
+  }
+
+  @Benchmark
+  public ListProperty.Builder mergeFrom() {
+    return new ListProperty.Builder().mergeFrom(value);
+  }
+
+  @Benchmark
+  public boolean valueEquals() {
+    return value.equals(equalValue);
+  }
+
+  @Benchmark
+  public int valueHashCode() {
+    return value.hashCode();
+  }
+
+  @Benchmark
+  public String valueToString() {
+    return value.toString();
+  }
+
+  private static ListProperty.Builder newPopulatedBuilder() {
+    return new ListProperty.Builder().addAllNames(NAMES);
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/** Benchmarks the code generated for a {@link Map} property. */
+@State(Scope.Thread)
+public class MapPropertyBenchmark {
+
+  private static final Map<String, Integer> SCORES = new HashMap<>();
+
+  static {
+    SCORES.put("alpha", 1);
+    SCORES.put("beta", 2);
+    SCORES.put("gamma", 3);
+  }
+
+  private MapProperty value;
+  private MapProperty equalValue;
+
+  @Setup
+  public void setUp() {
+    value = newPopulatedBuilder().build();
+    equalValue = newPopulatedBuilder().build();
+  }
+
+  @Benchmark
+  public MapProperty.Builder newBuilder() {
+    return new MapProperty.Builder();
+  }
+
+  @Benchmark
+  public MapProperty.Builder put() {
+    return new MapProperty.Builder().putScores("alpha", 1);
+  }
+
+  @Benchmark
+  public MapProperty.Builder putAll() {
+    return new MapProperty.Builder().putAllScores(SCORES);
+  }
+
+  @Benchmark
+  public MapProperty.Builder remove() {
+    return newPopulatedBuilder().removeScores("alpha");
+  }
+
+  @Benchmark
+  public MapProperty.Builder mutate() {
+    return newPopulatedBuilder().mutateScores(scores -> scores.put("delta", 4));
+  }
+
+  @Benchmark
+  public MapProperty.Builder clear() {
+    return newPopulatedBuilder().clearScores();
+  }
+
+  @Benchmark
+  public MapProperty build() {
+    return newPopulatedBuilder().build();
+  }
+
+  @Benchmark
+  public MapProperty fromBuild() {
+    return MapProperty.Builder.from(value).build();
+  }
+
+  @Benchmark
+  public MapProperty.Builder mergeFrom() {
+    return new MapProperty.Builder().mergeFrom(value);
+  }
+
+  @Benchmark
+  public boolean valueEquals() {
+    return value.equals(equalValue);
+  }
+
+  @Benchmark
+  public int valueHashCode() {
+    return value.hashCode();
+  }
+
+  @Benchmark
+  public String valueToString() {
+    return value.toString();
+  }
+
+  private static MapProperty.Builder newPopulatedBuilder() {
+    return new MapProperty.Builder().putAllScores(SCORES);
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Benchmarks the code generated for a {@link javax.annotation.Nullable} property. */
+@State(Scope.Thread)
+public class NullablePropertyBenchmark {
+
+  private NullableProperty value;
+  private NullableProperty equalValue;
+
+  @Setup
+  public void setUp() {
+    value = newPopulatedBuilder().build();
+    equalValue = newPopulatedBuilder().build();
+  }
+
+  @Benchmark
+  public NullableProperty.Builder newBuilder() {
+    return new NullableProperty.Builder();
+  }
+
+  @Benchmark
+  public NullableProperty.Builder set() {
+    return new NullableProperty.Builder().setName("beta");
+  }
+
+  @Benchmark
+  public NullableProperty.Builder setNull() {
+    return new NullableProperty.Builder().setName(null);
+  }
+
+  @Benchmark
+  public NullableProperty.Builder map() {
+    return newPopulatedBuilder().mapName(String::toUpperCase);
+  }
+
+  @Benchmark
+  public NullableProperty build() {
+    return newPopulatedBuilder().build();
+  }
+
+  @Benchmark
+  public NullableProperty fromBuild() {
+    return NullableProperty.Builder.from(value).build();
+  }
+
+  @Benchmark
+  public NullableProperty.Builder mergeFrom() {
+    return new NullableProperty.Builder().mergeFrom(value);
+  }
+
+  @Benchmark
+  public boolean valueEquals() {
+    return value.equals(equalValue);
+  }
+
+  @Benchmark
+  public int valueHashCode() {
+    return value.hashCode();
+  }
+
+  @Benchmark
+  public String valueToString() {
+    return value.toString();
+  }
+
+  private static NullableProperty.Builder newPopulatedBuilder() {
+    return new NullableProperty.Builder().setName("alpha");
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Optional;
+
+/** Benchmarks the code generated for a {@link Optional} property. */
+@State(Scope.Thread)
+public class OptionalPropertyBenchmark {
+
+  private static final Optional<String> NAME = Optional.of("beta");
+
+  private OptionalProperty value;
+  private OptionalProperty equalValue;
+
+  @Setup
+  public void setUp() {
+    value = newPopulatedBuilder().build();
+    equalValue = newPopulatedBuilder().build();
+  }
+
+  @Benchmark
+  public OptionalProperty.Builder newBuilder() {
+    return new OptionalProperty.Builder();
+  }
+
+  @Benchmark
+  public OptionalProperty.Builder set() {
+    return new OptionalProperty.Builder().setName("beta");
+  }
+
+  @Benchmark
+  public OptionalProperty.Builder setOptional() {
+    return new OptionalProperty.Builder().setName(NAME);
+  }
+
+  @Benchmark
+  public OptionalProperty.Builder setNullable() {
+    return new OptionalProperty.Builder().setNullableName(null);
+  }
+
+  @Benchmark
+  public OptionalProperty.Builder map() {
+    return newPopulatedBuilder().mapName(String::toUpperCase);
+  }
+
+  @Benchmark
+  public OptionalProperty.Builder clear() {
+    return newPopulatedBuilder().clearName();
+  }
+
+  @Benchmark
+  public OptionalProperty build() {
+    return newPopulatedBuilder().build();
+  }
+
+  @Benchmark
+  public OptionalProperty fromBuild() {
+    return OptionalProperty.Builder.from(value).build();
+  }
+
+  @Benchmark
+  public OptionalProperty.Builder mergeFrom() {
+    return new OptionalProperty.Builder().mergeFrom(value);
+  }
+
+  @Benchmark
+  public boolean valueEquals() {
+    return value.equals(equalValue);
+  }
+
+  @Benchmark
+  public int valueHashCode() {
+    return value.hashCode();
+  }
+
+  @Benchmark
+  public String valueToString() {
+    return value.toString();
+  }
+
+  private static OptionalProperty.Builder newPopulatedBuilder() {
+    return new OptionalProperty.Builder().setName("alpha");
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Benchmarks the code generated for required and defaulted properties. */
+@State(Scope.Thread)
+public class ScalarPropertiesBenchmark {
+
+  private ScalarProperties value;
+  private ScalarProperties equalValue;
+
+  @Setup
+  public void setUp() {
+    value = newPopulatedBuilder().build();
+    equalValue = newPopulatedBuilder().build();
+  }
+
+  @Benchmark
+  public ScalarProperties.Builder newBuilder() {
+    return new ScalarProperties.Builder();
+  }
+
+  @Benchmark
+  public ScalarProperties.Builder set() {
+    return new ScalarProperties.Builder().setName("beta").setAge(40);
+  }
+
+  @Benchmark
+  public ScalarProperties.Builder map() {
+    return new ScalarProperties.Builder().mapAge(age -> age + 1);
+  }
+
+  @Benchmark
+  public ScalarProperties build() {
+    return newPopulatedBuilder().build();
+  }
+
+  @Benchmark
+  public ScalarProperties fromBuild() {
+    return ScalarProperties.Builder.from(value).build();
+  }
+
+  @Benchmark
+  public ScalarProperties.Builder mergeFrom() {
+    return new ScalarProperties.Builder().mergeFrom(value);
+  }
+
+  @Benchmark
+  public boolean valueEquals() {
+    return value.equals(equalValue);
+  }
+
+  @Benchmark
+  public int valueHashCode() {
+    return value.hashCode();
+  }
+
+  @Benchmark
+  public String valueToString() {
+    return value.toString();
+  }
+
+  private static ScalarProperties.Builder newPopulatedBuilder() {
+    return new ScalarProperties.Builder().setName("alpha").setAge(32);
+  }
+}
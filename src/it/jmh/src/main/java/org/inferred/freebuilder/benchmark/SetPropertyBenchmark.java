@@ -0,0 +1,109 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.List;
+
+/** Benchmarks the code generated for a {@link java.util.Set} property. */
+@State(Scope.Thread)
+public class SetPropertyBenchmark {
+
+  private static final List<String> NAMES = Arrays.asList("alpha", "beta", "gamma");
+
+  private SetProperty value;
+  private SetProperty equalValue;
+
+  @Setup
+  public void setUp() {
+    value = newPopulatedBuilder().build();
+    equalValue = newPopulatedBuilder().build();
+  }
+
+  @Benchmark
+  public SetProperty.Builder newBuilder() {
+    return new SetProperty.Builder();
+  }
+
+  @Benchmark
+  public SetProperty.Builder add() {
+    return new SetProperty.Builder().addNames("alpha");
+  }
+
+  @Benchmark
+  public SetProperty.Builder addVarargs() {
+    return new SetProperty.Builder().addNames("alpha", "beta", "gamma");
+  }
+
+  @Benchmark
+  public SetProperty.Builder addAll() {
+    return new SetProperty.Builder().addAllNames(NAMES);
+  }
+
+  @Benchmark
+  public SetProperty.Builder remove() {
+    return newPopulatedBuilder().removeNames("alpha");
+  }
+
+  @Benchmark
+  public SetProperty.Builder mutate() {
+    return newPopulatedBuilder().mutateNames(names -> names.add("delta"));
+  }
+
+  @Benchmark
+  public SetProperty.Builder clear() {
+    return newPopulatedBuilder().clearNames();
+  }
+
+  @Benchmark
+  public SetProperty build() {
+    return newPopulatedBuilder().build();
+  }
+
+  @Benchmark
+  public SetProperty fromBuild() {
+    return SetProperty.Builder.from(value).build();
+  }
+
+  @Benchmark
+  public SetProperty.Builder mergeFrom() {
+    return new SetProperty.Builder().mergeFrom(value);
+  }
+
+  @Benchmark
+  public boolean valueEquals() {
+    return value.equals(equalValue);
+  }
+
+  @Benchmark
+  public int valueHashCode() {
+    return value.hashCode();
+  }
+
+  @Benchmark
+  public String valueToString() {
+    return value.toString();
+  }
+
+  private static SetProperty.Builder newPopulatedBuilder() {
+    return new SetProperty.Builder().addAllNames(NAMES);
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.processor;
+
+import org.inferred.freebuilder.processor.PhaseListener.Phase;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+import javax.lang.model.element.TypeElement;
+
+/**
+ * Reports the average time per operation that {@link ProcessorBenchmark} spends in each
+ * {@link Phase} of processing, as secondary results named {@code phase.analyse} etc.
+ *
+ * <p>Enable with {@code -prof org.inferred.freebuilder.processor.PhaseProfiler}.
+ */
+public class PhaseProfiler implements InternalProfiler {
+
+  private static final PhaseTimes TIMES = new PhaseTimes();
+
+  /** Returns the listener {@link ProcessorBenchmark} should pass to the {@link Processor}. */
+  static PhaseListener listener() {
+    return TIMES;
+  }
+
+  /** Records that {@link ProcessorBenchmark} has completed one operation. */
+  static void operationCompleted() {
+    TIMES.operationCompleted();
+  }
+
+  @Override
+  public String getDescription() {
+    return "Time spent in each phase of the FreeBuilder annotation processor";
+  }
+
+  @Override
+  public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+    TIMES.reset();
+  }
+
+  @Override
+  public Collection<? extends Result> afterIteration(
+      BenchmarkParams benchmarkParams,
+      IterationParams iterationParams,
+      IterationResult result) {
+    List<Result> results = new ArrayList<Result>();
+    for (Phase phase : Phase.values()) {
+      results.add(new ScalarResult(
+          "phase." + phase.name().toLowerCase(Locale.ENGLISH),
+          TIMES.millisPerOperation(phase),
+          "ms/op",
+          AggregationPolicy.AVG));
+    }
+    return results;
+  }
+
+  /** Accumulates the time spent in each phase, and the number of operations completed. */
+  private static class PhaseTimes implements PhaseListener {
+    private final long[] nanos = new long[Phase.values().length];
+    private long operations;
+
+    @Override
+    public synchronized void phaseFinished(
+        TypeElement type, Phase phase, long nanos, long allocatedBytes) {
+      this.nanos[phase.ordinal()] += nanos;
+    }
+
+    synchronized void operationCompleted() {
+      operations++;
+    }
+
+    synchronized void reset() {
+      for (int i = 0; i < nanos.length; ++i) {
+        nanos[i] = 0;
+      }
+      operations = 0;
+    }
+
+    synchronized double millisPerOperation(Phase phase) {
+      return (operations == 0) ? Double.NaN : nanos[phase.ordinal()] / 1e6 / operations;
+    }
+  }
+}
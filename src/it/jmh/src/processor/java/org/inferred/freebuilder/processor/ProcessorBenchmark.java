@@ -0,0 +1,133 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.processor;
+
+import static javax.tools.ToolProvider.getSystemJavaCompiler;
+
+import com.google.common.collect.ImmutableList;
+
+import org.inferred.freebuilder.FreeBuilder;
+import org.inferred.freebuilder.processor.util.testing.SourceBuilder;
+import org.inferred.freebuilder.processor.util.testing.TempJavaFileManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler.CompilationTask;
+import javax.tools.JavaFileObject;
+
+/**
+ * Benchmarks the {@link Processor} on synthetic &#64;{@link FreeBuilder} types, compiled
+ * in-process with {@code -proc:only}.
+ *
+ * <p>The score includes javac parsing and entering the sources, both the synthetic types and the
+ * generated builders. Run with {@link PhaseProfiler} for the time spent in each phase of the
+ * processor itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class ProcessorBenchmark {
+
+  /** Property types, assigned to properties in turn, covering each of the property factories. */
+  private static final ImmutableList<String> PROPERTY_TYPES = ImmutableList.of(
+      "String",
+      "int",
+      "@javax.annotation.Nullable String",
+      "java.util.List<String>",
+      "java.util.Set<String>",
+      "java.util.Map<String, Integer>",
+      "java.util.Optional<String>",
+      "com.google.common.base.Optional<String>",
+      "com.google.common.collect.Multiset<String>",
+      "com.google.common.collect.ListMultimap<String, String>",
+      "com.google.common.collect.SetMultimap<String, String>",
+      "Type0");
+
+  @Param({"1", "10", "100", "1000"})
+  private int types;
+
+  @Param({"1", "10", "50", "200"})
+  private int properties;
+
+  private List<JavaFileObject> sources;
+  private TempJavaFileManager fileManager;
+
+  @Setup
+  public void setUp() {
+    ImmutableList.Builder<JavaFileObject> sources = ImmutableList.builder();
+    for (int i = 0; i < types; ++i) {
+      sources.add(syntheticType(i, properties));
+    }
+    this.sources = sources.build();
+    fileManager = new TempJavaFileManager();
+  }
+
+  @TearDown
+  public void tearDown() {
+    fileManager.close();
+  }
+
+  @Benchmark
+  public void process() {
+    DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+    CompilationTask task = getSystemJavaCompiler().getTask(
+        null, fileManager, diagnostics, ImmutableList.of("-proc:only"), null, sources);
+    task.setProcessors(ImmutableList.of(new Processor(null, PhaseProfiler.listener())));
+    if (!task.call()) {
+      throw new IllegalStateException("Compilation failed: " + diagnostics.getDiagnostics());
+    }
+    PhaseProfiler.operationCompleted();
+  }
+
+  /**
+   * Returns the source of {@code com.example.TypeN}, with {@code properties} properties.
+   *
+   * <p>All types but the first have a buildable property of the first type.
+   */
+  private static JavaFileObject syntheticType(int index, int properties) {
+    String name = "Type" + index;
+    SourceBuilder source = new SourceBuilder()
+        .addLine("package com.example;")
+        .addLine("@%s", FreeBuilder.class)
+        .addLine("public abstract class %s {", name);
+    int typeCount = (index == 0) ? PROPERTY_TYPES.size() - 1 : PROPERTY_TYPES.size();
+    for (int i = 0; i < properties; ++i) {
+      source.addLine("  public abstract %s getProperty%s();", PROPERTY_TYPES.get(i % typeCount), i);
+    }
+    return source
+        .addLine("")
+        .addLine("  public static class Builder extends %s_Builder {}", name)
+        .addLine("}")
+        .build();
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Multiset;
+import com.google.common.collect.SetMultimap;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@FreeBuilder
+public interface CheckedCollectionsType {
+  List<String> getNames();
+  Set<String> getTags();
+  Map<String, Integer> getAges();
+  Map<String, String> getNicknames();
+  Multiset<String> getVotes();
+  ListMultimap<String, String> getAliases();
+  SetMultimap<String, String> getLabels();
+
+  class Builder extends CheckedCollectionsType_Builder {
+    @Override
+    public Builder addNames(String element) {
+      return super.addNames(element.toUpperCase());
+    }
+
+    @Override
+    public Builder addTags(String element) {
+      return super.addTags(element.toLowerCase());
+    }
+
+    @Override
+    public Builder putAges(String key, int value) {
+      checkArgument(value >= 0, "ages must be non-negative");
+      return super.putAges(key, value);
+    }
+
+    @Override
+    public Builder putNicknames(String key, String value) {
+      return super.putNicknames(key, value.toLowerCase());
+    }
+
+    @Override
+    public Builder setCountOfVotes(String element, int occurrences) {
+      checkArgument(occurrences <= 3, "at most 3 votes each");
+      return super.setCountOfVotes(element, occurrences);
+    }
+
+    @Override
+    public Builder putAliases(String key, String value) {
+      return super.putAliases(key, value.toUpperCase());
+    }
+
+    @Override
+    public Builder putLabels(String key, String value) {
+      return super.putLabels(key, value.toLowerCase());
+    }
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableMultiset;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.LinkedHashMultimap;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CheckedCollectionsTest {
+
+  @Rule public final ExpectedException thrown = ExpectedException.none();
+
+  @Test
+  public void testBuilderSharesRuntimeLibraryTypes() {
+    List<String> checkedTypes = new ArrayList<String>();
+    for (Class<?> nestedType : CheckedCollectionsType_Builder.class.getDeclaredClasses()) {
+      if (nestedType.getSimpleName().startsWith("Checked")) {
+        checkedTypes.add(nestedType.getSimpleName());
+      }
+    }
+    assertEquals(ImmutableList.of(), checkedTypes);
+  }
+
+  @Test
+  public void testMutateList() {
+    CheckedCollectionsType value = new CheckedCollectionsType.Builder()
+        .mutateNames(names -> names.addAll(ImmutableList.of("alan", "bob")))
+        .build();
+    assertEquals(ImmutableList.of("ALAN", "BOB"), value.getNames());
+  }
+
+  @Test
+  public void testMutateSet() {
+    CheckedCollectionsType value = new CheckedCollectionsType.Builder()
+        .mutateTags(tags -> tags.add("Red"))
+        .build();
+    assertEquals(ImmutableSet.of("red"), value.getTags());
+  }
+
+  @Test
+  public void testMutateMap() {
+    CheckedCollectionsType value = new CheckedCollectionsType.Builder()
+        .mutateAges(ages -> ages.put("alan", 42))
+        .build();
+    assertEquals(ImmutableMap.of("alan", 42), value.getAges());
+  }
+
+  @Test
+  public void testMutateMapEntryChecksValue() {
+    thrown.expect(IllegalArgumentException.class);
+    thrown.expectMessage("ages must be non-negative");
+    new CheckedCollectionsType.Builder()
+        .putAges("alan", 42)
+        .mutateAges(ages -> ages.entrySet().iterator().next().setValue(-1));
+  }
+
+  @Test
+  public void testComputeIfAbsentReturnsValueStoredByPut() {
+    CheckedCollectionsType value = new CheckedCollectionsType.Builder()
+        .mutateNicknames(nicknames -> {
+          assertEquals("al", nicknames.computeIfAbsent("alan", name -> "Al"));
+        })
+        .build();
+    assertEquals(ImmutableMap.of("alan", "al"), value.getNicknames());
+  }
+
+  @Test
+  public void testMutateMultiset() {
+    CheckedCollectionsType value = new CheckedCollectionsType.Builder()
+        .mutateVotes(votes -> votes.add("alan", 2))
+        .build();
+    assertEquals(ImmutableMultiset.of("alan", "alan"), value.getVotes());
+  }
+
+  @Test
+  public void testMutateMultisetChecksCount() {
+    thrown.expect(IllegalArgumentException.class);
+    thrown.expectMessage("at most 3 votes each");
+    new CheckedCollectionsType.Builder()
+        .mutateVotes(votes -> votes.add("alan", 4));
+  }
+
+  @Test
+  public void testMutateListMultimap() {
+    CheckedCollectionsType value = new CheckedCollectionsType.Builder()
+        .mutateAliases(aliases -> aliases.get("alan").add("al"))
+        .build();
+    assertEquals(ImmutableList.of("AL"), value.getAliases().get("alan"));
+  }
+
+  @Test
+  public void testMutateSetMultimap() {
+    LinkedHashMultimap<String, String> labels = LinkedHashMultimap.create();
+    labels.put("alan", "Admin");
+    CheckedCollectionsType value = new CheckedCollectionsType.Builder()
+        .mutateLabels(multimap -> multimap.putAll(labels))
+        .build();
+    assertEquals(ImmutableSetMultimap.of("alan", "admin"), value.getLabels());
+  }
+}
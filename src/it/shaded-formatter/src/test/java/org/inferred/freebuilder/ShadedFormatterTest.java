@@ -0,0 +1,66 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder;
+
+import static org.junit.Assert.assertEquals;
+
+import org.inferred.freebuilder.shaded.com.google.googlejavaformat.java.Formatter;
+import org.junit.Test;
+
+/**
+ * Formats source with the relocated formatter in freebuilder.jar, with nothing else but JUnit on
+ * the classpath, so excluding a dependency the formatter loads fails the build.
+ */
+public class ShadedFormatterTest {
+
+  @Test
+  public void testFormatsSource() throws Exception {
+    String source = "package com.example;\n"
+        + "import java.util.List;\n"
+        + "/** A type. */\n"
+        + "@Generated(\"FreeBuilder\") abstract class Person_Builder<T extends Comparable<T>> {\n"
+        + "private final List<T> names = new java.util.ArrayList<T>();\n"
+        + "/** Adds {@code element}. */\n"
+        + "public Person_Builder<T> addNames(T element) {\n"
+        + "names.add(java.util.Objects.requireNonNull(element)); return this; }\n"
+        + "public void forEachName(java.util.function.Consumer<? super T> consumer) {\n"
+        + "names.forEach(name -> { if (name != null) consumer.accept(name); }); }\n"
+        + "}\n";
+
+    String formatted = new Formatter().formatSource(source);
+
+    assertEquals("package com.example;\n"
+        + "\n"
+        + "import java.util.List;\n"
+        + "/** A type. */\n"
+        + "@Generated(\"FreeBuilder\")\n"
+        + "abstract class Person_Builder<T extends Comparable<T>> {\n"
+        + "  private final List<T> names = new java.util.ArrayList<T>();\n"
+        + "  /** Adds {@code element}. */\n"
+        + "  public Person_Builder<T> addNames(T element) {\n"
+        + "    names.add(java.util.Objects.requireNonNull(element));\n"
+        + "    return this;\n"
+        + "  }\n"
+        + "\n"
+        + "  public void forEachName(java.util.function.Consumer<? super T> consumer) {\n"
+        + "    names.forEach(\n"
+        + "        name -> {\n"
+        + "          if (name != null) consumer.accept(name);\n"
+        + "        });\n"
+        + "  }\n"
+        + "}\n", formatted);
+  }
+}
@@ -44,13 +44,17 @@ import com.google.common.collect.Sets;
 import org.inferred.freebuilder.processor.Metadata.Property;
 import org.inferred.freebuilder.processor.Metadata.StandardMethod;
 import org.inferred.freebuilder.processor.Metadata.UnderrideLevel;
+import org.inferred.freebuilder.processor.PhaseListener.Phase;
+import org.inferred.freebuilder.processor.PhaseTimer.Mark;
 import org.inferred.freebuilder.processor.PropertyCodeGenerator.Config;
 import org.inferred.freebuilder.processor.util.IsInvalidTypeVisitor;
 import org.inferred.freebuilder.processor.util.ParameterizedType;
 import org.inferred.freebuilder.processor.util.QualifiedName;
+import org.inferred.freebuilder.processor.util.feature.ProcessorOptions;
 
 import java.beans.Introspector;
 import java.io.Serializable;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -98,22 +102,6 @@ class Analyser {
    */
   public static class CannotGenerateCodeException extends Exception { }
 
-  /**
-   * Factories of {@link PropertyCodeGenerator} instances. Note: order is important; the default
-   * factory should always be last.
-   */
-  private static final List<PropertyCodeGenerator.Factory> PROPERTY_FACTORIES = ImmutableList.of(
-      new NullablePropertyFactory(), // Must be first, as no other factory supports nulls
-      new ListPropertyFactory(),
-      new SetPropertyFactory(),
-      new MapPropertyFactory(),
-      new MultisetPropertyFactory(),
-      new ListMultimapPropertyFactory(),
-      new SetMultimapPropertyFactory(),
-      new OptionalPropertyFactory(),
-      new BuildablePropertyFactory(),
-      new DefaultPropertyFactory()); // Must be last, as it will always return a CodeGenerator
-
   private static final String BUILDER_SIMPLE_NAME_TEMPLATE = "%s_Builder";
   private static final String USER_BUILDER_NAME = "Builder";
 
@@ -125,13 +113,53 @@ class Analyser {
   private final Messager messager;
   private final MethodIntrospector methodIntrospector;
   private final Types types;
+  private final PropertyFactoryRegistry propertyFactories;
+  private final ProcessorOptions options;
+  private final PhaseTimer timer;
+  private MethodFinder.Cache methodFinderCache = new MethodFinder.Cache();
+  private Map<ExecutableElement, Set<Name>> ownMethodInvocationsCache =
+      new HashMap<ExecutableElement, Set<Name>>();
 
   Analyser(
       Elements elements, Messager messager, MethodIntrospector methodIntrospector, Types types) {
+    this(
+        elements,
+        messager,
+        methodIntrospector,
+        types,
+        PropertyFactoryRegistry.BUILT_IN,
+        ProcessorOptions.NONE,
+        PhaseTimer.NONE);
+  }
+
+  /**
+   * Returns an {@link Analyser} creating property code generators with {@code propertyFactories},
+   * configured by {@code options}, and reporting the time spent in nested phases to {@code timer}.
+   */
+  Analyser(
+      Elements elements,
+      Messager messager,
+      MethodIntrospector methodIntrospector,
+      Types types,
+      PropertyFactoryRegistry propertyFactories,
+      ProcessorOptions options,
+      PhaseTimer timer) {
     this.elements = elements;
     this.messager = messager;
     this.methodIntrospector = methodIntrospector;
     this.types = types;
+    this.propertyFactories = propertyFactories;
+    this.options = options;
+    this.timer = timer;
+  }
+
+  /**
+   * Discards anything cached about the types analysed so far. Call this at the start of each
+   * processing round, as elements may change between rounds.
+   */
+  void startRound() {
+    methodFinderCache = new MethodFinder.Cache();
+    ownMethodInvocationsCache = new HashMap<ExecutableElement, Set<Name>>();
   }
 
   /**
@@ -142,7 +170,9 @@ class Analyser {
   Metadata analyse(TypeElement type) throws CannotGenerateCodeException {
     PackageElement pkg = elements.getPackageOf(type);
     verifyType(type, pkg);
-    ImmutableSet<ExecutableElement> methods = methodsOn(type, elements);
+    Mark mark = timer.start();
+    ImmutableSet<ExecutableElement> methods = methodsOn(type, elements, methodFinderCache);
+    timer.finish(type, Phase.FIND_METHODS, mark);
     QualifiedName generatedBuilder = QualifiedName.of(
         pkg.getQualifiedName().toString(), generatedBuilderSimpleName(type));
     Optional<TypeElement> builder = tryFindBuilder(generatedBuilder, type);
@@ -170,9 +200,14 @@ class Analyser {
     Metadata baseMetadata = metadataBuilder.build();
     metadataBuilder.mergeFrom(gwtMetadata(type, baseMetadata));
     if (builder.isPresent()) {
+      mark = timer.start();
+      Set<String> methodsInvokedInBuilderConstructor =
+          getMethodsInvokedInBuilderConstructor(builder.get());
+      timer.finish(type, Phase.INTROSPECT, mark);
       metadataBuilder
           .clearProperties()
-          .addAllProperties(codeGenerators(properties, baseMetadata, builder.get()));
+          .addAllProperties(codeGenerators(
+              properties, baseMetadata, builder.get(), methodsInvokedInBuilderConstructor));
     }
     return metadataBuilder.build();
   }
@@ -390,9 +425,9 @@ class Analyser {
   private List<Property> codeGenerators(
       Map<ExecutableElement, Property> properties,
       Metadata metadata,
-      TypeElement builder) {
+      TypeElement builder,
+      Set<String> methodsInvokedInBuilderConstructor) {
     ImmutableList.Builder<Property> codeGenerators = ImmutableList.builder();
-    Set<String> methodsInvokedInBuilderConstructor = getMethodsInvokedInBuilderConstructor(builder);
     for (Map.Entry<ExecutableElement, Property> entry : properties.entrySet()) {
       Config config = new ConfigImpl(
           builder,
@@ -402,7 +437,7 @@ class Analyser {
           methodsInvokedInBuilderConstructor);
       codeGenerators.add(new Property.Builder()
           .mergeFrom(entry.getValue())
-          .setCodeGenerator(createCodeGenerator(config))
+          .setCodeGenerator(propertyFactories.createCodeGenerator(config))
           .build());
     }
     return codeGenerators.build();
@@ -413,14 +448,27 @@ class Analyser {
     Set<Name> result = null;
     for (ExecutableElement constructor : constructors) {
       if (result == null) {
-        result = methodIntrospector.getOwnMethodInvocations(constructor);
+        result = getOwnMethodInvocations(constructor);
+      } else if (result.isEmpty()) {
+        // No need to introspect the remaining constructors
+        break;
       } else {
-        result = Sets.intersection(result, methodIntrospector.getOwnMethodInvocations(constructor));
+        result = Sets.intersection(result, getOwnMethodInvocations(constructor));
       }
     }
     return ImmutableSet.copyOf(transform(result, toStringFunction()));
   }
 
+  /** Returns the methods invoked on {@code this} by {@code method}, memoized for the round. */
+  private Set<Name> getOwnMethodInvocations(ExecutableElement method) {
+    Set<Name> result = ownMethodInvocationsCache.get(method);
+    if (result == null) {
+      result = methodIntrospector.getOwnMethodInvocations(method);
+      ownMethodInvocationsCache.put(method, result);
+    }
+    return result;
+  }
+
   /**
    * Introspects {@code method}, as found on {@code valueType}.
    *
@@ -481,16 +529,6 @@ class Analyser {
     }
   }
 
-  private static PropertyCodeGenerator createCodeGenerator(Config config) {
-    for (PropertyCodeGenerator.Factory factory : PROPERTY_FACTORIES) {
-      Optional<? extends PropertyCodeGenerator> codeGenerator = factory.create(config);
-      if (codeGenerator.isPresent()) {
-        return codeGenerator.get();
-      }
-    }
-    throw new AssertionError("DefaultPropertyFactory not registered");
-  }
-
   private class ConfigImpl implements Config {
 
     private final TypeElement builder;
@@ -546,6 +584,11 @@ class Analyser {
     public Types getTypes() {
       return types;
     }
+
+    @Override
+    public ProcessorOptions getOptions() {
+      return options;
+    }
   }
 
   /**
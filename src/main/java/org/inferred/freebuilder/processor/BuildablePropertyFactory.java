@@ -26,11 +26,12 @@ import static org.inferred.freebuilder.processor.BuilderMethods.setter;
 import static org.inferred.freebuilder.processor.util.ModelUtils.asElement;
 import static org.inferred.freebuilder.processor.util.ModelUtils.findAnnotationMirror;
 import static org.inferred.freebuilder.processor.util.ModelUtils.maybeDeclared;
+import static org.inferred.freebuilder.processor.util.PreconditionExcerpts.checkNotNullInline;
+import static org.inferred.freebuilder.processor.util.PreconditionExcerpts.checkNotNullPreamble;
 import static org.inferred.freebuilder.processor.util.feature.FunctionPackage.FUNCTION_PACKAGE;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Optional;
-import com.google.common.base.Preconditions;
 import com.google.common.base.Predicate;
 import com.google.common.collect.FluentIterable;
 
@@ -191,9 +192,10 @@ public class BuildablePropertyFactory implements PropertyCodeGenerator.Factory {
               setter(property),
               property.getType(),
               property.getName())
+          .add(checkNotNullPreamble(property.getName()))
           .addLine("  this.%s.clear();", property.getName())
-          .addLine("  this.%1$s.mergeFrom(%2$s.checkNotNull(%1$s));",
-              property.getName(), Preconditions.class)
+          .addLine("  this.%s.mergeFrom(%s);",
+              property.getName(), checkNotNullInline(property.getName()))
           .addLine("  return (%s) this;", metadata.getBuilder())
           .addLine("}");
     }
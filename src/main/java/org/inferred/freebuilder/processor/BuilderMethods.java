@@ -65,5 +65,15 @@ public class BuilderMethods {
     return "clear" + property.getCapitalizedName();
   }
 
+  /** Name of the builder field caching the unmodifiable view returned by the getter. */
+  public static String unmodifiableView(Property property) {
+    return "_unmodifiable" + property.getCapitalizedName();
+  }
+
+  /** Name of the builder field caching the validating view passed to mutator lambdas. */
+  public static String checkedView(Property property) {
+    return "_checked" + property.getCapitalizedName();
+  }
+
   private BuilderMethods() {}
 }
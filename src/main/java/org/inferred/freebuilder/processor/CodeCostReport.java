@@ -0,0 +1,474 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.processor;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Joiner;
+import com.google.common.collect.ComparisonChain;
+import com.google.common.collect.ImmutableSet;
+
+import org.inferred.freebuilder.processor.Metadata.Property;
+import org.inferred.freebuilder.processor.PropertyCodeGenerator.Type;
+import org.inferred.freebuilder.processor.util.Block;
+import org.inferred.freebuilder.processor.util.CsvReport;
+import org.inferred.freebuilder.processor.util.SourceBuilder;
+import org.inferred.freebuilder.processor.util.SourceStringBuilder;
+import org.inferred.freebuilder.processor.util.StaticExcerpt;
+import org.inferred.freebuilder.processor.util.feature.FeatureSet;
+import org.inferred.freebuilder.processor.util.feature.ProcessorOption;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import javax.lang.model.element.TypeElement;
+
+/**
+ * Estimates the runtime cost of the code generated for each type, and reports it at the end of
+ * compilation, if {@code -Afreebuilder.codeReport} is passed.
+ *
+ * <p>Each property's {@link PropertyCodeGenerator} is asked to generate its code in isolation, and
+ * the source analysed. The report is written as CSV to {@value #REPORT_NAME} in the class output
+ * directory, with one row per type, property and measure:
+ *
+ * <ul>
+ *   <li>{@code builder_fields}: fields held by every Builder instance
+ *   <li>{@code eager_allocations}: objects allocated by {@code new Builder()}
+ *   <li>{@code build_copies}: values copied or converted by {@code build()}, e.g. collections
+ *   <li>{@code method_bytes}: the estimated bytecode size of a generated method, or of the
+ *       property's share of a method generated for every property, like {@code clear()}
+ *   <li>{@code static_excerpt}: a static method or type added once per type, and its estimated
+ *       bytecode size
+ * </ul>
+ *
+ * <p>Rows with no property are shared by every property of the type. Bytecode sizes are rough
+ * estimates, from the number of tokens in each method body; they are good for finding the largest
+ * methods, not for checking them against JIT limits.
+ */
+class CodeCostReport extends CsvReport<CodeCostReport.TypeCost> {
+
+  /** Processor option enabling the report. */
+  static final ProcessorOption<Boolean> CODE_REPORT =
+      ProcessorOption.flag("freebuilder.codeReport");
+
+  static final String REPORT_NAME = "META-INF/freebuilder/code-report.csv";
+
+  /**
+   * Bytecode per token of a method body. Most tokens are a local, field, method, constant or
+   * operator, each loaded, invoked or applied by an instruction of one to three bytes.
+   */
+  private static final int BYTES_PER_TOKEN = 2;
+
+  /** Keywords that may precede an open parenthesis without being a method call. */
+  private static final Set<String> CONTROL_KEYWORDS =
+      ImmutableSet.of("if", "for", "while", "switch", "catch", "synchronized", "return");
+
+  /** One measure of one property, or of the code shared by every property if property is "". */
+  private static class Row {
+    final String property;
+    final String measure;
+    final String detail;
+    final int value;
+
+    Row(String property, String measure, String detail, int value) {
+      this.property = property;
+      this.measure = measure;
+      this.detail = detail;
+      this.value = value;
+    }
+  }
+
+  /** The estimated cost of the code generated for one type. */
+  static class TypeCost {
+    final List<Row> rows = new ArrayList<Row>();
+    int builderFields;
+    int eagerAllocations;
+    int buildCopies;
+    int bytes;
+
+    void add(String property, String measure, String detail, int value) {
+      rows.add(new Row(property, measure, detail, value));
+      if (measure.equals("builder_fields")) {
+        builderFields += value;
+      } else if (measure.equals("eager_allocations")) {
+        eagerAllocations += value;
+      } else if (measure.equals("build_copies")) {
+        buildCopies += value;
+      } else {
+        bytes += value;
+      }
+    }
+
+    /** Returns the allocations made to create and build a Builder, excluding the value itself. */
+    int allocations() {
+      return eagerAllocations + buildCopies;
+    }
+  }
+
+  CodeCostReport() {
+    super(REPORT_NAME, "code report", "property", "measure", "detail", "value");
+  }
+
+  /**
+   * Estimates the cost of the code generated for {@code type}, as described by {@code metadata},
+   * using {@code features}. Call on the compiler's thread.
+   */
+  void add(TypeElement type, Metadata metadata, FeatureSet features) {
+    if (!metadata.hasBuilder()) {
+      return;
+    }
+    TypeCost cost = new TypeCost();
+    String valueType = metadata.getType().getSimpleName();
+    String builderType = metadata.getBuilder().getSimpleName();
+    SortedSet<StaticExcerpt> staticExcerpts = new TreeSet<StaticExcerpt>();
+    boolean hasRequiredProperties = false;
+    for (Property property : metadata.getProperties()) {
+      PropertyCodeGenerator generator = property.getCodeGenerator();
+      String name = property.getName();
+
+      SourceBuilder fields = SourceStringBuilder.simple(features);
+      generator.addBuilderFieldDeclaration(fields);
+      List<String> fieldTokens = tokenize(fields);
+      cost.add(name, "builder_fields", "", count(fieldTokens, ";"));
+      cost.add(name, "eager_allocations", "", count(fieldTokens, "new"));
+
+      SourceBuilder build = SourceStringBuilder.simple(features);
+      generator.addFinalFieldAssignment(build, "this." + name, "builder");
+      List<String> buildTokens = tokenize(build);
+      cost.add(name, "build_copies", "", countCalls(buildTokens));
+
+      SourceBuilder accessors = SourceStringBuilder.simple(features);
+      generator.addBuilderFieldAccessors(accessors);
+      for (Map.Entry<String, List<String>> method : methodBodies(tokenize(accessors)).entrySet()) {
+        cost.add(name, "method_bytes", method.getKey(), estimateBytes(method.getValue()));
+      }
+      SourceBuilder mergeFromValue = SourceStringBuilder.simple(features);
+      Block mergeFromValueBody = new Block(mergeFromValue);
+      generator.addMergeFromValue(mergeFromValueBody, "value");
+      mergeFromValue.add(mergeFromValueBody);
+      cost.add(name, "method_bytes", "mergeFrom(" + valueType + ")",
+          estimateBytes(tokenize(mergeFromValue)));
+      SourceBuilder mergeFromBuilder = SourceStringBuilder.simple(features);
+      Block mergeFromBuilderBody = new Block(mergeFromBuilder);
+      generator.addMergeFromBuilder(mergeFromBuilderBody, "template");
+      mergeFromBuilder.add(mergeFromBuilderBody);
+      cost.add(name, "method_bytes", "mergeFrom(" + builderType + ")",
+          estimateBytes(tokenize(mergeFromBuilder)));
+      SourceBuilder clear = SourceStringBuilder.simple(features);
+      Block clearBody = new Block(clear);
+      generator.addClearField(clearBody);
+      clear.add(clearBody);
+      cost.add(name, "method_bytes", "clear()", estimateBytes(tokenize(clear)));
+      cost.add(name, "method_bytes", "build()", estimateBytes(buildTokens));
+      SourceBuilder buildPartial = SourceStringBuilder.simple(features);
+      generator.addPartialFieldAssignment(buildPartial, "this." + name, "builder");
+      cost.add(name, "method_bytes", "buildPartial()", estimateBytes(tokenize(buildPartial)));
+
+      staticExcerpts.addAll(generator.getStaticExcerpts());
+      hasRequiredProperties |= (generator.getType() == Type.REQUIRED);
+    }
+    if (hasRequiredProperties) {
+      // The EnumSet of properties not yet set
+      cost.add("", "builder_fields", "", 1);
+      cost.add("", "eager_allocations", "", 1);
+    }
+    for (StaticExcerpt staticExcerpt : staticExcerpts) {
+      SourceBuilder code = SourceStringBuilder.simple(features);
+      code.add(staticExcerpt);
+      List<String> tokens = tokenize(code);
+      if (tokens.isEmpty()) {
+        // Not needed with these features, e.g. if Guava is available
+        continue;
+      }
+      int bytes = 0;
+      for (List<String> body : methodBodies(tokens).values()) {
+        bytes += estimateBytes(body);
+      }
+      cost.add("", "static_excerpt", staticExcerpt.getName(), bytes);
+    }
+    put(type, cost);
+  }
+
+  @Override
+  protected void addRows(TypeCost cost, Rows rows) throws IOException {
+    for (Row row : cost.rows) {
+      rows.add(row.property, row.measure, row.detail, row.value);
+    }
+  }
+
+  @Override
+  protected String heading(Collection<TypeCost> entries) {
+    return "FreeBuilder generated code for " + entries.size()
+        + (entries.size() == 1 ? " type" : " types") + ". Heaviest:";
+  }
+
+  @Override
+  protected String describe(TypeCost cost) {
+    return cost.builderFields + " builder fields, "
+        + cost.eagerAllocations + " allocations per new Builder(), "
+        + cost.buildCopies + " copies per build(), ~"
+        + cost.bytes + " bytes of bytecode";
+  }
+
+  @Override
+  protected int compareCost(TypeCost left, TypeCost right) {
+    return ComparisonChain.start()
+        .compare(left.allocations(), right.allocations())
+        .compare(left.bytes, right.bytes)
+        .result();
+  }
+
+  /**
+   * Splits {@code code} into tokens: identifiers, keywords, literals, operators and punctuation.
+   * Comments and annotations are dropped, as they generate no bytecode.
+   */
+  @VisibleForTesting
+  static List<String> tokenize(Object code) {
+    String source = code.toString();
+    List<String> tokens = new ArrayList<String>();
+    int i = 0;
+    while (i < source.length()) {
+      char c = source.charAt(i);
+      int end;
+      if (Character.isWhitespace(c)) {
+        i++;
+        continue;
+      } else if (source.startsWith("//", i)) {
+        i = endOf(source, "\n", i + 2);
+        continue;
+      } else if (source.startsWith("/*", i)) {
+        i = endOf(source, "*/", i + 2);
+        continue;
+      } else if (c == '@') {
+        i = endOfAnnotation(source, i + 1);
+        continue;
+      } else if (c == '"' || c == '\'') {
+        end = endOfLiteral(source, c, i + 1);
+      } else if (Character.isJavaIdentifierPart(c)) {
+        end = i + 1;
+        while (end < source.length() && Character.isJavaIdentifierPart(source.charAt(end))) {
+          end++;
+        }
+      } else {
+        end = i + 1;
+      }
+      tokens.add(source.substring(i, end));
+      i = end;
+    }
+    return tokens;
+  }
+
+  /** Returns the index just after the next {@code terminator} at or after {@code from}. */
+  private static int endOf(String source, String terminator, int from) {
+    int index = source.indexOf(terminator, from);
+    return (index == -1) ? source.length() : index + terminator.length();
+  }
+
+  private static int endOfLiteral(String source, char quote, int from) {
+    int i = from;
+    while (i < source.length() && source.charAt(i) != quote) {
+      i += (source.charAt(i) == '\\') ? 2 : 1;
+    }
+    return Math.min(i + 1, source.length());
+  }
+
+  /** Returns the index just after the annotation whose name starts at {@code from}. */
+  private static int endOfAnnotation(String source, int from) {
+    int i = from;
+    while (i < source.length()
+        && (Character.isJavaIdentifierPart(source.charAt(i)) || source.charAt(i) == '.')) {
+      i++;
+    }
+    int next = i;
+    while (next < source.length() && Character.isWhitespace(source.charAt(next))) {
+      next++;
+    }
+    if (next == source.length() || source.charAt(next) != '(') {
+      return i;
+    }
+    int depth = 0;
+    for (i = next; i < source.length(); i++) {
+      char c = source.charAt(i);
+      if (c == '"' || c == '\'') {
+        i = endOfLiteral(source, c, i + 1) - 1;
+      } else if (c == '(') {
+        depth++;
+      } else if (c == ')' && --depth == 0) {
+        return i + 1;
+      }
+    }
+    return i;
+  }
+
+  /**
+   * Returns the body of each method declared in {@code tokens}, keyed by its name and parameter
+   * types, e.g. {@code addAll(Iterable<? extends String>)}. Methods of nested types are included,
+   * prefixed with the type's name, e.g. {@code CheckedList.add(E)}.
+   */
+  @VisibleForTesting
+  static Map<String, List<String>> methodBodies(List<String> tokens) {
+    Map<String, List<String>> methods = new LinkedHashMap<String, List<String>>();
+    addMethodBodies(methods, "", tokens);
+    return methods;
+  }
+
+  private static void addMethodBodies(
+      Map<String, List<String>> methods, String prefix, List<String> tokens) {
+    int declarationStart = 0;
+    int i = 0;
+    while (i < tokens.size()) {
+      String token = tokens.get(i);
+      if (token.equals(";")) {
+        declarationStart = i + 1;
+        i++;
+      } else if (token.equals("{")) {
+        int bodyEnd = matchingBrace(tokens, i);
+        List<String> declaration = tokens.subList(declarationStart, i);
+        int parameters = declaration.indexOf("(");
+        int typeKeyword = typeKeyword(declaration);
+        if (typeKeyword != -1 && typeKeyword + 1 < declaration.size()) {
+          String typeName = declaration.get(typeKeyword + 1);
+          addMethodBodies(methods, prefix + typeName + ".", tokens.subList(i + 1, bodyEnd));
+        } else if (parameters > 0 && !declaration.contains("=")) {
+          // Not a field initialized with an anonymous class
+          String signature = prefix + declaration.get(parameters - 1)
+              + parameterTypes(declaration.subList(parameters + 1, declaration.lastIndexOf(")")));
+          methods.put(signature, tokens.subList(i + 1, bodyEnd));
+        }
+        declarationStart = bodyEnd + 1;
+        i = bodyEnd + 1;
+      } else {
+        i++;
+      }
+    }
+  }
+
+  private static int typeKeyword(List<String> declaration) {
+    for (int i = 0; i < declaration.size(); i++) {
+      String token = declaration.get(i);
+      if (token.equals("class") || token.equals("interface") || token.equals("enum")) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static int matchingBrace(List<String> tokens, int open) {
+    int depth = 0;
+    for (int i = open; i < tokens.size(); i++) {
+      if (tokens.get(i).equals("{")) {
+        depth++;
+      } else if (tokens.get(i).equals("}") && --depth == 0) {
+        return i;
+      }
+    }
+    return tokens.size();
+  }
+
+  /** Returns the types of a parameter list, e.g. {@code (Map<K, V>, String...)}. */
+  private static String parameterTypes(List<String> parameters) {
+    List<String> types = new ArrayList<String>();
+    StringBuilder type = new StringBuilder();
+    int typeArgumentDepth = 0;
+    String previous = null;
+    for (int i = 0; i < parameters.size(); i++) {
+      String token = parameters.get(i);
+      boolean lastOfParameter = (i == parameters.size() - 1)
+          || (typeArgumentDepth == 0 && parameters.get(i + 1).equals(","));
+      if (token.equals("<")) {
+        typeArgumentDepth++;
+      } else if (token.equals(">")) {
+        typeArgumentDepth--;
+      }
+      if (token.equals("final") || (token.equals(",") && typeArgumentDepth == 0)) {
+        continue;
+      } else if (lastOfParameter) {
+        // Drop the parameter name
+        types.add(type.toString());
+        type.setLength(0);
+        previous = null;
+        continue;
+      }
+      if (previous != null && isWord(previous) && isWord(token)) {
+        type.append(' ');
+      }
+      type.append(token);
+      if (token.equals(",")) {
+        type.append(' ');
+      }
+      previous = token;
+    }
+    return "(" + Joiner.on(", ").join(types) + ")";
+  }
+
+  private static boolean isWord(String token) {
+    return token.equals("?") || Character.isJavaIdentifierPart(token.charAt(0));
+  }
+
+  private static int count(List<String> tokens, String token) {
+    int count = 0;
+    for (String t : tokens) {
+      if (t.equals(token)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /** Returns the number of method calls and object allocations in {@code tokens}. */
+  @VisibleForTesting
+  static int countCalls(List<String> tokens) {
+    int calls = 0;
+    for (int i = 0; i < tokens.size(); i++) {
+      String token = tokens.get(i);
+      if (token.equals("new")) {
+        calls++;
+        // Skip the constructor's name, so it is not also counted as a method call
+        while (i + 1 < tokens.size() && !tokens.get(i + 1).equals("(")) {
+          i++;
+        }
+        i++;
+      } else if (i + 1 < tokens.size()
+          && tokens.get(i + 1).equals("(")
+          && Character.isJavaIdentifierStart(token.charAt(0))
+          && !CONTROL_KEYWORDS.contains(token)) {
+        calls++;
+      }
+    }
+    return calls;
+  }
+
+  /**
+   * Returns the estimated bytecode size of a method body. Punctuation is not counted, as member
+   * selection, grouping and statement ends generate no instructions of their own.
+   */
+  @VisibleForTesting
+  static int estimateBytes(List<String> body) {
+    int tokens = 0;
+    for (String token : body) {
+      if (token.length() != 1 || ".,;(){}[]<>".indexOf(token.charAt(0)) == -1) {
+        tokens++;
+      }
+    }
+    return tokens * BYTES_PER_TOKEN;
+  }
+}
@@ -58,6 +58,16 @@ import javax.annotation.Generated;
  */
 public class CodeGenerator {
 
+  /**
+   * The most properties handled in a single generated mergeFrom, clear, equals, hashCode or
+   * toString method. Types with more properties have these split into private helper methods,
+   * keeping each well under HotSpot's 8000-byte limit on JIT-compiled methods.
+   */
+  @VisibleForTesting static final int PROPERTIES_PER_METHOD = 64;
+
+  /** The name {@link Declarations#freshBuilder} declares its fresh Builder with. */
+  private static final String DEFAULTS = "_defaults";
+
   /** Write the source code for a generated builder. */
   void writeBuilderSource(SourceBuilder code, Metadata metadata) {
     if (!metadata.hasBuilder()) {
@@ -180,12 +190,12 @@ public class CodeGenerator {
         .addLine(" */")
         .addLine("public %s mergeFrom(%s value) {", metadata.getBuilder(), metadata.getType());
     Block body = new Block(code);
-    for (Property property : metadata.getProperties()) {
-      property.getCodeGenerator().addMergeFromValue(body, "value");
-    }
+    SourceBuilder helpers = addPropertyCode(body, metadata, MERGE_FROM_VALUE,
+        "_mergeFromValue", Excerpts.add("%s value", metadata.getType()), "value");
     code.add(body)
         .addLine("  return (%s) this;", metadata.getBuilder())
-        .addLine("}");
+        .addLine("}")
+        .add("%s", helpers);
   }
 
   private static void addMergeFromBuilderMethod(SourceBuilder code, Metadata metadata) {
@@ -197,12 +207,12 @@ public class CodeGenerator {
         .addLine(" */")
         .addLine("public %1$s mergeFrom(%1$s template) {", metadata.getBuilder());
     Block body = new Block(code);
-    for (Property property : metadata.getProperties()) {
-      property.getCodeGenerator().addMergeFromBuilder(body, "template");
-    }
+    SourceBuilder helpers = addPropertyCode(body, metadata, MERGE_FROM_BUILDER,
+        "_mergeFromBuilder", Excerpts.add("%s template", metadata.getBuilder()), "template");
     code.add(body)
         .addLine("  return (%s) this;", metadata.getBuilder())
-        .addLine("}");
+        .addLine("}")
+        .add("%s", helpers);
   }
 
   private static void addClearMethod(SourceBuilder code, Metadata metadata) {
@@ -212,21 +222,94 @@ public class CodeGenerator {
         .addLine(" */")
         .addLine("public %s clear() {", metadata.getBuilder());
     Block body = new Block(code);
-    List<PropertyCodeGenerator> codeGenerators =
-        Lists.transform(metadata.getProperties(), GET_CODE_GENERATOR);
-    for (PropertyCodeGenerator codeGenerator : codeGenerators) {
-      codeGenerator.addClearField(body);
-    }
+    SourceBuilder helpers = addPropertyCode(body, metadata, CLEAR, "_clear", null, "");
+    // Declare any defaults before adding the body, as the block's declarations are copied then.
+    Optional<Excerpt> defaults = any(metadata.getProperties(), IS_REQUIRED)
+        ? Declarations.freshBuilder(body, metadata)
+        : Optional.<Excerpt>absent();
     code.add(body);
-    if (any(metadata.getProperties(), IS_REQUIRED)) {
-      Optional<Excerpt> defaults = Declarations.freshBuilder(body, metadata);
-      if (defaults.isPresent()) {
-        code.addLine("  _unsetProperties.clear();")
-            .addLine("  _unsetProperties.addAll(%s._unsetProperties);", defaults.get());
-      }
+    if (defaults.isPresent()) {
+      code.addLine("  _unsetProperties.clear();")
+          .addLine("  _unsetProperties.addAll(%s._unsetProperties);", defaults.get());
     }
     code.addLine("  return (%s) this;", metadata.getBuilder())
-        .addLine("}");
+        .addLine("}")
+        .add("%s", helpers);
+  }
+
+  /** Adds the code for some properties to the body of a builder method. */
+  private interface PropertyCodeWriter {
+    void addCode(Block body, List<Property> properties);
+  }
+
+  private static final PropertyCodeWriter MERGE_FROM_VALUE = new PropertyCodeWriter() {
+    @Override
+    public void addCode(Block body, List<Property> properties) {
+      for (Property property : properties) {
+        property.getCodeGenerator().addMergeFromValue(body, "value");
+      }
+    }
+  };
+
+  private static final PropertyCodeWriter MERGE_FROM_BUILDER = new PropertyCodeWriter() {
+    @Override
+    public void addCode(Block body, List<Property> properties) {
+      for (Property property : properties) {
+        property.getCodeGenerator().addMergeFromBuilder(body, "template");
+      }
+    }
+  };
+
+  private static final PropertyCodeWriter CLEAR = new PropertyCodeWriter() {
+    @Override
+    public void addCode(Block body, List<Property> properties) {
+      for (Property property : properties) {
+        property.getCodeGenerator().addClearField(body);
+      }
+    }
+  };
+
+  /**
+   * Adds the code for every property to {@code body}. If there are too many properties for one
+   * method, the code for each chunk goes in a private helper method instead, and {@code body}
+   * calls them; the helpers are returned, to add after the calling method.
+   *
+   * <p>A fresh Builder to copy defaults from is expensive to create for a type this large, so if
+   * the helpers need one, the calling method creates it once and passes it in.
+   */
+  private static SourceBuilder addPropertyCode(
+      Block body,
+      Metadata metadata,
+      PropertyCodeWriter writer,
+      String helperName,
+      Excerpt parameter,
+      String argument) {
+    SourceBuilder helpers = body.subBuilder();
+    List<List<Property>> chunks = chunks(metadata);
+    if (chunks.size() == 1) {
+      writer.addCode(body, metadata.getProperties());
+      return helpers;
+    }
+    for (int i = 0; i < chunks.size(); i++) {
+      Block helperBody = new Block(body).inScope(DEFAULTS);
+      writer.addCode(helperBody, chunks.get(i));
+      List<Object> parameters = Lists.newArrayList();
+      List<Object> arguments = Lists.newArrayList();
+      if (parameter != null) {
+        parameters.add(parameter);
+        arguments.add(argument);
+      }
+      if (helperBody.isDeclared(DEFAULTS)) {
+        parameters.add(Excerpts.add("%s %s", metadata.getGeneratedBuilder(), DEFAULTS));
+        arguments.add(Declarations.freshBuilder(body, metadata).get());
+      }
+      body.addLine("  %s%s(%s);", helperName, i, Excerpts.join(", ", arguments));
+      helpers.addLine("")
+          .addLine("private void %s%s(%s) {", helperName, i, Excerpts.join(", ", parameters))
+          .add(helperBody)
+          .addLine("}");
+    }
+    return helpers;
   }
 
   private static void addBuildPartialMethod(SourceBuilder code, Metadata metadata) {
@@ -331,17 +414,7 @@ public class CodeGenerator {
     }
     // Hash code
     if (metadata.standardMethodUnderride(StandardMethod.HASH_CODE) == ABSENT) {
-      String properties = Joiner.on(", ").join(getNames(metadata.getProperties()));
-      code.addLine("")
-          .addLine("  @%s", Override.class)
-          .addLine("  public int hashCode() {");
-      if (code.feature(SOURCE_LEVEL).javaUtilObjects().isPresent()) {
-        code.addLine("    return %s.hash(%s);",
-            code.feature(SOURCE_LEVEL).javaUtilObjects().get(), properties);
-      } else {
-        code.addLine("    return %s.hashCode(new Object[] { %s });", Arrays.class, properties);
-      }
-      code.addLine("  }");
+      addValueTypeHashCode(code, metadata);
     }
     // toString
     if (metadata.standardMethodUnderride(StandardMethod.TO_STRING) == ABSENT) {
@@ -359,11 +432,36 @@ public class CodeGenerator {
         .addLine("      return false;")
         .addLine("    }")
         .addLine("    %1$s other = (%1$s) obj;", metadata.getValueType().withWildcards());
-    if (metadata.getProperties().isEmpty()) {
+    List<List<Property>> chunks = chunks(metadata);
+    if (chunks.size() == 1) {
+      addValueTypeEqualsBody(code, metadata.getProperties());
+    } else {
+      String prefix = "    return ";
+      for (int i = 0; i < chunks.size(); i++) {
+        code.add(prefix);
+        code.add("_equals%s(other)", i);
+        prefix = "\n        && ";
+      }
+      code.add(";\n");
+    }
+    code.addLine("  }");
+    if (chunks.size() > 1) {
+      for (int i = 0; i < chunks.size(); i++) {
+        code.addLine("")
+            .addLine("  private boolean _equals%s(%s other) {",
+                i, metadata.getValueType().withWildcards());
+        addValueTypeEqualsBody(code, chunks.get(i));
+        code.addLine("  }");
+      }
+    }
+  }
+
+  private static void addValueTypeEqualsBody(SourceBuilder code, List<Property> properties) {
+    if (properties.isEmpty()) {
       code.addLine("    return true;");
     } else if (code.feature(SOURCE_LEVEL).javaUtilObjects().isPresent()) {
       String prefix = "    return ";
-      for (Property property : metadata.getProperties()) {
+      for (Property property : properties) {
         code.add(prefix);
         code.add("%1$s.equals(%2$s, other.%2$s)",
             code.feature(SOURCE_LEVEL).javaUtilObjects().get(), property.getName());
@@ -371,7 +469,7 @@ public class CodeGenerator {
       }
       code.add(";\n");
     } else {
-      for (Property property : metadata.getProperties()) {
+      for (Property property : properties) {
         switch (property.getType().getKind()) {
           case FLOAT:
           case DOUBLE:
@@ -396,13 +494,89 @@ public class CodeGenerator {
       }
       code.addLine("    return true;");
     }
+  }
+
+  private static void addValueTypeHashCode(SourceBuilder code, Metadata metadata) {
+    // Default implementation if no user implementation exists.
+    // Folds each property in directly, rather than via Objects.hash, so no varargs array is
+    // allocated and no primitives are boxed. The result is the same as Arrays.hashCode.
+    code.addLine("")
+        .addLine("  @%s", Override.class)
+        .addLine("  public int hashCode() {");
+    List<List<Property>> chunks = chunks(metadata);
+    if (metadata.getProperties().isEmpty()) {
+      code.addLine("    return 1;");
+    } else {
+      code.addLine("    int result = 1;");
+      if (chunks.size() == 1) {
+        addValueTypeHashCodeTerms(code, metadata.getProperties());
+      } else {
+        for (int i = 0; i < chunks.size(); i++) {
+          code.addLine("    result = _hashCode%s(result);", i);
+        }
+      }
+      code.addLine("    return result;");
+    }
     code.addLine("  }");
+    if (chunks.size() > 1) {
+      for (int i = 0; i < chunks.size(); i++) {
+        code.addLine("")
+            .addLine("  private int _hashCode%s(int result) {", i);
+        addValueTypeHashCodeTerms(code, chunks.get(i));
+        code.addLine("    return result;")
+            .addLine("  }");
+      }
+    }
+  }
+
+  /**
+   * Folds each of {@code properties} into {@code result}, a local or helper parameter. Fields are
+   * read through {@code this}, so a property called {@code result} is not hidden by it.
+   */
+  private static void addValueTypeHashCodeTerms(SourceBuilder code, List<Property> properties) {
+    for (Property property : properties) {
+      String field = "this." + property.getName();
+      code.add("    result = 31 * result + ");
+      switch (property.getType().getKind()) {
+        case BOOLEAN:
+          code.add("(%s ? 1231 : 1237)", field);
+          break;
+
+        case LONG:
+          code.add("(int) (%1$s ^ (%1$s >>> 32))", field);
+          break;
+
+        case FLOAT:
+          code.add("%s.floatToIntBits(%s)", Float.class, field);
+          break;
+
+        case DOUBLE:
+          code.add("(int) (%1$s.doubleToLongBits(%2$s) ^ (%1$s.doubleToLongBits(%2$s) >>> 32))",
+              Double.class, field);
+          break;
+
+        default:
+          if (property.getType().getKind().isPrimitive()) {
+            code.add("%s", field);
+          } else if (property.getCodeGenerator().getType() == Type.OPTIONAL) {
+            code.add("(%1$s == null ? 0 : %1$s.hashCode())", field);
+          } else {
+            code.add("%s.hashCode()", field);
+          }
+      }
+      code.add(";\n");
+    }
   }
 
   private static void addValueTypeToString(SourceBuilder code, Metadata metadata) {
     code.addLine("")
         .addLine("  @%s", Override.class)
         .addLine("  public %s toString() {", String.class);
+    List<List<Property>> chunks = chunks(metadata);
+    if (chunks.size() > 1) {
+      addValueTypeToStringInChunks(code, metadata, chunks);
+      return;
+    }
     switch (metadata.getProperties().size()) {
       case 0: {
         code.addLine("    return \"%s{}\";", metadata.getType().getSimpleName());
@@ -465,6 +639,42 @@ public class CodeGenerator {
     code.addLine("  }");
   }
 
+  /**
+   * Appends each chunk of properties to a StringBuilder in a helper method, threading through the
+   * separator so properties left out as null do not leave a stray comma.
+   */
+  private static void addValueTypeToStringInChunks(
+      SourceBuilder code, Metadata metadata, List<List<Property>> chunks) {
+    code.addLine("    %1$s result = new %1$s(\"%2$s{\");",
+            StringBuilder.class, metadata.getType().getSimpleName())
+        .addLine("    %s separator = \"\";", String.class);
+    for (int i = 0; i < chunks.size(); i++) {
+      code.addLine("    separator = _toString%s(result, separator);", i);
+    }
+    code.addLine("    return result.append(\"}\").toString();")
+        .addLine("  }");
+    for (int i = 0; i < chunks.size(); i++) {
+      code.addLine("")
+          .addLine("  private %1$s _toString%2$s(%3$s result, %1$s separator) {",
+              String.class, i, StringBuilder.class);
+      for (Property property : chunks.get(i)) {
+        if (property.getCodeGenerator().getType() == Type.OPTIONAL) {
+          code.addLine("    if (%s != null) {", property.getName())
+              .addLine("      result.append(separator).append(\"%1$s=\").append(%1$s);",
+                  property.getName())
+              .addLine("      separator = \", \";")
+              .addLine("    }");
+        } else {
+          code.addLine("    result.append(separator).append(\"%1$s=\").append(%1$s);",
+                  property.getName())
+              .addLine("    separator = \", \";");
+        }
+      }
+      code.addLine("    return separator;")
+          .addLine("  }");
+    }
+  }
+
   private static void addPartialType(SourceBuilder code, Metadata metadata) {
     boolean hasRequiredProperties = any(metadata.getProperties(), IS_REQUIRED);
     code.addLine("")
@@ -731,6 +941,9 @@ public class CodeGenerator {
 
   private static void addStaticMethods(SourceBuilder code, Metadata metadata) {
     SortedSet<Excerpt> staticMethods = new TreeSet<Excerpt>();
+    if (any(metadata.getProperties(), IS_REQUIRED)) {
+      staticMethods.addAll(PreconditionExcerpts.checkStateHelpers(1));
+    }
     for (Property property : metadata.getProperties()) {
       staticMethods.addAll(property.getCodeGenerator().getStaticExcerpts());
     }
@@ -753,6 +966,14 @@ public class CodeGenerator {
     return Excerpts.add(isInterface ? "implements %s" : "extends %s", type);
   }
 
+  /** Splits the properties of {@code metadata} into groups of {@link #PROPERTIES_PER_METHOD}. */
+  private static List<List<Property>> chunks(Metadata metadata) {
+    if (metadata.getProperties().size() <= PROPERTIES_PER_METHOD) {
+      return ImmutableList.<List<Property>>of(metadata.getProperties());
+    }
+    return Lists.partition(metadata.getProperties(), PROPERTIES_PER_METHOD);
+  }
+
   private static ImmutableList<String> getNames(Iterable<Property> properties) {
     ImmutableList.Builder<String> result = ImmutableList.builder();
     for (Property property : properties) {
@@ -126,7 +126,7 @@ public class DefaultPropertyFactory implements PropertyCodeGenerator.Factory {
       }
       TypeMirror typeParam = firstNonNull(property.getBoxedType(), property.getType());
       code.addLine(" */")
-          .add("public %s %s(%s mapper) {",
+          .addLine("public %s %s(%s mapper) {",
               metadata.getBuilder(),
               mapper(property),
               unaryOperator.withParameters(typeParam));
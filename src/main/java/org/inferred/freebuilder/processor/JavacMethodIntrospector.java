@@ -31,12 +31,17 @@ import com.sun.source.util.SimpleTreeVisitor;
 import com.sun.source.util.TreeScanner;
 import com.sun.source.util.Trees;
 
+import java.lang.reflect.Method;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.Name;
+import javax.lang.model.util.Elements;
 
 /** Implementation of {@link MethodIntrospector} for javac. */
 class JavacMethodIntrospector extends MethodIntrospector {
@@ -47,28 +52,76 @@ class JavacMethodIntrospector extends MethodIntrospector {
    * @throws IllegalArgumentException if the environment is not from javac
    */
   public static MethodIntrospector instance(ProcessingEnvironment env) {
-    return new JavacMethodIntrospector(Trees.instance(env));
+    return new JavacMethodIntrospector(Trees.instance(env), env.getElementUtils());
   }
 
   private final Trees trees;
+  private final Elements elements;
+  private final ImmutableSet<Name> superInvocation;
 
-  private JavacMethodIntrospector(Trees trees) {
+  private JavacMethodIntrospector(Trees trees, Elements elements) {
     this.trees = trees;
+    this.elements = elements;
+    this.superInvocation = ImmutableSet.of(elements.getName("super"));
   }
 
   @Override
   public Set<Name> getOwnMethodInvocations(ExecutableElement method) {
     try {
-      return ImmutableSet.copyOf(trees
-          .getTree(method)
-          .accept(OWN_METHOD_INVOCATIONS_FETCHER, null)
-          .names);
+      // Implicit default constructors only call super(), so skip looking up their tree.
+      if (isImplicitConstructor(method)) {
+        return superInvocation;
+      }
+      MethodTree tree = trees.getTree(method);
+      List<? extends StatementTree> statements = tree.getBody().getStatements();
+      if (statements.isEmpty()) {
+        return ImmutableSet.of();
+      } else if (statements.size() == 1 && isSuperCall(statements.get(0))) {
+        return superInvocation;
+      }
+      return ImmutableSet.copyOf(tree.accept(OWN_METHOD_INVOCATIONS_FETCHER, null).names);
     } catch (RuntimeException e) {
       // Fail gracefully
       return ImmutableSet.<Name>of();
     }
   }
 
+  /**
+   * Returns true if {@code method} is a default constructor added by javac. Uses
+   * {@code Elements.getOrigin} on Java 9+; Java 8 lacks that method, so there we read the
+   * {@code GENERATEDCONSTR} flag it is implemented with directly from the javac symbol.
+   */
+  boolean isImplicitConstructor(ExecutableElement method) {
+    if (method.getKind() != ElementKind.CONSTRUCTOR) {
+      return false;
+    }
+    try {
+      if (GET_ORIGIN != null) {
+        return GET_ORIGIN.invoke(elements, method) == MANDATED_ORIGIN;
+      } else if (SYMBOL_FLAGS != null && SYMBOL_FLAGS.getDeclaringClass().isInstance(method)) {
+        return ((Long) SYMBOL_FLAGS.invoke(method) & GENERATED_CONSTRUCTOR_FLAG) != 0;
+      }
+    } catch (Exception e) {
+      // Fall back to fetching the tree
+    }
+    return false;
+  }
+
+  /** Returns true if {@code statement} is a no-argument {@code super()} call. */
+  private static boolean isSuperCall(StatementTree statement) {
+    if (statement.getKind() != Kind.EXPRESSION_STATEMENT) {
+      return false;
+    }
+    ExpressionTree expression = ((ExpressionStatementTree) statement).getExpression();
+    if (expression.getKind() != Kind.METHOD_INVOCATION) {
+      return false;
+    }
+    MethodInvocationTree invocation = (MethodInvocationTree) expression;
+    return invocation.getArguments().isEmpty()
+        && invocation.getMethodSelect().getKind() == Kind.IDENTIFIER
+        && ((IdentifierTree) invocation.getMethodSelect()).getName().contentEquals("super");
+  }
+
   /** Data object retuned by {@link #OWN_METHOD_INVOCATIONS_FETCHER}. */
   private static class TreeAnalysis {
     private final Set<Name> names = new HashSet<Name>();
@@ -157,4 +210,44 @@ class JavacMethodIntrospector extends MethodIntrospector {
           return (r1 != null) ? r1 : r2;
         }
       };
+
+  /** {@code Elements.getOrigin}, or null before Java 9. */
+  private static final Method GET_ORIGIN;
+  /** {@code Elements.Origin.MANDATED}, or null before Java 9. */
+  private static final Object MANDATED_ORIGIN;
+  /** javac's {@code Symbol.flags()}, or null if {@link #GET_ORIGIN} is available. */
+  private static final Method SYMBOL_FLAGS;
+  /** javac's {@code Flags.GENERATEDCONSTR}, set on implicit default constructors. */
+  private static final long GENERATED_CONSTRUCTOR_FLAG;
+
+  static {
+    Method getOrigin;
+    Object mandatedOrigin;
+    try {
+      getOrigin = Elements.class.getMethod("getOrigin", Element.class);
+      mandatedOrigin = getOrigin.getReturnType().getField("MANDATED").get(null);
+    } catch (Exception e) {
+      getOrigin = null;
+      mandatedOrigin = null;
+    }
+    Method symbolFlags = null;
+    long generatedConstructorFlag = 0;
+    if (getOrigin == null) {
+      try {
+        ClassLoader javacLoader = Trees.class.getClassLoader();
+        symbolFlags = Class.forName("com.sun.tools.javac.code.Symbol", false, javacLoader)
+            .getMethod("flags");
+        generatedConstructorFlag =
+            Class.forName("com.sun.tools.javac.code.Flags", false, javacLoader)
+                .getField("GENERATEDCONSTR")
+                .getLong(null);
+      } catch (Exception e) {
+        symbolFlags = null;
+      }
+    }
+    GET_ORIGIN = getOrigin;
+    MANDATED_ORIGIN = mandatedOrigin;
+    SYMBOL_FLAGS = symbolFlags;
+    GENERATED_CONSTRUCTOR_FLAG = generatedConstructorFlag;
+  }
 }
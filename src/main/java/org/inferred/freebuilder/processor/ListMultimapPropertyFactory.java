@@ -15,6 +15,7 @@
  */
 package org.inferred.freebuilder.processor;
 
+import static org.inferred.freebuilder.processor.BuilderMethods.checkedView;
 import static org.inferred.freebuilder.processor.BuilderMethods.clearMethod;
 import static org.inferred.freebuilder.processor.BuilderMethods.getter;
 import static org.inferred.freebuilder.processor.BuilderMethods.mutator;
@@ -22,6 +23,7 @@ import static org.inferred.freebuilder.processor.BuilderMethods.putAllMethod;
 import static org.inferred.freebuilder.processor.BuilderMethods.putMethod;
 import static org.inferred.freebuilder.processor.BuilderMethods.removeAllMethod;
 import static org.inferred.freebuilder.processor.BuilderMethods.removeMethod;
+import static org.inferred.freebuilder.processor.BuilderMethods.unmodifiableView;
 import static org.inferred.freebuilder.processor.Util.erasesToAnyOf;
 import static org.inferred.freebuilder.processor.Util.upperBound;
 import static org.inferred.freebuilder.processor.util.ModelUtils.maybeDeclared;
@@ -44,6 +46,7 @@ import org.inferred.freebuilder.processor.PropertyCodeGenerator.Config;
 import org.inferred.freebuilder.processor.excerpt.CheckedListMultimap;
 import org.inferred.freebuilder.processor.util.Block;
 import org.inferred.freebuilder.processor.util.ParameterizedType;
+import org.inferred.freebuilder.processor.util.QualifiedName;
 import org.inferred.freebuilder.processor.util.SourceBuilder;
 import org.inferred.freebuilder.processor.util.StaticExcerpt;
 
@@ -58,7 +61,18 @@ import javax.lang.model.type.TypeMirror;
  * {@link PropertyCodeGenerator.Factory} providing append-only semantics for {@link ListMultimap}
  * properties.
  */
-public class ListMultimapPropertyFactory implements PropertyCodeGenerator.Factory {
+public class ListMultimapPropertyFactory implements PropertyCodeGenerator.TypeSpecificFactory {
+
+  private static final ImmutableSet<QualifiedName> SUPPORTED_TYPES = ImmutableSet.of(
+      QualifiedName.of(Multimap.class),
+      QualifiedName.of(ImmutableMultimap.class),
+      QualifiedName.of(ListMultimap.class),
+      QualifiedName.of(ImmutableListMultimap.class));
+
+  @Override
+  public Set<QualifiedName> getSupportedTypes() {
+    return SUPPORTED_TYPES;
+  }
 
   @Override
   public Optional<CodeGenerator> create(Config config) {
@@ -66,11 +80,7 @@ public class ListMultimapPropertyFactory implements PropertyCodeGenerator.Factor
     if (type == null) {
       return Optional.absent();
     }
-    if (!erasesToAnyOf(type,
-        Multimap.class,
-        ImmutableMultimap.class,
-        ListMultimap.class,
-        ImmutableListMultimap.class)) {
+    if (!erasesToAnyOf(type, SUPPORTED_TYPES)) {
       return Optional.absent();
     }
 
@@ -128,6 +138,12 @@ public class ListMultimapPropertyFactory implements PropertyCodeGenerator.Factor
     public void addBuilderFieldDeclaration(SourceBuilder code) {
       code.addLine("private final %1$s<%2$s, %3$s> %4$s = %1$s.create();",
           LinkedListMultimap.class, keyType, valueType, property.getName());
+      code.addLine("private %s<%s, %s> %s;",
+          ListMultimap.class, keyType, valueType, unmodifiableView(property));
+      if (overridesPutMethod && code.feature(FUNCTION_PACKAGE).biConsumer().isPresent()) {
+        code.addLine("private %s<%s, %s> %s;",
+            CheckedListMultimap.reference(), keyType, valueType, checkedView(property));
+      }
     }
 
     @Override
@@ -320,8 +336,14 @@ public class ListMultimapPropertyFactory implements PropertyCodeGenerator.Factor
               keyType,
               valueType);
       if (overridesPutMethod) {
-        code.addLine("  mutator.accept(new CheckedListMultimap<>(%s, this::%s));",
-            property.getName(), putMethod(property));
+        code.addLine("  if (%s == null) {", checkedView(property))
+            .addLine("    %s = new %s<>(%s, this::%s);",
+                checkedView(property),
+                CheckedListMultimap.reference(),
+                property.getName(),
+                putMethod(property))
+            .addLine("  }")
+            .addLine("  mutator.accept(%s);", checkedView(property));
       } else {
         code.addLine("  // If %s is overridden, this method will be updated to delegate to it",
                 putMethod(property))
@@ -357,8 +379,11 @@ public class ListMultimapPropertyFactory implements PropertyCodeGenerator.Factor
               keyType,
               valueType,
               getter(property))
-          .addLine("  return %s.unmodifiableListMultimap(%s);",
-              Multimaps.class, property.getName())
+          .addLine("  if (%s == null) {", unmodifiableView(property))
+          .addLine("    %s = %s.unmodifiableListMultimap(%s);",
+              unmodifiableView(property), Multimaps.class, property.getName())
+          .addLine("  }")
+          .addLine("  return %s;", unmodifiableView(property))
           .addLine("}");
     }
 
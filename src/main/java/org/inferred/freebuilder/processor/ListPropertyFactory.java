@@ -17,9 +17,11 @@ package org.inferred.freebuilder.processor;
 
 import static org.inferred.freebuilder.processor.BuilderMethods.addAllMethod;
 import static org.inferred.freebuilder.processor.BuilderMethods.addMethod;
+import static org.inferred.freebuilder.processor.BuilderMethods.checkedView;
 import static org.inferred.freebuilder.processor.BuilderMethods.clearMethod;
 import static org.inferred.freebuilder.processor.BuilderMethods.getter;
 import static org.inferred.freebuilder.processor.BuilderMethods.mutator;
+import static org.inferred.freebuilder.processor.BuilderMethods.unmodifiableView;
 import static org.inferred.freebuilder.processor.Util.erasesToAnyOf;
 import static org.inferred.freebuilder.processor.Util.upperBound;
 import static org.inferred.freebuilder.processor.util.ModelUtils.maybeDeclared;
@@ -30,6 +32,7 @@ import static org.inferred.freebuilder.processor.util.PreconditionExcerpts.check
 import static org.inferred.freebuilder.processor.util.StaticExcerpt.Type.METHOD;
 import static org.inferred.freebuilder.processor.util.feature.FunctionPackage.FUNCTION_PACKAGE;
 import static org.inferred.freebuilder.processor.util.feature.GuavaLibrary.GUAVA;
+import static org.inferred.freebuilder.processor.util.feature.RuntimeLibrary.RUNTIME_LIBRARY;
 import static org.inferred.freebuilder.processor.util.feature.SourceLevel.SOURCE_LEVEL;
 import static org.inferred.freebuilder.processor.util.feature.SourceLevel.diamondOperator;
 
@@ -41,6 +44,7 @@ import com.google.common.collect.ImmutableSet;
 import org.inferred.freebuilder.processor.Metadata.Property;
 import org.inferred.freebuilder.processor.PropertyCodeGenerator.Config;
 import org.inferred.freebuilder.processor.excerpt.CheckedList;
+import org.inferred.freebuilder.processor.excerpt.RuntimeReference;
 import org.inferred.freebuilder.processor.util.Block;
 import org.inferred.freebuilder.processor.util.ParameterizedType;
 import org.inferred.freebuilder.processor.util.QualifiedName;
@@ -62,12 +66,22 @@ import javax.lang.model.type.TypeMirror;
  * {@link PropertyCodeGenerator.Factory} providing append-only semantics for {@link List}
  * properties.
  */
-public class ListPropertyFactory implements PropertyCodeGenerator.Factory {
+public class ListPropertyFactory implements PropertyCodeGenerator.TypeSpecificFactory {
+
+  private static final ImmutableSet<QualifiedName> SUPPORTED_TYPES = ImmutableSet.of(
+      QualifiedName.of(Collection.class),
+      QualifiedName.of(List.class),
+      QualifiedName.of(ImmutableList.class));
+
+  @Override
+  public Set<QualifiedName> getSupportedTypes() {
+    return SUPPORTED_TYPES;
+  }
 
   @Override
   public Optional<? extends PropertyCodeGenerator> create(Config config) {
     DeclaredType type = maybeDeclared(config.getProperty().getType()).orNull();
-    if (type == null || !erasesToAnyOf(type, Collection.class, List.class, ImmutableList.class)) {
+    if (type == null || !erasesToAnyOf(type, SUPPORTED_TYPES)) {
       return Optional.absent();
     }
 
@@ -120,6 +134,11 @@ public class ListPropertyFactory implements PropertyCodeGenerator.Factory {
           elementType,
           property.getName(),
           diamondOperator(elementType));
+      code.addLine("private %s<%s> %s;", List.class, elementType, unmodifiableView(property));
+      if (overridesAddMethod && code.feature(FUNCTION_PACKAGE).consumer().isPresent()) {
+        code.addLine("private %s<%s> %s;",
+            CheckedList.reference(), elementType, checkedView(property));
+      }
     }
 
     @Override
@@ -231,8 +250,14 @@ public class ListPropertyFactory implements PropertyCodeGenerator.Factory {
               List.class,
               elementType);
       if (overridesAddMethod) {
-        code.addLine("  mutator.accept(new CheckedList<>(%s, this::%s));",
-            property.getName(), addMethod(property));
+        code.addLine("  if (%s == null) {", checkedView(property))
+            .addLine("    %s = new %s<>(%s, this::%s);",
+                checkedView(property),
+                CheckedList.reference(),
+                property.getName(),
+                addMethod(property))
+            .addLine("  }")
+            .addLine("  mutator.accept(%s);", checkedView(property));
       } else {
         code.addLine("  // If %s is overridden, this method will be updated to delegate to it",
                 addMethod(property))
@@ -264,7 +289,11 @@ public class ListPropertyFactory implements PropertyCodeGenerator.Factory {
           .addLine(" * Changes to this builder will be reflected in the view.")
           .addLine(" */")
           .addLine("public %s<%s> %s() {", List.class, elementType, getter(property))
-          .addLine("  return %s.unmodifiableList(%s);", Collections.class, property.getName())
+          .addLine("  if (%s == null) {", unmodifiableView(property))
+          .addLine("    %s = %s.unmodifiableList(%s);",
+              unmodifiableView(property), Collections.class, property.getName())
+          .addLine("  }")
+          .addLine("  return %s;", unmodifiableView(property))
           .addLine("}");
     }
 
@@ -274,8 +303,8 @@ public class ListPropertyFactory implements PropertyCodeGenerator.Factory {
         code.addLine("%s = %s.copyOf(%s.%s);",
             finalField, ImmutableList.class, builder, property.getName());
       } else {
-        code.addLine("%s = immutableList(%s.%s, %s.class);",
-            finalField, builder, property.getName(), elementType);
+        code.addLine("%s = %s(%s.%s, %s.class);",
+            finalField, IMMUTABLE_LIST_METHOD, builder, property.getName(), elementType);
       }
     }
 
@@ -314,10 +343,13 @@ public class ListPropertyFactory implements PropertyCodeGenerator.Factory {
     }
   }
 
+  private static final RuntimeReference IMMUTABLE_LIST_METHOD =
+      RuntimeReference.method("ImmutableCollections", "immutableList");
+
   private static final StaticExcerpt IMMUTABLE_LIST = new StaticExcerpt(METHOD, "immutableList") {
     @Override
     public void addTo(SourceBuilder code) {
-      if (!code.feature(GUAVA).isAvailable()) {
+      if (!code.feature(GUAVA).isAvailable() && !code.feature(RUNTIME_LIBRARY).isAvailable()) {
         code.addLine("")
             .addLine("@%s(\"unchecked\")", SuppressWarnings.class)
             .addLine("private static <E> %1$s<E> immutableList(%1$s<E> elements, %2$s<E> type) {",
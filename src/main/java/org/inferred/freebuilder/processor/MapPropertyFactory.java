@@ -15,12 +15,14 @@
  */
 package org.inferred.freebuilder.processor;
 
+import static org.inferred.freebuilder.processor.BuilderMethods.checkedView;
 import static org.inferred.freebuilder.processor.BuilderMethods.clearMethod;
 import static org.inferred.freebuilder.processor.BuilderMethods.getter;
 import static org.inferred.freebuilder.processor.BuilderMethods.mutator;
 import static org.inferred.freebuilder.processor.BuilderMethods.putAllMethod;
 import static org.inferred.freebuilder.processor.BuilderMethods.putMethod;
 import static org.inferred.freebuilder.processor.BuilderMethods.removeMethod;
+import static org.inferred.freebuilder.processor.BuilderMethods.unmodifiableView;
 import static org.inferred.freebuilder.processor.Util.erasesToAnyOf;
 import static org.inferred.freebuilder.processor.Util.upperBound;
 import static org.inferred.freebuilder.processor.util.ModelUtils.maybeDeclared;
@@ -29,6 +31,7 @@ import static org.inferred.freebuilder.processor.util.ModelUtils.overrides;
 import static org.inferred.freebuilder.processor.util.StaticExcerpt.Type.METHOD;
 import static org.inferred.freebuilder.processor.util.feature.FunctionPackage.FUNCTION_PACKAGE;
 import static org.inferred.freebuilder.processor.util.feature.GuavaLibrary.GUAVA;
+import static org.inferred.freebuilder.processor.util.feature.RuntimeLibrary.RUNTIME_LIBRARY;
 import static org.inferred.freebuilder.processor.util.feature.SourceLevel.diamondOperator;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -39,6 +42,7 @@ import com.google.common.collect.ImmutableSet;
 import org.inferred.freebuilder.processor.Metadata.Property;
 import org.inferred.freebuilder.processor.PropertyCodeGenerator.Config;
 import org.inferred.freebuilder.processor.excerpt.CheckedMap;
+import org.inferred.freebuilder.processor.excerpt.RuntimeReference;
 import org.inferred.freebuilder.processor.util.Block;
 import org.inferred.freebuilder.processor.util.Excerpts;
 import org.inferred.freebuilder.processor.util.ParameterizedType;
@@ -60,12 +64,21 @@ import javax.lang.model.type.TypeMirror;
  * {@link PropertyCodeGenerator.Factory} providing append-only semantics for {@link Map}
  * properties.
  */
-public class MapPropertyFactory implements PropertyCodeGenerator.Factory {
+public class MapPropertyFactory implements PropertyCodeGenerator.TypeSpecificFactory {
+
+  private static final ImmutableSet<QualifiedName> SUPPORTED_TYPES = ImmutableSet.of(
+      QualifiedName.of(Map.class),
+      QualifiedName.of(ImmutableMap.class));
+
+  @Override
+  public Set<QualifiedName> getSupportedTypes() {
+    return SUPPORTED_TYPES;
+  }
 
   @Override
   public Optional<? extends PropertyCodeGenerator> create(Config config) {
     DeclaredType type = maybeDeclared(config.getProperty().getType()).orNull();
-    if (type == null || !erasesToAnyOf(type, Map.class, ImmutableMap.class)) {
+    if (type == null || !erasesToAnyOf(type, SUPPORTED_TYPES)) {
       return Optional.absent();
     }
     TypeMirror keyType = upperBound(config.getElements(), type.getTypeArguments().get(0));
@@ -130,6 +143,12 @@ public class MapPropertyFactory implements PropertyCodeGenerator.Factory {
           valueType,
           property.getName(),
           diamondOperator(Excerpts.add("%s, %s", keyType, valueType)));
+      code.addLine("private %s<%s, %s> %s;",
+          Map.class, keyType, valueType, unmodifiableView(property));
+      if (overridesPutMethod && code.feature(FUNCTION_PACKAGE).biConsumer().isPresent()) {
+        code.addLine("private %s<%s, %s> %s;",
+            CheckedMap.reference(), keyType, valueType, checkedView(property));
+      }
     }
 
     @Override
@@ -254,8 +273,14 @@ public class MapPropertyFactory implements PropertyCodeGenerator.Factory {
               keyType,
               valueType);
       if (overridesPutMethod) {
-        code.addLine("  mutator.accept(new CheckedMap<>(%s, this::%s));",
-            property.getName(), putMethod(property));
+        code.addLine("  if (%s == null) {", checkedView(property))
+            .addLine("    %s = new %s<>(%s, this::%s);",
+                checkedView(property),
+                CheckedMap.reference(),
+                property.getName(),
+                putMethod(property))
+            .addLine("  }")
+            .addLine("  mutator.accept(%s);", checkedView(property));
       } else {
         code.addLine("  // If %s is overridden, this method will be updated to delegate to it",
                 putMethod(property))
@@ -287,7 +312,11 @@ public class MapPropertyFactory implements PropertyCodeGenerator.Factory {
           .addLine(" * Changes to this builder will be reflected in the view.")
           .addLine(" */")
           .addLine("public %s<%s, %s> %s() {", Map.class, keyType, valueType, getter(property))
-          .addLine("  return %s.unmodifiableMap(%s);", Collections.class, property.getName())
+          .addLine("  if (%s == null) {", unmodifiableView(property))
+          .addLine("    %s = %s.unmodifiableMap(%s);",
+              unmodifiableView(property), Collections.class, property.getName())
+          .addLine("  }")
+          .addLine("  return %s;", unmodifiableView(property))
           .addLine("}");
     }
 
@@ -297,7 +326,7 @@ public class MapPropertyFactory implements PropertyCodeGenerator.Factory {
       if (code.feature(GUAVA).isAvailable()) {
         code.add("%s.copyOf", ImmutableMap.class);
       } else {
-        code.add("immutableMap");
+        code.add("%s", IMMUTABLE_MAP_METHOD);
       }
       code.add("(%s.%s);\n", builder, property.getName());
     }
@@ -337,10 +366,13 @@ public class MapPropertyFactory implements PropertyCodeGenerator.Factory {
     }
   }
 
+  private static final RuntimeReference IMMUTABLE_MAP_METHOD =
+      RuntimeReference.method("ImmutableCollections", "immutableMap");
+
   private static final StaticExcerpt IMMUTABLE_MAP = new StaticExcerpt(METHOD, "immutableMap") {
     @Override
     public void addTo(SourceBuilder code) {
-      if (!code.feature(GUAVA).isAvailable()) {
+      if (!code.feature(GUAVA).isAvailable() && !code.feature(RUNTIME_LIBRARY).isAvailable()) {
         code.addLine("")
             .addLine("private static <K, V> %1$s<K, V> immutableMap(%1$s<K, V> entries) {",
                 Map.class)
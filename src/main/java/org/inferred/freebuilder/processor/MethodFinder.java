@@ -17,15 +17,16 @@ package org.inferred.freebuilder.processor;
 
 import static javax.lang.model.util.ElementFilter.methodsIn;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.SetMultimap;
 
 import org.inferred.freebuilder.processor.Analyser.CannotGenerateCodeException;
 
+import java.util.HashMap;
 import java.util.Iterator;
-import java.util.LinkedHashSet;
-import java.util.Set;
+import java.util.Map;
 
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ExecutableElement;
@@ -41,6 +42,19 @@ import javax.lang.model.util.Elements;
  */
 public class MethodFinder {
 
+  /**
+   * The supertypes and declared methods of each type seen so far. Types analysed in the same round
+   * often share deep hierarchies; reusing a cache saves walking each supertype again for each type.
+   *
+   * <p>Elements may change between rounds, so a cache should not outlive the round it is used in.
+   */
+  public static class Cache {
+    private final Map<TypeElement, ImmutableSet<TypeElement>> supertypes =
+        new HashMap<TypeElement, ImmutableSet<TypeElement>>();
+    private final Map<TypeElement, ImmutableList<ExecutableElement>> declaredMethods =
+        new HashMap<TypeElement, ImmutableList<ExecutableElement>>();
+  }
+
   /**
    * Returns all methods, declared and inherited, on {@code type}, except those specified by
    * {@link Object}.
@@ -51,19 +65,31 @@ public class MethodFinder {
    */
   public static ImmutableSet<ExecutableElement> methodsOn(TypeElement type, Elements elements)
       throws CannotGenerateCodeException {
+    return methodsOn(type, elements, new Cache());
+  }
+
+  /**
+   * Returns all methods, declared and inherited, on {@code type}, except those specified by
+   * {@link Object}, reusing the supertypes and declared methods stored in {@code cache}.
+   *
+   * @see #methodsOn(TypeElement, Elements)
+   */
+  public static ImmutableSet<ExecutableElement> methodsOn(
+      TypeElement type, Elements elements, Cache cache) throws CannotGenerateCodeException {
     TypeElement objectType = elements.getTypeElement(Object.class.getCanonicalName());
     SetMultimap<Signature, ExecutableElement> methods = LinkedHashMultimap.create();
-    for (TypeElement supertype : getSupertypes(type)) {
-      for (ExecutableElement method : methodsIn(supertype.getEnclosedElements())) {
-        if (method.getEnclosingElement().equals(objectType)) {
-          continue;  // Skip methods specified by Object.
-        }
+    for (TypeElement supertype : getSupertypes(type, cache)) {
+      if (supertype.equals(objectType)) {
+        continue;  // Skip methods specified by Object.
+      }
+      for (ExecutableElement method : getDeclaredMethods(supertype, cache)) {
         Signature signature = new Signature(method);
         Iterator<ExecutableElement> iterator = methods.get(signature).iterator();
         while (iterator.hasNext()) {
           ExecutableElement otherMethod = iterator.next();
-          if (elements.overrides(method, otherMethod, type)
-              || method.getParameters().equals(otherMethod.getParameters())) {
+          // Check the cheap condition first: it is always true for methods with no parameters.
+          if (method.getParameters().equals(otherMethod.getParameters())
+              || elements.overrides(method, otherMethod, type)) {
             iterator.remove();
           }
         }
@@ -73,22 +99,35 @@ public class MethodFinder {
     return ImmutableSet.copyOf(methods.values());
   }
 
-  private static ImmutableSet<TypeElement> getSupertypes(TypeElement type)
-      throws CannotGenerateCodeException {
-    Set<TypeElement> supertypes = new LinkedHashSet<TypeElement>();
-    addSupertypesToSet(type, supertypes);
-    return ImmutableSet.copyOf(supertypes);
+  private static ImmutableList<ExecutableElement> getDeclaredMethods(
+      TypeElement type, Cache cache) {
+    ImmutableList<ExecutableElement> methods = cache.declaredMethods.get(type);
+    if (methods == null) {
+      methods = ImmutableList.copyOf(methodsIn(type.getEnclosedElements()));
+      cache.declaredMethods.put(type, methods);
+    }
+    return methods;
   }
 
-  private static void addSupertypesToSet(TypeElement type, Set<TypeElement> mutableSet)
+  /**
+   * Returns {@code type} and all its supertypes, each after its own supertypes, interfaces before
+   * superclasses.
+   */
+  private static ImmutableSet<TypeElement> getSupertypes(TypeElement type, Cache cache)
       throws CannotGenerateCodeException {
-    for (TypeMirror iface : type.getInterfaces()) {
-      addSupertypesToSet(asTypeElement(iface), mutableSet);
-    }
-    if (type.getSuperclass().getKind() != TypeKind.NONE) {
-      addSupertypesToSet(asTypeElement(type.getSuperclass()), mutableSet);
+    ImmutableSet<TypeElement> supertypes = cache.supertypes.get(type);
+    if (supertypes == null) {
+      ImmutableSet.Builder<TypeElement> builder = ImmutableSet.builder();
+      for (TypeMirror iface : type.getInterfaces()) {
+        builder.addAll(getSupertypes(asTypeElement(iface), cache));
+      }
+      if (type.getSuperclass().getKind() != TypeKind.NONE) {
+        builder.addAll(getSupertypes(asTypeElement(type.getSuperclass()), cache));
+      }
+      supertypes = builder.add(type).build();
+      cache.supertypes.put(type, supertypes);
     }
-    mutableSet.add(type);
+    return supertypes;
   }
 
   private static TypeElement asTypeElement(TypeMirror iface) throws CannotGenerateCodeException {
@@ -18,10 +18,12 @@ package org.inferred.freebuilder.processor;
 import static org.inferred.freebuilder.processor.BuilderMethods.addAllMethod;
 import static org.inferred.freebuilder.processor.BuilderMethods.addCopiesMethod;
 import static org.inferred.freebuilder.processor.BuilderMethods.addMethod;
+import static org.inferred.freebuilder.processor.BuilderMethods.checkedView;
 import static org.inferred.freebuilder.processor.BuilderMethods.clearMethod;
 import static org.inferred.freebuilder.processor.BuilderMethods.getter;
 import static org.inferred.freebuilder.processor.BuilderMethods.mutator;
 import static org.inferred.freebuilder.processor.BuilderMethods.setCountMethod;
+import static org.inferred.freebuilder.processor.BuilderMethods.unmodifiableView;
 import static org.inferred.freebuilder.processor.Util.erasesToAnyOf;
 import static org.inferred.freebuilder.processor.Util.upperBound;
 import static org.inferred.freebuilder.processor.util.ModelUtils.maybeDeclared;
@@ -57,12 +59,21 @@ import javax.lang.model.type.TypeMirror;
  * {@link PropertyCodeGenerator.Factory} providing append-only semantics for {@link Multiset}
  * properties.
  */
-public class MultisetPropertyFactory implements PropertyCodeGenerator.Factory {
+public class MultisetPropertyFactory implements PropertyCodeGenerator.TypeSpecificFactory {
+
+  private static final ImmutableSet<QualifiedName> SUPPORTED_TYPES = ImmutableSet.of(
+      QualifiedName.of(Multiset.class),
+      QualifiedName.of(ImmutableMultiset.class));
+
+  @Override
+  public Set<QualifiedName> getSupportedTypes() {
+    return SUPPORTED_TYPES;
+  }
 
   @Override
   public Optional<CodeGenerator> create(Config config) {
     DeclaredType type = maybeDeclared(config.getProperty().getType()).orNull();
-    if (type == null || !erasesToAnyOf(type, Multiset.class, ImmutableMultiset.class)) {
+    if (type == null || !erasesToAnyOf(type, SUPPORTED_TYPES)) {
       return Optional.absent();
     }
 
@@ -112,6 +123,11 @@ public class MultisetPropertyFactory implements PropertyCodeGenerator.Factory {
     public void addBuilderFieldDeclaration(SourceBuilder code) {
       code.addLine("private final %1$s<%2$s> %3$s = %1$s.create();",
           LinkedHashMultiset.class, elementType, property.getName());
+      code.addLine("private %s<%s> %s;", Multiset.class, elementType, unmodifiableView(property));
+      if (overridesSetCountMethod && code.feature(FUNCTION_PACKAGE).biConsumer().isPresent()) {
+        code.addLine("private %s<%s> %s;",
+            CheckedMultiset.reference(), elementType, checkedView(property));
+      }
     }
 
     @Override
@@ -241,8 +257,14 @@ public class MultisetPropertyFactory implements PropertyCodeGenerator.Factory {
               Multiset.class,
               elementType);
       if (overridesSetCountMethod) {
-        code.addLine("  mutator.accept(new CheckedMultiset<>(%s, this::%s));",
-            property.getName(), setCountMethod(property));
+        code.addLine("  if (%s == null) {", checkedView(property))
+            .addLine("    %s = new %s<>(%s, this::%s);",
+                checkedView(property),
+                CheckedMultiset.reference(),
+                property.getName(),
+                setCountMethod(property))
+            .addLine("  }")
+            .addLine("  mutator.accept(%s);", checkedView(property));
       } else {
         code.addLine("  // If %s is overridden, this method will be updated to delegate to it",
                 setCountMethod(property))
@@ -300,7 +322,11 @@ public class MultisetPropertyFactory implements PropertyCodeGenerator.Factory {
           .addLine(" * Changes to this builder will be reflected in the view.")
           .addLine(" */")
           .addLine("public %s<%s> %s() {", Multiset.class, elementType, getter(property))
-          .addLine("  return %s.unmodifiableMultiset(%s);", Multisets.class, property.getName())
+          .addLine("  if (%s == null) {", unmodifiableView(property))
+          .addLine("    %s = %s.unmodifiableMultiset(%s);",
+              unmodifiableView(property), Multisets.class, property.getName())
+          .addLine("  }")
+          .addLine("  return %s;", unmodifiableView(property))
           .addLine("}");
     }
 
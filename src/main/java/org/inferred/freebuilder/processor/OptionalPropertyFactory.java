@@ -28,6 +28,7 @@ import static org.inferred.freebuilder.processor.util.feature.FunctionPackage.FU
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableSet;
 
 import org.inferred.freebuilder.processor.Metadata.Property;
 import org.inferred.freebuilder.processor.PropertyCodeGenerator.Config;
@@ -38,6 +39,8 @@ import org.inferred.freebuilder.processor.util.PreconditionExcerpts;
 import org.inferred.freebuilder.processor.util.QualifiedName;
 import org.inferred.freebuilder.processor.util.SourceBuilder;
 
+import java.util.Set;
+
 import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.type.WildcardType;
@@ -47,7 +50,7 @@ import javax.lang.model.util.SimpleTypeVisitor6;
  * {@link PropertyCodeGenerator.Factory} providing a default value (absent) and convenience
  * setter methods for {@link Optional} properties.
  */
-public class OptionalPropertyFactory implements PropertyCodeGenerator.Factory {
+public class OptionalPropertyFactory implements PropertyCodeGenerator.TypeSpecificFactory {
 
   @VisibleForTesting
   enum OptionalType {
@@ -101,6 +104,15 @@ public class OptionalPropertyFactory implements PropertyCodeGenerator.Factory {
     protected abstract void invokeIfPresent(SourceBuilder code, String value, String method);
   }
 
+  @Override
+  public Set<QualifiedName> getSupportedTypes() {
+    ImmutableSet.Builder<QualifiedName> supportedTypes = ImmutableSet.builder();
+    for (OptionalType optionalType : OptionalType.values()) {
+      supportedTypes.add(optionalType.cls);
+    }
+    return supportedTypes.build();
+  }
+
   @Override
   public Optional<? extends PropertyCodeGenerator> create(Config config) {
     DeclaredType type = maybeDeclared(config.getProperty().getType()).orNull();
@@ -336,11 +348,15 @@ public class OptionalPropertyFactory implements PropertyCodeGenerator.Factory {
 
     @Override
     public void addReadValueFragment(SourceBuilder code, String finalField) {
-      code.add("%s.", optional.cls);
+      // Branch here rather than calling ofNullable, so the null check is profiled per property.
+      // A property that is never empty then never merges the new Optional with the shared empty
+      // instance, which would stop escape analysis from optimizing the allocation away.
+      code.add("(%s == null ? %s.<%s>%s() : %s.", finalField, optional.cls, elementType,
+          optional.empty, optional.cls);
       if (requiresExplicitTypeParameters) {
         code.add("<%s>", elementType);
       }
-      code.add("%s(%s)", optional.ofNullable, finalField);
+      code.add("of(%s))", finalField);
     }
 
     @Override
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.processor;
+
+import javax.lang.model.element.TypeElement;
+
+/**
+ * Notified of the time the {@link Processor} spends, and the memory it allocates, in each phase
+ * of generating a builder.
+ *
+ * <p>Builders are formatted in parallel, so {@link Phase#FORMAT} may be reported concurrently
+ * from several threads.
+ */
+interface PhaseListener {
+
+  /**
+   * The phases of generating a builder, in the order they start. Some phases are nested inside
+   * others, and counted in both.
+   */
+  enum Phase {
+    /** {@link Analyser#analyse}, including {@link #FIND_METHODS} and {@link #INTROSPECT}. */
+    ANALYSE,
+    /** {@link MethodFinder#methodsOn}, finding the type's methods. Part of {@link #ANALYSE}. */
+    FIND_METHODS,
+    /**
+     * {@link MethodIntrospector} tree walks, finding methods called in the user's builder's
+     * constructors. Part of {@link #ANALYSE}.
+     */
+    INTROSPECT,
+    /** {@link CodeGenerator#writeBuilderSource}, including creating the compilation unit. */
+    GENERATE,
+    /** Adding the preamble and formatting the source. Skipped in fast-emit mode. */
+    FORMAT,
+    /**
+     * Writing the source to the {@link javax.annotation.processing.Filer Filer}, including
+     * re-indenting it in fast-emit mode.
+     */
+    WRITE
+  }
+
+  /** Ignores all notifications. */
+  PhaseListener NONE = new PhaseListener() {
+    @Override
+    public void phaseFinished(TypeElement type, Phase phase, long nanos, long allocatedBytes) {}
+  };
+
+  /**
+   * Called when {@code phase} finishes for {@code type}, having taken {@code nanos} and allocated
+   * {@code allocatedBytes} on the current thread, or -1 if the JVM cannot measure allocations.
+   */
+  void phaseFinished(TypeElement type, Phase phase, long nanos, long allocatedBytes);
+}
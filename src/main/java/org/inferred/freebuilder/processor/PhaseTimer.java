@@ -0,0 +1,123 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.processor;
+
+import org.inferred.freebuilder.processor.PhaseListener.Phase;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+
+import javax.lang.model.element.TypeElement;
+
+/**
+ * Measures phases of processing for a {@link PhaseListener}: the wall time taken, and on JVMs
+ * that support it, the bytes allocated by the current thread.
+ *
+ * <p>Each phase must start and finish on the same thread. If the listener is
+ * {@link PhaseListener#NONE}, nothing is measured.
+ */
+class PhaseTimer {
+
+  /** A point on the current thread, from which the next phase is measured. */
+  static class Mark {
+    private final long nanos;
+    private final long allocatedBytes;
+
+    private Mark(long nanos, long allocatedBytes) {
+      this.nanos = nanos;
+      this.allocatedBytes = allocatedBytes;
+    }
+  }
+
+  /** Measures nothing. */
+  static final PhaseTimer NONE = new PhaseTimer(PhaseListener.NONE);
+
+  private final PhaseListener listener;
+
+  PhaseTimer(PhaseListener listener) {
+    this.listener = listener;
+  }
+
+  /** Returns the point from which to measure a phase, or null if nothing is being measured. */
+  Mark start() {
+    if (listener == PhaseListener.NONE) {
+      return null;
+    }
+    return new Mark(System.nanoTime(), Allocations.currentThreadAllocatedBytes());
+  }
+
+  /**
+   * Notifies the listener that {@code phase} has finished for {@code type}, returning the point
+   * from which to measure the next phase.
+   */
+  Mark finish(TypeElement type, Phase phase, Mark start) {
+    if (start == null) {
+      return null;
+    }
+    Mark now = start();
+    long allocatedBytes = (start.allocatedBytes < 0 || now.allocatedBytes < 0)
+        ? -1
+        : now.allocatedBytes - start.allocatedBytes;
+    listener.phaseFinished(type, phase, now.nanos - start.nanos, allocatedBytes);
+    return now;
+  }
+
+  /**
+   * Measures per-thread allocations, if the JVM supports it. Looked up reflectively, as
+   * {@code com.sun.management} is not available on all JVMs; and lazily, so the management
+   * classes are only loaded if something is being measured.
+   */
+  private static class Allocations {
+    private static final ThreadMXBean THREADS;
+    private static final Method GET_THREAD_ALLOCATED_BYTES;
+
+    static {
+      ThreadMXBean threads = null;
+      Method getThreadAllocatedBytes = null;
+      try {
+        threads = ManagementFactory.getThreadMXBean();
+        Class<?> hotspotThreads = Class.forName("com.sun.management.ThreadMXBean");
+        if (hotspotThreads.isInstance(threads)) {
+          Method isSupported = hotspotThreads.getMethod("isThreadAllocatedMemorySupported");
+          Method isEnabled = hotspotThreads.getMethod("isThreadAllocatedMemoryEnabled");
+          if ((Boolean) isSupported.invoke(threads) && (Boolean) isEnabled.invoke(threads)) {
+            getThreadAllocatedBytes =
+                hotspotThreads.getMethod("getThreadAllocatedBytes", long.class);
+          }
+        }
+      } catch (Exception e) {
+        // Allocations will not be measured
+      } catch (LinkageError e) {
+        // Allocations will not be measured
+      }
+      THREADS = threads;
+      GET_THREAD_ALLOCATED_BYTES = getThreadAllocatedBytes;
+    }
+
+    /** Returns the bytes allocated so far by the current thread, or -1 if not supported. */
+    static long currentThreadAllocatedBytes() {
+      if (GET_THREAD_ALLOCATED_BYTES == null) {
+        return -1;
+      }
+      try {
+        return (Long) GET_THREAD_ALLOCATED_BYTES.invoke(THREADS, Thread.currentThread().getId());
+      } catch (Exception e) {
+        return -1;
+      }
+    }
+  }
+}
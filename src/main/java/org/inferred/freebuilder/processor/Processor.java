@@ -15,22 +15,49 @@
  */
 package org.inferred.freebuilder.processor;
 
+import static com.google.common.util.concurrent.Uninterruptibles.getUninterruptibly;
 import static javax.lang.model.util.ElementFilter.typesIn;
 import static org.inferred.freebuilder.processor.util.ModelUtils.findAnnotationMirror;
 import static org.inferred.freebuilder.processor.util.RoundEnvironments.annotatedElementsIn;
 
 import com.google.auto.service.AutoService;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Optional;
 import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.inferred.freebuilder.FreeBuilder;
+import org.inferred.freebuilder.processor.PhaseListener.Phase;
+import org.inferred.freebuilder.processor.PhaseTimer.Mark;
 import org.inferred.freebuilder.processor.util.CompilationUnitBuilder;
 import org.inferred.freebuilder.processor.util.FilerUtils;
+import org.inferred.freebuilder.processor.util.FormattedSourceCache;
+import org.inferred.freebuilder.processor.util.QualifiedName;
+import org.inferred.freebuilder.processor.util.UnformattedSource;
+import org.inferred.freebuilder.processor.util.feature.EnvironmentFeatureSet;
+import org.inferred.freebuilder.processor.util.feature.FeatureSet;
+import org.inferred.freebuilder.processor.util.feature.ProcessorOption;
+import org.inferred.freebuilder.processor.util.feature.ProcessorOptions;
+import org.inferred.freebuilder.processor.util.feature.SourceFormatting;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceConfigurationError;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
 
 import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
 import javax.annotation.processing.FilerException;
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.annotation.processing.RoundEnvironment;
@@ -43,19 +70,77 @@ import javax.tools.Diagnostic.Kind;
  *
  * <p>Processing is split into analysis (owned by the {@link Analyser}) and code generation (owned
  * by the {@link CodeGenerator}), communicating through the metadata object ({@link Metadata}), for
- * testability.
+ * testability. Both run on the compiler's thread; the generated source is then formatted in
+ * parallel, and written out in order back on the compiler's thread. In fast-emit mode, the source
+ * is instead re-indented as it is written out.
  */
 @AutoService(javax.annotation.processing.Processor.class)
 public class Processor extends AbstractProcessor {
 
+  /** Every {@code -A} option the processor understands. */
+  private static final ImmutableList<ProcessorOption<?>> OPTIONS =
+      ImmutableList.<ProcessorOption<?>>of(
+          SourceFormatting.FAST_EMIT,
+          SourceFormatting.SKIP_JAVADOC,
+          ProcessorMetrics.METRICS,
+          CodeCostReport.CODE_REPORT,
+          FormattedSourceCache.CACHE_DIR);
+
+  private final FeatureSet features;
+  private final PhaseListener phaseListener;
+  private ProcessorOptions options;
+  /** Created on first use, so compilations without FreeBuilder types do not load them. */
   private Analyser analyser;
-  private final CodeGenerator codeGenerator = new CodeGenerator();
+  private CodeGenerator codeGenerator;
+  /** {@link #features}, or if null, those detected in the current processing environment. */
+  private FeatureSet environmentFeatures;
+  /** Non-null if {@code -Afreebuilder.metrics} was passed. */
+  private ProcessorMetrics metrics;
+  private PhaseTimer timer;
+  /** Non-null if {@code -Afreebuilder.codeReport} was passed. */
+  private CodeCostReport codeCostReport;
+  /** Non-null if {@code -Afreebuilder.cacheDir} was passed. */
+  private FormattedSourceCache formattedSourceCache;
+
+  public Processor() {
+    this.features = null;
+    this.phaseListener = PhaseListener.NONE;
+  }
+
+  /**
+   * Constructor for tests, forcing the generated code to use {@code features} rather than those
+   * detected in the compilation environment.
+   */
+  @VisibleForTesting
+  Processor(FeatureSet features) {
+    this.features = features;
+    this.phaseListener = PhaseListener.NONE;
+  }
+
+  /**
+   * Constructor for benchmarks, notifying {@code phaseListener} of the time spent in each phase.
+   * If {@code features} is null, they will be detected in the compilation environment.
+   */
+  @VisibleForTesting
+  Processor(FeatureSet features, PhaseListener phaseListener) {
+    this.features = features;
+    this.phaseListener = phaseListener;
+  }
 
   @Override
   public Set<String> getSupportedAnnotationTypes() {
     return ImmutableSet.of(FreeBuilder.class.getName());
   }
 
+  @Override
+  public Set<String> getSupportedOptions() {
+    ImmutableSet.Builder<String> names = ImmutableSet.builder();
+    for (ProcessorOption<?> option : OPTIONS) {
+      names.add(option.getName());
+    }
+    return names.build();
+  }
+
   @Override
   public SourceVersion getSupportedSourceVersion() {
     return SourceVersion.latestSupported();
@@ -64,50 +149,200 @@ public class Processor extends AbstractProcessor {
   @Override
   public synchronized void init(ProcessingEnvironment processingEnv) {
     super.init(processingEnv);
+    options = new ProcessorOptions(processingEnv);
+    options.reportInvalidValues(OPTIONS, processingEnv.getMessager());
+    if (options.get(ProcessorMetrics.METRICS)) {
+      metrics = new ProcessorMetrics();
+      timer = new PhaseTimer(metrics);
+    } else {
+      metrics = null;
+      timer = new PhaseTimer(phaseListener);
+    }
+    analyser = null;
+    codeGenerator = null;
+    environmentFeatures = null;
+    codeCostReport = options.get(CodeCostReport.CODE_REPORT) ? new CodeCostReport() : null;
+    Optional<String> cacheDir = options.get(FormattedSourceCache.CACHE_DIR);
+    formattedSourceCache =
+        cacheDir.isPresent() ? new FormattedSourceCache(new File(cacheDir.get())) : null;
+  }
+
+  /**
+   * Creates the analyser and code generator, loading the property factories. Deferred until the
+   * first round with FreeBuilder types, so other compilations with the processor on their path,
+   * e.g. of test sources, pay only to initialize the processor itself.
+   */
+  private void initGenerator() {
     analyser = new Analyser(
         processingEnv.getElementUtils(),
         processingEnv.getMessager(),
         MethodIntrospector.instance(processingEnv),
-        processingEnv.getTypeUtils());
+        processingEnv.getTypeUtils(),
+        loadPropertyFactories(),
+        options,
+        timer);
+    codeGenerator = new CodeGenerator();
+    environmentFeatures = (features != null) ? features : new EnvironmentFeatureSet(processingEnv);
+  }
+
+  private PropertyFactoryRegistry loadPropertyFactories() {
+    try {
+      return PropertyFactoryRegistry.load(Processor.class.getClassLoader());
+    } catch (ServiceConfigurationError e) {
+      processingEnv.getMessager().printMessage(
+          Kind.WARNING, "Could not load FreeBuilder property factories: " + e.getMessage());
+      return PropertyFactoryRegistry.BUILT_IN;
+    }
   }
 
   @Override
   public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
-    for (TypeElement type : typesIn(annotatedElementsIn(roundEnv, FreeBuilder.class))) {
+    Set<TypeElement> types = typesIn(annotatedElementsIn(roundEnv, FreeBuilder.class));
+    if (!types.isEmpty()) {
+      if (analyser == null) {
+        initGenerator();
+      }
+      generateBuilders(types);
+    }
+    if (metrics != null && roundEnv.processingOver()) {
+      metrics.report(processingEnv.getFiler(), processingEnv.getMessager());
+    }
+    if (codeCostReport != null && roundEnv.processingOver()) {
+      codeCostReport.report(processingEnv.getFiler(), processingEnv.getMessager());
+    }
+    return false;
+  }
+
+  private void generateBuilders(Set<TypeElement> types) {
+    // Analysis and code generation use the javax.lang.model API, which is not thread-safe, so
+    // they run on the javac thread. Formatting is pure string manipulation, so runs in parallel.
+    analyser.startRound();
+    CompilationUnitBuilder.Cache compilationUnitCache = new CompilationUnitBuilder.Cache();
+    List<GeneratedUnit> units = new ArrayList<GeneratedUnit>();
+    for (TypeElement type : types) {
       try {
+        Mark mark = timer.start();
         Metadata metadata = analyser.analyse(type);
+        mark = timer.finish(type, Phase.ANALYSE, mark);
         CompilationUnitBuilder code = new CompilationUnitBuilder(
             processingEnv,
             metadata.getGeneratedBuilder().getQualifiedName(),
-            metadata.getVisibleNestedTypes());
+            metadata.getVisibleNestedTypes(),
+            environmentFeatures,
+            compilationUnitCache);
         codeGenerator.writeBuilderSource(code, metadata);
-        FilerUtils.writeCompilationUnit(
-            processingEnv.getFiler(),
-            metadata.getGeneratedBuilder().getQualifiedName(),
-            type,
-            code.toString());
+        units.add(new GeneratedUnit(
+            type, metadata.getGeneratedBuilder().getQualifiedName(), code.unformattedSource()));
+        timer.finish(type, Phase.GENERATE, mark);
+        if (codeCostReport != null) {
+          codeCostReport.add(type, metadata, environmentFeatures);
+        }
       } catch (Analyser.CannotGenerateCodeException e) {
         // Thrown to skip writing the builder source; the error will already have been issued.
+      } catch (RuntimeException e) {
+        printMessage(Kind.ERROR, "Internal error: " + Throwables.getStackTraceAsString(e), type);
+      }
+    }
+    List<Future<String>> sources = format(units);
+    for (int i = 0; i < units.size(); ++i) {
+      GeneratedUnit unit = units.get(i);
+      try {
+        Filer filer = processingEnv.getFiler();
+        if (sources.get(i) != null) {
+          String source = getUninterruptibly(sources.get(i));
+          Mark mark = timer.start();
+          FilerUtils.writeCompilationUnit(filer, unit.name, unit.type, source);
+          timer.finish(unit.type, Phase.WRITE, mark);
+        } else {
+          // Re-indent the source as it is written, rather than holding a second copy of it.
+          Mark mark = timer.start();
+          FilerUtils.writeCompilationUnit(filer, unit.name, unit.type, unit.source);
+          timer.finish(unit.type, Phase.WRITE, mark);
+        }
+      } catch (ExecutionException e) {
+        Throwables.propagateIfInstanceOf(e.getCause(), Error.class);
+        printMessage(
+            Kind.ERROR,
+            "Internal error: " + Throwables.getStackTraceAsString(e.getCause()),
+            unit.type);
       } catch (FilerException e) {
-        processingEnv.getMessager().printMessage(
-            Kind.WARNING,
-            "Error producing Builder: " + e.getMessage(),
-            type,
-            findAnnotationMirror(type, "org.inferred.freebuilder.FreeBuilder").get());
+        printMessage(Kind.WARNING, "Error producing Builder: " + e.getMessage(), unit.type);
       } catch (IOException e) {
-        processingEnv.getMessager().printMessage(
-            Kind.ERROR,
-            "I/O error: " + Throwables.getStackTraceAsString(e),
-            type,
-            findAnnotationMirror(type, "org.inferred.freebuilder.FreeBuilder").get());
+        printMessage(Kind.ERROR, "I/O error: " + Throwables.getStackTraceAsString(e), unit.type);
       } catch (RuntimeException e) {
-        processingEnv.getMessager().printMessage(
-            Kind.ERROR,
-            "Internal error: " + Throwables.getStackTraceAsString(e),
-            type,
-            findAnnotationMirror(type, "org.inferred.freebuilder.FreeBuilder").get());
+        printMessage(
+            Kind.ERROR, "Internal error: " + Throwables.getStackTraceAsString(e), unit.type);
       }
     }
-    return false;
+  }
+
+  /**
+   * Starts formatting each unit that needs a full formatter, returning the results in the same
+   * order, or null for units that will be streamed instead. If there are several units to format,
+   * they are formatted in parallel, on up to one thread per processor.
+   */
+  private List<Future<String>> format(List<GeneratedUnit> units) {
+    List<Future<String>> sources = new ArrayList<Future<String>>();
+    int unitsToFormat = 0;
+    for (GeneratedUnit unit : units) {
+      if (unit.source.isFormatted()) {
+        unitsToFormat++;
+      }
+    }
+    int threads = Math.min(unitsToFormat, Runtime.getRuntime().availableProcessors());
+    if (threads <= 1) {
+      for (GeneratedUnit unit : units) {
+        if (unit.source.isFormatted()) {
+          FutureTask<String> source = new FutureTask<String>(unit);
+          source.run();
+          sources.add(source);
+        } else {
+          sources.add(null);
+        }
+      }
+    } else {
+      ThreadFactory formatterThreads = new ThreadFactoryBuilder()
+          .setNameFormat("FreeBuilder formatter %d")
+          .setDaemon(true)
+          .build();
+      ExecutorService executor = Executors.newFixedThreadPool(threads, formatterThreads);
+      for (GeneratedUnit unit : units) {
+        sources.add(unit.source.isFormatted() ? executor.submit(unit) : null);
+      }
+      // Submitted units are still formatted; the threads exit once they are all done.
+      executor.shutdown();
+    }
+    return sources;
+  }
+
+  /** A builder's source code, generated but not yet formatted. Formats it when called. */
+  private class GeneratedUnit implements Callable<String> {
+    final TypeElement type;
+    final QualifiedName name;
+    final UnformattedSource source;
+
+    GeneratedUnit(TypeElement type, QualifiedName name, UnformattedSource source) {
+      this.type = type;
+      this.name = name;
+      this.source = source;
+    }
+
+    @Override
+    public String call() {
+      Mark mark = timer.start();
+      String formatted = (formattedSourceCache != null)
+          ? source.format(formattedSourceCache)
+          : source.format();
+      timer.finish(type, Phase.FORMAT, mark);
+      return formatted;
+    }
+  }
+
+  private void printMessage(Kind kind, String message, TypeElement type) {
+    processingEnv.getMessager().printMessage(
+        kind,
+        message,
+        type,
+        findAnnotationMirror(type, "org.inferred.freebuilder.FreeBuilder").get());
   }
 }
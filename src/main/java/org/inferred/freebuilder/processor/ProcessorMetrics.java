@@ -0,0 +1,114 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.processor;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import com.google.common.collect.ComparisonChain;
+
+import org.inferred.freebuilder.processor.PhaseListener.Phase;
+import org.inferred.freebuilder.processor.util.CsvReport;
+import org.inferred.freebuilder.processor.util.feature.ProcessorOption;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Locale;
+
+import javax.lang.model.element.TypeElement;
+
+/**
+ * Records the time and memory the {@link Processor} spends on each type, and reports them at the
+ * end of compilation, if {@code -Afreebuilder.metrics} is passed.
+ *
+ * <p>The report is written as CSV to {@value #REPORT_NAME} in the class output directory, with
+ * one row per type and phase. Allocations are only reported on JVMs that can measure them.
+ */
+class ProcessorMetrics extends CsvReport<ProcessorMetrics.TypeMetrics> implements PhaseListener {
+
+  /** Processor option enabling metrics. */
+  static final ProcessorOption<Boolean> METRICS = ProcessorOption.flag("freebuilder.metrics");
+
+  static final String REPORT_NAME = "META-INF/freebuilder/metrics.csv";
+
+  /** The time and memory spent on one type. */
+  static class TypeMetrics {
+    final long[] nanos = new long[Phase.values().length];
+    final long[] allocatedBytes = new long[Phase.values().length];
+
+    TypeMetrics() {
+      Arrays.fill(allocatedBytes, -1);
+    }
+
+    /** Returns the total time spent, not double-counting nested phases. */
+    long totalNanos() {
+      return nanos[Phase.ANALYSE.ordinal()]
+          + nanos[Phase.GENERATE.ordinal()]
+          + nanos[Phase.FORMAT.ordinal()]
+          + nanos[Phase.WRITE.ordinal()];
+    }
+  }
+
+  ProcessorMetrics() {
+    super(REPORT_NAME, "metrics", "phase", "nanos", "allocated_bytes");
+  }
+
+  @Override
+  public synchronized void phaseFinished(
+      TypeElement type, Phase phase, long nanos, long allocatedBytes) {
+    TypeMetrics metrics = get(type);
+    if (metrics == null) {
+      metrics = new TypeMetrics();
+      put(type, metrics);
+    }
+    metrics.nanos[phase.ordinal()] += nanos;
+    if (allocatedBytes >= 0) {
+      metrics.allocatedBytes[phase.ordinal()] =
+          Math.max(metrics.allocatedBytes[phase.ordinal()], 0) + allocatedBytes;
+    }
+  }
+
+  @Override
+  protected void addRows(TypeMetrics metrics, Rows rows) throws IOException {
+    for (Phase phase : Phase.values()) {
+      long allocatedBytes = metrics.allocatedBytes[phase.ordinal()];
+      rows.add(
+          phase.name().toLowerCase(Locale.ENGLISH),
+          metrics.nanos[phase.ordinal()],
+          (allocatedBytes < 0) ? "" : allocatedBytes);
+    }
+  }
+
+  @Override
+  protected String heading(Collection<TypeMetrics> entries) {
+    long totalNanos = 0;
+    for (TypeMetrics metrics : entries) {
+      totalNanos += metrics.totalNanos();
+    }
+    return "FreeBuilder processed " + entries.size() + (entries.size() == 1 ? " type" : " types")
+        + " in " + NANOSECONDS.toMillis(totalNanos) + " ms. Slowest:";
+  }
+
+  @Override
+  protected String describe(TypeMetrics metrics) {
+    return NANOSECONDS.toMillis(metrics.totalNanos()) + " ms";
+  }
+
+  @Override
+  protected int compareCost(TypeMetrics left, TypeMetrics right) {
+    return ComparisonChain.start().compare(left.totalNanos(), right.totalNanos()).result();
+  }
+}
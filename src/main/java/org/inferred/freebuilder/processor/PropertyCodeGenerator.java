@@ -25,8 +25,10 @@ import com.google.common.collect.ImmutableSet;
 import org.inferred.freebuilder.processor.Metadata.Property;
 import org.inferred.freebuilder.processor.util.Block;
 import org.inferred.freebuilder.processor.util.Excerpt;
+import org.inferred.freebuilder.processor.util.QualifiedName;
 import org.inferred.freebuilder.processor.util.SourceBuilder;
 import org.inferred.freebuilder.processor.util.StaticExcerpt;
+import org.inferred.freebuilder.processor.util.feature.ProcessorOptions;
 
 import java.lang.reflect.Field;
 import java.util.List;
@@ -42,7 +44,7 @@ import javax.lang.model.util.Types;
 public abstract class PropertyCodeGenerator {
 
   /** Data available to {@link Factory} instances when creating a {@link PropertyCodeGenerator}. */
-  interface Config {
+  public interface Config {
     /** Returns metadata about the builder being generated. */
     Metadata getMetadata();
 
@@ -67,10 +69,20 @@ public abstract class PropertyCodeGenerator {
 
     /** The compiler's {@link Types} implementation. */
     Types getTypes();
+
+    /** The {@code -A} options passed to the compiler, e.g. to select a generated code mode. */
+    ProcessorOptions getOptions();
   }
 
-  /** Factory interface for {@link PropertyCodeGenerator}. */
-  interface Factory {
+  /**
+   * Factory interface for {@link PropertyCodeGenerator}.
+   *
+   * <p>Besides the built-in factories, the processor loads any implementations registered with
+   * {@link java.util.ServiceLoader} on the processor path, and consults them before the built-in
+   * ones. Implementations need a public no-argument constructor, and must be compiled against the
+   * released processor jar, as it shades its dependencies.
+   */
+  public interface Factory {
     /**
      * Create a new {@link PropertyCodeGenerator} for the property described in {@code config}.
      *
@@ -80,6 +92,15 @@ public abstract class PropertyCodeGenerator {
     Optional<? extends PropertyCodeGenerator> create(Config config);
   }
 
+  /**
+   * A {@link Factory} that only supports properties whose types erase to one of a fixed set of
+   * types. It will only be consulted for properties of those types.
+   */
+  public interface TypeSpecificFactory extends Factory {
+    /** Returns the erased types this factory supports, e.g. {@code java.util.List}. */
+    Set<QualifiedName> getSupportedTypes();
+  }
+
   protected final Metadata metadata;
   protected final Property property;
 
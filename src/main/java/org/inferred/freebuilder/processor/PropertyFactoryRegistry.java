@@ -0,0 +1,120 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.processor;
+
+import static com.google.common.collect.Iterables.concat;
+import static org.inferred.freebuilder.processor.Util.erasedName;
+import static org.inferred.freebuilder.processor.util.ModelUtils.maybeDeclared;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+
+import org.inferred.freebuilder.processor.PropertyCodeGenerator.Config;
+import org.inferred.freebuilder.processor.PropertyCodeGenerator.Factory;
+import org.inferred.freebuilder.processor.PropertyCodeGenerator.TypeSpecificFactory;
+import org.inferred.freebuilder.processor.util.QualifiedName;
+
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+import javax.lang.model.type.DeclaredType;
+
+/**
+ * The {@link Factory} implementations available to the {@link Analyser}, indexed by the erased
+ * types they support, so each property is only offered to the factories that can handle it.
+ *
+ * <p>Factories are consulted in order: {@link NullablePropertyFactory}, as no other factory
+ * supports nulls; the {@link TypeSpecificFactory} instances supporting the property's erased
+ * type; all other factories; and finally {@link DefaultPropertyFactory}. Third-party factories
+ * come before built-in ones at each stage, so they can take over built-in types.
+ */
+class PropertyFactoryRegistry {
+
+  private static final Factory NULLABLE_FACTORY = new NullablePropertyFactory();
+  private static final List<Factory> BUILT_IN_FACTORIES = ImmutableList.<Factory>of(
+      new ListPropertyFactory(),
+      new SetPropertyFactory(),
+      new MapPropertyFactory(),
+      new MultisetPropertyFactory(),
+      new ListMultimapPropertyFactory(),
+      new SetMultimapPropertyFactory(),
+      new OptionalPropertyFactory(),
+      new BuildablePropertyFactory());
+  private static final Factory DEFAULT_FACTORY = new DefaultPropertyFactory();
+
+  /** A registry of the built-in factories only. */
+  static final PropertyFactoryRegistry BUILT_IN =
+      new PropertyFactoryRegistry(ImmutableList.<Factory>of());
+
+  /**
+   * Returns a registry of the built-in factories, plus any registered with
+   * {@link ServiceLoader} in {@code classLoader}.
+   *
+   * @throws ServiceConfigurationError if a registered factory cannot be loaded
+   */
+  static PropertyFactoryRegistry load(ClassLoader classLoader) {
+    ImmutableList<Factory> extensions =
+        ImmutableList.copyOf(ServiceLoader.load(Factory.class, classLoader));
+    return extensions.isEmpty() ? BUILT_IN : new PropertyFactoryRegistry(extensions);
+  }
+
+  private final ImmutableListMultimap<String, Factory> typeSpecificFactories;
+  private final ImmutableList<Factory> otherFactories;
+
+  /** Returns a registry consulting {@code extensions} before the built-in factories. */
+  PropertyFactoryRegistry(Iterable<? extends Factory> extensions) {
+    ImmutableListMultimap.Builder<String, Factory> typeSpecificFactories =
+        ImmutableListMultimap.builder();
+    ImmutableList.Builder<Factory> otherFactories = ImmutableList.builder();
+    for (Factory factory : concat(extensions, BUILT_IN_FACTORIES)) {
+      if (factory instanceof TypeSpecificFactory) {
+        for (QualifiedName type : ((TypeSpecificFactory) factory).getSupportedTypes()) {
+          typeSpecificFactories.put(erasedName(type), factory);
+        }
+      } else {
+        otherFactories.add(factory);
+      }
+    }
+    this.typeSpecificFactories = typeSpecificFactories.build();
+    this.otherFactories = otherFactories.build();
+  }
+
+  /** Returns a {@link PropertyCodeGenerator} for the property described in {@code config}. */
+  PropertyCodeGenerator createCodeGenerator(Config config) {
+    Optional<? extends PropertyCodeGenerator> codeGenerator = NULLABLE_FACTORY.create(config);
+    if (codeGenerator.isPresent()) {
+      return codeGenerator.get();
+    }
+    DeclaredType type = maybeDeclared(config.getProperty().getType()).orNull();
+    if (type != null) {
+      for (Factory factory : typeSpecificFactories.get(erasedName(type))) {
+        codeGenerator = factory.create(config);
+        if (codeGenerator.isPresent()) {
+          return codeGenerator.get();
+        }
+      }
+    }
+    for (Factory factory : otherFactories) {
+      codeGenerator = factory.create(config);
+      if (codeGenerator.isPresent()) {
+        return codeGenerator.get();
+      }
+    }
+    return DEFAULT_FACTORY.create(config).get();
+  }
+}
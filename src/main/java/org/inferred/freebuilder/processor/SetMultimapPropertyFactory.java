@@ -15,6 +15,7 @@
  */
 package org.inferred.freebuilder.processor;
 
+import static org.inferred.freebuilder.processor.BuilderMethods.checkedView;
 import static org.inferred.freebuilder.processor.BuilderMethods.clearMethod;
 import static org.inferred.freebuilder.processor.BuilderMethods.getter;
 import static org.inferred.freebuilder.processor.BuilderMethods.mutator;
@@ -22,6 +23,7 @@ import static org.inferred.freebuilder.processor.BuilderMethods.putAllMethod;
 import static org.inferred.freebuilder.processor.BuilderMethods.putMethod;
 import static org.inferred.freebuilder.processor.BuilderMethods.removeAllMethod;
 import static org.inferred.freebuilder.processor.BuilderMethods.removeMethod;
+import static org.inferred.freebuilder.processor.BuilderMethods.unmodifiableView;
 import static org.inferred.freebuilder.processor.Util.erasesToAnyOf;
 import static org.inferred.freebuilder.processor.Util.upperBound;
 import static org.inferred.freebuilder.processor.util.ModelUtils.maybeDeclared;
@@ -43,6 +45,7 @@ import org.inferred.freebuilder.processor.PropertyCodeGenerator.Config;
 import org.inferred.freebuilder.processor.excerpt.CheckedSetMultimap;
 import org.inferred.freebuilder.processor.util.Block;
 import org.inferred.freebuilder.processor.util.ParameterizedType;
+import org.inferred.freebuilder.processor.util.QualifiedName;
 import org.inferred.freebuilder.processor.util.SourceBuilder;
 import org.inferred.freebuilder.processor.util.StaticExcerpt;
 
@@ -57,12 +60,21 @@ import javax.lang.model.type.TypeMirror;
  * {@link PropertyCodeGenerator.Factory} providing append-only semantics for {@link SetMultimap}
  * properties.
  */
-public class SetMultimapPropertyFactory implements PropertyCodeGenerator.Factory {
+public class SetMultimapPropertyFactory implements PropertyCodeGenerator.TypeSpecificFactory {
+
+  private static final ImmutableSet<QualifiedName> SUPPORTED_TYPES = ImmutableSet.of(
+      QualifiedName.of(SetMultimap.class),
+      QualifiedName.of(ImmutableSetMultimap.class));
+
+  @Override
+  public Set<QualifiedName> getSupportedTypes() {
+    return SUPPORTED_TYPES;
+  }
 
   @Override
   public Optional<CodeGenerator> create(Config config) {
     DeclaredType type = maybeDeclared(config.getProperty().getType()).orNull();
-    if (type == null || !erasesToAnyOf(type, SetMultimap.class, ImmutableSetMultimap.class)) {
+    if (type == null || !erasesToAnyOf(type, SUPPORTED_TYPES)) {
       return Optional.absent();
     }
 
@@ -119,6 +131,12 @@ public class SetMultimapPropertyFactory implements PropertyCodeGenerator.Factory
     public void addBuilderFieldDeclaration(SourceBuilder code) {
       code.addLine("private final %1$s<%2$s, %3$s> %4$s = %1$s.create();",
           LinkedHashMultimap.class, keyType, valueType, property.getName());
+      code.addLine("private %s<%s, %s> %s;",
+          SetMultimap.class, keyType, valueType, unmodifiableView(property));
+      if (overridesPutMethod && code.feature(FUNCTION_PACKAGE).biConsumer().isPresent()) {
+        code.addLine("private %s<%s, %s> %s;",
+            CheckedSetMultimap.reference(), keyType, valueType, checkedView(property));
+      }
     }
 
     @Override
@@ -316,8 +334,14 @@ public class SetMultimapPropertyFactory implements PropertyCodeGenerator.Factory
               keyType,
               valueType);
       if (overridesPutMethod) {
-        code.addLine("  mutator.accept(new CheckedSetMultimap<>(%s, this::%s));",
-            property.getName(), putMethod(property));
+        code.addLine("  if (%s == null) {", checkedView(property))
+            .addLine("    %s = new %s<>(%s, this::%s);",
+                checkedView(property),
+                CheckedSetMultimap.reference(),
+                property.getName(),
+                putMethod(property))
+            .addLine("  }")
+            .addLine("  mutator.accept(%s);", checkedView(property));
       } else {
         code.addLine("  // If %s is overridden, this method will be updated to delegate to it",
                 putMethod(property))
@@ -353,8 +377,11 @@ public class SetMultimapPropertyFactory implements PropertyCodeGenerator.Factory
               keyType,
               valueType,
               getter(property))
-          .addLine("  return %s.unmodifiableSetMultimap(%s);",
-              Multimaps.class, property.getName())
+          .addLine("  if (%s == null) {", unmodifiableView(property))
+          .addLine("    %s = %s.unmodifiableSetMultimap(%s);",
+              unmodifiableView(property), Multimaps.class, property.getName())
+          .addLine("  }")
+          .addLine("  return %s;", unmodifiableView(property))
           .addLine("}");
     }
 
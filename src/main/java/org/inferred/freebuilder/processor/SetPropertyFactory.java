@@ -17,10 +17,12 @@ package org.inferred.freebuilder.processor;
 
 import static org.inferred.freebuilder.processor.BuilderMethods.addAllMethod;
 import static org.inferred.freebuilder.processor.BuilderMethods.addMethod;
+import static org.inferred.freebuilder.processor.BuilderMethods.checkedView;
 import static org.inferred.freebuilder.processor.BuilderMethods.clearMethod;
 import static org.inferred.freebuilder.processor.BuilderMethods.getter;
 import static org.inferred.freebuilder.processor.BuilderMethods.mutator;
 import static org.inferred.freebuilder.processor.BuilderMethods.removeMethod;
+import static org.inferred.freebuilder.processor.BuilderMethods.unmodifiableView;
 import static org.inferred.freebuilder.processor.Util.erasesToAnyOf;
 import static org.inferred.freebuilder.processor.Util.upperBound;
 import static org.inferred.freebuilder.processor.util.ModelUtils.maybeDeclared;
@@ -31,6 +33,7 @@ import static org.inferred.freebuilder.processor.util.PreconditionExcerpts.check
 import static org.inferred.freebuilder.processor.util.StaticExcerpt.Type.METHOD;
 import static org.inferred.freebuilder.processor.util.feature.FunctionPackage.FUNCTION_PACKAGE;
 import static org.inferred.freebuilder.processor.util.feature.GuavaLibrary.GUAVA;
+import static org.inferred.freebuilder.processor.util.feature.RuntimeLibrary.RUNTIME_LIBRARY;
 import static org.inferred.freebuilder.processor.util.feature.SourceLevel.SOURCE_LEVEL;
 import static org.inferred.freebuilder.processor.util.feature.SourceLevel.diamondOperator;
 
@@ -41,6 +44,7 @@ import com.google.common.collect.ImmutableSet;
 import org.inferred.freebuilder.processor.Metadata.Property;
 import org.inferred.freebuilder.processor.PropertyCodeGenerator.Config;
 import org.inferred.freebuilder.processor.excerpt.CheckedSet;
+import org.inferred.freebuilder.processor.excerpt.RuntimeReference;
 import org.inferred.freebuilder.processor.util.Block;
 import org.inferred.freebuilder.processor.util.ParameterizedType;
 import org.inferred.freebuilder.processor.util.QualifiedName;
@@ -59,12 +63,21 @@ import javax.lang.model.type.TypeMirror;
  * {@link PropertyCodeGenerator.Factory} providing append-only semantics for {@link Set}
  * properties.
  */
-public class SetPropertyFactory implements PropertyCodeGenerator.Factory {
+public class SetPropertyFactory implements PropertyCodeGenerator.TypeSpecificFactory {
+
+  private static final ImmutableSet<QualifiedName> SUPPORTED_TYPES = ImmutableSet.of(
+      QualifiedName.of(Set.class),
+      QualifiedName.of(ImmutableSet.class));
+
+  @Override
+  public Set<QualifiedName> getSupportedTypes() {
+    return SUPPORTED_TYPES;
+  }
 
   @Override
   public Optional<CodeGenerator> create(Config config) {
     DeclaredType type = maybeDeclared(config.getProperty().getType()).orNull();
-    if (type == null || !erasesToAnyOf(type, Set.class, ImmutableSet.class)) {
+    if (type == null || !erasesToAnyOf(type, SUPPORTED_TYPES)) {
       return Optional.absent();
     }
 
@@ -109,6 +122,11 @@ public class SetPropertyFactory implements PropertyCodeGenerator.Factory {
       code.feature(SOURCE_LEVEL);
       code.addLine("private final %1$s<%2$s> %3$s = new %1$s%4$s();",
           LinkedHashSet.class, elementType, property.getName(), diamondOperator(elementType));
+      code.addLine("private %s<%s> %s;", Set.class, elementType, unmodifiableView(property));
+      if (overridesAddMethod && code.feature(FUNCTION_PACKAGE).consumer().isPresent()) {
+        code.addLine("private %s<%s> %s;",
+            CheckedSet.reference(), elementType, checkedView(property));
+      }
     }
 
     @Override
@@ -249,8 +267,15 @@ public class SetPropertyFactory implements PropertyCodeGenerator.Factory {
                 Set.class,
                 elementType);
         if (overridesAddMethod) {
-          code.addLine("  mutator.accept(new CheckedSet<%s>(%s, this::%s));",
-                  elementType, property.getName(), addMethod(property));
+          code.addLine("  if (%s == null) {", checkedView(property))
+              .addLine("    %s = new %s<%s>(%s, this::%s);",
+                  checkedView(property),
+                  CheckedSet.reference(),
+                  elementType,
+                  property.getName(),
+                  addMethod(property))
+              .addLine("  }")
+              .addLine("  mutator.accept(%s);", checkedView(property));
         } else {
           code.addLine("  // If %s is overridden, this method will be updated to delegate to it",
                   addMethod(property))
@@ -283,7 +308,11 @@ public class SetPropertyFactory implements PropertyCodeGenerator.Factory {
           .addLine(" * Changes to this builder will be reflected in the view.")
           .addLine(" */")
           .addLine("public %s<%s> %s() {", Set.class, elementType, getter(property))
-          .addLine("  return %s.unmodifiableSet(%s);", Collections.class, property.getName())
+          .addLine("  if (%s == null) {", unmodifiableView(property))
+          .addLine("    %s = %s.unmodifiableSet(%s);",
+              unmodifiableView(property), Collections.class, property.getName())
+          .addLine("  }")
+          .addLine("  return %s;", unmodifiableView(property))
           .addLine("}");
     }
 
@@ -293,7 +322,7 @@ public class SetPropertyFactory implements PropertyCodeGenerator.Factory {
       if (code.feature(GUAVA).isAvailable()) {
         code.add("%s.copyOf", ImmutableSet.class);
       } else {
-        code.add("immutableSet");
+        code.add("%s", IMMUTABLE_SET_METHOD);
       }
       code.add("(%s.%s);\n", builder, property.getName());
     }
@@ -333,10 +362,13 @@ public class SetPropertyFactory implements PropertyCodeGenerator.Factory {
     }
   }
 
+  private static final RuntimeReference IMMUTABLE_SET_METHOD =
+      RuntimeReference.method("ImmutableCollections", "immutableSet");
+
   private static final StaticExcerpt IMMUTABLE_SET = new StaticExcerpt(METHOD, "immutableSet") {
     @Override
     public void addTo(SourceBuilder code) {
-      if (!code.feature(GUAVA).isAvailable()) {
+      if (!code.feature(GUAVA).isAvailable() && !code.feature(RUNTIME_LIBRARY).isAvailable()) {
         code.addLine("")
             .addLine("private static <E> %1$s<E> immutableSet(%1$s<E> elements) {",
                 Set.class, Class.class)
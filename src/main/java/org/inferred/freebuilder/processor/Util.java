@@ -19,6 +19,8 @@ import static org.inferred.freebuilder.processor.util.Shading.unshadedName;
 
 import org.inferred.freebuilder.processor.util.QualifiedName;
 
+import java.util.Arrays;
+
 import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
@@ -52,15 +54,33 @@ public class Util {
 
   /** Returns true if {@code type} erases to any of {@code possibilities}. */
   static boolean erasesToAnyOf(DeclaredType type, QualifiedName... possibilities) {
-    String erasedType = new TypeToStringVisitor().visit(type);
+    return erasesToAnyOf(type, Arrays.asList(possibilities));
+  }
+
+  /** Returns true if {@code type} erases to any of {@code possibilities}. */
+  static boolean erasesToAnyOf(DeclaredType type, Iterable<QualifiedName> possibilities) {
+    String erasedType = erasedName(type);
     for (QualifiedName possibility : possibilities) {
-      if (unshadedName(possibility.toString()).equals(erasedType)) {
+      if (erasedName(possibility).equals(erasedType)) {
         return true;
       }
     }
     return false;
   }
 
+  /** Returns the qualified name of the erasure of {@code type}, e.g. "java.util.List". */
+  static String erasedName(DeclaredType type) {
+    return new TypeToStringVisitor().visit(type);
+  }
+
+  /**
+   * Returns the qualified name that a type called {@code name} in the processor's own classpath
+   * will have in user code, e.g. "java.util.List".
+   */
+  static String erasedName(QualifiedName name) {
+    return unshadedName(name.toString());
+  }
+
   /** Returns true if {@code type} erases to any of {@code possibilities}. */
   static boolean erasesToAnyOf(DeclaredType type, Class<?>... possibilities) {
     String erasedType = new TypeToStringVisitor().visit(type);
@@ -2,14 +2,19 @@ package org.inferred.freebuilder.processor.excerpt;
 
 import static org.inferred.freebuilder.processor.util.StaticExcerpt.Type.TYPE;
 import static org.inferred.freebuilder.processor.util.feature.FunctionPackage.FUNCTION_PACKAGE;
+import static org.inferred.freebuilder.processor.util.feature.RuntimeLibrary.RUNTIME_LIBRARY;
 
 import com.google.common.collect.ImmutableList;
 
 import org.inferred.freebuilder.processor.util.ParameterizedType;
+import org.inferred.freebuilder.processor.util.QualifiedName;
 import org.inferred.freebuilder.processor.util.SourceBuilder;
 import org.inferred.freebuilder.processor.util.StaticExcerpt;
+import org.inferred.freebuilder.processor.util.feature.FunctionPackage;
 
 import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.RandomAccess;
 
@@ -23,13 +28,23 @@ public class CheckedList {
     return ImmutableList.<StaticExcerpt>of(CHECKED_LIST);
   }
 
+  /** Returns a reference to CheckedList, shared from the runtime library if available. */
+  public static RuntimeReference reference() {
+    return REFERENCE;
+  }
+
+  private static final RuntimeReference REFERENCE = RuntimeReference.type("CheckedList");
+
   private static final StaticExcerpt CHECKED_LIST = new StaticExcerpt(TYPE, "CheckedList") {
     @Override
     public void addTo(SourceBuilder code) {
-      ParameterizedType consumer = code.feature(FUNCTION_PACKAGE).consumer().orNull();
-      if (consumer == null) {
+      FunctionPackage functionPackage = code.feature(FUNCTION_PACKAGE);
+      ParameterizedType consumer = functionPackage.consumer().orNull();
+      if (consumer == null || code.feature(RUNTIME_LIBRARY).isAvailable()) {
         return;
       }
+      QualifiedName unaryOperator = functionPackage.unaryOperator().get().getQualifiedName();
+      QualifiedName predicate = functionPackage.predicate().get().getQualifiedName();
       code.addLine("")
           .addLine("/**")
           .addLine(" * A list implementation that delegates to a provided add method to perform")
@@ -70,6 +85,54 @@ public class CheckedList {
           .addLine("    }")
           .addLine("  }")
           .addLine("")
+          .addLine("  @Override public boolean addAll(%s<? extends E> elements) {",
+              Collection.class)
+          .addLine("    int size = list.size();")
+          .addLine("    for (Object element : elements.toArray()) {")
+          .addLine("      @SuppressWarnings(\"unchecked\")")
+          .addLine("      E e = (E) element;")
+          .addLine("      add.accept(e);")
+          .addLine("    }")
+          .addLine("    return list.size() != size;")
+          .addLine("  }")
+          .addLine("")
+          .addLine("  @Override public boolean addAll(int index, %s<? extends E> elements) {",
+              Collection.class)
+          .addLine("    // Append all elements to the end of the list with add, then rotate the")
+          .addLine("    // inserted elements to the desired location in a single pass.")
+          .addLine("    int endIndex = list.size();")
+          .addLine("    if (index < 0 || index > endIndex) {")
+          .addLine("      throw new IndexOutOfBoundsException(")
+          .addLine("          \"Index: \" + index + \", Size: \" + endIndex);")
+          .addLine("    }")
+          .addLine("    addAll(elements);")
+          .addLine("    int inserted = list.size() - endIndex;")
+          .addLine("    if (index != endIndex && inserted != 0) {")
+          .addLine("      %s.rotate(list.subList(index, list.size()), inserted);",
+              Collections.class)
+          .addLine("    }")
+          .addLine("    return inserted != 0;")
+          .addLine("  }")
+          .addLine("")
+          .addLine("  @Override public void replaceAll(%s<E> operator) {", unaryOperator)
+          .addLine("    // Append all replacement elements to the end of the list with add, then")
+          .addLine("    // remove the originals in a single pass.")
+          .addLine("    int size = list.size();")
+          .addLine("    try {")
+          .addLine("      for (int i = 0; i < size; i++) {")
+          .addLine("        add.accept(operator.apply(list.get(i)));")
+          .addLine("      }")
+          .addLine("    } catch (RuntimeException e) {")
+          .addLine("      list.subList(size, list.size()).clear();")
+          .addLine("      throw e;")
+          .addLine("    }")
+          .addLine("    list.subList(0, size).clear();")
+          .addLine("  }")
+          .addLine("")
+          .addLine("  @Override public boolean removeIf(%s<? super E> filter) {", predicate)
+          .addLine("    return list.removeIf(filter);")
+          .addLine("  }")
+          .addLine("")
           .addLine("  @Override public E remove(int index) {")
           .addLine("    return list.remove(index);")
           .addLine("  }")
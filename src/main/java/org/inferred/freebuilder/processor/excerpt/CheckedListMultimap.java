@@ -2,6 +2,7 @@ package org.inferred.freebuilder.processor.excerpt;
 
 import static org.inferred.freebuilder.processor.util.StaticExcerpt.Type.TYPE;
 import static org.inferred.freebuilder.processor.util.feature.FunctionPackage.FUNCTION_PACKAGE;
+import static org.inferred.freebuilder.processor.util.feature.RuntimeLibrary.RUNTIME_LIBRARY;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ForwardingListMultimap;
@@ -34,12 +35,19 @@ public class CheckedListMultimap {
         .build();
   }
 
+  /** Returns a reference to CheckedListMultimap, shared from the runtime library if available. */
+  public static RuntimeReference reference() {
+    return REFERENCE;
+  }
+
+  private static final RuntimeReference REFERENCE = RuntimeReference.type("CheckedListMultimap");
+
   private static final StaticExcerpt CHECKED_LIST_MULTIMAP =
       new StaticExcerpt(TYPE, "CheckedListMultimap") {
         @Override
         public void addTo(SourceBuilder code) {
           ParameterizedType biConsumer = code.feature(FUNCTION_PACKAGE).biConsumer().orNull();
-          if (biConsumer == null) {
+          if (biConsumer == null || code.feature(RUNTIME_LIBRARY).isAvailable()) {
             return;
           }
           code.addLine("")
@@ -2,13 +2,16 @@ package org.inferred.freebuilder.processor.excerpt;
 
 import static org.inferred.freebuilder.processor.util.StaticExcerpt.Type.TYPE;
 import static org.inferred.freebuilder.processor.util.feature.FunctionPackage.FUNCTION_PACKAGE;
+import static org.inferred.freebuilder.processor.util.feature.RuntimeLibrary.RUNTIME_LIBRARY;
 
 import com.google.common.collect.ImmutableSet;
 
 import org.inferred.freebuilder.processor.util.ParameterizedType;
 import org.inferred.freebuilder.processor.util.PreconditionExcerpts;
+import org.inferred.freebuilder.processor.util.QualifiedName;
 import org.inferred.freebuilder.processor.util.SourceBuilder;
 import org.inferred.freebuilder.processor.util.StaticExcerpt;
+import org.inferred.freebuilder.processor.util.feature.FunctionPackage;
 
 import java.util.AbstractMap;
 import java.util.AbstractSet;
@@ -26,11 +29,18 @@ public class CheckedMap {
     return ImmutableSet.of(CHECKED_ENTRY, CHECKED_ENTRY_ITERATOR, CHECKED_ENTRY_SET, CHECKED_MAP);
   }
 
+  /** Returns a reference to CheckedMap, shared from the runtime library if available. */
+  public static RuntimeReference reference() {
+    return REFERENCE;
+  }
+
+  private static final RuntimeReference REFERENCE = RuntimeReference.type("CheckedMap");
+
   private static final StaticExcerpt CHECKED_ENTRY = new StaticExcerpt(TYPE, "CheckedEntry") {
     @Override
     public void addTo(SourceBuilder code) {
       ParameterizedType biConsumer = code.feature(FUNCTION_PACKAGE).biConsumer().orNull();
-      if (biConsumer == null) {
+      if (biConsumer == null || code.feature(RUNTIME_LIBRARY).isAvailable()) {
         return;
       }
       code.addLine("")
@@ -77,7 +87,7 @@ public class CheckedMap {
         @Override
         public void addTo(SourceBuilder code) {
           ParameterizedType biConsumer = code.feature(FUNCTION_PACKAGE).biConsumer().orNull();
-          if (biConsumer == null) {
+          if (biConsumer == null || code.feature(RUNTIME_LIBRARY).isAvailable()) {
             return;
           }
           code.addLine("")
@@ -114,7 +124,7 @@ public class CheckedMap {
         @Override
         public void addTo(SourceBuilder code) {
           ParameterizedType biConsumer = code.feature(FUNCTION_PACKAGE).biConsumer().orNull();
-          if (biConsumer == null) {
+          if (biConsumer == null || code.feature(RUNTIME_LIBRARY).isAvailable()) {
             return;
           }
           code.addLine("")
@@ -157,10 +167,13 @@ public class CheckedMap {
   private static final StaticExcerpt CHECKED_MAP = new StaticExcerpt(TYPE, "CheckedMap") {
     @Override
     public void addTo(SourceBuilder code) {
-      ParameterizedType biConsumer = code.feature(FUNCTION_PACKAGE).biConsumer().orNull();
-      if (biConsumer == null) {
+      FunctionPackage functionPackage = code.feature(FUNCTION_PACKAGE);
+      ParameterizedType biConsumer = functionPackage.biConsumer().orNull();
+      if (biConsumer == null || code.feature(RUNTIME_LIBRARY).isAvailable()) {
         return;
       }
+      QualifiedName function = functionPackage.function().get().getQualifiedName();
+      QualifiedName biFunction = functionPackage.biFunction().get().getQualifiedName();
       code.addLine("")
           .addLine("/**")
           .addLine(" * A map implementation that delegates to a provided put method")
@@ -192,6 +205,36 @@ public class CheckedMap {
           .addLine("    return oldValue;")
           .addLine("  }")
           .addLine("")
+          .addLine("  @Override public void putAll(%s<? extends K, ? extends V> entries) {",
+              Map.class)
+          .addLine("    for (%s<? extends K, ? extends V> entry : entries.entrySet()) {",
+              Map.Entry.class)
+          .addLine("      put.accept(entry.getKey(), entry.getValue());")
+          .addLine("    }")
+          .addLine("  }")
+          .addLine("")
+          .addLine("  @Override public V computeIfAbsent(")
+          .addLine("      K key, %s<? super K, ? extends V> mappingFunction) {", function)
+          .addLine("    V value = map.get(key);")
+          .addLine("    if (value == null) {")
+          .addLine("      value = mappingFunction.apply(key);")
+          .addLine("      if (value != null) {")
+          .addLine("        put.accept(key, value);")
+          .addLine("        // The builder's put method may have substituted a different value")
+          .addLine("        value = map.get(key);")
+          .addLine("      }")
+          .addLine("    }")
+          .addLine("    return value;")
+          .addLine("  }")
+          .addLine("")
+          .addLine("  @Override public void replaceAll(")
+          .addLine("      %s<? super K, ? super V, ? extends V> function) {", biFunction)
+          .addLine("    for (%s<K, V> entry : map.entrySet()) {", Map.Entry.class)
+          .addLine("      K key = entry.getKey();")
+          .addLine("      put.accept(key, function.apply(key, entry.getValue()));")
+          .addLine("    }")
+          .addLine("  }")
+          .addLine("")
           .addLine("  @Override public V remove(Object key) {")
           .addLine("    return map.remove(key);")
           .addLine("  }")
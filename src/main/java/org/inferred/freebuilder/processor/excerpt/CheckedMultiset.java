@@ -2,6 +2,7 @@ package org.inferred.freebuilder.processor.excerpt;
 
 import static org.inferred.freebuilder.processor.util.StaticExcerpt.Type.TYPE;
 import static org.inferred.freebuilder.processor.util.feature.FunctionPackage.FUNCTION_PACKAGE;
+import static org.inferred.freebuilder.processor.util.feature.RuntimeLibrary.RUNTIME_LIBRARY;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ForwardingMultiset;
@@ -27,11 +28,18 @@ public class CheckedMultiset {
     return ImmutableSet.of(CHECKED_MULTISET);
   }
 
+  /** Returns a reference to CheckedMultiset, shared from the runtime library if available. */
+  public static RuntimeReference reference() {
+    return REFERENCE;
+  }
+
+  private static final RuntimeReference REFERENCE = RuntimeReference.type("CheckedMultiset");
+
   private static final StaticExcerpt CHECKED_MULTISET = new StaticExcerpt(TYPE, "CheckedMultiset") {
     @Override
     public void addTo(SourceBuilder code) {
       ParameterizedType biConsumer = code.feature(FUNCTION_PACKAGE).biConsumer().orNull();
-      if (biConsumer == null) {
+      if (biConsumer == null || code.feature(RUNTIME_LIBRARY).isAvailable()) {
         return;
       }
       code.addLine("")
@@ -76,7 +84,18 @@ public class CheckedMultiset {
           .addLine("")
           .addLine("  @Override public boolean addAll(%s<? extends E> elementsToAdd) {",
               Collection.class)
-          .addLine("    return standardAddAll(elementsToAdd);")
+          .addLine("    if (elementsToAdd instanceof %s) {", Multiset.class)
+          .addLine("      // Validate each distinct element once, with its total count.")
+          .addLine("      for (%s.Entry<? extends E> entry", Multiset.class)
+          .addLine("          : ((%s<? extends E>) elementsToAdd).entrySet()) {", Multiset.class)
+          .addLine("        add(entry.getElement(), entry.getCount());")
+          .addLine("      }")
+          .addLine("    } else {")
+          .addLine("      for (E element : elementsToAdd) {")
+          .addLine("        add(element, 1);")
+          .addLine("      }")
+          .addLine("    }")
+          .addLine("    return !elementsToAdd.isEmpty();")
           .addLine("  }")
           .addLine("")
           .addLine("  @Override public int setCount(@%s E element, int count) {",
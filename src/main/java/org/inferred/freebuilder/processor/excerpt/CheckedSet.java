@@ -2,14 +2,18 @@ package org.inferred.freebuilder.processor.excerpt;
 
 import static org.inferred.freebuilder.processor.util.StaticExcerpt.Type.TYPE;
 import static org.inferred.freebuilder.processor.util.feature.FunctionPackage.FUNCTION_PACKAGE;
+import static org.inferred.freebuilder.processor.util.feature.RuntimeLibrary.RUNTIME_LIBRARY;
 
 import com.google.common.collect.ImmutableSet;
 
 import org.inferred.freebuilder.processor.util.ParameterizedType;
+import org.inferred.freebuilder.processor.util.QualifiedName;
 import org.inferred.freebuilder.processor.util.SourceBuilder;
 import org.inferred.freebuilder.processor.util.StaticExcerpt;
+import org.inferred.freebuilder.processor.util.feature.FunctionPackage;
 
 import java.util.AbstractSet;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.Set;
 
@@ -23,11 +27,20 @@ public class CheckedSet {
     return ImmutableSet.of(CHECKED_SET);
   }
 
+  /** Returns a reference to CheckedSet, shared from the runtime library if available. */
+  public static RuntimeReference reference() {
+    return REFERENCE;
+  }
+
+  private static final RuntimeReference REFERENCE = RuntimeReference.type("CheckedSet");
+
   private static final StaticExcerpt CHECKED_SET = new StaticExcerpt(TYPE, "CheckedSet") {
     @Override
     public void addTo(SourceBuilder code) {
-      ParameterizedType consumer = code.feature(FUNCTION_PACKAGE).consumer().orNull();
-      if (consumer != null) {
+      FunctionPackage functionPackage = code.feature(FUNCTION_PACKAGE);
+      ParameterizedType consumer = functionPackage.consumer().orNull();
+      if (consumer != null && !code.feature(RUNTIME_LIBRARY).isAvailable()) {
+        QualifiedName predicate = functionPackage.predicate().get().getQualifiedName();
         code.addLine("")
             .addLine("/**")
             .addLine(" * A set implementation that delegates to a provided add method")
@@ -65,9 +78,26 @@ public class CheckedSet {
             .addLine("    }")
             .addLine("  }")
             .addLine("")
+            .addLine("  @Override public boolean addAll(%s<? extends E> elements) {",
+                Collection.class)
+            .addLine("    int size = set.size();")
+            .addLine("    for (E e : elements) {")
+            .addLine("      add.accept(e);")
+            .addLine("    }")
+            .addLine("    return set.size() != size;")
+            .addLine("  }")
+            .addLine("")
             .addLine("  @Override public boolean remove(Object e) {")
             .addLine("    return set.remove(e);")
             .addLine("  }")
+            .addLine("")
+            .addLine("  @Override public boolean removeIf(%s<? super E> filter) {", predicate)
+            .addLine("    return set.removeIf(filter);")
+            .addLine("  }")
+            .addLine("")
+            .addLine("  @Override public void clear() {")
+            .addLine("    set.clear();")
+            .addLine("  }")
             .addLine("}");
       }
     }
@@ -2,6 +2,7 @@ package org.inferred.freebuilder.processor.excerpt;
 
 import static org.inferred.freebuilder.processor.util.StaticExcerpt.Type.TYPE;
 import static org.inferred.freebuilder.processor.util.feature.FunctionPackage.FUNCTION_PACKAGE;
+import static org.inferred.freebuilder.processor.util.feature.RuntimeLibrary.RUNTIME_LIBRARY;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ForwardingSetMultimap;
@@ -34,12 +35,19 @@ public class CheckedSetMultimap {
         .build();
   }
 
+  /** Returns a reference to CheckedSetMultimap, shared from the runtime library if available. */
+  public static RuntimeReference reference() {
+    return REFERENCE;
+  }
+
+  private static final RuntimeReference REFERENCE = RuntimeReference.type("CheckedSetMultimap");
+
   private static final StaticExcerpt CHECKED_SET_MULTIMAP =
       new StaticExcerpt(TYPE, "CheckedSetMultimap") {
         @Override
         public void addTo(SourceBuilder code) {
           ParameterizedType biConsumer = code.feature(FUNCTION_PACKAGE).biConsumer().orNull();
-          if (biConsumer == null) {
+          if (biConsumer == null || code.feature(RUNTIME_LIBRARY).isAvailable()) {
             return;
           }
           code.addLine("")
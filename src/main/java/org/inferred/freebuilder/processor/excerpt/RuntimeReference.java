@@ -0,0 +1,69 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.processor.excerpt;
+
+import static org.inferred.freebuilder.processor.util.feature.RuntimeLibrary.RUNTIME_LIBRARY;
+
+import org.inferred.freebuilder.processor.util.Excerpt;
+import org.inferred.freebuilder.processor.util.QualifiedName;
+import org.inferred.freebuilder.processor.util.SourceBuilder;
+import org.inferred.freebuilder.processor.util.StaticExcerpt;
+
+/**
+ * A reference to a type or static method emitted by a {@link StaticExcerpt}, or to its shared
+ * copy in the runtime library if that is available.
+ */
+public class RuntimeReference extends Excerpt {
+
+  /** Returns a reference to the type called {@code simpleName}. */
+  public static RuntimeReference type(String simpleName) {
+    return new RuntimeReference(simpleName, "");
+  }
+
+  /**
+   * Returns a reference to the static method {@code methodName}, which the runtime library
+   * provides on the type called {@code simpleName}.
+   */
+  public static RuntimeReference method(String simpleName, String methodName) {
+    return new RuntimeReference(simpleName, methodName);
+  }
+
+  private final String simpleName;
+  private final String methodName;
+
+  private RuntimeReference(String simpleName, String methodName) {
+    this.simpleName = simpleName;
+    this.methodName = methodName;
+  }
+
+  @Override
+  public void addTo(SourceBuilder code) {
+    QualifiedName runtimeType = code.feature(RUNTIME_LIBRARY).type(simpleName).orNull();
+    if (runtimeType == null) {
+      code.add("%s", methodName.isEmpty() ? simpleName : methodName);
+    } else if (methodName.isEmpty()) {
+      code.add("%s", runtimeType);
+    } else {
+      code.add("%s.%s", runtimeType, methodName);
+    }
+  }
+
+  @Override
+  protected void addFields(FieldReceiver fields) {
+    fields.add("simpleName", simpleName);
+    fields.add("methodName", methodName);
+  }
+}
@@ -16,9 +16,12 @@
 package org.inferred.freebuilder.processor.util;
 
 import static com.google.common.collect.Iterables.getOnlyElement;
-import static org.apache.commons.lang3.StringEscapeUtils.escapeJava;
 import static org.inferred.freebuilder.processor.util.ModelUtils.asElement;
 
+import com.google.common.collect.ImmutableMap;
+import com.google.common.escape.ArrayBasedCharEscaper;
+import com.google.common.escape.Escaper;
+
 import java.util.List;
 import java.util.Map.Entry;
 
@@ -32,6 +35,25 @@ import javax.lang.model.util.SimpleAnnotationValueVisitor6;
  */
 public class AnnotationSource {
 
+  /** Escapes the contents of a Java string literal, leaving printable ASCII unchanged. */
+  private static final Escaper JAVA_STRING_ESCAPER = new ArrayBasedCharEscaper(
+      ImmutableMap.<Character, String>builder()
+          .put('"', "\\\"")
+          .put('\\', "\\\\")
+          .put('\b', "\\b")
+          .put('\f', "\\f")
+          .put('\n', "\\n")
+          .put('\r', "\\r")
+          .put('\t', "\\t")
+          .build(),
+      ' ',
+      '~') {
+    @Override
+    protected char[] escapeUnsafe(char c) {
+      return String.format("\\u%04X", (int) c).toCharArray();
+    }
+  };
+
   /**
    * Adds a source-code representation of {@code annotation} to {@code}.
    */
@@ -108,7 +130,7 @@ public class AnnotationSource {
     public Void visitString(String s, AnnotationValue p) {
       // Some versions of Eclipse contain a bug where strings are not correctly escaped by
       // AnnotationValue.toString(), so we special-case strings to ensure it's done correctly.
-      code.add("\"%s\"", escapeJava(s));
+      code.add("\"%s\"", JAVA_STRING_ESCAPER.escape(s));
       return null;
     }
 
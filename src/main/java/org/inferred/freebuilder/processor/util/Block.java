@@ -2,11 +2,13 @@ package org.inferred.freebuilder.processor.util;
 
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.collect.Maps.newLinkedHashMap;
+import static com.google.common.collect.Sets.newHashSet;
 
 import org.inferred.freebuilder.processor.util.feature.Feature;
 import org.inferred.freebuilder.processor.util.feature.FeatureType;
 
 import java.util.Map;
+import java.util.Set;
 
 /**
  * A Block contains a preamble of lazily-added declarations followed by a body.
@@ -14,6 +16,8 @@ import java.util.Map;
 public class Block extends Excerpt implements SourceBuilder {
 
   private final Map<String, Excerpt> declarations = newLinkedHashMap();
+  private final Set<String> inScope = newHashSet();
+  private final Set<String> usedFromScope = newHashSet();
   private final SourceStringBuilder body;
 
   public Block(SourceBuilder parent) {
@@ -28,6 +32,10 @@ public class Block extends Excerpt implements SourceBuilder {
    *     different declaration
    */
   public Excerpt declare(final String name, final String declfmt, final Object... declArgs) {
+    if (inScope.contains(name)) {
+      usedFromScope.add(name);
+      return Excerpts.add("%s", name);
+    }
     Excerpt declaration = Excerpts.add(declfmt, declArgs);
     Excerpt existingDeclaration = declarations.put(name, declaration);
     checkState(existingDeclaration == null || declaration.equals(existingDeclaration),
@@ -38,6 +46,20 @@ public class Block extends Excerpt implements SourceBuilder {
     return Excerpts.add("%s", name);
   }
 
+  /**
+   * Marks {@code name} as already in scope, e.g. as a method parameter, so any declaration of it
+   * will be elided in favor of the existing variable.
+   */
+  public Block inScope(String name) {
+    inScope.add(name);
+    return this;
+  }
+
+  /** Returns whether {@code name} has been declared, or used from scope, in this block. */
+  public boolean isDeclared(String name) {
+    return declarations.containsKey(name) || usedFromScope.contains(name);
+  }
+
   @Override
   public Block add(String fmt, Object... args) {
     body.add(fmt, args);
@@ -15,13 +15,20 @@
  */
 package org.inferred.freebuilder.processor.util;
 
-import com.google.googlejavaformat.java.Formatter;
+import static org.inferred.freebuilder.processor.util.feature.SourceFormatting.FORMATTING;
 
+import org.inferred.freebuilder.processor.util.ImportManager.PackageImports;
 import org.inferred.freebuilder.processor.util.feature.EnvironmentFeatureSet;
 import org.inferred.freebuilder.processor.util.feature.Feature;
+import org.inferred.freebuilder.processor.util.feature.FeatureSet;
 import org.inferred.freebuilder.processor.util.feature.FeatureType;
+import org.inferred.freebuilder.processor.util.feature.SourceFormatting;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.element.PackageElement;
@@ -31,32 +38,82 @@ import javax.lang.model.util.ElementFilter;
 /** {@code SourceBuilder} which also handles package declaration and imports. */
 public class CompilationUnitBuilder implements SourceBuilder {
 
+  /**
+   * The types implicitly imported into each package seen so far. Generated types are often
+   * clustered in a few large packages; reusing a cache saves rescanning each package for each type.
+   *
+   * <p>Packages may gain types between rounds, so a cache should not outlive the round it is used
+   * in.
+   */
+  public static class Cache {
+    private final Map<String, PackageImports> packageImports =
+        new HashMap<String, PackageImports>();
+  }
+
   private final ImportManager importManager;
-  private final SourceBuilder source;
+  private final SourceStringBuilder source;
   private final QualifiedName classToWrite;
 
   /**
    * Returns a {@link CompilationUnitBuilder} for {@code classToWrite}. The file preamble (package
-   * and imports) will be generated automatically; the feature set will be taken from {@code env}..
+   * and imports) will be generated automatically; the feature set will be taken from {@code env}.
    */
   public CompilationUnitBuilder(
       ProcessingEnvironment env,
       QualifiedName classToWrite,
       Collection<QualifiedName> nestedClasses) {
+    this(env, classToWrite, nestedClasses, new EnvironmentFeatureSet(env));
+  }
+
+  /**
+   * Returns a {@link CompilationUnitBuilder} for {@code classToWrite} using {@code features}.
+   * The file preamble (package and imports) will be generated automatically.
+   */
+  public CompilationUnitBuilder(
+      ProcessingEnvironment env,
+      QualifiedName classToWrite,
+      Collection<QualifiedName> nestedClasses,
+      FeatureSet features) {
+    this(env, classToWrite, nestedClasses, features, new Cache());
+  }
+
+  /**
+   * Returns a {@link CompilationUnitBuilder} for {@code classToWrite} using {@code features},
+   * reusing the package contents stored in {@code cache}. The file preamble (package and imports)
+   * will be generated automatically.
+   */
+  public CompilationUnitBuilder(
+      ProcessingEnvironment env,
+      QualifiedName classToWrite,
+      Collection<QualifiedName> nestedClasses,
+      FeatureSet features,
+      Cache cache) {
     this.classToWrite = classToWrite;
     // Write the source code into an intermediate SourceStringBuilder, as the imports need to be
     // written first, but aren't known yet.
-    ImportManager.Builder importManagerBuilder = new ImportManager.Builder();
+    ImportManager.Builder importManagerBuilder =
+        new ImportManager.Builder(getPackageImports(env, classToWrite.getPackage(), cache));
     importManagerBuilder.addImplicitImport(classToWrite);
-    PackageElement pkg = env.getElementUtils().getPackageElement(classToWrite.getPackage());
-    for (TypeElement sibling : ElementFilter.typesIn(pkg.getEnclosedElements())) {
-      importManagerBuilder.addImplicitImport(QualifiedName.of(sibling));
-    }
     for (QualifiedName nestedClass : nestedClasses) {
       importManagerBuilder.addImplicitImport(nestedClass);
     }
     importManager = importManagerBuilder.build();
-    source = new SourceStringBuilder(importManager, new EnvironmentFeatureSet(env));
+    source = new SourceStringBuilder(importManager, features);
+  }
+
+  private static PackageImports getPackageImports(
+      ProcessingEnvironment env, String pkgName, Cache cache) {
+    PackageImports packageImports = cache.packageImports.get(pkgName);
+    if (packageImports == null) {
+      PackageElement pkg = env.getElementUtils().getPackageElement(pkgName);
+      List<QualifiedName> siblings = new ArrayList<QualifiedName>();
+      for (TypeElement sibling : ElementFilter.typesIn(pkg.getEnclosedElements())) {
+        siblings.add(QualifiedName.of(sibling));
+      }
+      packageImports = new PackageImports(siblings);
+      cache.packageImports.put(pkgName, packageImports);
+    }
+    return packageImports;
   }
 
   @Override
@@ -87,42 +144,31 @@ public class CompilationUnitBuilder implements SourceBuilder {
     return source.feature(feature);
   }
 
-  @Override
-  public String toString() {
-    StringBuilder unit = new StringBuilder();
-    unit.append("// Autogenerated code. Do not modify.\n")
+  /**
+   * Returns the compilation unit written so far, ready to be laid out. Unlike this builder, the
+   * result no longer references the javax.lang.model API, so it can be formatted on any thread.
+   *
+   * <p>Unless the source is to be formatted, the result shares this builder's buffer, to avoid
+   * copying large compilation units, so this builder should not be modified afterwards.
+   */
+  public UnformattedSource unformattedSource() {
+    StringBuilder preamble = new StringBuilder();
+    preamble.append("// Autogenerated code. Do not modify.\n")
         .append("package ").append(classToWrite.getPackage()).append(";\n")
         .append("\n");
     if (!importManager.getClassImports().isEmpty()) {
       for (String classImport : importManager.getClassImports()) {
-        unit.append("import ").append(classImport).append(";\n");
+        preamble.append("import ").append(classImport).append(";\n");
       }
-      unit.append("\n");
+      preamble.append("\n");
     }
-    unit.append(formatSource(source.toString()));
-    return unit.toString();
+    SourceFormatting formatting = source.feature(FORMATTING);
+    CharSequence body = formatting.isFormatted() ? source.toString() : source.buffer();
+    return new UnformattedSource(preamble.toString(), body, formatting);
   }
 
-  private static String formatSource(String source) {
-    try {
-      return new Formatter().formatSource(source);
-    } catch (UnsupportedClassVersionError e) {
-      // Formatter requires Java 7+; do no formatting in Java 6.
-      return source;
-    } catch (Exception e) {
-      StringBuilder message = new StringBuilder()
-          .append("Formatter failed:\n")
-          .append(e.getMessage())
-          .append("\nGenerated source:");
-      int lineNo = 0;
-      for (String line : source.split("\n")) {
-        message
-            .append("\n")
-            .append(++lineNo)
-            .append(": ")
-            .append(line);
-      }
-      throw new RuntimeException(message.toString());
-    }
+  @Override
+  public String toString() {
+    return unformattedSource().format();
   }
 }
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.processor.util;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Ordering;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * A report with an entry for each type processed, written at the end of compilation as CSV to
+ * a single resource in the class output directory, plus a note naming the costliest types.
+ *
+ * <p>Every type is recorded as an originating element of the resource, so Gradle cannot compile
+ * incrementally while a report is enabled.
+ *
+ * @param <T> the type of each entry
+ */
+public abstract class CsvReport<T> {
+
+  private static final int COSTLIEST_TYPES_TO_NAME = 5;
+
+  /** Receives the rows of the report. */
+  public final class Rows {
+    private final Writer writer;
+    private final TypeElement type;
+    private final StringBuilder row = new StringBuilder();
+
+    private Rows(Writer writer, TypeElement type) {
+      this.writer = writer;
+      this.type = type;
+    }
+
+    /** Writes a row for the current type, with the given columns following the type's name. */
+    public void add(Object... columns) throws IOException {
+      row.setLength(0);
+      row.append(type.getQualifiedName());
+      for (Object column : columns) {
+        row.append(',').append(csvField(String.valueOf(column)));
+      }
+      row.append('\n');
+      // Avoid Writer.append, as EJC's Filer writers return the wrong object from it.
+      writer.write(row.toString());
+    }
+  }
+
+  private final String resourceName;
+  private final String description;
+  private final List<String> columns;
+  private final Map<TypeElement, T> entries = new LinkedHashMap<TypeElement, T>();
+
+  private final Ordering<Map.Entry<TypeElement, T>> byCost =
+      new Ordering<Map.Entry<TypeElement, T>>() {
+        @Override
+        public int compare(Map.Entry<TypeElement, T> left, Map.Entry<TypeElement, T> right) {
+          return compareCost(left.getValue(), right.getValue());
+        }
+      };
+
+  /**
+   * @param resourceName the name of the report in the class output directory
+   * @param description what the report is, for the warning issued if it cannot be written
+   * @param columns the names of the columns following the type's name
+   */
+  protected CsvReport(String resourceName, String description, String... columns) {
+    this.resourceName = resourceName;
+    this.description = description;
+    this.columns = ImmutableList.copyOf(columns);
+  }
+
+  /** Returns the entry for {@code type}, or null if none has been recorded. */
+  protected synchronized T get(TypeElement type) {
+    return entries.get(type);
+  }
+
+  /** Records {@code entry} for {@code type}, replacing any previous entry. */
+  protected synchronized void put(TypeElement type, T entry) {
+    entries.put(type, entry);
+  }
+
+  /** Writes the rows of {@code entry}, one of the entries in the report, to {@code rows}. */
+  protected abstract void addRows(T entry, Rows rows) throws IOException;
+
+  /** Returns the first line of the summary, introducing the costliest types. */
+  protected abstract String heading(Collection<T> entries);
+
+  /** Returns a short description of the cost of {@code entry}, for the summary. */
+  protected abstract String describe(T entry);
+
+  /** Compares the cost of two entries, for finding the costliest types. */
+  protected abstract int compareCost(T left, T right);
+
+  /**
+   * Writes the report to {@code filer}, and prints the summary to {@code messager}. Does
+   * nothing if no entries were recorded. Call once, at the end of compilation, on the compiler's
+   * thread.
+   */
+  public synchronized void report(Filer filer, Messager messager) {
+    if (entries.isEmpty()) {
+      return;
+    }
+    try {
+      FileObject report = filer.createResource(
+          StandardLocation.CLASS_OUTPUT,
+          "",
+          resourceName,
+          entries.keySet().toArray(new TypeElement[entries.size()]));
+      Writer writer = report.openWriter();
+      try {
+        writeCsv(writer);
+      } finally {
+        writer.close();
+      }
+      messager.printMessage(Kind.NOTE, summary() + "\nFull report: " + report.toUri());
+    } catch (IOException e) {
+      messager.printMessage(
+          Kind.WARNING, "Could not write FreeBuilder " + description + ": " + e.getMessage());
+    }
+  }
+
+  /** Writes the report, as CSV with a header row, to {@code writer}. */
+  public synchronized void writeCsv(Writer writer) throws IOException {
+    StringBuilder header = new StringBuilder("type");
+    for (String column : columns) {
+      header.append(',').append(column);
+    }
+    writer.write(header.append('\n').toString());
+    for (Map.Entry<TypeElement, T> entry : entries.entrySet()) {
+      addRows(entry.getValue(), new Rows(writer, entry.getKey()));
+    }
+  }
+
+  /** Returns a summary of the report, naming the costliest types. */
+  public synchronized String summary() {
+    StringBuilder summary = new StringBuilder(heading(entries.values()));
+    for (Map.Entry<TypeElement, T> entry
+        : byCost.greatestOf(entries.entrySet(), COSTLIEST_TYPES_TO_NAME)) {
+      summary
+          .append("\n  ")
+          .append(entry.getKey().getQualifiedName())
+          .append(" (")
+          .append(describe(entry.getValue()))
+          .append(")");
+    }
+    return summary.toString();
+  }
+
+  private static String csvField(String value) {
+    if (value.indexOf(',') == -1 && value.indexOf('"') == -1 && value.indexOf('\n') == -1) {
+      return value;
+    }
+    return "\"" + value.replace("\"", "\"\"") + "\"";
+  }
+}
@@ -30,6 +30,10 @@ public class FilerUtils {
   /**
    * Writes {@code source} to the correct file for {@code classToWrite}.
    *
+   * <p>{@code originatingElement} is recorded as the file's only originating element, as Gradle
+   * requires of isolating incremental annotation processors. Other types the source depends on,
+   * such as supertypes, are tracked by Gradle's own analysis of the originating element's class.
+   *
    * <p>This is complicated mainly by an EJC bug that returns the wrong object from
    * {@link Writer#append(CharSequence)}, plus how to handle any exception thrown from
    * {@link Writer#close()}.
@@ -45,23 +49,52 @@ public class FilerUtils {
     try {
       writer.append(source);
     } catch (Throwable e) {
-      try {
-        writer.close();
-      } catch (Throwable t) {
-        // Use suppressed exceptions in Java 7+
-        if (ADD_SUPPRESSED != null) {
-          try {
-            ADD_SUPPRESSED.invoke(e, t);
-          } catch (Exception x) {
-            throw new RuntimeException("Failed to add suppressed exception: " + x.getMessage(), e);
-          }
+      throw closeAfterFailure(writer, e);
+    }
+    writer.close();
+  }
+
+  /**
+   * Writes {@code source} to the correct file for {@code classToWrite}, laying it out as it is
+   * written. Unless the source is to be formatted, this avoids holding a second copy of it in
+   * memory.
+   *
+   * @see #writeCompilationUnit(Filer, QualifiedName, Element, String)
+   */
+  public static void writeCompilationUnit(
+      Filer filer,
+      QualifiedName classToWrite,
+      Element originatingElement,
+      UnformattedSource source) throws IOException {
+    Writer writer = filer
+        .createSourceFile(classToWrite.toString(), originatingElement)
+        .openWriter();
+    try {
+      source.writeTo(writer);
+    } catch (Throwable e) {
+      throw closeAfterFailure(writer, e);
+    }
+    writer.close();
+  }
+
+  /** Closes {@code writer} after {@code e} was thrown writing to it, then rethrows {@code e}. */
+  private static RuntimeException closeAfterFailure(Writer writer, Throwable e)
+      throws IOException {
+    try {
+      writer.close();
+    } catch (Throwable t) {
+      // Use suppressed exceptions in Java 7+
+      if (ADD_SUPPRESSED != null) {
+        try {
+          ADD_SUPPRESSED.invoke(e, t);
+        } catch (Exception x) {
+          throw new RuntimeException("Failed to add suppressed exception: " + x.getMessage(), e);
         }
-        // Ignore any error thrown calling close() in Java 6
       }
-      Throwables.propagateIfPossible(e, IOException.class);
-      throw Throwables.propagate(e);
+      // Ignore any error thrown calling close() in Java 6
     }
-    writer.close();
+    Throwables.propagateIfPossible(e, IOException.class);
+    throw Throwables.propagate(e);
   }
 
   private static final Method ADD_SUPPRESSED;
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.processor.util;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Optional;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+
+import org.inferred.freebuilder.processor.util.feature.ProcessorOption;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.security.CodeSource;
+
+/**
+ * An on-disk cache of formatted source code, shared between builds, keyed by a fingerprint of the
+ * unformatted source and the formatter. Enabled by passing {@code -Afreebuilder.cacheDir} with the
+ * directory to use.
+ *
+ * <p>Builders are generated afresh each time, so any change to a type, its dependencies or the
+ * processor invalidates its entry; only the formatting, which dominates the processor's running
+ * time, is skipped. Entries are never evicted, but are touched when used, so stale entries can be
+ * pruned by age.
+ *
+ * <p>Failing to read or write the cache is never an error: the source is simply formatted again.
+ * Instances may be used from several threads, and the directory shared by concurrent builds.
+ */
+public class FormattedSourceCache {
+
+  /** Processor option giving the directory to cache formatted source in. */
+  public static final ProcessorOption<Optional<String>> CACHE_DIR =
+      ProcessorOption.value("freebuilder.cacheDir", "build/freebuilder-cache");
+
+  /** Bump to invalidate all existing entries, e.g. if the entry format changes. */
+  private static final int CACHE_VERSION = 1;
+
+  private final File directory;
+  private final String formatterFingerprint;
+
+  public FormattedSourceCache(File directory) {
+    this.directory = directory;
+    this.formatterFingerprint = formatterFingerprint();
+  }
+
+  /** Returns the formatted version of {@code source}, or null if it is not cached. */
+  String get(String source) {
+    File entry = entryFor(source);
+    try {
+      if (!entry.isFile()) {
+        return null;
+      }
+      String formatted = Files.toString(entry, Charsets.UTF_8);
+      entry.setLastModified(System.currentTimeMillis());
+      return formatted;
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  /** Stores {@code formatted} as the formatted version of {@code source}. */
+  void put(String source, String formatted) {
+    File entry = entryFor(source);
+    File tempFile = null;
+    try {
+      directory.mkdirs();
+      // Write to a temporary file and rename it into place, so concurrent builds never see a
+      // partially-written entry.
+      tempFile = File.createTempFile(entry.getName(), ".tmp", directory);
+      Files.write(formatted, tempFile, Charsets.UTF_8);
+      if (tempFile.renameTo(entry)) {
+        tempFile = null;
+      }
+    } catch (IOException e) {
+      // Leave this source uncached
+    } finally {
+      if (tempFile != null) {
+        tempFile.delete();
+      }
+    }
+  }
+
+  private File entryFor(String source) {
+    Hasher hasher = Hashing.sha256().newHasher()
+        .putInt(CACHE_VERSION)
+        .putString(formatterFingerprint, Charsets.UTF_8)
+        .putString(source, Charsets.UTF_8);
+    return new File(directory, hasher.hash().toString() + ".java");
+  }
+
+  /**
+   * Returns a string identifying the processor jar, and hence the formatter bundled in it. Jars
+   * are identified by location, size and modification time, which change between versions.
+   */
+  private static String formatterFingerprint() {
+    CodeSource codeSource = FormattedSourceCache.class.getProtectionDomain().getCodeSource();
+    URL location = (codeSource == null) ? null : codeSource.getLocation();
+    if (location == null) {
+      return "";
+    }
+    StringBuilder fingerprint = new StringBuilder(location.toString());
+    if ("file".equals(location.getProtocol())) {
+      File file = new File(location.getPath());
+      fingerprint.append(':').append(file.length()).append(':').append(file.lastModified());
+    }
+    return fingerprint.toString();
+  }
+}
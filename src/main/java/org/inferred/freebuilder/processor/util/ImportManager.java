@@ -15,22 +15,24 @@
  */
 package org.inferred.freebuilder.processor.util;
 
-import static com.google.common.collect.Iterables.addAll;
 import static com.google.common.collect.Iterables.getOnlyElement;
 import static org.inferred.freebuilder.processor.util.Shading.unshadedName;
 
 import com.google.common.base.Function;
 import com.google.common.base.Joiner;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
 import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Multimaps;
 import com.google.common.collect.SetMultimap;
+import com.google.common.collect.Sets;
 
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -57,17 +59,55 @@ class ImportManager extends SimpleTypeVisitor6<String, Void>
   private static final String JAVA_LANG_PACKAGE = "java.lang";
   private static final String PACKAGE_PREFIX = "package ";
 
+  /**
+   * The types implicitly imported into every compilation unit in a package. Large packages are
+   * expensive to scan, so one instance can be shared by all the compilation units in a package.
+   */
+  static class PackageImports {
+
+    static final PackageImports NONE =
+        new PackageImports(ImmutableSet.<QualifiedName>of());
+
+    private final ImmutableSetMultimap<String, QualifiedName> implicitImports;
+    private final ImmutableSet<String> nonConflictingImports;
+
+    PackageImports(Iterable<QualifiedName> types) {
+      ImmutableSetMultimap.Builder<String, QualifiedName> implicitImportsBuilder =
+          ImmutableSetMultimap.builder();
+      for (QualifiedName type : types) {
+        implicitImportsBuilder.put(type.getSimpleName(), type);
+      }
+      implicitImports = implicitImportsBuilder.build();
+      Set<String> nonConflictingImports = new LinkedHashSet<String>();
+      for (Set<QualifiedName> importGroup : Multimaps.asMap(implicitImports).values()) {
+        addIfNonConflicting(nonConflictingImports, importGroup);
+      }
+      this.nonConflictingImports = ImmutableSet.copyOf(nonConflictingImports);
+    }
+  }
+
   /**
    * Builder of {@link ImportManager} instances.
    */
   public static class Builder {
 
+    private final PackageImports packageImports;
+
     /**
      * Simple names of implicitly imported types, mapped to qualified name if that type is safe to
      * use, null otherwise.
      */
     private final SetMultimap<String, QualifiedName> implicitImports = LinkedHashMultimap.create();
 
+    public Builder() {
+      this(PackageImports.NONE);
+    }
+
+    /** Returns a builder whose implicit imports start with those in {@code packageImports}. */
+    Builder(PackageImports packageImports) {
+      this.packageImports = packageImports;
+    }
+
     /**
      * Adds a type which is implicitly imported into the current compilation unit.
      */
@@ -78,25 +118,39 @@ class ImportManager extends SimpleTypeVisitor6<String, Void>
 
     public ImportManager build() {
       Set<String> nonConflictingImports = new LinkedHashSet<String>();
-      for (Set<QualifiedName> importGroup : Multimaps.asMap(implicitImports).values()) {
-        if (importGroup.size() == 1) {
-          QualifiedName implicitImport = getOnlyElement(importGroup);
-          if (implicitImport.isTopLevel()) {
-            nonConflictingImports.add(implicitImport.toString());
-          }
-        }
+      for (Map.Entry<String, Set<QualifiedName>> importGroup
+          : Multimaps.asMap(implicitImports).entrySet()) {
+        addIfNonConflicting(nonConflictingImports, Sets.union(
+            importGroup.getValue(), packageImports.implicitImports.get(importGroup.getKey())));
       }
-      return new ImportManager(implicitImports.keySet(), nonConflictingImports);
+      return new ImportManager(packageImports, implicitImports.keySet(), nonConflictingImports);
     }
   }
 
-  private final Set<String> visibleSimpleNames = new HashSet<String>();
+  private static void addIfNonConflicting(
+      Set<String> nonConflictingImports, Set<QualifiedName> importGroup) {
+    if (importGroup.size() == 1) {
+      QualifiedName implicitImport = getOnlyElement(importGroup);
+      if (implicitImport.isTopLevel()) {
+        nonConflictingImports.add(implicitImport.toString());
+      }
+    }
+  }
+
+  private final PackageImports packageImports;
+  private final ImmutableSet<String> implicitSimpleNames;
   private final ImmutableSet<String> implicitImports;
+  private final Set<String> visibleSimpleNames = new HashSet<String>();
   private final Set<String> explicitImports = new TreeSet<String>();
 
-  private ImportManager(Iterable<String> visibleSimpleNames, Iterable<String> implicitImports) {
-    addAll(this.visibleSimpleNames, visibleSimpleNames);
+  private ImportManager(
+      PackageImports packageImports,
+      Set<String> implicitSimpleNames,
+      Iterable<String> implicitImports) {
+    this.packageImports = packageImports;
+    this.implicitSimpleNames = ImmutableSet.copyOf(implicitSimpleNames);
     this.implicitImports = ImmutableSet.copyOf(implicitImports);
+    visibleSimpleNames.addAll(implicitSimpleNames);
   }
 
   public Set<String> getClassImports() {
@@ -150,19 +204,33 @@ class ImportManager extends SimpleTypeVisitor6<String, Void>
     }
     pkg = unshadedName(pkg);
     String qualifiedName = pkg + "." + name;
-    if (implicitImports.contains(qualifiedName) || explicitImports.contains(qualifiedName)) {
+    String simpleName = name.toString();
+    if (isImplicitlyImported(qualifiedName, simpleName)
+        || explicitImports.contains(qualifiedName)) {
       return "";
-    } else if (visibleSimpleNames.contains(name.toString())) {
+    } else if (visibleSimpleNames.contains(simpleName)
+        || packageImports.implicitImports.containsKey(simpleName)) {
       return pkg + ".";
     } else if (pkg.equals(JAVA_LANG_PACKAGE)) {
       return "";
     } else {
-      visibleSimpleNames.add(name.toString());
+      visibleSimpleNames.add(simpleName);
       explicitImports.add(qualifiedName);
       return "";
     }
   }
 
+  /**
+   * Returns whether {@code qualifiedName} is implicitly imported, either by this compilation unit
+   * or, unless this compilation unit shadows its simple name, by its package.
+   */
+  private boolean isImplicitlyImported(String qualifiedName, String simpleName) {
+    if (implicitSimpleNames.contains(simpleName)) {
+      return implicitImports.contains(qualifiedName);
+    }
+    return packageImports.nonConflictingImports.contains(qualifiedName);
+  }
+
   @Override
   protected String defaultAction(TypeMirror mirror, Void p) {
     return mirror.toString();
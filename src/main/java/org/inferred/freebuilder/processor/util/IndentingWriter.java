@@ -0,0 +1,215 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.processor.util;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * A {@link Writer} that re-indents Java source as it passes it on, a fast alternative to running
+ * a full formatter over generated code.
+ *
+ * <p>Each line's leading whitespace is replaced with two spaces per enclosing brace, plus four if
+ * the line continues a statement or an argument list from the line before. Line breaks are left
+ * untouched, as are string literals and comments. Javadoc comments can optionally be dropped
+ * entirely.
+ *
+ * <p>Source is buffered only a line at a time, so a large compilation unit can be streamed through
+ * without ever holding a second copy of it.
+ */
+public class IndentingWriter extends Writer {
+
+  private static final int INDENT = 2;
+  private static final int CONTINUATION_INDENT = 4;
+  private static final String SPACES = "                ";
+
+  private final Writer out;
+  private final boolean skipJavadoc;
+  private final StringBuilder line = new StringBuilder();
+  private int depth = 0;
+  private int parenDepth = 0;
+  private boolean inComment = false;
+  private boolean inSkippedJavadoc = false;
+  private boolean statementComplete = true;
+
+  /**
+   * Returns a writer passing re-indented source on to {@code out}, without any Javadoc comments
+   * if {@code skipJavadoc} is true.
+   */
+  public IndentingWriter(Writer out, boolean skipJavadoc) {
+    this.out = out;
+    this.skipJavadoc = skipJavadoc;
+  }
+
+  @Override
+  public void write(char[] cbuf, int off, int len) throws IOException {
+    for (int i = off; i < off + len; ++i) {
+      write(cbuf[i]);
+    }
+  }
+
+  @Override
+  public void write(String str, int off, int len) throws IOException {
+    for (int i = off; i < off + len; ++i) {
+      write(str.charAt(i));
+    }
+  }
+
+  /** Writes {@code csq} a character at a time, without first copying it to a String. */
+  @Override
+  public IndentingWriter append(CharSequence csq) throws IOException {
+    return append(csq, 0, csq.length());
+  }
+
+  @Override
+  public IndentingWriter append(CharSequence csq, int start, int end) throws IOException {
+    for (int i = start; i < end; ++i) {
+      write(csq.charAt(i));
+    }
+    return this;
+  }
+
+  @Override
+  public void write(int c) throws IOException {
+    if (c == '\n') {
+      if (writeLine()) {
+        out.write('\n');
+      }
+    } else {
+      line.append((char) c);
+    }
+  }
+
+  @Override
+  public void flush() throws IOException {
+    out.flush();
+  }
+
+  /** Writes any unterminated final line, without closing the underlying writer. */
+  public void finish() throws IOException {
+    if (line.length() > 0) {
+      writeLine();
+    }
+  }
+
+  /** Writes any unterminated final line, then closes the underlying writer. */
+  @Override
+  public void close() throws IOException {
+    finish();
+    out.close();
+  }
+
+  /**
+   * Writes the buffered line, re-indented, without its line terminator. Returns false if the
+   * line was dropped.
+   */
+  private boolean writeLine() throws IOException {
+    String text = line.toString().trim();
+    line.setLength(0);
+    if (inSkippedJavadoc) {
+      inSkippedJavadoc = !text.contains("*/");
+      return false;
+    }
+    if (text.isEmpty()) {
+      return true;
+    }
+    if (inComment) {
+      writeIndent(depth);
+      if (text.startsWith("*")) {
+        // Align the asterisks of block comments
+        out.write(' ');
+      }
+      out.write(text);
+      scan(text);
+      return true;
+    }
+    if (skipJavadoc && text.startsWith("/**")) {
+      inSkippedJavadoc = !text.contains("*/");
+      return false;
+    }
+    int lineDepth = text.startsWith("}") ? depth - 1 : depth;
+    writeIndent(lineDepth);
+    if (!statementComplete) {
+      writeSpaces(CONTINUATION_INDENT);
+    }
+    out.write(text);
+    char lastCodeChar = scan(text);
+    if (lastCodeChar == '{' || lastCodeChar == '}') {
+      statementComplete = true;
+    } else if (lastCodeChar != 0) {
+      statementComplete = (parenDepth == 0) && (lastCodeChar == ';' || lastCodeChar == ','
+          || lastCodeChar == ':' || text.startsWith("@"));
+    }
+    return true;
+  }
+
+  /**
+   * Updates the bracket depths and comment state for a line of source, skipping over comments and
+   * literals, and returns the last character of code on the line, or 0 if there was none.
+   */
+  private char scan(String text) {
+    char lastCodeChar = 0;
+    char quote = 0;
+    for (int i = 0; i < text.length(); ++i) {
+      char c = text.charAt(i);
+      if (inComment) {
+        if (c == '*' && i + 1 < text.length() && text.charAt(i + 1) == '/') {
+          inComment = false;
+          ++i;
+        }
+      } else if (quote != 0) {
+        if (c == '\\') {
+          ++i;
+        } else if (c == quote) {
+          quote = 0;
+        }
+      } else if (c == '/' && i + 1 < text.length() && text.charAt(i + 1) == '/') {
+        break;
+      } else if (c == '/' && i + 1 < text.length() && text.charAt(i + 1) == '*') {
+        inComment = true;
+        ++i;
+      } else {
+        if (c == '"' || c == '\'') {
+          quote = c;
+        } else if (c == '{') {
+          ++depth;
+        } else if (c == '}') {
+          --depth;
+        } else if (c == '(' || c == '[') {
+          ++parenDepth;
+        } else if (c == ')' || c == ']') {
+          --parenDepth;
+        }
+        if (!Character.isWhitespace(c)) {
+          lastCodeChar = c;
+        }
+      }
+    }
+    return lastCodeChar;
+  }
+
+  private void writeIndent(int level) throws IOException {
+    writeSpaces(INDENT * Math.max(level, 0));
+  }
+
+  private void writeSpaces(int count) throws IOException {
+    while (count > 0) {
+      int chunk = Math.min(count, SPACES.length());
+      out.write(SPACES, 0, chunk);
+      count -= chunk;
+    }
+  }
+}
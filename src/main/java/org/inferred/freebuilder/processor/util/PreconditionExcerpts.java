@@ -1,15 +1,18 @@
 package org.inferred.freebuilder.processor.util;
 
+import static org.inferred.freebuilder.processor.util.StaticExcerpt.Type.METHOD;
 import static org.inferred.freebuilder.processor.util.feature.GuavaLibrary.GUAVA;
 import static org.inferred.freebuilder.processor.util.feature.SourceLevel.SOURCE_LEVEL;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.escape.Escaper;
 import com.google.common.escape.Escapers;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 /**
@@ -35,16 +38,20 @@ public class PreconditionExcerpts {
 
     @Override
     public void addTo(SourceBuilder code) {
-      if (code.feature(GUAVA).isAvailable()) {
-        code.add("%s.%s(%s, \"%s\"",
-            Preconditions.class,
-            methodName,
-            condition,
-            JAVA_STRING_ESCAPER.escape(message));
+      if (args.length > 0) {
+        // Call out to a static helper, so neither the message formatting nor Guava's varargs
+        // array bloat or allocate in the caller.
+        code.add("%s(%s, \"%s\"", methodName, condition, JAVA_STRING_ESCAPER.escape(message));
         for (Object arg : args) {
           code.add(", %s", arg);
         }
         code.add(");\n");
+      } else if (code.feature(GUAVA).isAvailable()) {
+        code.addLine("%s.%s(%s, \"%s\");",
+            Preconditions.class,
+            methodName,
+            condition,
+            JAVA_STRING_ESCAPER.escape(message));
       } else {
         List<Excerpt> escapedArgs = new ArrayList<Excerpt>();
         for (final Object arg : args) {
@@ -149,6 +156,83 @@ public class PreconditionExcerpts {
     }
   }
 
+  private static final class CheckMethodExcerpt extends StaticExcerpt {
+    private final String methodName;
+    private final Class<? extends RuntimeException> exceptionType;
+    private final int argCount;
+
+    private CheckMethodExcerpt(
+        String methodName, Class<? extends RuntimeException> exceptionType, int argCount) {
+      super(METHOD, methodName + "/" + argCount);
+      this.methodName = methodName;
+      this.exceptionType = exceptionType;
+      this.argCount = argCount;
+    }
+
+    @Override
+    public void addTo(SourceBuilder code) {
+      StringBuilder params = new StringBuilder();
+      StringBuilder args = new StringBuilder();
+      for (int i = 1; i <= argCount; ++i) {
+        params.append(", %3$s arg").append(i);
+        args.append(", arg").append(i);
+      }
+      code.addLine("")
+          .addLine("private static void %1$s(boolean expression, %2$s template" + params + ") {",
+              methodName, String.class, Object.class)
+          .addLine("  if (!expression) {");
+      if (code.feature(GUAVA).isAvailable()) {
+        // Guava's overloads are varargs before 20.0, so only call them once the check has failed
+        code.addLine("    %s.%s(false, template%s);", Preconditions.class, methodName, args);
+      } else {
+        code.addLine("    throw new %s(formatMessage(template%s));", exceptionType, args);
+      }
+      code.addLine("  }")
+          .addLine("}");
+    }
+
+    @Override
+    protected void addFields(FieldReceiver fields) {
+      super.addFields(fields);
+      fields.add("exceptionType", exceptionType);
+    }
+  }
+
+  private static final StaticExcerpt FORMAT_MESSAGE = new StaticExcerpt(METHOD, "formatMessage") {
+    @Override
+    public void addTo(SourceBuilder code) {
+      if (code.feature(GUAVA).isAvailable()) {
+        return;
+      }
+      code.addLine("")
+          .addLine("private static %1$s formatMessage(%1$s template, %2$s... args) {",
+              String.class, Object.class)
+          .addLine("  %1$s message = new %1$s(template.length() + 16 * args.length);",
+              StringBuilder.class)
+          .addLine("  int templateStart = 0;")
+          .addLine("  int i = 0;")
+          .addLine("  while (i < args.length) {")
+          .addLine("    int placeholderStart = template.indexOf(\"%%s\", templateStart);")
+          .addLine("    if (placeholderStart == -1) {")
+          .addLine("      break;")
+          .addLine("    }")
+          .addLine("    message.append(template, templateStart, placeholderStart)"
+              + ".append(args[i++]);")
+          .addLine("    templateStart = placeholderStart + 2;")
+          .addLine("  }")
+          .addLine("  message.append(template, templateStart, template.length());")
+          .addLine("  if (i < args.length) {")
+          .addLine("    message.append(\" [\").append(args[i++]);")
+          .addLine("    while (i < args.length) {")
+          .addLine("      message.append(\", \").append(args[i++]);")
+          .addLine("    }")
+          .addLine("    message.append(']');")
+          .addLine("  }")
+          .addLine("  return message.toString();")
+          .addLine("}");
+    }
+  };
+
   private static final Escaper JAVA_STRING_ESCAPER = Escapers.builder()
       .addEscape('"', "\"")
       .addEscape('\\', "\\\\")
@@ -225,7 +309,9 @@ public class PreconditionExcerpts {
    * Returns an excerpt equivalent to Guava's
    * {@link Preconditions#checkArgument(boolean, String, Object...)}.
    * <ul>
-   * <li>If Guava is available, Preconditions.checkArgument will be used.
+   * <li>If there are message arguments, a static checkArgument helper will be called; the
+   *     enclosing type must include {@link #checkArgumentHelpers}.
+   * <li>Otherwise, if Guava is available, Preconditions.checkArgument will be used.
    * <li>Otherwise, the check will be done with an if block.
    * </ul>
    *
@@ -247,7 +333,9 @@ public class PreconditionExcerpts {
    * Returns an excerpt equivalent to Guava's
    * {@link Preconditions#checkState(boolean, String, Object...)}.
    * <ul>
-   * <li>If Guava is available, Preconditions.checkState will be used.
+   * <li>If there are message arguments, a static checkState helper will be called; the
+   *     enclosing type must include {@link #checkStateHelpers}.
+   * <li>Otherwise, if Guava is available, Preconditions.checkState will be used.
    * <li>Otherwise, the check will be done with an if block.
    * </ul>
    *
@@ -266,6 +354,41 @@ public class PreconditionExcerpts {
         args, condition, message, "checkState", IllegalStateException.class);
   }
 
+  /**
+   * Returns the static helper methods needed by a {@link #checkArgument} excerpt with
+   * {@code argCount} message arguments.
+   *
+   * <p>Checks with message arguments call a generated helper method, keeping the message
+   * formatting out of the calling method. If Guava is available, the helper delegates to it once
+   * the check has failed, so passing checks never allocate a varargs array. Any type using such an
+   * excerpt must include these helpers in its body.
+   */
+  public static Set<StaticExcerpt> checkArgumentHelpers(int argCount) {
+    return checkHelpers("checkArgument", IllegalArgumentException.class, argCount);
+  }
+
+  /**
+   * Returns the static helper methods needed by a {@link #checkState} excerpt with
+   * {@code argCount} message arguments.
+   *
+   * <p>Checks with message arguments call a generated helper method, keeping the message
+   * formatting out of the calling method. If Guava is available, the helper delegates to it once
+   * the check has failed, so passing checks never allocate a varargs array. Any type using such an
+   * excerpt must include these helpers in its body.
+   */
+  public static Set<StaticExcerpt> checkStateHelpers(int argCount) {
+    return checkHelpers("checkState", IllegalStateException.class, argCount);
+  }
+
+  private static Set<StaticExcerpt> checkHelpers(
+      String methodName, Class<? extends RuntimeException> exceptionType, int argCount) {
+    if (argCount == 0) {
+      return ImmutableSet.of();
+    }
+    return ImmutableSet.<StaticExcerpt>of(
+        new CheckMethodExcerpt(methodName, exceptionType, argCount), FORMAT_MESSAGE);
+  }
+
   /**
    * Negates {@code condition}, removing unnecessary brackets and double-negatives if possible.
    */
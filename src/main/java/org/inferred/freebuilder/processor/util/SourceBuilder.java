@@ -45,6 +45,9 @@ public interface SourceBuilder {
    *      import line can be added.
    * <li> {@link Excerpt} instances have {@link Excerpt#addTo(SourceBuilder)} called.
    * </ul>
+   *
+   * <p>Format strings are parsed once and cached, so prefer constant format strings to building
+   * them dynamically.
    */
   SourceBuilder add(String fmt, Object... args);
 
@@ -64,6 +67,9 @@ public interface SourceBuilder {
    *      import line can be added.
    * <li> {@link Excerpt} instances have {@link Excerpt#addTo(SourceBuilder)} called.
    * </ul>
+   *
+   * <p>Format strings are parsed once and cached, so prefer constant format strings to building
+   * them dynamically.
    */
   SourceBuilder addLine(String fmt, Object... args);
 
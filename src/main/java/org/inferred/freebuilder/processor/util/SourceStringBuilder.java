@@ -23,6 +23,8 @@ import org.inferred.freebuilder.processor.util.feature.FeatureSet;
 import org.inferred.freebuilder.processor.util.feature.FeatureType;
 import org.inferred.freebuilder.processor.util.feature.StaticFeatureSet;
 
+import java.util.Formattable;
+
 import javax.lang.model.element.AnnotationMirror;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
@@ -50,6 +52,14 @@ public final class SourceStringBuilder implements SourceBuilder {
         new TypeShortener.AlwaysShorten(), new StaticFeatureSet(features));
   }
 
+  /**
+   * Returns a {@link SourceStringBuilder} that always shortens types, even if that causes
+   * conflicts, and generates code for {@code features}.
+   */
+  public static SourceBuilder simple(FeatureSet features) {
+    return new SourceStringBuilder(new TypeShortener.AlwaysShorten(), features);
+  }
+
   SourceStringBuilder(TypeShortener shortener, FeatureSet features) {
     this.shortener = shortener;
     this.features = features;
@@ -63,17 +73,36 @@ public final class SourceStringBuilder implements SourceBuilder {
 
   @Override
   public SourceBuilder add(String fmt, Object... args) {
-    Object[] substituteArgs = new Object[args.length];
-    for (int i = 0; i < args.length; i++) {
-      substituteArgs[i] = substitute(args[i]);
+    Template template = Template.of(fmt);
+    if (template.requiresFormatter()) {
+      destination.append(String.format(fmt, substituteAll(args)));
+      return this;
+    }
+    // Substituting an argument may add an import, so must happen in argument order. If the
+    // template uses the arguments in order, substitute each straight into the destination;
+    // otherwise, substitute them all upfront.
+    boolean inOrder = template.usesArgumentsInOrder(args.length);
+    Object[] values = inOrder ? args : substituteAll(args);
+    for (int i = 0; i < template.size(); i++) {
+      destination.append(template.literal(i));
+      Object value = template.argument(i, values);
+      if (template.conversion(i) == 'd') {
+        destination.append(String.format("%d", inOrder ? substitute(value) : value));
+      } else if (inOrder) {
+        append(value);
+      } else {
+        appendString(value);
+      }
     }
-    destination.append(String.format(fmt, substituteArgs));
+    destination.append(template.literal(template.size()));
     return this;
   }
 
   @Override
   public SourceBuilder addLine(String fmt, Object... args) {
-    return add(fmt + "\n", args);
+    add(fmt, args);
+    destination.append('\n');
+    return this;
   }
 
   @Override
@@ -92,6 +121,41 @@ public final class SourceStringBuilder implements SourceBuilder {
     return destination.toString();
   }
 
+  /** Returns the buffer the source code is written to, without copying it. */
+  CharSequence buffer() {
+    return destination;
+  }
+
+  private Object[] substituteAll(Object[] args) {
+    Object[] substituteArgs = new Object[args.length];
+    for (int i = 0; i < args.length; i++) {
+      substituteArgs[i] = substitute(args[i]);
+    }
+    return substituteArgs;
+  }
+
+  /** Appends {@code arg} as {@code %s} would, without rendering excerpts to a temporary string. */
+  private void append(Object arg) {
+    if (arg instanceof Excerpt) {
+      ((Excerpt) arg).addTo(this);
+    } else if (arg instanceof AnnotationMirror) {
+      addSource(this, (AnnotationMirror) arg);
+    } else {
+      appendString(substitute(arg));
+    }
+  }
+
+  /** Appends an already-substituted {@code value} as {@code %s} would. */
+  private void appendString(Object value) {
+    if (value instanceof SourceStringBuilder) {
+      destination.append(((SourceStringBuilder) value).destination);
+    } else if (value instanceof Formattable) {
+      destination.append(String.format("%s", value));
+    } else {
+      destination.append(value);
+    }
+  }
+
   private Object substitute(Object arg) {
     if (arg instanceof Excerpt) {
       SourceBuilder excerptBuilder = subBuilder();
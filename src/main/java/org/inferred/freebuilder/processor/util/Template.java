@@ -0,0 +1,180 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.processor.util;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.MissingFormatArgumentException;
+
+/**
+ * A {@link String#format} string, split into literal text and argument specifiers, so
+ * {@link SourceStringBuilder} can substitute arguments straight into its buffer.
+ *
+ * <p>Only the {@code %s}, {@code %d}, {@code %n} and {@code %%} specifiers are understood, with an
+ * optional explicit argument index (e.g. {@code %2$s}). Any other format string is left to
+ * {@link String#format}; see {@link #requiresFormatter()}.
+ */
+final class Template {
+
+  private static final String LINE_SEPARATOR = String.format("%n");
+
+  /**
+   * Parsed templates, keyed by format string identity. Most format strings are compile-time
+   * constants, so are parsed once; the rest are discarded once garbage.
+   */
+  private static final LoadingCache<String, Template> TEMPLATES = CacheBuilder.newBuilder()
+      .weakKeys()
+      .build(new CacheLoader<String, Template>() {
+        @Override
+        public Template load(String fmt) {
+          return parse(fmt);
+        }
+      });
+
+  /** Returns the template for {@code fmt}, parsing it if it has not been seen before. */
+  static Template of(String fmt) {
+    return TEMPLATES.getUnchecked(fmt);
+  }
+
+  private final boolean requiresFormatter;
+  private final String[] literals;
+  private final String[] specifiers;
+  private final int[] argumentIndices;
+  private final char[] conversions;
+
+  private Template(
+      boolean requiresFormatter,
+      List<String> literals,
+      List<String> specifiers,
+      List<Integer> argumentIndices,
+      List<Character> conversions) {
+    this.requiresFormatter = requiresFormatter;
+    this.literals = literals.toArray(new String[literals.size()]);
+    this.specifiers = specifiers.toArray(new String[specifiers.size()]);
+    this.argumentIndices = new int[argumentIndices.size()];
+    this.conversions = new char[conversions.size()];
+    for (int i = 0; i < this.argumentIndices.length; i++) {
+      this.argumentIndices[i] = argumentIndices.get(i);
+      this.conversions[i] = conversions.get(i);
+    }
+  }
+
+  /** Returns true if this template uses features only {@link String#format} understands. */
+  boolean requiresFormatter() {
+    return requiresFormatter;
+  }
+
+  /** Returns the number of argument specifiers in this template. */
+  int size() {
+    return argumentIndices.length;
+  }
+
+  /**
+   * Returns true if this template uses each of {@code numArgs} arguments exactly once, in order,
+   * so substituting them as they are reached has the same effect as substituting them upfront.
+   */
+  boolean usesArgumentsInOrder(int numArgs) {
+    if (argumentIndices.length != numArgs) {
+      return false;
+    }
+    for (int i = 0; i < argumentIndices.length; i++) {
+      if (argumentIndices[i] != i) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the literal text before the {@code i}th argument specifier, or after the last if
+   * {@code i == size()}.
+   */
+  String literal(int i) {
+    return literals[i];
+  }
+
+  /**
+   * Returns the argument referenced by the {@code i}th argument specifier.
+   *
+   * @throws MissingFormatArgumentException if there are too few arguments, as
+   *     {@link String#format} does
+   */
+  Object argument(int i, Object[] args) {
+    if (argumentIndices[i] >= args.length) {
+      throw new MissingFormatArgumentException(specifiers[i]);
+    }
+    return args[argumentIndices[i]];
+  }
+
+  /** Returns the conversion of the {@code i}th argument specifier, {@code 's'} or {@code 'd'}. */
+  char conversion(int i) {
+    return conversions[i];
+  }
+
+  private static Template parse(String fmt) {
+    List<String> literals = new ArrayList<String>();
+    List<String> specifiers = new ArrayList<String>();
+    List<Integer> argumentIndices = new ArrayList<Integer>();
+    List<Character> conversions = new ArrayList<Character>();
+    StringBuilder literal = new StringBuilder();
+    int ordinaryIndex = 0;
+    int i = 0;
+    while (i < fmt.length()) {
+      char c = fmt.charAt(i++);
+      if (c != '%') {
+        literal.append(c);
+        continue;
+      }
+      int start = i - 1;
+      int explicitIndex = -1;
+      int digitsEnd = i;
+      while (digitsEnd < fmt.length() && Character.isDigit(fmt.charAt(digitsEnd))) {
+        digitsEnd++;
+      }
+      if (digitsEnd > i && digitsEnd - i < 10 && digitsEnd < fmt.length()
+          && fmt.charAt(digitsEnd) == '$' && fmt.charAt(i) != '0') {
+        explicitIndex = Integer.parseInt(fmt.substring(i, digitsEnd)) - 1;
+        i = digitsEnd + 1;
+      }
+      char conversion = (i < fmt.length()) ? fmt.charAt(i++) : 0;
+      if (explicitIndex < 0 && conversion == '%') {
+        literal.append('%');
+      } else if (explicitIndex < 0 && conversion == 'n') {
+        literal.append(LINE_SEPARATOR);
+      } else if (conversion == 's' || conversion == 'd') {
+        literals.add(literal.toString());
+        literal.setLength(0);
+        specifiers.add(fmt.substring(start, i));
+        argumentIndices.add((explicitIndex >= 0) ? explicitIndex : ordinaryIndex++);
+        conversions.add(conversion);
+      } else {
+        // Flags, widths, other conversions or a malformed specifier
+        return new Template(
+            true,
+            new ArrayList<String>(),
+            new ArrayList<String>(),
+            new ArrayList<Integer>(),
+            new ArrayList<Character>());
+      }
+    }
+    literals.add(literal.toString());
+    return new Template(false, literals, specifiers, argumentIndices, conversions);
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.processor.util;
+
+import com.google.googlejavaformat.java.Formatter;
+
+import org.inferred.freebuilder.processor.util.feature.SourceFormatting;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+
+/**
+ * A compilation unit written by a {@link CompilationUnitBuilder}, not yet laid out.
+ *
+ * <p>Formatting is pure string manipulation, so {@link #format()} may be called on any thread.
+ */
+public class UnformattedSource {
+
+  private final String preamble;
+  private final CharSequence body;
+  private final SourceFormatting formatting;
+
+  UnformattedSource(String preamble, CharSequence body, SourceFormatting formatting) {
+    this.preamble = preamble;
+    this.body = body;
+    this.formatting = formatting;
+  }
+
+  /**
+   * Returns true if the source will be run through a full formatter, which needs it all in memory;
+   * false if it can be streamed with {@link #writeTo(Writer)}.
+   */
+  public boolean isFormatted() {
+    return formatting.isFormatted();
+  }
+
+  /** Returns the source code of the compilation unit, laid out as {@link SourceFormatting} says. */
+  public String format() {
+    if (formatting.isFormatted()) {
+      return preamble + formatSource(body.toString());
+    }
+    StringWriter out = new StringWriter(preamble.length() + body.length());
+    try {
+      writeTo(out);
+    } catch (IOException e) {
+      throw new AssertionError(e);  // StringWriter does not throw IOException
+    }
+    return out.toString();
+  }
+
+  /**
+   * Returns the source code of the compilation unit, laid out as {@link SourceFormatting} says,
+   * reusing the output of an earlier build if {@code cache} has it.
+   */
+  public String format(FormattedSourceCache cache) {
+    if (!formatting.isFormatted()) {
+      return format();
+    }
+    String source = body.toString();
+    String formatted = cache.get(source);
+    if (formatted == null) {
+      formatted = formatSource(source);
+      cache.put(source, formatted);
+    }
+    return preamble + formatted;
+  }
+
+  /**
+   * Writes the source code of the compilation unit to {@code writer}, laid out as
+   * {@link SourceFormatting} says, without closing it. Unless the source is formatted, it is
+   * re-indented as it is written, without first building a copy of it.
+   */
+  public void writeTo(Writer writer) throws IOException {
+    if (formatting.isFormatted()) {
+      writer.write(format());
+      return;
+    }
+    writer.write(preamble);
+    IndentingWriter indentingWriter = new IndentingWriter(writer, !formatting.includesJavadoc());
+    indentingWriter.append(body);
+    indentingWriter.finish();
+  }
+
+  /**
+   * Holds the formatter, which is immutable, so may be shared between threads. As a separate
+   * class, google-java-format and its Eclipse dependencies are only loaded when source is first
+   * formatted, not in fast-emit mode or if every unit is in the {@link FormattedSourceCache}.
+   */
+  private static class FormatterHolder {
+    /** Null on Java 6, which the formatter does not support. */
+    static final Formatter FORMATTER = newFormatter();
+
+    private static Formatter newFormatter() {
+      try {
+        return new Formatter();
+      } catch (UnsupportedClassVersionError e) {
+        return null;
+      }
+    }
+  }
+
+  private static String formatSource(String source) {
+    try {
+      Formatter formatter = FormatterHolder.FORMATTER;
+      if (formatter == null) {
+        return source;
+      }
+      return formatter.formatSource(source);
+    } catch (UnsupportedClassVersionError e) {
+      // Formatter requires Java 7+; do no formatting in Java 6.
+      return source;
+    } catch (Exception e) {
+      StringBuilder message = new StringBuilder()
+          .append("Formatter failed:\n")
+          .append(e.getMessage())
+          .append("\nGenerated source:");
+      int lineNo = 0;
+      for (String line : source.split("\n")) {
+        message
+            .append("\n")
+            .append(++lineNo)
+            .append(": ")
+            .append(line);
+      }
+      throw new RuntimeException(message.toString());
+    }
+  }
+}
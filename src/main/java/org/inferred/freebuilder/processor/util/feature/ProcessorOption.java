@@ -0,0 +1,96 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.processor.util.feature;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Strings;
+
+import javax.annotation.Nullable;
+
+/**
+ * A typed {@code -A} option understood by the processor, read from {@link ProcessorOptions}.
+ *
+ * <p>Each class configured by an option should expose it as a constant, e.g.
+ * {@link SourceFormatting#FAST_EMIT}, and the processor must list it in its supported options.
+ */
+public abstract class ProcessorOption<T> {
+
+  /**
+   * Returns an option that is off unless passed, either without a value or with the value
+   * {@code true}, e.g. {@code -Afreebuilder.fastEmit}.
+   */
+  public static ProcessorOption<Boolean> flag(String name) {
+    return new ProcessorOption<Boolean>(name, false) {
+      @Override
+      protected Boolean parse(@Nullable String value) {
+        if (value == null || value.equalsIgnoreCase("true")) {
+          return true;
+        }
+        checkArgument(value.equalsIgnoreCase("false"), "expected true or false");
+        return false;
+      }
+    };
+  }
+
+  /**
+   * Returns an option taking a non-empty value, e.g. {@code -Afreebuilder.cacheDir=<directory>},
+   * absent unless passed.
+   *
+   * @param example an example value, used in warnings about invalid values
+   */
+  public static ProcessorOption<Optional<String>> value(String name, final String example) {
+    return new ProcessorOption<Optional<String>>(name, Optional.<String>absent()) {
+      @Override
+      protected Optional<String> parse(@Nullable String value) {
+        checkArgument(!Strings.isNullOrEmpty(value), "needs a value, e.g. -A%s=%s", name, example);
+        return Optional.of(value);
+      }
+    };
+  }
+
+  protected final String name;
+  private final T defaultValue;
+
+  private ProcessorOption(String name, T defaultValue) {
+    this.name = name;
+    this.defaultValue = defaultValue;
+  }
+
+  /** Returns the option's name, without the {@code -A} prefix. */
+  public String getName() {
+    return name;
+  }
+
+  /** Returns the value to use when the option is not passed, or its value is invalid. */
+  public T getDefaultValue() {
+    return defaultValue;
+  }
+
+  /**
+   * Returns the option's value, given the value passed to the compiler, which is null if the
+   * option was passed without one.
+   *
+   * @throws IllegalArgumentException if the value is invalid, describing what was expected
+   */
+  protected abstract T parse(@Nullable String value);
+
+  @Override
+  public String toString() {
+    return "-A" + name;
+  }
+}
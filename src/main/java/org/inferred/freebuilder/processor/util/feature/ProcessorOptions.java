@@ -0,0 +1,86 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.processor.util.feature;
+
+import com.google.common.collect.ImmutableMap;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.tools.Diagnostic.Kind;
+
+/**
+ * The {@link ProcessorOption} values passed to the compiler, e.g. with
+ * {@code -Afreebuilder.fastEmit}.
+ *
+ * <p>Invalid values are replaced with the option's default, so processing can continue; call
+ * {@link #reportInvalidValues} once per compilation to warn the user about them.
+ */
+public class ProcessorOptions {
+
+  /** No options passed, as in tests. */
+  public static final ProcessorOptions NONE =
+      new ProcessorOptions(ImmutableMap.<String, String>of());
+
+  private final Map<String, String> options;
+
+  public ProcessorOptions(ProcessingEnvironment env) {
+    this(env.getOptions());
+  }
+
+  public ProcessorOptions(Map<String, String> options) {
+    // Copied as it may hold null values, so ImmutableMap cannot be used
+    this.options = new HashMap<String, String>(options);
+  }
+
+  /** Returns whether {@code option} was passed, whether or not with a valid value. */
+  public boolean isPassed(ProcessorOption<?> option) {
+    return options.containsKey(option.getName());
+  }
+
+  /** Returns the value of {@code option}, or its default if it was not passed or is invalid. */
+  public <T> T get(ProcessorOption<T> option) {
+    if (!isPassed(option)) {
+      return option.getDefaultValue();
+    }
+    try {
+      return option.parse(options.get(option.getName()));
+    } catch (IllegalArgumentException e) {
+      return option.getDefaultValue();
+    }
+  }
+
+  /** Warns, through {@code messager}, about each of {@code supported} passed an invalid value. */
+  public void reportInvalidValues(
+      Iterable<? extends ProcessorOption<?>> supported, Messager messager) {
+    for (ProcessorOption<?> option : supported) {
+      if (isPassed(option)) {
+        String value = options.get(option.getName());
+        try {
+          option.parse(value);
+        } catch (IllegalArgumentException e) {
+          messager.printMessage(Kind.WARNING, String.format(
+              "Ignoring %s%s: %s",
+              option,
+              (value == null) ? "" : "=" + value,
+              e.getMessage()));
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.processor.util.feature;
+
+import static org.inferred.freebuilder.processor.util.feature.FunctionPackage.FUNCTION_PACKAGE;
+
+import com.google.common.base.Optional;
+
+import org.inferred.freebuilder.processor.util.QualifiedName;
+import org.inferred.freebuilder.processor.util.SourceBuilder;
+
+import javax.annotation.processing.ProcessingEnvironment;
+
+/**
+ * Whether the freebuilder-runtime library is on the classpath, in which case generated builders
+ * share its collection views and helpers instead of each carrying a copy. The library targets
+ * Java 8, so is only used if {@link FunctionPackage} is also available. Defaults to
+ * {@link #UNAVAILABLE} in tests.
+ */
+public enum RuntimeLibrary implements Feature<RuntimeLibrary> {
+
+  AVAILABLE, UNAVAILABLE;
+
+  /**
+   * Constant to pass to {@link SourceBuilder#feature(FeatureType)} to get the current status of
+   * {@link RuntimeLibrary}.
+   */
+  public static final FeatureType<RuntimeLibrary> RUNTIME_LIBRARY =
+      new FeatureType<RuntimeLibrary>() {
+
+        @Override
+        protected RuntimeLibrary testDefault() {
+          return UNAVAILABLE;
+        }
+
+        @Override
+        protected RuntimeLibrary forEnvironment(ProcessingEnvironment env) {
+          if (!FUNCTION_PACKAGE.forEnvironment(env).consumer().isPresent()) {
+            return UNAVAILABLE;
+          }
+          String name = QualifiedName.of(PACKAGE, "CheckedList").toString();
+          return (env.getElementUtils().getTypeElement(name) != null) ? AVAILABLE : UNAVAILABLE;
+        }
+      };
+
+  private static final String PACKAGE = "org.inferred.freebuilder.runtime";
+
+  /**
+   * Returns the runtime library's type called {@code simpleName}, if the library is available.
+   */
+  public Optional<QualifiedName> type(String simpleName) {
+    return isAvailable()
+        ? Optional.of(QualifiedName.of(PACKAGE, simpleName))
+        : Optional.<QualifiedName>absent();
+  }
+
+  public boolean isAvailable() {
+    return this != UNAVAILABLE;
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.processor.util.feature;
+
+import org.inferred.freebuilder.processor.util.SourceBuilder;
+
+import javax.annotation.processing.ProcessingEnvironment;
+
+/**
+ * How generated source is laid out. Defaults to {@link #FORMATTED} in tests.
+ *
+ * <p>Formatting with google-java-format dominates the processor's running time; builds that do
+ * not read the generated code can pass {@code -Afreebuilder.fastEmit} to skip it, and additionally
+ * {@code -Afreebuilder.skipJavadoc} to leave out the generated Javadoc.
+ */
+public enum SourceFormatting implements Feature<SourceFormatting> {
+
+  /** Formatted with google-java-format, where it is available. */
+  FORMATTED,
+  /** Indented as written, without reformatting. */
+  FAST,
+  /** Indented as written, without reformatting, and with all Javadoc comments removed. */
+  FAST_WITHOUT_JAVADOC;
+
+  /** Processor option selecting {@link #FAST} formatting. */
+  public static final ProcessorOption<Boolean> FAST_EMIT =
+      ProcessorOption.flag("freebuilder.fastEmit");
+
+  /** Processor option selecting {@link #FAST_WITHOUT_JAVADOC} formatting, with fast emit. */
+  public static final ProcessorOption<Boolean> SKIP_JAVADOC =
+      ProcessorOption.flag("freebuilder.skipJavadoc");
+
+  /**
+   * Constant to pass to {@link SourceBuilder#feature(FeatureType)} to get the current
+   * {@link SourceFormatting}.
+   */
+  public static final FeatureType<SourceFormatting> FORMATTING =
+      new FeatureType<SourceFormatting>() {
+
+        @Override
+        protected SourceFormatting testDefault() {
+          return FORMATTED;
+        }
+
+        @Override
+        protected SourceFormatting forEnvironment(ProcessingEnvironment env) {
+          ProcessorOptions options = new ProcessorOptions(env);
+          if (!options.get(FAST_EMIT)) {
+            return FORMATTED;
+          } else if (options.get(SKIP_JAVADOC)) {
+            return FAST_WITHOUT_JAVADOC;
+          } else {
+            return FAST;
+          }
+        }
+      };
+
+  public boolean isFormatted() {
+    return this == FORMATTED;
+  }
+
+  public boolean includesJavadoc() {
+    return this != FAST_WITHOUT_JAVADOC;
+  }
+}
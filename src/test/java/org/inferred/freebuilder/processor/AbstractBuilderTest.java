@@ -24,7 +24,7 @@ public class AbstractBuilderTest {
   @Test
   public void testGenericWithConstraint() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(TYPE_WITH_ABSTRACT_BUILDER)
         .compiles()
         .withNoWarnings();
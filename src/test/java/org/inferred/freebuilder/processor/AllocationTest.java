@@ -0,0 +1,178 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.processor;
+
+import com.google.common.base.Optional;
+
+import org.inferred.freebuilder.FreeBuilder;
+import org.inferred.freebuilder.processor.util.feature.StaticFeatureSet;
+import org.inferred.freebuilder.processor.util.testing.Allocations;
+import org.inferred.freebuilder.processor.util.testing.BehaviorTester;
+import org.inferred.freebuilder.processor.util.testing.SourceBuilder;
+import org.inferred.freebuilder.processor.util.testing.TestBuilder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.List;
+
+import javax.annotation.Nullable;
+import javax.tools.JavaFileObject;
+
+/**
+ * Allocation contracts for the hot paths of generated code, measured once the JIT has warmed up.
+ *
+ * <p>Generator changes that add allocations to these paths must update the contracts here.
+ */
+@RunWith(JUnit4.class)
+public class AllocationTest {
+
+  /**
+   * One object holding three {@code int} fields: 24 bytes with compressed class pointers, 32
+   * without.
+   */
+  private static final int THREE_INT_VALUE_BYTES = 32;
+  /**
+   * A builder with its unset-property set and list, plus a value with an immutable copy of the
+   * list. Untouched collections are still copied, so this grows with the collection's size.
+   */
+  private static final int FROM_BUILD_BYTES = 448;
+
+  private static final JavaFileObject SCALARS_TYPE = new SourceBuilder()
+      .addLine("package com.example;")
+      .addLine("@%s", FreeBuilder.class)
+      .addLine("public abstract class DataType {")
+      .addLine("  public abstract int getPropertyA();")
+      .addLine("  public abstract int getPropertyB();")
+      .addLine("  public abstract int getPropertyC();")
+      .addLine("")
+      .addLine("  public static class Builder extends DataType_Builder {}")
+      .addLine("}")
+      .build();
+
+  private static final JavaFileObject MIXED_TYPE = new SourceBuilder()
+      .addLine("package com.example;")
+      .addLine("@%s", FreeBuilder.class)
+      .addLine("public abstract class DataType {")
+      .addLine("  public abstract String getName();")
+      .addLine("  public abstract int getAge();")
+      .addLine("  public abstract long getId();")
+      .addLine("  public abstract double getScore();")
+      .addLine("  public abstract boolean isActive();")
+      .addLine("  @%s public abstract String getNickname();", Nullable.class)
+      .addLine("  public abstract %s<String> getTitle();", Optional.class)
+      .addLine("  public abstract %s<String> getMotto();", java.util.Optional.class)
+      .addLine("  public abstract %s<String> getTags();", List.class)
+      .addLine("")
+      .addLine("  public static class Builder extends DataType_Builder {}")
+      .addLine("}")
+      .build();
+
+  private static final String MIXED_VALUE = "DataType value = new DataType.Builder()"
+      + ".setName(\"Alice\")"
+      + ".setAge(1000)"
+      + ".setId(1L << 40)"
+      + ".setScore(0.5)"
+      + ".setActive(true)"
+      + ".setTitle(\"Dr\")"
+      + ".setMotto(\"Carpe diem\")"
+      + ".addTags(\"a\", \"b\", \"c\")"
+      + ".build();";
+
+  private final BehaviorTester behaviorTester = new BehaviorTester();
+
+  @Test
+  public void testValueHashCode_allocatesNothing() {
+    behaviorTester
+        .with(new Processor(), "detected features")
+        .with(MIXED_TYPE)
+        .with(testBuilder()
+            .addLine(MIXED_VALUE)
+            .addLine("assertAllocationFree(() -> value.hashCode());")
+            .build())
+        .runTest();
+  }
+
+  @Test
+  public void testValueHashCode_allocatesNothing_withoutGuava() {
+    behaviorTester
+        .with(new Processor(new StaticFeatureSet()))
+        .with(SCALARS_TYPE)
+        .with(testBuilder()
+            .addLine("DataType value = new DataType.Builder()")
+            .addLine("    .setPropertyA(1000).setPropertyB(2000).setPropertyC(3000).build();")
+            .addLine("assertAllocationFree(() -> value.hashCode());")
+            .build())
+        .runTest();
+  }
+
+  @Test
+  public void testGuavaOptionalGetter_allocatesNothingWhenConsumedLocally() {
+    behaviorTester
+        .with(new Processor(), "detected features")
+        .with(MIXED_TYPE)
+        .with(testBuilder()
+            .addLine(MIXED_VALUE)
+            .addLine("assertAllocationFree(() -> value.getTitle().isPresent() ? 1 : 0);")
+            .build())
+        .runTest();
+  }
+
+  @Test
+  public void testJavaUtilOptionalGetter_allocatesNothingWhenConsumedLocally() {
+    behaviorTester
+        .with(new Processor(), "detected features")
+        .with(MIXED_TYPE)
+        .with(testBuilder()
+            .addLine(MIXED_VALUE)
+            .addLine("assertAllocationFree(() -> value.getMotto().isPresent() ? 1 : 0);")
+            .build())
+        .runTest();
+  }
+
+  @Test
+  public void testBuild_allocatesOnlyTheValue() {
+    behaviorTester
+        .with(new Processor(), "detected features")
+        .with(SCALARS_TYPE)
+        .with(testBuilder()
+            .addLine("DataType.Builder builder = new DataType.Builder()")
+            .addLine("    .setPropertyA(1000).setPropertyB(2000).setPropertyC(3000);")
+            .addLine("assertAllocatesAtMost(%s, () -> builder.build());", THREE_INT_VALUE_BYTES)
+            .build())
+        .runTest();
+  }
+
+  @Test
+  public void testFromBuild_untouchedCollections() {
+    behaviorTester
+        .with(new Processor(), "detected features")
+        .with(MIXED_TYPE)
+        .with(testBuilder()
+            .addLine(MIXED_VALUE)
+            .addLine("assertAllocatesAtMost(%s, () -> DataType.Builder.from(value).build());",
+                FROM_BUILD_BYTES)
+            .build())
+        .runTest();
+  }
+
+  private static TestBuilder testBuilder() {
+    return new TestBuilder()
+        .addStaticImport(Allocations.class, "assertAllocationFree")
+        .addStaticImport(Allocations.class, "assertAllocatesAtMost")
+        .addImport("com.example.DataType");
+  }
+}
@@ -21,6 +21,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import org.inferred.freebuilder.FreeBuilder;
+import org.inferred.freebuilder.processor.util.feature.StaticFeatureSet;
 import org.inferred.freebuilder.processor.util.testing.BehaviorTester;
 import org.inferred.freebuilder.processor.util.testing.SourceBuilder;
 import org.inferred.freebuilder.processor.util.testing.TestBuilder;
@@ -212,7 +213,7 @@ public class BuildablePropertyFactoryTest {
   public void testBuild_noDefaults() {
     thrown.expect(IllegalStateException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(NO_DEFAULTS_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder().build();")
@@ -223,7 +224,7 @@ public class BuildablePropertyFactoryTest {
   @Test
   public void testBuild_defaults() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(DEFAULTS_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder().build();")
@@ -238,7 +239,7 @@ public class BuildablePropertyFactoryTest {
   @Test
   public void testBuildPartial() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(NO_DEFAULTS_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -252,7 +253,7 @@ public class BuildablePropertyFactoryTest {
   public void testBuildPartialAndGet() {
     thrown.expect(UnsupportedOperationException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(NO_DEFAULTS_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -266,7 +267,7 @@ public class BuildablePropertyFactoryTest {
   @Test
   public void testSetToValue() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(NO_DEFAULTS_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -287,10 +288,23 @@ public class BuildablePropertyFactoryTest {
         .runTest();
   }
 
+  @Test
+  public void testSetToValue_null_withoutGuava() {
+    thrown.expect(NullPointerException.class);
+    behaviorTester
+        .with(new Processor(new StaticFeatureSet()))
+        .with(NO_DEFAULTS_TYPE)
+        .with(new TestBuilder()
+            .addLine("new com.example.DataType.Builder()")
+            .addLine("    .setItem1((com.example.DataType.Item) null);")
+            .build())
+        .runTest();
+  }
+
   @Test
   public void testSetToValue_nestedList() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(NESTED_LIST_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType.Builder builder = new com.example.DataType.Builder();")
@@ -311,7 +325,7 @@ public class BuildablePropertyFactoryTest {
   @Test
   public void testSetToValue_protolike() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(PROTOLIKE_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType.Builder builder = new com.example.DataType.Builder();")
@@ -332,7 +346,7 @@ public class BuildablePropertyFactoryTest {
   @Test
   public void testSetToValue_freebuilderlike() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(FREEBUILDERLIKE_TYPE)
         .with(FREEBUILDERLIKE_BUILDER_SUPERCLASS)
         .with(new TestBuilder()
@@ -354,7 +368,7 @@ public class BuildablePropertyFactoryTest {
   @Test
   public void testSetToBuilder_valuesSet() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(NO_DEFAULTS_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -376,7 +390,7 @@ public class BuildablePropertyFactoryTest {
   @Test
   public void testSetToBuilder_nestedList() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(NESTED_LIST_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType.Builder builder = new com.example.DataType.Builder();")
@@ -395,7 +409,7 @@ public class BuildablePropertyFactoryTest {
   @Test
   public void testSetToBuilder_protolike() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(PROTOLIKE_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType.Builder builder = new com.example.DataType.Builder();")
@@ -414,7 +428,7 @@ public class BuildablePropertyFactoryTest {
   @Test
   public void testSetToBuilder_freebuilderlike() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(FREEBUILDERLIKE_TYPE)
         .with(FREEBUILDERLIKE_BUILDER_SUPERCLASS)
         .with(new TestBuilder()
@@ -435,7 +449,7 @@ public class BuildablePropertyFactoryTest {
   public void testSetToBuilder_missingValue() {
     thrown.expect(IllegalStateException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(NO_DEFAULTS_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -448,7 +462,7 @@ public class BuildablePropertyFactoryTest {
   @Test
   public void testMutateMethod() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(DEFAULTS_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -470,7 +484,7 @@ public class BuildablePropertyFactoryTest {
   @Test
   public void testGetBuilder() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(DEFAULTS_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType.Builder builder = new com.example.DataType.Builder();")
@@ -483,7 +497,7 @@ public class BuildablePropertyFactoryTest {
   @Test
   public void testGetBuilder_protolike() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(PROTOLIKE_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType.Builder builder = new com.example.DataType.Builder();")
@@ -496,7 +510,7 @@ public class BuildablePropertyFactoryTest {
   @Test
   public void testGetBuilder_freebuilderlike() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(FREEBUILDERLIKE_TYPE)
         .with(FREEBUILDERLIKE_BUILDER_SUPERCLASS)
         .with(new TestBuilder()
@@ -510,7 +524,7 @@ public class BuildablePropertyFactoryTest {
   @Test
   public void testMergeFromBuilder() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(NO_DEFAULTS_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType.Builder builder = new com.example.DataType.Builder()")
@@ -542,7 +556,7 @@ public class BuildablePropertyFactoryTest {
   @Test
   public void testMergeFromBuilder_nestedList() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(NESTED_LIST_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType.Builder builder = new com.example.DataType.Builder();")
@@ -564,7 +578,7 @@ public class BuildablePropertyFactoryTest {
   @Test
   public void testMergeFromBuilder_protolike() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(PROTOLIKE_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType.Builder builder = new com.example.DataType.Builder();")
@@ -586,7 +600,7 @@ public class BuildablePropertyFactoryTest {
   @Test
   public void testMergeFromBuilder_freebuilderlike() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(FREEBUILDERLIKE_TYPE)
         .with(FREEBUILDERLIKE_BUILDER_SUPERCLASS)
         .with(new TestBuilder()
@@ -609,7 +623,7 @@ public class BuildablePropertyFactoryTest {
   @Test
   public void testMergeFromValue() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(NO_DEFAULTS_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType.Builder builder = new com.example.DataType.Builder()")
@@ -646,7 +660,7 @@ public class BuildablePropertyFactoryTest {
   @Test
   public void testMergeFromValue_nestedList() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(NESTED_LIST_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType.Builder builder = new com.example.DataType.Builder();")
@@ -669,7 +683,7 @@ public class BuildablePropertyFactoryTest {
   @Test
   public void testMergeFromValue_protolike() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(PROTOLIKE_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType.Builder builder = new com.example.DataType.Builder();")
@@ -692,7 +706,7 @@ public class BuildablePropertyFactoryTest {
   @Test
   public void testBuilderClear() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(NO_DEFAULTS_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType.Builder builder = new com.example.DataType.Builder()")
@@ -729,7 +743,7 @@ public class BuildablePropertyFactoryTest {
   @Test
   public void testBuilderClear_nestedList() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(NESTED_LIST_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType.Builder builder = new com.example.DataType.Builder();")
@@ -752,7 +766,7 @@ public class BuildablePropertyFactoryTest {
   @Test
   public void testBuilderClear_protolike() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(PROTOLIKE_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType.Builder builder = new com.example.DataType.Builder();")
@@ -775,7 +789,7 @@ public class BuildablePropertyFactoryTest {
   @Test
   public void testBuilderClear_freebuilderlike() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(FREEBUILDERLIKE_TYPE)
         .with(FREEBUILDERLIKE_BUILDER_SUPERCLASS)
         .with(new TestBuilder()
@@ -800,7 +814,7 @@ public class BuildablePropertyFactoryTest {
   public void testIssue68_nameCollisionForValue() {
     // mergeFrom(DataType value) must resolve the name collision on "value"
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -848,7 +862,7 @@ public class BuildablePropertyFactoryTest {
   public void testIssue68_nameCollisionForTemplate() {
     // mergeFrom(DataType.Template template) must resolve the name collision on "template"
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -896,7 +910,7 @@ public class BuildablePropertyFactoryTest {
   public void testJacksonInteroperability() {
     // See also https://github.com/google/FreeBuilder/issues/68
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("import " + JsonProperty.class.getName() + ";")
@@ -944,7 +958,7 @@ public class BuildablePropertyFactoryTest {
   @Test
   public void hiddenBuilderNotIllegallyReferenced() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example.foo;")
             .addLine("public abstract class Item {")
@@ -0,0 +1,246 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.processor;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.inferred.freebuilder.processor.util.feature.SourceLevel.JAVA_7;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Multiset;
+import com.google.common.collect.SetMultimap;
+
+import org.inferred.freebuilder.FreeBuilder;
+import org.inferred.freebuilder.processor.util.feature.Feature;
+import org.inferred.freebuilder.processor.util.feature.FunctionPackage;
+import org.inferred.freebuilder.processor.util.feature.GuavaLibrary;
+import org.inferred.freebuilder.processor.util.feature.StaticFeatureSet;
+import org.inferred.freebuilder.processor.util.testing.BehaviorTester;
+import org.inferred.freebuilder.processor.util.testing.BehaviorTester.CompilationSubject;
+import org.inferred.freebuilder.processor.util.testing.SourceBuilder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nullable;
+import javax.tools.JavaFileObject;
+
+/**
+ * Checks generated methods stay within HotSpot's default inlining thresholds, so that code bloat
+ * from generator changes fails the build rather than slowing down users' hot paths.
+ *
+ * <p>Getters, single-value mutators and {@code build()} must fit {@code -XX:MaxInlineSize}, so
+ * they are inlined even before they are hot. {@code equals} and {@code hashCode} must fit
+ * {@code -XX:FreqInlineSize}, so they are inlined once hot. Bulk mutators, {@code clear()},
+ * {@code mergeFrom} and {@code toString} loop or branch per property and have no budget, but
+ * must still fit {@code -XX:HugeMethodLimit} for types with hundreds of properties, or HotSpot
+ * will never JIT-compile them.
+ */
+@RunWith(JUnit4.class)
+public class BytecodeSizeTest {
+
+  /** HotSpot's default {@code -XX:MaxInlineSize}. */
+  private static final int MAX_INLINE_SIZE = 35;
+  /** HotSpot's default {@code -XX:FreqInlineSize} on x86_64. */
+  private static final int FREQ_INLINE_SIZE = 325;
+  /** HotSpot's {@code -XX:HugeMethodLimit}; larger methods are never JIT-compiled. */
+  private static final int HUGE_METHOD_LIMIT = 8000;
+  /** Enough properties to exceed {@link #HUGE_METHOD_LIMIT} without method splitting. */
+  private static final int LARGE_TYPE_PROPERTIES = 400;
+
+  private static final String BUILDER_CLASS = "com.example.Person_Builder";
+  private static final ImmutableList<String> VALUE_CLASSES = ImmutableList.of(
+      "com.example.Person_Builder$Value", "com.example.Person_Builder$Partial");
+  private static final Pattern ACCESSOR = Pattern.compile("(get|is)[A-Z]\\w*\\(\\)");
+  private static final Pattern MUTATOR =
+      Pattern.compile("(set|add|put|remove|clear|mutate)[A-Z]\\w*\\(.*\\)");
+  private static final Pattern BULK_MUTATOR =
+      Pattern.compile("(addAll|putAll)[A-Z]\\w*\\(.*\\)|\\w+\\(.*\\[\\]\\)");
+
+  private static final JavaFileObject ADDRESS_TYPE = new SourceBuilder()
+      .addLine("package com.example;")
+      .addLine("@%s", FreeBuilder.class)
+      .addLine("public abstract class Address {")
+      .addLine("  public abstract String getCity();")
+      .addLine("")
+      .addLine("  public static class Builder extends Address_Builder {}")
+      .addLine("}")
+      .build();
+
+  private static final JavaFileObject PERSON_TYPE = new SourceBuilder()
+      .addLine("package com.example;")
+      .addLine("@%s", FreeBuilder.class)
+      .addLine("public abstract class Person {")
+      .addLine("  public abstract String getName();")
+      .addLine("  public abstract int getAge();")
+      .addLine("  public abstract int getShoeSize();")
+      .addLine("  @%s public abstract String getNickname();", Nullable.class)
+      .addLine("  public abstract %s<String> getTitle();", Optional.class)
+      .addLine("  public abstract %s<String> getMotto();", java.util.Optional.class)
+      .addLine("  public abstract Address getAddress();")
+      .addLine("  public abstract %s<String> getAliases();", List.class)
+      .addLine("  public abstract %s<String> getTags();", Set.class)
+      .addLine("  public abstract %s<String, Integer> getScores();", Map.class)
+      .addLine("  public abstract %s<String> getVotes();", Multiset.class)
+      .addLine("  public abstract %s<String, String> getLinks();", ListMultimap.class)
+      .addLine("  public abstract %s<String, String> getGroups();", SetMultimap.class)
+      .addLine("")
+      .addLine("  public static class Builder extends Person_Builder {")
+      .addLine("    public Builder() {")
+      .addLine("      setShoeSize(9);")
+      .addLine("    }")
+      .addLine("  }")
+      .addLine("}")
+      .build();
+
+  @Test
+  public void testJava6() {
+    assertWithinBudgets();
+  }
+
+  @Test
+  public void testJava6_guava() {
+    assertWithinBudgets(GuavaLibrary.AVAILABLE);
+  }
+
+  @Test
+  public void testJava7() {
+    assertWithinBudgets(JAVA_7);
+  }
+
+  @Test
+  public void testJava7_guava() {
+    assertWithinBudgets(JAVA_7, GuavaLibrary.AVAILABLE);
+  }
+
+  @Test
+  public void testJava8() {
+    assertWithinBudgets(JAVA_7, FunctionPackage.AVAILABLE);
+  }
+
+  @Test
+  public void testJava8_guava() {
+    assertWithinBudgets(JAVA_7, FunctionPackage.AVAILABLE, GuavaLibrary.AVAILABLE);
+  }
+
+  @Test
+  public void testLargeType_java6() {
+    assertLargeTypeCompilable();
+  }
+
+  @Test
+  public void testLargeType_java8_guava() {
+    assertLargeTypeCompilable(JAVA_7, FunctionPackage.AVAILABLE, GuavaLibrary.AVAILABLE);
+  }
+
+  private static void assertLargeTypeCompilable(Feature<?>... features) {
+    SourceBuilder largeType = new SourceBuilder()
+        .addLine("package com.example;")
+        .addLine("@%s", FreeBuilder.class)
+        .addLine("public abstract class Large {");
+    for (int i = 0; i < LARGE_TYPE_PROPERTIES; i++) {
+      switch (i % 3) {
+        case 0:
+          largeType.addLine("  public abstract String getP%s();", i);
+          break;
+        case 1:
+          largeType.addLine("  public abstract int getP%s();", i);
+          break;
+        default:
+          largeType.addLine("  public abstract %s<String> getP%s();", List.class, i);
+          break;
+      }
+    }
+    CompilationSubject compilation = new BehaviorTester()
+        .with(new Processor(new StaticFeatureSet(features)))
+        .with(largeType
+            .addLine("")
+            .addLine("  public static class Builder extends Large_Builder {}")
+            .addLine("}")
+            .build())
+        .compiles();
+    List<String> failures = new ArrayList<>();
+    for (String className : ImmutableList.of(
+        "com.example.Large_Builder", "com.example.Large_Builder$Value")) {
+      for (Map.Entry<String, Integer> method : compilation.methodSizes(className).entrySet()) {
+        // Constructors assign final fields, so cannot be split, but only run once per instance.
+        if (!method.getKey().startsWith("<init>") && method.getValue() > HUGE_METHOD_LIMIT) {
+          failures.add(String.format("%s.%s is %d bytes",
+              className, method.getKey(), method.getValue()));
+        }
+      }
+    }
+    if (!failures.isEmpty()) {
+      throw new AssertionError("Generated code (features " + Arrays.toString(features)
+          + ") will not be JIT-compiled:\n    " + Joiner.on("\n    ").join(failures));
+    }
+  }
+
+  private static void assertWithinBudgets(Feature<?>... features) {
+    CompilationSubject compilation = new BehaviorTester()
+        .with(new Processor(new StaticFeatureSet(features)))
+        .with(ADDRESS_TYPE)
+        .with(PERSON_TYPE)
+        .compiles();
+    assertThat(compilation.methodSizes(BUILDER_CLASS).keySet())
+        .containsAllOf("setName(java.lang.String)", "addAliases(java.lang.String)", "build()");
+    List<String> failures = new ArrayList<>();
+    for (String className : Iterables.concat(ImmutableList.of(BUILDER_CLASS), VALUE_CLASSES)) {
+      Map<String, Integer> sizes = compilation.methodSizes(className);
+      if (!className.equals(BUILDER_CLASS)) {
+        assertThat(sizes.keySet()).containsAllOf("equals(java.lang.Object)", "hashCode()");
+      }
+      for (Map.Entry<String, Integer> method : sizes.entrySet()) {
+        Optional<Integer> budget = budgetFor(className, method.getKey());
+        if (budget.isPresent() && method.getValue() > budget.get()) {
+          failures.add(String.format("%s.%s is %d bytes, over its budget of %d bytes",
+              className, method.getKey(), method.getValue(), budget.get()));
+        }
+      }
+    }
+    if (!failures.isEmpty()) {
+      throw new AssertionError("Generated code (features " + Arrays.toString(features)
+          + ") exceeds its bytecode budget:\n    " + Joiner.on("\n    ").join(failures));
+    }
+  }
+
+  private static Optional<Integer> budgetFor(String className, String method) {
+    if (method.equals("equals(java.lang.Object)") || method.equals("hashCode()")) {
+      return Optional.of(FREQ_INLINE_SIZE);
+    } else if (!className.equals(BUILDER_CLASS)) {
+      return ACCESSOR.matcher(method).matches()
+          ? Optional.of(MAX_INLINE_SIZE) : Optional.<Integer>absent();
+    } else if (method.equals("build()") || method.equals("buildPartial()")) {
+      return Optional.of(MAX_INLINE_SIZE);
+    } else if (BULK_MUTATOR.matcher(method).matches()) {
+      return Optional.absent();
+    } else if (ACCESSOR.matcher(method).matches() || MUTATOR.matcher(method).matches()) {
+      return Optional.of(MAX_INLINE_SIZE);
+    } else {
+      return Optional.absent();
+    }
+  }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.processor;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.collect.ImmutableList;
+
+import org.inferred.freebuilder.processor.util.feature.GuavaLibrary;
+import org.inferred.freebuilder.processor.util.feature.StaticFeatureSet;
+import org.inferred.freebuilder.processor.util.testing.FakeMessager;
+import org.inferred.freebuilder.processor.util.testing.ModelRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Map;
+
+import javax.lang.model.element.TypeElement;
+
+/** Tests for {@link CodeCostReport}. */
+@RunWith(JUnit4.class)
+public class CodeCostReportTest {
+
+  @Rule public final ModelRule model = new ModelRule();
+  private final CodeCostReport codeCostReport = new CodeCostReport();
+  private Analyser analyser;
+
+  @Before
+  public void setup() {
+    analyser = new Analyser(
+        model.elementUtils(),
+        new FakeMessager(),
+        MethodIntrospector.instance(model.environment()),
+        model.typeUtils());
+  }
+
+  @Test
+  public void testTokenize() {
+    List<String> tokens = CodeCostReport.tokenize(
+        "/** Sets {@code name}. */\n"
+            + "@Override @SuppressWarnings(\"unchecked\")\n"
+            + "public Builder setName(String name) {  // Not {\n"
+            + "  this.name = \"{\" + name;\n"
+            + "}\n");
+    assertEquals(
+        ImmutableList.of("public", "Builder", "setName", "(", "String", "name", ")", "{",
+            "this", ".", "name", "=", "\"{\"", "+", "name", ";", "}"),
+        tokens);
+  }
+
+  @Test
+  public void testMethodBodies() {
+    Map<String, List<String>> methods = CodeCostReport.methodBodies(CodeCostReport.tokenize(
+        "private final Foo foo = new Foo() { void ignored() {} };\n"
+            + "public Builder putAll(Map<? extends K, ? extends V> map, final String... extra) {\n"
+            + "  if (map != null) { return this; }\n"
+            + "}\n"
+            + "private static class Helper<E> extends Base {\n"
+            + "  Helper(List<E>[] lists) { super(); }\n"
+            + "}\n"));
+    assertThat(methods.keySet()).containsExactly(
+        "putAll(Map<? extends K, ? extends V>, String...)", "Helper.Helper(List<E>[])").inOrder();
+    assertEquals(
+        ImmutableList.of("if", "(", "map", "!", "=", "null", ")", "{", "return", "this", ";", "}"),
+        methods.get("putAll(Map<? extends K, ? extends V>, String...)"));
+  }
+
+  @Test
+  public void testCountCalls() {
+    assertEquals(0, CodeCostReport.countCalls(CodeCostReport.tokenize(
+        "this.name = builder.name;")));
+    assertEquals(1, CodeCostReport.countCalls(CodeCostReport.tokenize(
+        "this.list = ImmutableList.copyOf(builder.list);")));
+    assertEquals(2, CodeCostReport.countCalls(CodeCostReport.tokenize(
+        "if (x) { this.set = new java.util.HashSet<String>(builder.set.get()); }")));
+  }
+
+  @Test
+  public void testEstimateBytes() {
+    // 6 tokens; javac emits aload_0, aload_1, putfield, aload_0, areturn: 7 bytes
+    assertEquals(12, CodeCostReport.estimateBytes(CodeCostReport.tokenize(
+        "this.name = name; return this;")));
+  }
+
+  @Test
+  public void testReport() throws Exception {
+    TypeElement type = model.newType(
+        "package com.example;",
+        "@" + org.inferred.freebuilder.FreeBuilder.class.getName(),
+        "public abstract class Person {",
+        "  public abstract String getName();",
+        "  public abstract " + List.class.getName() + "<String> getAliases();",
+        "  public static class Builder extends Person_Builder {}",
+        "}");
+    codeCostReport.add(
+        type, analyser.analyse(type), new StaticFeatureSet(GuavaLibrary.AVAILABLE));
+
+    List<String> rows = csvRows();
+    assertEquals("type,property,measure,detail,value", rows.get(0));
+    assertThat(rows).containsAllOf(
+        "com.example.Person,name,builder_fields,,1",
+        "com.example.Person,name,eager_allocations,,0",
+        "com.example.Person,name,build_copies,,0",
+        "com.example.Person,aliases,builder_fields,,2",
+        "com.example.Person,aliases,eager_allocations,,1",
+        "com.example.Person,aliases,build_copies,,1",
+        "com.example.Person,,builder_fields,,1",
+        "com.example.Person,,eager_allocations,,1");
+    List<String> methods = rowsWithMeasure(rows, "com.example.Person,aliases,method_bytes,");
+    assertThat(methods).containsAllOf(
+        "addAliases(String)",
+        "addAliases(String...)",
+        "addAllAliases(Iterable<? extends String>)",
+        "clearAliases()",
+        "getAliases()",
+        "mergeFrom(Person)",
+        "mergeFrom(Builder)",
+        "clear()",
+        "build()",
+        "buildPartial()");
+    assertThat(rowsWithMeasure(rows, "com.example.Person,,static_excerpt,")).isEmpty();
+    assertThat(codeCostReport.summary()).startsWith(
+        "FreeBuilder generated code for 1 type. Heaviest:\n"
+            + "  com.example.Person (4 builder fields, 2 allocations per new Builder(), "
+            + "1 copies per build(), ~");
+  }
+
+  @Test
+  public void testReport_staticExcerpts() throws Exception {
+    TypeElement type = model.newType(
+        "package com.example;",
+        "@" + org.inferred.freebuilder.FreeBuilder.class.getName(),
+        "public abstract class Person {",
+        "  public abstract " + List.class.getName() + "<String> getAliases();",
+        "  public static class Builder extends Person_Builder {}",
+        "}");
+    codeCostReport.add(type, analyser.analyse(type), new StaticFeatureSet());
+
+    List<String> rows = csvRows();
+    assertThat(rowsWithMeasure(rows, "com.example.Person,,static_excerpt,"))
+        .containsExactly("immutableList");
+    for (String row : rows) {
+      if (row.startsWith("com.example.Person,,static_excerpt,")) {
+        assertThat(Integer.parseInt(row.substring(row.lastIndexOf(',') + 1))).isGreaterThan(0);
+      }
+    }
+  }
+
+  private List<String> csvRows() throws IOException {
+    StringWriter csv = new StringWriter();
+    codeCostReport.writeCsv(csv);
+    return ImmutableList.copyOf(csv.toString().split("\n"));
+  }
+
+  /** Returns the detail column of each row starting with {@code prefix}. */
+  private static List<String> rowsWithMeasure(List<String> rows, String prefix) {
+    ImmutableList.Builder<String> details = ImmutableList.builder();
+    for (String row : rows) {
+      if (row.startsWith(prefix)) {
+        String detail = row.substring(prefix.length(), row.lastIndexOf(','));
+        details.add(detail.startsWith("\"") ? detail.substring(1, detail.length() - 1) : detail);
+      }
+    }
+    return details.build();
+  }
+}
@@ -62,7 +62,7 @@ public class DefaultMapperMethodTest {
   @Test
   public void mapReplacesValueToBeReturnedFromGetterForRequiredProperty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(REQUIRED_INTEGER_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -77,7 +77,7 @@ public class DefaultMapperMethodTest {
   @Test
   public void mapReplacesValueToBeReturnedFromGetterForDefaultProperty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(DEFAULT_INTEGER_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -93,7 +93,7 @@ public class DefaultMapperMethodTest {
     thrown.expect(IllegalArgumentException.class);
     thrown.expectMessage("property must be non-negative");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -122,7 +122,7 @@ public class DefaultMapperMethodTest {
     thrown.expect(IllegalArgumentException.class);
     thrown.expectMessage("property must be non-negative");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -153,7 +153,7 @@ public class DefaultMapperMethodTest {
   public void mapThrowsNpeIfMapperIsNullForRequiredProperty() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(REQUIRED_INTEGER_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -167,7 +167,7 @@ public class DefaultMapperMethodTest {
   public void mapThrowsNpeIfMapperIsNullForDefaultProperty() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(DEFAULT_INTEGER_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -180,7 +180,7 @@ public class DefaultMapperMethodTest {
   public void mapThrowsNpeIfMapperIsNullForUnsetRequiredProperty() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(REQUIRED_INTEGER_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -193,7 +193,7 @@ public class DefaultMapperMethodTest {
   public void mapThrowsNpeIfMapperReturnsNullForRequiredProperty() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(REQUIRED_INTEGER_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -207,7 +207,7 @@ public class DefaultMapperMethodTest {
   public void mapThrowsNpeIfMapperReturnsNullForDefaultProperty() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(DEFAULT_INTEGER_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -221,7 +221,7 @@ public class DefaultMapperMethodTest {
     thrown.expect(IllegalStateException.class);
     thrown.expectMessage("property not set");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(REQUIRED_INTEGER_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -193,7 +193,10 @@ public class DefaultedPropertiesSourceTest {
         "",
         "    @Override",
         "    public int hashCode() {",
-        "      return Arrays.hashCode(new Object[] {name, age});",
+        "      int result = 1;",
+        "      result = 31 * result + this.name.hashCode();",
+        "      result = 31 * result + this.age;",
+        "      return result;",
         "    }",
         "",
         "    @Override",
@@ -398,7 +401,10 @@ public class DefaultedPropertiesSourceTest {
         "",
         "    @Override",
         "    public int hashCode() {",
-        "      return Objects.hash(name, age);",
+        "      int result = 1;",
+        "      result = 31 * result + this.name.hashCode();",
+        "      result = 31 * result + this.age;",
+        "      return result;",
         "    }",
         "",
         "    @Override",
@@ -602,7 +608,10 @@ public class DefaultedPropertiesSourceTest {
         "",
         "    @Override",
         "    public int hashCode() {",
-        "      return Arrays.hashCode(new Object[] {name, age});",
+        "      int result = 1;",
+        "      result = 31 * result + this.name.hashCode();",
+        "      result = 31 * result + this.age;",
+        "      return result;",
         "    }",
         "",
         "    @Override",
@@ -889,9 +898,7 @@ public class DefaultedPropertiesSourceTest {
         "   * @throws IllegalStateException if any field has not been set",
         "   */",
         "  public Person build() {",
-        "    if (!_unsetProperties.isEmpty()) {",
-        "      throw new IllegalStateException(\"Not set: \" + _unsetProperties);",
-        "    }",
+        "    checkState(_unsetProperties.isEmpty(), \"Not set: %s\", _unsetProperties);",
         "    return new Person_Builder.Value(this);",
         "  }",
         "",
@@ -954,7 +961,11 @@ public class DefaultedPropertiesSourceTest {
         "",
         "    @Override",
         "    public int hashCode() {",
-        "      return Arrays.hashCode(new Object[] {name, age, shoeSize});",
+        "      int result = 1;",
+        "      result = 31 * result + this.name.hashCode();",
+        "      result = 31 * result + this.age;",
+        "      result = 31 * result + this.shoeSize;",
+        "      return result;",
         "    }",
         "",
         "    @Override",
@@ -1037,6 +1048,35 @@ public class DefaultedPropertiesSourceTest {
         "      return result.toString();",
         "    }",
         "  }",
+        "",
+        "  private static void checkState(boolean expression, String template, Object arg1) {",
+        "    if (!expression) {",
+        "      throw new IllegalStateException(formatMessage(template, arg1));",
+        "    }",
+        "  }",
+        "",
+        "  private static String formatMessage(String template, Object... args) {",
+        "    StringBuilder message = new StringBuilder(template.length() + 16 * args.length);",
+        "    int templateStart = 0;",
+        "    int i = 0;",
+        "    while (i < args.length) {",
+        "      int placeholderStart = template.indexOf(\"%s\", templateStart);",
+        "      if (placeholderStart == -1) {",
+        "        break;",
+        "      }",
+        "      message.append(template, templateStart, placeholderStart).append(args[i++]);",
+        "      templateStart = placeholderStart + 2;",
+        "    }",
+        "    message.append(template, templateStart, template.length());",
+        "    if (i < args.length) {",
+        "      message.append(\" [\").append(args[i++]);",
+        "      while (i < args.length) {",
+        "        message.append(\", \").append(args[i++]);",
+        "      }",
+        "      message.append(']');",
+        "    }",
+        "    return message.toString();",
+        "  }",
         "}\n"));
   }
 
@@ -1214,7 +1254,10 @@ public class DefaultedPropertiesSourceTest {
         "",
         "    @Override",
         "    public int hashCode() {",
-        "      return Objects.hash(name, age);",
+        "      int result = 1;",
+        "      result = 31 * result + this.name.hashCode();",
+        "      result = 31 * result + this.age;",
+        "      return result;",
         "    }",
         "",
         "    @Override",
@@ -79,7 +79,7 @@ public class DefaultedPropertiesTest {
   @Theory
   public void testMergeFromBuilder_defaultsDoNotOverride(JavaFileObject dataType) {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(dataType)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -96,7 +96,7 @@ public class DefaultedPropertiesTest {
   @Theory
   public void testMergeFromValue_defaultsDoNotOverride(JavaFileObject dataType) {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(dataType)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -113,7 +113,7 @@ public class DefaultedPropertiesTest {
   @Theory
   public void testMergeFromBuilder_nonDefaultsUsed(JavaFileObject dataType) {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(dataType)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -130,7 +130,7 @@ public class DefaultedPropertiesTest {
   @Theory
   public void testMergeFromValue_nonDefaultsUsed(JavaFileObject dataType) {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(dataType)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -148,7 +148,7 @@ public class DefaultedPropertiesTest {
   @Theory
   public void testMergeFromBuilder_nonDefaultsOverride(JavaFileObject dataType) {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(dataType)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -166,7 +166,7 @@ public class DefaultedPropertiesTest {
   @Theory
   public void testMergeFromValue_nonDefaultsOverride(JavaFileObject dataType) {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(dataType)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -185,7 +185,7 @@ public class DefaultedPropertiesTest {
   @Theory
   public void testClear(JavaFileObject dataType) {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(dataType)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -183,8 +183,7 @@ public class GenericTypeSourceTest {
         "   * @throws IllegalStateException if any field has not been set",
         "   */",
         "  public Person<A, B> build() {",
-        "    Preconditions.checkState(_unsetProperties.isEmpty(),"
-            + " \"Not set: %s\", _unsetProperties);",
+        "    checkState(_unsetProperties.isEmpty(), \"Not set: %s\", _unsetProperties);",
         "    return new Person_Builder.Value<A, B>(this);",
         "  }",
         "",
@@ -238,7 +237,10 @@ public class GenericTypeSourceTest {
         "",
         "    @Override",
         "    public int hashCode() {",
-        "      return Arrays.hashCode(new Object[] {name, age});",
+        "      int result = 1;",
+        "      result = 31 * result + this.name.hashCode();",
+        "      result = 31 * result + this.age.hashCode();",
+        "      return result;",
         "    }",
         "",
         "    @Override",
@@ -305,6 +307,12 @@ public class GenericTypeSourceTest {
         "          + \"}\";",
         "    }",
         "  }",
+        "",
+        "  private static void checkState(boolean expression, String template, Object arg1) {",
+        "    if (!expression) {",
+        "      Preconditions.checkState(false, template, arg1);",
+        "    }",
+        "  }",
         "}\n"));
   }
 
@@ -453,8 +461,7 @@ public class GenericTypeSourceTest {
         "   * @throws IllegalStateException if any field has not been set",
         "   */",
         "  public Person<A, B> build() {",
-        "    Preconditions.checkState(_unsetProperties.isEmpty(),"
-            + " \"Not set: %s\", _unsetProperties);",
+        "    checkState(_unsetProperties.isEmpty(), \"Not set: %s\", _unsetProperties);",
         "    return new Person_Builder.Value<>(this);",
         "  }",
         "",
@@ -502,7 +509,10 @@ public class GenericTypeSourceTest {
         "",
         "    @Override",
         "    public int hashCode() {",
-        "      return Objects.hash(name, age);",
+        "      int result = 1;",
+        "      result = 31 * result + this.name.hashCode();",
+        "      result = 31 * result + this.age.hashCode();",
+        "      return result;",
         "    }",
         "",
         "    @Override",
@@ -565,6 +575,12 @@ public class GenericTypeSourceTest {
         "          + \"}\";",
         "    }",
         "  }",
+        "",
+        "  private static void checkState(boolean expression, String template, Object arg1) {",
+        "    if (!expression) {",
+        "      Preconditions.checkState(false, template, arg1);",
+        "    }",
+        "  }",
         "}\n"));
   }
 
@@ -743,8 +759,7 @@ public class GenericTypeSourceTest {
         "   * @throws IllegalStateException if any field has not been set",
         "   */",
         "  public Person<A, B> build() {",
-        "    Preconditions.checkState(_unsetProperties.isEmpty(),"
-            + " \"Not set: %s\", _unsetProperties);",
+        "    checkState(_unsetProperties.isEmpty(), \"Not set: %s\", _unsetProperties);",
         "    return new Person_Builder.Value<>(this);",
         "  }",
         "",
@@ -792,7 +807,10 @@ public class GenericTypeSourceTest {
         "",
         "    @Override",
         "    public int hashCode() {",
-        "      return Objects.hash(name, age);",
+        "      int result = 1;",
+        "      result = 31 * result + this.name.hashCode();",
+        "      result = 31 * result + this.age.hashCode();",
+        "      return result;",
         "    }",
         "",
         "    @Override",
@@ -855,6 +873,12 @@ public class GenericTypeSourceTest {
         "          + \"}\";",
         "    }",
         "  }",
+        "",
+        "  private static void checkState(boolean expression, String template, Object arg1) {",
+        "    if (!expression) {",
+        "      Preconditions.checkState(false, template, arg1);",
+        "    }",
+        "  }",
         "}\n"));
   }
 
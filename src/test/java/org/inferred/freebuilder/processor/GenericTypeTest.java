@@ -31,7 +31,7 @@ public class GenericTypeTest {
   @Test
   public void testGenericInterface() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -57,7 +57,7 @@ public class GenericTypeTest {
   @Test
   public void testGenericInterface_compilesWithoutWarnings() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -75,7 +75,7 @@ public class GenericTypeTest {
   @Test
   public void testBoundedParameters() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -86,7 +86,7 @@ public class GuavaOptionalPropertyTest {
   @Test
   public void testConstructor_defaultAbsent() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder().build();")
@@ -98,7 +98,7 @@ public class GuavaOptionalPropertyTest {
   @Test
   public void testConstructor_primitive_defaultAbsent() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_INTEGER_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder().build();")
@@ -110,7 +110,7 @@ public class GuavaOptionalPropertyTest {
   @Test
   public void testBuilderGetter_defaultValue() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType.Builder builder = new com.example.DataType.Builder();")
@@ -122,7 +122,7 @@ public class GuavaOptionalPropertyTest {
   @Test
   public void testBuilderGetter_nonDefaultValue() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType.Builder builder = new com.example.DataType.Builder()")
@@ -135,7 +135,7 @@ public class GuavaOptionalPropertyTest {
   @Test
   public void testSet_notNull() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -150,7 +150,7 @@ public class GuavaOptionalPropertyTest {
   public void testSet_null() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder().setItem((String) null);")
@@ -161,7 +161,7 @@ public class GuavaOptionalPropertyTest {
   @Test
   public void testSet_optionalOf() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -175,7 +175,7 @@ public class GuavaOptionalPropertyTest {
   @Test
   public void testSet_absent() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -190,7 +190,7 @@ public class GuavaOptionalPropertyTest {
   public void testSet_nullOptional() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder().setItem((%s<String>) null);",
@@ -202,7 +202,7 @@ public class GuavaOptionalPropertyTest {
   @Test
   public void testSetNullable_notNull() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -216,7 +216,7 @@ public class GuavaOptionalPropertyTest {
   @Test
   public void testSetNullable_null() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -230,7 +230,7 @@ public class GuavaOptionalPropertyTest {
   @Test
   public void testClear() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -245,7 +245,7 @@ public class GuavaOptionalPropertyTest {
   @Test
   public void testSet_primitive_notNull() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_INTEGER_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -260,7 +260,7 @@ public class GuavaOptionalPropertyTest {
   public void testSet_primitive_null() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_INTEGER_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder().setItem((Integer) null);")
@@ -271,7 +271,7 @@ public class GuavaOptionalPropertyTest {
   @Test
   public void testSet_primitive_optionalOf() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_INTEGER_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -285,7 +285,7 @@ public class GuavaOptionalPropertyTest {
   @Test
   public void testSet_primitive_absent() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_INTEGER_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -300,7 +300,7 @@ public class GuavaOptionalPropertyTest {
   public void testSet_primitive_nullOptional() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_INTEGER_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder().setItem((%s<Integer>) null);",
@@ -312,7 +312,7 @@ public class GuavaOptionalPropertyTest {
   @Test
   public void testSetNullable_primitive_notNull() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_INTEGER_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -326,7 +326,7 @@ public class GuavaOptionalPropertyTest {
   @Test
   public void testSetNullable_primitive_null() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_INTEGER_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -340,7 +340,7 @@ public class GuavaOptionalPropertyTest {
   @Test
   public void testClear_primitive() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_INTEGER_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -355,7 +355,7 @@ public class GuavaOptionalPropertyTest {
   @Test
   public void testMergeFrom_valueInstance() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = com.example.DataType.builder()")
@@ -371,7 +371,7 @@ public class GuavaOptionalPropertyTest {
   @Test
   public void testMergeFrom_builder() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType.Builder template = com.example.DataType.builder()")
@@ -386,7 +386,7 @@ public class GuavaOptionalPropertyTest {
   @Test
   public void testMergeFrom_valueInstance_emptyOptional() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = com.example.DataType.builder()")
@@ -402,7 +402,7 @@ public class GuavaOptionalPropertyTest {
   @Test
   public void testMergeFrom_builder_emptyOptional() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType.Builder template = com.example.DataType.builder();")
@@ -417,7 +417,7 @@ public class GuavaOptionalPropertyTest {
   @Test
   public void testBuilderClear() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -432,7 +432,7 @@ public class GuavaOptionalPropertyTest {
   @Test
   public void testBuilderClear_customDefault() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -458,7 +458,7 @@ public class GuavaOptionalPropertyTest {
   @Test
   public void testBuilderClear_noBuilderFactory() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -486,7 +486,7 @@ public class GuavaOptionalPropertyTest {
     thrown.expect(IllegalArgumentException.class);
     thrown.expectMessage("Item too long");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -518,7 +518,7 @@ public class GuavaOptionalPropertyTest {
     thrown.expect(IllegalArgumentException.class);
     thrown.expectMessage("Item too long");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -549,7 +549,7 @@ public class GuavaOptionalPropertyTest {
   public void testCustomization_absent() {
     thrown.expectMessage("Fooled you!");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -578,7 +578,7 @@ public class GuavaOptionalPropertyTest {
   public void testCustomization_null() {
     thrown.expectMessage("Fooled you!");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -608,7 +608,7 @@ public class GuavaOptionalPropertyTest {
     thrown.expect(IllegalArgumentException.class);
     thrown.expectMessage("Item too big");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -639,7 +639,7 @@ public class GuavaOptionalPropertyTest {
     thrown.expect(IllegalArgumentException.class);
     thrown.expectMessage("Item too big");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -669,7 +669,7 @@ public class GuavaOptionalPropertyTest {
   public void testCustomization_primitive_absent() {
     thrown.expectMessage("Fooled you!");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -698,7 +698,7 @@ public class GuavaOptionalPropertyTest {
   public void testCustomization_primitive_null() {
     thrown.expectMessage("Fooled you!");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -726,7 +726,7 @@ public class GuavaOptionalPropertyTest {
   @Test
   public void testEquality() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("new %s()", EqualsTester.class)
@@ -753,7 +753,7 @@ public class GuavaOptionalPropertyTest {
   @Test
   public void testValueToString_singleField() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType absent = com.example.DataType.builder()")
@@ -770,7 +770,7 @@ public class GuavaOptionalPropertyTest {
   @Test
   public void testValueToString_twoFields() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(TWO_OPTIONAL_PROPERTIES_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType aa = com.example.DataType.builder()")
@@ -796,7 +796,7 @@ public class GuavaOptionalPropertyTest {
   @Test
   public void testPartialToString_singleField() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType absent = com.example.DataType.builder()")
@@ -813,7 +813,7 @@ public class GuavaOptionalPropertyTest {
   @Test
   public void testPartialToString_twoFields() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(TWO_OPTIONAL_PROPERTIES_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType aa = com.example.DataType.builder()")
@@ -839,7 +839,7 @@ public class GuavaOptionalPropertyTest {
   @Test
   public void testWildcardHandling_noWildcard() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
               .addLine("package com.example;")
               .addLine("@%s", FreeBuilder.class)
@@ -861,7 +861,7 @@ public class GuavaOptionalPropertyTest {
   @Test
   public void testWildcardHandling_unboundedWildcard() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
               .addLine("package com.example;")
               .addLine("@%s", FreeBuilder.class)
@@ -883,7 +883,7 @@ public class GuavaOptionalPropertyTest {
   @Test
   public void testWildcardHandling_wildcardWithExtendsBound() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
               .addLine("package com.example;")
               .addLine("@%s", FreeBuilder.class)
@@ -906,7 +906,7 @@ public class GuavaOptionalPropertyTest {
   public void testJacksonInteroperability() {
     // See also https://github.com/google/FreeBuilder/issues/68
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("import " + JsonProperty.class.getName() + ";")
@@ -258,12 +258,12 @@ public class GuavaOptionalSourceTest {
         "",
         "    @Override",
         "    public Optional<String> getName() {",
-        "      return Optional.fromNullable(name);",
+        "      return (name == null ? Optional.<String>absent() : Optional.of(name));",
         "    }",
         "",
         "    @Override",
         "    public Optional<Integer> getAge() {",
-        "      return Optional.fromNullable(age);",
+        "      return (age == null ? Optional.<Integer>absent() : Optional.of(age));",
         "    }",
         "",
         "    @Override",
@@ -283,7 +283,10 @@ public class GuavaOptionalSourceTest {
         "",
         "    @Override",
         "    public int hashCode() {",
-        "      return Arrays.hashCode(new Object[] {name, age});",
+        "      int result = 1;",
+        "      result = 31 * result + (this.name == null ? 0 : this.name.hashCode());",
+        "      result = 31 * result + (this.age == null ? 0 : this.age.hashCode());",
+        "      return result;",
         "    }",
         "",
         "    @Override",
@@ -313,12 +316,12 @@ public class GuavaOptionalSourceTest {
         "",
         "    @Override",
         "    public Optional<String> getName() {",
-        "      return Optional.fromNullable(name);",
+        "      return (name == null ? Optional.<String>absent() : Optional.of(name));",
         "    }",
         "",
         "    @Override",
         "    public Optional<Integer> getAge() {",
-        "      return Optional.fromNullable(age);",
+        "      return (age == null ? Optional.<Integer>absent() : Optional.of(age));",
         "    }",
         "",
         "    @Override",
@@ -566,12 +569,12 @@ public class GuavaOptionalSourceTest {
         "",
         "    @Override",
         "    public Optional<String> getName() {",
-        "      return Optional.fromNullable(name);",
+        "      return (name == null ? Optional.<String>absent() : Optional.of(name));",
         "    }",
         "",
         "    @Override",
         "    public Optional<Integer> getAge() {",
-        "      return Optional.fromNullable(age);",
+        "      return (age == null ? Optional.<Integer>absent() : Optional.of(age));",
         "    }",
         "",
         "    @Override",
@@ -585,7 +588,10 @@ public class GuavaOptionalSourceTest {
         "",
         "    @Override",
         "    public int hashCode() {",
-        "      return Objects.hash(name, age);",
+        "      int result = 1;",
+        "      result = 31 * result + (this.name == null ? 0 : this.name.hashCode());",
+        "      result = 31 * result + (this.age == null ? 0 : this.age.hashCode());",
+        "      return result;",
         "    }",
         "",
         "    @Override",
@@ -615,12 +621,12 @@ public class GuavaOptionalSourceTest {
         "",
         "    @Override",
         "    public Optional<String> getName() {",
-        "      return Optional.fromNullable(name);",
+        "      return (name == null ? Optional.<String>absent() : Optional.of(name));",
         "    }",
         "",
         "    @Override",
         "    public Optional<Integer> getAge() {",
-        "      return Optional.fromNullable(age);",
+        "      return (age == null ? Optional.<Integer>absent() : Optional.of(age));",
         "    }",
         "",
         "    @Override",
@@ -902,12 +908,12 @@ public class GuavaOptionalSourceTest {
         "",
         "    @Override",
         "    public Optional<String> getName() {",
-        "      return Optional.fromNullable(name);",
+        "      return (name == null ? Optional.<String>absent() : Optional.of(name));",
         "    }",
         "",
         "    @Override",
         "    public Optional<Integer> getAge() {",
-        "      return Optional.fromNullable(age);",
+        "      return (age == null ? Optional.<Integer>absent() : Optional.of(age));",
         "    }",
         "",
         "    @Override",
@@ -921,7 +927,10 @@ public class GuavaOptionalSourceTest {
         "",
         "    @Override",
         "    public int hashCode() {",
-        "      return Objects.hash(name, age);",
+        "      int result = 1;",
+        "      result = 31 * result + (this.name == null ? 0 : this.name.hashCode());",
+        "      result = 31 * result + (this.age == null ? 0 : this.age.hashCode());",
+        "      return result;",
         "    }",
         "",
         "    @Override",
@@ -951,12 +960,12 @@ public class GuavaOptionalSourceTest {
         "",
         "    @Override",
         "    public Optional<String> getName() {",
-        "      return Optional.fromNullable(name);",
+        "      return (name == null ? Optional.<String>absent() : Optional.of(name));",
         "    }",
         "",
         "    @Override",
         "    public Optional<Integer> getAge() {",
-        "      return Optional.fromNullable(age);",
+        "      return (age == null ? Optional.<Integer>absent() : Optional.of(age));",
         "    }",
         "",
         "    @Override",
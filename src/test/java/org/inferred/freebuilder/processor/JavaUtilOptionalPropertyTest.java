@@ -87,7 +87,7 @@ public class JavaUtilOptionalPropertyTest {
   @Test
   public void testConstructor_defaultEmpty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder().build();")
@@ -99,7 +99,7 @@ public class JavaUtilOptionalPropertyTest {
   @Test
   public void testConstructor_primitive_defaultEmpty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_INTEGER_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder().build();")
@@ -111,7 +111,7 @@ public class JavaUtilOptionalPropertyTest {
   @Test
   public void testBuilderGetter_defaultValue() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType.Builder builder = new com.example.DataType.Builder();")
@@ -123,7 +123,7 @@ public class JavaUtilOptionalPropertyTest {
   @Test
   public void testBuilderGetter_nonDefaultValue() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType.Builder builder = new com.example.DataType.Builder()")
@@ -136,7 +136,7 @@ public class JavaUtilOptionalPropertyTest {
   @Test
   public void testSet_notNull() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -151,7 +151,7 @@ public class JavaUtilOptionalPropertyTest {
   public void testSet_null() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder().setItem((String) null);")
@@ -162,7 +162,7 @@ public class JavaUtilOptionalPropertyTest {
   @Test
   public void testSet_optionalOf() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -176,7 +176,7 @@ public class JavaUtilOptionalPropertyTest {
   @Test
   public void testSet_empty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -191,7 +191,7 @@ public class JavaUtilOptionalPropertyTest {
   public void testSet_nullOptional() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder().setItem((%s<String>) null);",
@@ -203,7 +203,7 @@ public class JavaUtilOptionalPropertyTest {
   @Test
   public void testSetNullable_notNull() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -217,7 +217,7 @@ public class JavaUtilOptionalPropertyTest {
   @Test
   public void testSetNullable_null() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -231,7 +231,7 @@ public class JavaUtilOptionalPropertyTest {
   @Test
   public void testClear() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -246,7 +246,7 @@ public class JavaUtilOptionalPropertyTest {
   @Test
   public void testSet_primitive_notNull() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_INTEGER_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -261,7 +261,7 @@ public class JavaUtilOptionalPropertyTest {
   public void testSet_primitive_null() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_INTEGER_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder().setItem((Integer) null);")
@@ -272,7 +272,7 @@ public class JavaUtilOptionalPropertyTest {
   @Test
   public void testSet_primitive_optionalOf() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_INTEGER_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -286,7 +286,7 @@ public class JavaUtilOptionalPropertyTest {
   @Test
   public void testSet_primitive_empty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_INTEGER_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -301,7 +301,7 @@ public class JavaUtilOptionalPropertyTest {
   public void testSet_primitive_nullOptional() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_INTEGER_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder().setItem((%s<Integer>) null);",
@@ -313,7 +313,7 @@ public class JavaUtilOptionalPropertyTest {
   @Test
   public void testSetNullable_primitive_notNull() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_INTEGER_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -327,7 +327,7 @@ public class JavaUtilOptionalPropertyTest {
   @Test
   public void testSetNullable_primitive_null() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_INTEGER_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -341,7 +341,7 @@ public class JavaUtilOptionalPropertyTest {
   @Test
   public void testClear_primitive() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_INTEGER_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -356,7 +356,7 @@ public class JavaUtilOptionalPropertyTest {
   @Test
   public void testMergeFrom_valueInstance() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = com.example.DataType.builder()")
@@ -372,7 +372,7 @@ public class JavaUtilOptionalPropertyTest {
   @Test
   public void testMergeFrom_builder() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType.Builder template = com.example.DataType.builder()")
@@ -387,7 +387,7 @@ public class JavaUtilOptionalPropertyTest {
   @Test
   public void testMergeFrom_valueInstance_emptyOptional() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = com.example.DataType.builder()")
@@ -403,7 +403,7 @@ public class JavaUtilOptionalPropertyTest {
   @Test
   public void testMergeFrom_builder_emptyOptional() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType.Builder template = com.example.DataType.builder();")
@@ -418,7 +418,7 @@ public class JavaUtilOptionalPropertyTest {
   @Test
   public void testBuilderClear() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -433,7 +433,7 @@ public class JavaUtilOptionalPropertyTest {
   @Test
   public void testBuilderClear_customDefault() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -459,7 +459,7 @@ public class JavaUtilOptionalPropertyTest {
   @Test
   public void testBuilderClear_noBuilderFactory() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -487,7 +487,7 @@ public class JavaUtilOptionalPropertyTest {
     thrown.expect(IllegalArgumentException.class);
     thrown.expectMessage("Item too long");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -519,7 +519,7 @@ public class JavaUtilOptionalPropertyTest {
     thrown.expect(IllegalArgumentException.class);
     thrown.expectMessage("Item too long");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -550,7 +550,7 @@ public class JavaUtilOptionalPropertyTest {
   public void testCustomization_empty() {
     thrown.expectMessage("Fooled you!");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -579,7 +579,7 @@ public class JavaUtilOptionalPropertyTest {
   public void testCustomization_null() {
     thrown.expectMessage("Fooled you!");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -609,7 +609,7 @@ public class JavaUtilOptionalPropertyTest {
     thrown.expect(IllegalArgumentException.class);
     thrown.expectMessage("Item too big");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -640,7 +640,7 @@ public class JavaUtilOptionalPropertyTest {
     thrown.expect(IllegalArgumentException.class);
     thrown.expectMessage("Item too big");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -670,7 +670,7 @@ public class JavaUtilOptionalPropertyTest {
   public void testCustomization_primitive_empty() {
     thrown.expectMessage("Fooled you!");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -699,7 +699,7 @@ public class JavaUtilOptionalPropertyTest {
   public void testCustomization_primitive_null() {
     thrown.expectMessage("Fooled you!");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -727,7 +727,7 @@ public class JavaUtilOptionalPropertyTest {
   @Test
   public void testEquality() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("new %s()", EqualsTester.class)
@@ -754,7 +754,7 @@ public class JavaUtilOptionalPropertyTest {
   @Test
   public void testValueToString_singleField() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType empty = com.example.DataType.builder()")
@@ -771,7 +771,7 @@ public class JavaUtilOptionalPropertyTest {
   @Test
   public void testValueToString_twoFields() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(TWO_OPTIONAL_PROPERTIES_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType aa = com.example.DataType.builder()")
@@ -797,7 +797,7 @@ public class JavaUtilOptionalPropertyTest {
   @Test
   public void testPartialToString_singleField() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(OPTIONAL_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType empty = com.example.DataType.builder()")
@@ -814,7 +814,7 @@ public class JavaUtilOptionalPropertyTest {
   @Test
   public void testPartialToString_twoFields() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(TWO_OPTIONAL_PROPERTIES_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType aa = com.example.DataType.builder()")
@@ -840,7 +840,7 @@ public class JavaUtilOptionalPropertyTest {
   @Test
   public void testWildcardHandling_noWildcard() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
               .addLine("package com.example;")
               .addLine("@%s", FreeBuilder.class)
@@ -862,7 +862,7 @@ public class JavaUtilOptionalPropertyTest {
   @Test
   public void testWildcardHandling_unboundedWildcard() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
               .addLine("package com.example;")
               .addLine("@%s", FreeBuilder.class)
@@ -884,7 +884,7 @@ public class JavaUtilOptionalPropertyTest {
   @Test
   public void testWildcardHandling_wildcardWithExtendsBound() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
               .addLine("package com.example;")
               .addLine("@%s", FreeBuilder.class)
@@ -907,7 +907,7 @@ public class JavaUtilOptionalPropertyTest {
   public void testJacksonInteroperability() {
     // See also https://github.com/google/FreeBuilder/issues/68
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("import " + JsonProperty.class.getName() + ";")
@@ -281,12 +281,12 @@ public class JavaUtilOptionalSourceTest {
         "",
         "    @Override",
         "    public Optional<String> getName() {",
-        "      return Optional.ofNullable(name);",
+        "      return (name == null ? Optional.<String>empty() : Optional.of(name));",
         "    }",
         "",
         "    @Override",
         "    public Optional<Integer> getAge() {",
-        "      return Optional.ofNullable(age);",
+        "      return (age == null ? Optional.<Integer>empty() : Optional.of(age));",
         "    }",
         "",
         "    @Override",
@@ -300,7 +300,10 @@ public class JavaUtilOptionalSourceTest {
         "",
         "    @Override",
         "    public int hashCode() {",
-        "      return Objects.hash(name, age);",
+        "      int result = 1;",
+        "      result = 31 * result + (this.name == null ? 0 : this.name.hashCode());",
+        "      result = 31 * result + (this.age == null ? 0 : this.age.hashCode());",
+        "      return result;",
         "    }",
         "",
         "    @Override",
@@ -330,12 +333,12 @@ public class JavaUtilOptionalSourceTest {
         "",
         "    @Override",
         "    public Optional<String> getName() {",
-        "      return Optional.ofNullable(name);",
+        "      return (name == null ? Optional.<String>empty() : Optional.of(name));",
         "    }",
         "",
         "    @Override",
         "    public Optional<Integer> getAge() {",
-        "      return Optional.ofNullable(age);",
+        "      return (age == null ? Optional.<Integer>empty() : Optional.of(age));",
         "    }",
         "",
         "    @Override",
@@ -595,12 +598,12 @@ public class JavaUtilOptionalSourceTest {
         "",
         "    @Override",
         "    public Optional<String> getName() {",
-        "      return Optional.ofNullable(name);",
+        "      return (name == null ? Optional.<String>empty() : Optional.of(name));",
         "    }",
         "",
         "    @Override",
         "    public Optional<Integer> getAge() {",
-        "      return Optional.ofNullable(age);",
+        "      return (age == null ? Optional.<Integer>empty() : Optional.of(age));",
         "    }",
         "",
         "    @Override",
@@ -614,7 +617,10 @@ public class JavaUtilOptionalSourceTest {
         "",
         "    @Override",
         "    public int hashCode() {",
-        "      return Objects.hash(name, age);",
+        "      int result = 1;",
+        "      result = 31 * result + (this.name == null ? 0 : this.name.hashCode());",
+        "      result = 31 * result + (this.age == null ? 0 : this.age.hashCode());",
+        "      return result;",
         "    }",
         "",
         "    @Override",
@@ -651,12 +657,12 @@ public class JavaUtilOptionalSourceTest {
         "",
         "    @Override",
         "    public Optional<String> getName() {",
-        "      return Optional.ofNullable(name);",
+        "      return (name == null ? Optional.<String>empty() : Optional.of(name));",
         "    }",
         "",
         "    @Override",
         "    public Optional<Integer> getAge() {",
-        "      return Optional.ofNullable(age);",
+        "      return (age == null ? Optional.<Integer>empty() : Optional.of(age));",
         "    }",
         "",
         "    @Override",
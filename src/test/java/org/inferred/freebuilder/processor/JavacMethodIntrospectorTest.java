@@ -0,0 +1,139 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.processor;
+
+import static com.google.common.collect.Iterables.getOnlyElement;
+import static com.google.common.collect.Iterables.transform;
+import static com.google.common.truth.Truth.assertThat;
+import static javax.lang.model.util.ElementFilter.constructorsIn;
+
+import com.google.common.base.Functions;
+
+import org.inferred.freebuilder.processor.util.testing.ModelRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+
+/** Tests for {@link JavacMethodIntrospector}. */
+@RunWith(JUnit4.class)
+public class JavacMethodIntrospectorTest {
+
+  @Rule public final ModelRule model = new ModelRule();
+  private MethodIntrospector introspector;
+
+  @Before
+  public void setup() {
+    introspector = MethodIntrospector.instance(model.environment());
+    assertThat(introspector).isInstanceOf(JavacMethodIntrospector.class);
+  }
+
+  @Test
+  public void testImplicitConstructor() {
+    TypeElement type = model.newType(
+        "package com.example;",
+        "public class Builder {",
+        "  public void setName(String name) { }",
+        "}");
+    assertThat(isImplicitConstructor(type)).isTrue();
+    assertThat(ownMethodInvocations(type)).containsExactly("super");
+  }
+
+  @Test
+  public void testEmptyConstructor() {
+    TypeElement type = model.newType(
+        "package com.example;",
+        "public class Builder {",
+        "  public Builder() { }",
+        "}");
+    assertThat(isImplicitConstructor(type)).isFalse();
+    assertThat(ownMethodInvocations(type)).isEmpty();
+  }
+
+  @Test
+  public void testSuperOnlyConstructor() {
+    TypeElement type = model.newType(
+        "package com.example;",
+        "public class Builder {",
+        "  public Builder() {",
+        "    super();",
+        "  }",
+        "}");
+    assertThat(ownMethodInvocations(type)).containsExactly("super");
+  }
+
+  @Test
+  public void testSuperWithArgumentsConstructor() {
+    TypeElement type = model.newType(
+        "package com.example;",
+        "public class Builder extends Exception {",
+        "  public Builder() {",
+        "    super(\"message\");",
+        "  }",
+        "}");
+    assertThat(ownMethodInvocations(type)).containsExactly("super");
+  }
+
+  @Test
+  public void testSetterCalls() {
+    TypeElement type = model.newType(
+        "package com.example;",
+        "public class Builder {",
+        "  public Builder() {",
+        "    super();",
+        "    setName(\"Bob\");",
+        "    this.setAge(12);",
+        "  }",
+        "  public void setName(String name) { }",
+        "  public void setAge(int age) { }",
+        "}");
+    assertThat(ownMethodInvocations(type)).containsExactly("super", "setName", "setAge");
+  }
+
+  @Test
+  public void testCallsAfterExplicitReturnIgnored() {
+    TypeElement type = model.newType(
+        "package com.example;",
+        "public class Builder {",
+        "  public Builder(boolean skip) {",
+        "    setName(\"Bob\");",
+        "    if (skip) {",
+        "      return;",
+        "    }",
+        "    setAge(12);",
+        "  }",
+        "  public void setName(String name) { }",
+        "  public void setAge(int age) { }",
+        "}");
+    assertThat(ownMethodInvocations(type)).containsExactly("setName");
+  }
+
+  /** Returns whether the constructor of {@code type} is recognised without fetching its tree. */
+  private boolean isImplicitConstructor(TypeElement type) {
+    ExecutableElement constructor = getOnlyElement(constructorsIn(type.getEnclosedElements()));
+    return ((JavacMethodIntrospector) introspector).isImplicitConstructor(constructor);
+  }
+
+  private Iterable<String> ownMethodInvocations(TypeElement type) {
+    ExecutableElement constructor = getOnlyElement(constructorsIn(type.getEnclosedElements()));
+    return transform(
+        introspector.getOwnMethodInvocations(constructor), Functions.toStringFunction());
+  }
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.processor;
+
+import static org.inferred.freebuilder.processor.CodeGenerator.PROPERTIES_PER_METHOD;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Optional;
+
+import org.inferred.freebuilder.FreeBuilder;
+import org.inferred.freebuilder.processor.util.feature.StaticFeatureSet;
+import org.inferred.freebuilder.processor.util.testing.BehaviorTester;
+import org.inferred.freebuilder.processor.util.testing.SourceBuilder;
+import org.inferred.freebuilder.processor.util.testing.TestBuilder;
+import org.inferred.freebuilder.processor.util.testing.TestBuilder.TestSource;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.annotation.Nullable;
+import javax.tools.JavaFileObject;
+
+/**
+ * Behavioral tests for types with enough properties that their mergeFrom, clear, equals,
+ * hashCode and toString methods are split into chunks.
+ */
+@RunWith(JUnit4.class)
+public class LargeTypeTest {
+
+  /** Enough properties for three chunks, the last one partial. */
+  private static final int PROPERTY_COUNT = 2 * PROPERTIES_PER_METHOD + 10;
+
+  /** The kinds of property in the test type, assigned to properties in rotation. */
+  private enum Kind { INT, STRING, LIST, NULLABLE, DOUBLE, OPTIONAL }
+
+  private static final JavaFileObject LARGE_TYPE = largeType();
+
+  @Test
+  public void testRoundTrip() {
+    runTest(new Processor(), "detected features", roundTripTest());
+  }
+
+  @Test
+  public void testRoundTrip_withoutGuava() {
+    runTest(new Processor(new StaticFeatureSet()), "no features", roundTripTest());
+  }
+
+  @Test
+  public void testClear() {
+    runTest(new Processor(), "detected features", clearTest());
+  }
+
+  @Test
+  public void testClear_withoutGuava() {
+    runTest(new Processor(new StaticFeatureSet()), "no features", clearTest());
+  }
+
+  @Test
+  public void testHashCode_propertyNamedResult() {
+    // The chunked hashCode helpers take the running hash as a parameter named result
+    int intProperties = PROPERTIES_PER_METHOD + 1;
+    SourceBuilder type = new SourceBuilder()
+        .addLine("package com.example;")
+        .addLine("@%s", FreeBuilder.class)
+        .addLine("public interface DataType {");
+    TestBuilder test = new TestBuilder()
+        .addImport("com.example.DataType")
+        .addLine("DataType value = new DataType.Builder()");
+    List<String> values = new ArrayList<String>();
+    for (int i = 0; i < intProperties; i++) {
+      type.addLine("  int getP%s();", i);
+      test.addLine("    .setP%s(%s)", i, i);
+      values.add(Integer.toString(i));
+    }
+    type.addLine("  String getResult();");
+    test.addLine("    .setResult(\"pass\")");
+    values.add("\"pass\"");
+    new BehaviorTester()
+        .with(new Processor(), "detected features")
+        .with(type
+            .addLine("")
+            .addLine("  class Builder extends DataType_Builder {}")
+            .addLine("}")
+            .build())
+        .with(test
+            .addLine("    .build();")
+            .addLine("assertEquals(%s.hashCode(new Object[] { %s }), value.hashCode());",
+                Arrays.class, Joiner.on(", ").join(values))
+            .build())
+        .runTest();
+  }
+
+  private static void runTest(Processor processor, String cacheKey, TestSource test) {
+    new BehaviorTester()
+        .with(processor, cacheKey)
+        .with(LARGE_TYPE)
+        .with(test)
+        .runTest();
+  }
+
+  private static JavaFileObject largeType() {
+    SourceBuilder source = new SourceBuilder()
+        .addLine("package com.example;")
+        .addLine("@%s", FreeBuilder.class)
+        .addLine("public abstract class DataType {");
+    for (int i = 0; i < PROPERTY_COUNT; i++) {
+      switch (kind(i)) {
+        case INT:
+          source.addLine("  public abstract int getP%s();", i);
+          break;
+
+        case STRING:
+          source.addLine("  public abstract String getP%s();", i);
+          break;
+
+        case LIST:
+          source.addLine("  public abstract %s<String> getP%s();", List.class, i);
+          break;
+
+        case NULLABLE:
+          source.addLine("  @%s public abstract String getP%s();", Nullable.class, i);
+          break;
+
+        case DOUBLE:
+          source.addLine("  public abstract double getP%s();", i);
+          break;
+
+        case OPTIONAL:
+          source.addLine("  public abstract %s<String> getP%s();", Optional.class, i);
+          break;
+      }
+    }
+    return source
+        .addLine("")
+        .addLine("  public static class Builder extends DataType_Builder {}")
+        .addLine("}")
+        .build();
+  }
+
+  /**
+   * Builds a value, leaving nullable properties unset in the second half of the type, and
+   * optional properties unset in the first half, then checks it survives copying and compares
+   * and prints as expected.
+   */
+  private static TestSource roundTripTest() {
+    TestBuilder test = new TestBuilder()
+        .addImport("com.example.DataType")
+        .addLine("DataType value = new DataType.Builder()");
+    List<String> fields = new ArrayList<String>();
+    for (int i = 0; i < PROPERTY_COUNT; i++) {
+      boolean firstHalf = i < PROPERTY_COUNT / 2;
+      switch (kind(i)) {
+        case INT:
+          test.addLine("    .setP%s(%s)", i, i);
+          fields.add("p" + i + "=" + i);
+          break;
+
+        case STRING:
+          test.addLine("    .setP%s(\"s%s\")", i, i);
+          fields.add("p" + i + "=s" + i);
+          break;
+
+        case LIST:
+          test.addLine("    .addP%s(\"l%s\")", i, i);
+          fields.add("p" + i + "=[l" + i + "]");
+          break;
+
+        case NULLABLE:
+          if (firstHalf) {
+            test.addLine("    .setP%s(\"n%s\")", i, i);
+            fields.add("p" + i + "=n" + i);
+          }
+          break;
+
+        case DOUBLE:
+          test.addLine("    .setP%s(%s.5)", i, i);
+          fields.add("p" + i + "=" + i + ".5");
+          break;
+
+        case OPTIONAL:
+          if (!firstHalf) {
+            test.addLine("    .setP%s(\"o%s\")", i, i);
+            fields.add("p" + i + "=o" + i);
+          }
+          break;
+      }
+    }
+    return test
+        .addLine("    .build();")
+        .addLine("DataType copy = new DataType.Builder().mergeFrom(value).build();")
+        .addLine("DataType builderCopy = new DataType.Builder()")
+        .addLine("    .mergeFrom(new DataType.Builder().mergeFrom(value))")
+        .addLine("    .build();")
+        .addLine("DataType changed = DataType.Builder.from(value).setP%s(-1).build();",
+            lastIndexOf(Kind.INT))
+        .addLine("assertEquals(value, copy);")
+        .addLine("assertEquals(value, builderCopy);")
+        .addLine("assertEquals(value.hashCode(), copy.hashCode());")
+        .addLine("assertFalse(value.equals(changed));")
+        .addLine("assertFalse(value.hashCode() == changed.hashCode());")
+        .addLine("assertEquals(\"DataType{%s}\", value.toString());", Joiner.on(", ").join(fields))
+        .build();
+  }
+
+  /** Checks clear() resets properties in every chunk, and still requires them to be set. */
+  private static TestSource clearTest() {
+    int lastList = lastIndexOf(Kind.LIST);
+    int lastOptional = lastIndexOf(Kind.OPTIONAL);
+    return new TestBuilder()
+        .addImport("com.example.DataType")
+        .addLine("DataType.Builder builder = new DataType.Builder()")
+        .addLine("    .addP2(\"a\")")
+        .addLine("    .addP%s(\"b\")", lastList)
+        .addLine("    .setP3(\"c\")")
+        .addLine("    .setP%s(\"d\")", lastOptional)
+        .addLine("    .clear();")
+        .addLine("assertThat(builder.getP2()).isEmpty();")
+        .addLine("assertThat(builder.getP%s()).isEmpty();", lastList)
+        .addLine("assertNull(builder.getP3());")
+        .addLine("assertFalse(builder.getP%s().isPresent());", lastOptional)
+        .addLine("try {")
+        .addLine("  builder.build();")
+        .addLine("  fail(\"Expected IllegalStateException\");")
+        .addLine("} catch (IllegalStateException expected) {")
+        .addLine("  assertThat(expected.getMessage()).startsWith(\"Not set: [p0, p1, p4, \");")
+        .addLine("}")
+        .build();
+  }
+
+  private static Kind kind(int index) {
+    return Kind.values()[index % Kind.values().length];
+  }
+
+  private static int lastIndexOf(Kind kind) {
+    int index = PROPERTY_COUNT - 1;
+    while (kind(index) != kind) {
+      index--;
+    }
+    return index;
+  }
+}
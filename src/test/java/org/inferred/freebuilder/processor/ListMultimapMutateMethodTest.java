@@ -86,7 +86,7 @@ public class ListMultimapMutateMethodTest {
   @Test
   public void mutateAndPutModifiesUnderlyingProperty_whenUnchecked() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(UNCHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -107,7 +107,7 @@ public class ListMultimapMutateMethodTest {
   @Test
   public void mutateAndPutModifiesUnderlyingProperty_whenChecked() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -130,7 +130,7 @@ public class ListMultimapMutateMethodTest {
     thrown.expect(IllegalArgumentException.class);
     thrown.expectMessage("value may not be empty");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("new DataType.Builder().mutateItems(items -> items.put(\"one\", \"\"));")
@@ -141,7 +141,7 @@ public class ListMultimapMutateMethodTest {
   @Test
   public void mutateAndPutKeepsSubstitute() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(INTERNED_PROPERTY)
         .with(testBuilder()
             .addLine("String s = new String(\"foobar\");")
@@ -158,7 +158,7 @@ public class ListMultimapMutateMethodTest {
   @Test
   public void mutateAndPutAllValuesModifiesUnderlyingProperty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -181,7 +181,7 @@ public class ListMultimapMutateMethodTest {
     thrown.expect(IllegalArgumentException.class);
     thrown.expectMessage("value may not be empty");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("new DataType.Builder().mutateItems(items -> items")
@@ -193,7 +193,7 @@ public class ListMultimapMutateMethodTest {
   @Test
   public void mutateAndPutAllValuesKeepsSubstitute() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(INTERNED_PROPERTY)
         .with(testBuilder()
             .addLine("String s = new String(\"foobar\");")
@@ -211,7 +211,7 @@ public class ListMultimapMutateMethodTest {
   @Test
   public void mutateAndPutAllMultimapModifiesUnderlyingProperty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -232,7 +232,7 @@ public class ListMultimapMutateMethodTest {
     thrown.expect(IllegalArgumentException.class);
     thrown.expectMessage("value may not be empty");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("new DataType.Builder().mutateItems(items -> items")
@@ -244,7 +244,7 @@ public class ListMultimapMutateMethodTest {
   @Test
   public void mutateAndPutAllMultimapKeepsSubstitute() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(INTERNED_PROPERTY)
         .with(testBuilder()
             .addLine("String s = new String(\"foobar\");")
@@ -262,7 +262,7 @@ public class ListMultimapMutateMethodTest {
   @Test
   public void mutateAndReplaceValuesModifiesUnderlyingProperty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -283,7 +283,7 @@ public class ListMultimapMutateMethodTest {
     thrown.expect(IllegalArgumentException.class);
     thrown.expectMessage("value may not be empty");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("new DataType.Builder()")
@@ -297,7 +297,7 @@ public class ListMultimapMutateMethodTest {
   @Test
   public void mutateAndReplaceValuesKeepsSubstitute() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(INTERNED_PROPERTY)
         .with(testBuilder()
             .addLine("String s = new String(\"foobar\");")
@@ -316,7 +316,7 @@ public class ListMultimapMutateMethodTest {
   @Test
   public void mutateAndAddViaGetModifiesUnderlyingProperty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -336,7 +336,7 @@ public class ListMultimapMutateMethodTest {
     thrown.expect(IllegalArgumentException.class);
     thrown.expectMessage("value may not be empty");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("new DataType.Builder()")
@@ -349,7 +349,7 @@ public class ListMultimapMutateMethodTest {
   @Test
   public void mutateAndAddViaGetKeepsSubstitute() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(INTERNED_PROPERTY)
         .with(testBuilder()
             .addLine("String s = new String(\"foobar\");")
@@ -369,7 +369,7 @@ public class ListMultimapMutateMethodTest {
   @Test
   public void mutateAndAddViaAsMapModifiesUnderlyingProperty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -389,7 +389,7 @@ public class ListMultimapMutateMethodTest {
     thrown.expect(IllegalArgumentException.class);
     thrown.expectMessage("value may not be empty");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("new DataType.Builder()")
@@ -402,7 +402,7 @@ public class ListMultimapMutateMethodTest {
   @Test
   public void mutateAndAddViaAsMapKeepsSubstitute() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(INTERNED_PROPERTY)
         .with(testBuilder()
             .addLine("String s = new String(\"foobar\");")
@@ -420,7 +420,7 @@ public class ListMultimapMutateMethodTest {
   @Test
   public void mutateAndAddAtIndexViaAsMapModifiesUnderlyingProperty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -441,7 +441,7 @@ public class ListMultimapMutateMethodTest {
     thrown.expect(IllegalArgumentException.class);
     thrown.expectMessage("value may not be empty");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("new DataType.Builder()")
@@ -455,7 +455,7 @@ public class ListMultimapMutateMethodTest {
   @Test
   public void mutateAndAddAtIndexViaAsMapKeepsSubstitute() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(INTERNED_PROPERTY)
         .with(testBuilder()
             .addLine("String s = new String(\"foobar\");")
@@ -104,7 +104,7 @@ public class ListMultimapPropertyFactoryTest {
   @Test
   public void testDefaultEmpty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder().build();")
@@ -117,7 +117,7 @@ public class ListMultimapPropertyFactoryTest {
   @Test
   public void testDefaultEmpty_primitives() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PRIMITIVES)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder().build();")
@@ -130,7 +130,7 @@ public class ListMultimapPropertyFactoryTest {
   @Test
   public void testPut() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -149,7 +149,7 @@ public class ListMultimapPropertyFactoryTest {
   @Test
   public void testPut_primitiveKey() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PRIMITIVE_KEY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -168,7 +168,7 @@ public class ListMultimapPropertyFactoryTest {
   @Test
   public void testPut_primitiveValue() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PRIMITIVE_VALUE)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -187,7 +187,7 @@ public class ListMultimapPropertyFactoryTest {
   @Test
   public void testPut_primitives() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PRIMITIVES)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -207,7 +207,7 @@ public class ListMultimapPropertyFactoryTest {
   public void testPut_nullKey() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("new DataType.Builder()")
@@ -221,7 +221,7 @@ public class ListMultimapPropertyFactoryTest {
   public void testPut_nullValue() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("new DataType.Builder()")
@@ -234,7 +234,7 @@ public class ListMultimapPropertyFactoryTest {
   @Test
   public void testPut_duplicate() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -255,7 +255,7 @@ public class ListMultimapPropertyFactoryTest {
   @Test
   public void testPutAllIterable() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -275,7 +275,7 @@ public class ListMultimapPropertyFactoryTest {
   @Test
   public void testPutAllIterable_primitiveKey() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PRIMITIVE_KEY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -295,7 +295,7 @@ public class ListMultimapPropertyFactoryTest {
   @Test
   public void testPutAllIterable_primitiveValue() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PRIMITIVE_VALUE)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -315,7 +315,7 @@ public class ListMultimapPropertyFactoryTest {
   @Test
   public void testPutAllIterable_primitives() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PRIMITIVES)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -336,7 +336,7 @@ public class ListMultimapPropertyFactoryTest {
   public void testPutAllIterable_nullKey() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("new DataType.Builder()")
@@ -349,7 +349,7 @@ public class ListMultimapPropertyFactoryTest {
   public void testPutAllIterable_nullValue() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("new DataType.Builder()")
@@ -361,7 +361,7 @@ public class ListMultimapPropertyFactoryTest {
   @Test
   public void testPutAllIterable_duplicate() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -379,7 +379,7 @@ public class ListMultimapPropertyFactoryTest {
   @Test
   public void testPutAllIterable_iteratesOnce() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -415,7 +415,7 @@ public class ListMultimapPropertyFactoryTest {
   @Test
   public void testPutAllMultimap() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -437,7 +437,7 @@ public class ListMultimapPropertyFactoryTest {
   @Test
   public void testPutAllMultimap_primitiveKey() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PRIMITIVE_KEY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -459,7 +459,7 @@ public class ListMultimapPropertyFactoryTest {
   @Test
   public void testPutAllMultimap_primitiveValue() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PRIMITIVE_VALUE)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -481,7 +481,7 @@ public class ListMultimapPropertyFactoryTest {
   @Test
   public void testPutAllMultimap_primitives() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PRIMITIVES)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -504,7 +504,7 @@ public class ListMultimapPropertyFactoryTest {
   public void testPutAllMultimap_nullKey() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("%1$s<String, String> values = %1$s.create();", LinkedListMultimap.class)
@@ -518,7 +518,7 @@ public class ListMultimapPropertyFactoryTest {
   public void testPutAllMultimap_nullValue() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("%1$s<String, String> values = %1$s.create();", LinkedListMultimap.class)
@@ -531,7 +531,7 @@ public class ListMultimapPropertyFactoryTest {
   @Test
   public void testPutAllMultimap_duplicate() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -553,7 +553,7 @@ public class ListMultimapPropertyFactoryTest {
   @Test
   public void testRemove() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -575,7 +575,7 @@ public class ListMultimapPropertyFactoryTest {
   @Test
   public void testRemove_doesNotThrowIfEntryNotPresent() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -596,7 +596,7 @@ public class ListMultimapPropertyFactoryTest {
   @Test
   public void testRemove_primitiveKey() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PRIMITIVE_KEY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -618,7 +618,7 @@ public class ListMultimapPropertyFactoryTest {
   @Test
   public void testRemove_primitiveValue() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PRIMITIVE_VALUE)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -640,7 +640,7 @@ public class ListMultimapPropertyFactoryTest {
   @Test
   public void testRemove_primitives() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PRIMITIVES)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -663,7 +663,7 @@ public class ListMultimapPropertyFactoryTest {
   public void testRemove_nullKey() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("new DataType.Builder()")
@@ -677,7 +677,7 @@ public class ListMultimapPropertyFactoryTest {
   public void testRemove_nullValue() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("new DataType.Builder()")
@@ -690,7 +690,7 @@ public class ListMultimapPropertyFactoryTest {
   @Test
   public void testRemoveAll() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -710,7 +710,7 @@ public class ListMultimapPropertyFactoryTest {
   @Test
   public void testRemoveAll_doesNotThrowIfKeyNotPresent() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -728,7 +728,7 @@ public class ListMultimapPropertyFactoryTest {
   @Test
   public void testRemoveAll_primitiveKey() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PRIMITIVE_KEY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -748,7 +748,7 @@ public class ListMultimapPropertyFactoryTest {
   @Test
   public void testRemoveAll_primitiveValue() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PRIMITIVE_VALUE)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -768,7 +768,7 @@ public class ListMultimapPropertyFactoryTest {
   @Test
   public void testRemoveAll_primitives() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PRIMITIVES)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -789,7 +789,7 @@ public class ListMultimapPropertyFactoryTest {
   public void testRemoveAll_nullKey() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("new DataType.Builder()")
@@ -802,7 +802,7 @@ public class ListMultimapPropertyFactoryTest {
   @Test
   public void testClear() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -823,7 +823,7 @@ public class ListMultimapPropertyFactoryTest {
   @Test
   public void testGet_returnsLiveView() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("DataType.Builder builder = new DataType.Builder();")
@@ -839,11 +839,23 @@ public class ListMultimapPropertyFactoryTest {
         .runTest();
   }
 
+  @Test
+  public void testGet_returnsSameViewOnEachCall() {
+    behaviorTester
+        .with(new Processor(), "detected features")
+        .with(MULTIMAP_PROPERTY)
+        .with(testBuilder()
+            .addLine("DataType.Builder builder = new DataType.Builder();")
+            .addLine("assertThat(builder.getItems()).isSameAs(builder.getItems());")
+            .build())
+        .runTest();
+  }
+
   @Test
   public void testGet_returnsUnmodifiableMultimap() {
     thrown.expect(UnsupportedOperationException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("DataType.Builder builder = new DataType.Builder();")
@@ -856,7 +868,7 @@ public class ListMultimapPropertyFactoryTest {
   @Test
   public void testMergeFrom_valueInstance() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = DataType.builder()")
@@ -877,7 +889,7 @@ public class ListMultimapPropertyFactoryTest {
   @Test
   public void testMergeFrom_builder() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("DataType.Builder template = DataType.builder()")
@@ -897,7 +909,7 @@ public class ListMultimapPropertyFactoryTest {
   @Test
   public void testBuilderClear() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -932,7 +944,7 @@ public class ListMultimapPropertyFactoryTest {
 
   private void testPropertyOfMultimapSubclassType(Class<?> propertyType) {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -962,7 +974,7 @@ public class ListMultimapPropertyFactoryTest {
   @Test
   public void testOverridingPut() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -993,7 +1005,7 @@ public class ListMultimapPropertyFactoryTest {
   @Test
   public void testOverridingPut_primitiveKey() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -1024,7 +1036,7 @@ public class ListMultimapPropertyFactoryTest {
   @Test
   public void testOverridingPut_primitiveValue() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -1055,7 +1067,7 @@ public class ListMultimapPropertyFactoryTest {
   @Test
   public void testOverridingPut_primitives() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -1086,7 +1098,7 @@ public class ListMultimapPropertyFactoryTest {
   @Test
   public void testEquality() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("new %s()", EqualsTester.class)
@@ -1121,7 +1133,7 @@ public class ListMultimapPropertyFactoryTest {
   public void testJacksonInteroperability() {
     // See also https://github.com/google/FreeBuilder/issues/68
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("import " + JsonProperty.class.getName() + ";")
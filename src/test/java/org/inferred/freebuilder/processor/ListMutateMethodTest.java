@@ -16,6 +16,7 @@
 package org.inferred.freebuilder.processor;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
 
 import org.inferred.freebuilder.FreeBuilder;
 import org.inferred.freebuilder.processor.util.testing.BehaviorTester;
@@ -27,6 +28,7 @@ import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import javax.tools.JavaFileObject;
@@ -81,7 +83,7 @@ public class ListMutateMethodTest {
   @Test
   public void mutateAndAddModifiesUnderlyingPropertyWhenUnchecked() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(UNCHECKED_LIST_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -95,7 +97,7 @@ public class ListMutateMethodTest {
   @Test
   public void mutateAndAddModifiesUnderlyingPropertyWhenChecked() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_LIST_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -111,7 +113,7 @@ public class ListMutateMethodTest {
     thrown.expect(IllegalArgumentException.class);
     thrown.expectMessage("elements must be non-negative");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_LIST_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder().mutateProperties(map -> map.add(-3));")
@@ -122,7 +124,7 @@ public class ListMutateMethodTest {
   @Test
   public void mutateAndAddKeepsSubstitute() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(INTERNED_STRINGS_TYPE)
         .with(new TestBuilder()
             .addLine("String s = new String(\"foobar\");")
@@ -139,7 +141,7 @@ public class ListMutateMethodTest {
   @Test
   public void mutateAndAddAtIndex0ModifiesUnderlyingProperty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_LIST_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -154,7 +156,7 @@ public class ListMutateMethodTest {
   @Test
   public void mutateAndAddAtIndex1ModifiesUnderlyingProperty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_LIST_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -169,7 +171,7 @@ public class ListMutateMethodTest {
   @Test
   public void mutateAndAddAtIndex2ModifiesUnderlyingProperty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_LIST_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -184,7 +186,7 @@ public class ListMutateMethodTest {
   @Test
   public void mutateAndAddAtIndex3ModifiesUnderlyingProperty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_LIST_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -201,7 +203,7 @@ public class ListMutateMethodTest {
     thrown.expect(IllegalArgumentException.class);
     thrown.expectMessage("elements must be non-negative");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_LIST_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -214,7 +216,7 @@ public class ListMutateMethodTest {
   @Test
   public void mutateAndAddAtIndexKeepsSubstitute() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(INTERNED_STRINGS_TYPE)
         .with(new TestBuilder()
             .addLine("String s = new String(\"foobar\");")
@@ -232,7 +234,7 @@ public class ListMutateMethodTest {
   @Test
   public void mutateAndSetModifiesUnderlyingPropertyWhenChecked() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_LIST_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -249,7 +251,7 @@ public class ListMutateMethodTest {
     thrown.expect(IllegalArgumentException.class);
     thrown.expectMessage("elements must be non-negative");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_LIST_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -262,7 +264,7 @@ public class ListMutateMethodTest {
   @Test
   public void mutateAndSetAtIndexKeepsSubstitute() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(INTERNED_STRINGS_TYPE)
         .with(new TestBuilder()
             .addLine("String s = new String(\"foobar\");")
@@ -280,7 +282,7 @@ public class ListMutateMethodTest {
   @Test
   public void mutateAndSizeReadsFromUnderlyingPropertyWhenChecked() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_LIST_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -293,7 +295,7 @@ public class ListMutateMethodTest {
   @Test
   public void mutateAndGetReadsFromUnderlyingPropertyWhenChecked() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_LIST_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -306,7 +308,7 @@ public class ListMutateMethodTest {
   @Test
   public void mutateAndRemoveModifiesUnderlyingPropertyWhenChecked() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_LIST_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -321,7 +323,7 @@ public class ListMutateMethodTest {
   @Test
   public void mutateAndClearModifiesUnderlyingPropertyWhenChecked() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_LIST_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -337,7 +339,7 @@ public class ListMutateMethodTest {
   @Test
   public void mutateAndClearSubListModifiesUnderlyingPropertyWhenChecked() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_LIST_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -349,4 +351,148 @@ public class ListMutateMethodTest {
         .runTest();
   }
 
+  @Test
+  public void mutateAndAddAllModifiesUnderlyingPropertyWhenChecked() {
+    behaviorTester
+        .with(new Processor(), "detected features")
+        .with(CHECKED_LIST_TYPE)
+        .with(new TestBuilder()
+            .addLine("com.example.DataType value = new com.example.DataType.Builder()")
+            .addLine("    .addProperties(1, 2)")
+            .addLine("    .mutateProperties(map -> map.addAll(%s.of(3, 4)))", ImmutableList.class)
+            .addLine("    .build();")
+            .addLine("assertThat(value.getProperties()).containsExactly(1, 2, 3, 4).inOrder();")
+            .build())
+        .runTest();
+  }
+
+  @Test
+  public void mutateAndAddAllChecksArguments() {
+    thrown.expect(IllegalArgumentException.class);
+    thrown.expectMessage("elements must be non-negative");
+    behaviorTester
+        .with(new Processor(), "detected features")
+        .with(CHECKED_LIST_TYPE)
+        .with(new TestBuilder()
+            .addLine("new com.example.DataType.Builder()")
+            .addLine("    .mutateProperties(map -> map.addAll(%s.of(3, -4)));",
+                ImmutableList.class)
+            .build())
+        .runTest();
+  }
+
+  @Test
+  public void mutateAndAddAllOfSelfModifiesUnderlyingPropertyWhenChecked() {
+    behaviorTester
+        .with(new Processor(), "detected features")
+        .with(CHECKED_LIST_TYPE)
+        .with(new TestBuilder()
+            .addLine("com.example.DataType value = new com.example.DataType.Builder()")
+            .addLine("    .addProperties(1, 2)")
+            .addLine("    .mutateProperties(map -> map.addAll(map))")
+            .addLine("    .build();")
+            .addLine("assertThat(value.getProperties()).containsExactly(1, 2, 1, 2).inOrder();")
+            .build())
+        .runTest();
+  }
+
+  @Test
+  public void mutateAndAddAllAtIndexModifiesUnderlyingPropertyWhenChecked() {
+    behaviorTester
+        .with(new Processor(), "detected features")
+        .with(CHECKED_LIST_TYPE)
+        .with(new TestBuilder()
+            .addLine("com.example.DataType value = new com.example.DataType.Builder()")
+            .addLine("    .addProperties(1, 2, 3)")
+            .addLine("    .mutateProperties(map -> map.addAll(1, %s.of(11, 12)))",
+                ImmutableList.class)
+            .addLine("    .build();")
+            .addLine("assertThat(value.getProperties())")
+            .addLine("    .containsExactly(1, 11, 12, 2, 3).inOrder();")
+            .build())
+        .runTest();
+  }
+
+  @Test
+  public void mutateAndAddAllAtIndexKeepsSubstitute() {
+    behaviorTester
+        .with(new Processor(), "detected features")
+        .with(INTERNED_STRINGS_TYPE)
+        .with(new TestBuilder()
+            .addLine("String s = new String(\"foobar\");")
+            .addLine("String i = s.intern();")
+            .addLine("assertThat(s).isNotSameAs(i);")
+            .addLine("com.example.DataType value = new com.example.DataType.Builder()")
+            .addLine("    .addProperties(\"one\", \"two\")")
+            .addLine("    .mutateProperties(map -> map.addAll(1, %s.of(s)))",
+                ImmutableList.class)
+            .addLine("    .build();")
+            .addLine("assertThat(value.getProperties().get(1)).isSameAs(i);")
+            .build())
+        .runTest();
+  }
+
+  @Test
+  public void mutateAndReplaceAllModifiesUnderlyingPropertyWhenChecked() {
+    behaviorTester
+        .with(new Processor(), "detected features")
+        .with(CHECKED_LIST_TYPE)
+        .with(new TestBuilder()
+            .addLine("com.example.DataType value = new com.example.DataType.Builder()")
+            .addLine("    .addProperties(1, 2, 3)")
+            .addLine("    .mutateProperties(map -> map.replaceAll(e -> e * 10))")
+            .addLine("    .build();")
+            .addLine("assertThat(value.getProperties()).containsExactly(10, 20, 30).inOrder();")
+            .build())
+        .runTest();
+  }
+
+  @Test
+  public void mutateAndReplaceAllLeavesPropertyUnmodifiedIfCheckFails() {
+    behaviorTester
+        .with(new Processor(), "detected features")
+        .with(CHECKED_LIST_TYPE)
+        .with(new TestBuilder()
+            .addLine("com.example.DataType.Builder builder = new com.example.DataType.Builder()")
+            .addLine("    .addProperties(1, 2, 3);")
+            .addLine("try {")
+            .addLine("  builder.mutateProperties(map -> map.replaceAll(e -> 2 - e));")
+            .addLine("  fail(\"Expected IllegalArgumentException\");")
+            .addLine("} catch (IllegalArgumentException expected) {}")
+            .addLine("assertThat(builder.build().getProperties())")
+            .addLine("    .containsExactly(1, 2, 3).inOrder();")
+            .build())
+        .runTest();
+  }
+
+  @Test
+  public void mutateAndRemoveIfModifiesUnderlyingPropertyWhenChecked() {
+    behaviorTester
+        .with(new Processor(), "detected features")
+        .with(CHECKED_LIST_TYPE)
+        .with(new TestBuilder()
+            .addLine("com.example.DataType value = new com.example.DataType.Builder()")
+            .addLine("    .addProperties(1, 2, 3, 4)")
+            .addLine("    .mutateProperties(map -> map.removeIf(e -> e %% 2 == 0))")
+            .addLine("    .build();")
+            .addLine("assertThat(value.getProperties()).containsExactly(1, 3).inOrder();")
+            .build())
+        .runTest();
+  }
+
+  @Test
+  public void mutateReusesCheckedViewWhenChecked() {
+    behaviorTester
+        .with(new Processor(), "detected features")
+        .with(CHECKED_LIST_TYPE)
+        .with(new TestBuilder()
+            .addLine("%1$s<%2$s<Integer>> views = new %1$s<>();", ArrayList.class, List.class)
+            .addLine("new com.example.DataType.Builder()")
+            .addLine("    .mutateProperties(views::add)")
+            .addLine("    .mutateProperties(views::add);")
+            .addLine("assertThat(views.get(0)).isSameAs(views.get(1));")
+            .build())
+        .runTest();
+  }
+
 }
@@ -59,7 +59,7 @@ public class ListPropertyFactoryTest {
   @Test
   public void testDefaultEmpty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(LIST_PROPERTY_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder().build();")
@@ -71,7 +71,7 @@ public class ListPropertyFactoryTest {
   @Test
   public void testAddSingleElement() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(LIST_PROPERTY_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -87,7 +87,7 @@ public class ListPropertyFactoryTest {
   public void testAddSingleElement_null() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(LIST_PROPERTY_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -99,7 +99,7 @@ public class ListPropertyFactoryTest {
   @Test
   public void testAddVarargs() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(LIST_PROPERTY_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -114,7 +114,7 @@ public class ListPropertyFactoryTest {
   public void testAddVarargs_null() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(LIST_PROPERTY_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -126,7 +126,7 @@ public class ListPropertyFactoryTest {
   @Test
   public void testAddAllIterable() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(LIST_PROPERTY_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -140,7 +140,7 @@ public class ListPropertyFactoryTest {
   @Test
   public void testAddAllIterable_onlyIteratesOnce() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(LIST_PROPERTY_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -172,7 +172,7 @@ public class ListPropertyFactoryTest {
   @Test
   public void testClear() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(LIST_PROPERTY_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -188,7 +188,7 @@ public class ListPropertyFactoryTest {
   @Test
   public void testGetter_returnsLiveView() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(LIST_PROPERTY_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType.Builder builder = new com.example.DataType.Builder();")
@@ -208,7 +208,7 @@ public class ListPropertyFactoryTest {
   public void testGetter_returnsUnmodifiableList() {
     thrown.expect(UnsupportedOperationException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(LIST_PROPERTY_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType.Builder builder = new com.example.DataType.Builder();")
@@ -218,10 +218,22 @@ public class ListPropertyFactoryTest {
         .runTest();
   }
 
+  @Test
+  public void testGetter_returnsSameViewOnEachCall() {
+    behaviorTester
+        .with(new Processor(), "detected features")
+        .with(LIST_PROPERTY_AUTO_BUILT_TYPE)
+        .with(new TestBuilder()
+            .addLine("com.example.DataType.Builder builder = new com.example.DataType.Builder();")
+            .addLine("assertThat(builder.getItems()).isSameAs(builder.getItems());")
+            .build())
+        .runTest();
+  }
+
   @Test
   public void testMergeFrom_valueInstance() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(LIST_PROPERTY_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = com.example.DataType.builder()")
@@ -237,7 +249,7 @@ public class ListPropertyFactoryTest {
   @Test
   public void testMergeFrom_builder() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(LIST_PROPERTY_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType.Builder template = com.example.DataType.builder()")
@@ -252,7 +264,7 @@ public class ListPropertyFactoryTest {
   @Test
   public void testBuilderClear() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(LIST_PROPERTY_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -268,7 +280,7 @@ public class ListPropertyFactoryTest {
   @Test
   public void testBuilderClear_noBuilderFactory() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -296,7 +308,7 @@ public class ListPropertyFactoryTest {
   @Test
   public void testEquality() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(LIST_PROPERTY_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("new %s()", EqualsTester.class)
@@ -325,7 +337,7 @@ public class ListPropertyFactoryTest {
   @Test
   public void testImmutableListProperty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -351,7 +363,7 @@ public class ListPropertyFactoryTest {
   @Test
   public void testOverrideAdd() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -382,7 +394,7 @@ public class ListPropertyFactoryTest {
   @Test
   public void testOverrideAdd_primitive() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -414,7 +426,7 @@ public class ListPropertyFactoryTest {
   public void testJacksonInteroperability() {
     // See also https://github.com/google/FreeBuilder/issues/68
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("import " + JsonProperty.class.getName() + ";")
@@ -65,7 +65,9 @@ public class ListSourceTest {
         "  private static final Joiner COMMA_JOINER = Joiner.on(\", \").skipNulls();",
         "",
         "  private final ArrayList<String> name = new ArrayList<String>();",
+        "  private List<String> _unmodifiableName;",
         "  private final ArrayList<Integer> age = new ArrayList<Integer>();",
+        "  private List<Integer> _unmodifiableAge;",
         "",
         "  /**",
         "   * Adds {@code element} to the list to be returned from {@link Person#getName()}.",
@@ -128,7 +130,10 @@ public class ListSourceTest {
         "   * Changes to this builder will be reflected in the view.",
         "   */",
         "  public List<String> getName() {",
-        "    return Collections.unmodifiableList(name);",
+        "    if (_unmodifiableName == null) {",
+        "      _unmodifiableName = Collections.unmodifiableList(name);",
+        "    }",
+        "    return _unmodifiableName;",
         "  }",
         "",
         "  /**",
@@ -189,7 +194,10 @@ public class ListSourceTest {
         "   * Changes to this builder will be reflected in the view.",
         "   */",
         "  public List<Integer> getAge() {",
-        "    return Collections.unmodifiableList(age);",
+        "    if (_unmodifiableAge == null) {",
+        "      _unmodifiableAge = Collections.unmodifiableList(age);",
+        "    }",
+        "    return _unmodifiableAge;",
         "  }",
         "",
         "  /**",
@@ -275,7 +283,10 @@ public class ListSourceTest {
         "",
         "    @Override",
         "    public int hashCode() {",
-        "      return Arrays.hashCode(new Object[] {name, age});",
+        "      int result = 1;",
+        "      result = 31 * result + this.name.hashCode();",
+        "      result = 31 * result + this.age.hashCode();",
+        "      return result;",
         "    }",
         "",
         "    @Override",
@@ -355,7 +366,9 @@ public class ListSourceTest {
         "  private static final Joiner COMMA_JOINER = Joiner.on(\", \").skipNulls();",
         "",
         "  private final ArrayList<String> name = new ArrayList<>();",
+        "  private List<String> _unmodifiableName;",
         "  private final ArrayList<Integer> age = new ArrayList<>();",
+        "  private List<Integer> _unmodifiableAge;",
         "",
         "  /**",
         "   * Adds {@code element} to the list to be returned from {@link Person#getName()}.",
@@ -418,7 +431,10 @@ public class ListSourceTest {
         "   * Changes to this builder will be reflected in the view.",
         "   */",
         "  public List<String> getName() {",
-        "    return Collections.unmodifiableList(name);",
+        "    if (_unmodifiableName == null) {",
+        "      _unmodifiableName = Collections.unmodifiableList(name);",
+        "    }",
+        "    return _unmodifiableName;",
         "  }",
         "",
         "  /**",
@@ -479,7 +495,10 @@ public class ListSourceTest {
         "   * Changes to this builder will be reflected in the view.",
         "   */",
         "  public List<Integer> getAge() {",
-        "    return Collections.unmodifiableList(age);",
+        "    if (_unmodifiableAge == null) {",
+        "      _unmodifiableAge = Collections.unmodifiableList(age);",
+        "    }",
+        "    return _unmodifiableAge;",
         "  }",
         "",
         "  /**",
@@ -559,7 +578,10 @@ public class ListSourceTest {
         "",
         "    @Override",
         "    public int hashCode() {",
-        "      return Objects.hash(name, age);",
+        "      int result = 1;",
+        "      result = 31 * result + this.name.hashCode();",
+        "      result = 31 * result + this.age.hashCode();",
+        "      return result;",
         "    }",
         "",
         "    @Override",
@@ -630,7 +652,9 @@ public class ListSourceTest {
         "  }",
         "",
         "  private final ArrayList<String> name = new ArrayList<String>();",
+        "  private List<String> _unmodifiableName;",
         "  private final ArrayList<Integer> age = new ArrayList<Integer>();",
+        "  private List<Integer> _unmodifiableAge;",
         "",
         "  /**",
         "   * Adds {@code element} to the list to be returned from {@link Person#getName()}.",
@@ -696,7 +720,10 @@ public class ListSourceTest {
         "   * Changes to this builder will be reflected in the view.",
         "   */",
         "  public List<String> getName() {",
-        "    return Collections.unmodifiableList(name);",
+        "    if (_unmodifiableName == null) {",
+        "      _unmodifiableName = Collections.unmodifiableList(name);",
+        "    }",
+        "    return _unmodifiableName;",
         "  }",
         "",
         "  /**",
@@ -757,7 +784,10 @@ public class ListSourceTest {
         "   * Changes to this builder will be reflected in the view.",
         "   */",
         "  public List<Integer> getAge() {",
-        "    return Collections.unmodifiableList(age);",
+        "    if (_unmodifiableAge == null) {",
+        "      _unmodifiableAge = Collections.unmodifiableList(age);",
+        "    }",
+        "    return _unmodifiableAge;",
         "  }",
         "",
         "  /**",
@@ -842,7 +872,10 @@ public class ListSourceTest {
         "",
         "    @Override",
         "    public int hashCode() {",
-        "      return Arrays.hashCode(new Object[] {name, age});",
+        "      int result = 1;",
+        "      result = 31 * result + this.name.hashCode();",
+        "      result = 31 * result + this.age.hashCode();",
+        "      return result;",
         "    }",
         "",
         "    @Override",
@@ -937,7 +970,9 @@ public class ListSourceTest {
         "  }",
         "",
         "  private final ArrayList<String> name = new ArrayList<>();",
+        "  private List<String> _unmodifiableName;",
         "  private final ArrayList<Integer> age = new ArrayList<>();",
+        "  private List<Integer> _unmodifiableAge;",
         "",
         "  /**",
         "   * Adds {@code element} to the list to be returned from {@link Person#getName()}.",
@@ -1000,7 +1035,10 @@ public class ListSourceTest {
         "   * Changes to this builder will be reflected in the view.",
         "   */",
         "  public List<String> getName() {",
-        "    return Collections.unmodifiableList(name);",
+        "    if (_unmodifiableName == null) {",
+        "      _unmodifiableName = Collections.unmodifiableList(name);",
+        "    }",
+        "    return _unmodifiableName;",
         "  }",
         "",
         "  /**",
@@ -1061,7 +1099,10 @@ public class ListSourceTest {
         "   * Changes to this builder will be reflected in the view.",
         "   */",
         "  public List<Integer> getAge() {",
-        "    return Collections.unmodifiableList(age);",
+        "    if (_unmodifiableAge == null) {",
+        "      _unmodifiableAge = Collections.unmodifiableList(age);",
+        "    }",
+        "    return _unmodifiableAge;",
         "  }",
         "",
         "  /**",
@@ -1140,7 +1181,10 @@ public class ListSourceTest {
         "",
         "    @Override",
         "    public int hashCode() {",
-        "      return Objects.hash(name, age);",
+        "      int result = 1;",
+        "      result = 31 * result + this.name.hashCode();",
+        "      result = 31 * result + this.age.hashCode();",
+        "      return result;",
         "    }",
         "",
         "    @Override",
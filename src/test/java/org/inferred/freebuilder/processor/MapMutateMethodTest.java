@@ -63,13 +63,27 @@ public class MapMutateMethodTest {
       .addLine("}")
       .build();
 
+  private static final JavaFileObject NORMALIZING_TYPE = new SourceBuilder()
+      .addLine("package com.example;")
+      .addLine("@%s", FreeBuilder.class)
+      .addLine("public interface DataType {")
+      .addLine("  %s<Integer, String> getProperties();", Map.class)
+      .addLine("")
+      .addLine("  public static class Builder extends DataType_Builder {")
+      .addLine("    @Override public Builder putProperties(int key, String value) {")
+      .addLine("      return super.putProperties(key, value.toUpperCase());")
+      .addLine("    }")
+      .addLine("  }")
+      .addLine("}")
+      .build();
+
   @Rule public final ExpectedException thrown = ExpectedException.none();
   private final BehaviorTester behaviorTester = new BehaviorTester();
 
   @Test
   public void putModifiesUnderlyingPropertyWhenUnchecked() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(UNCHECKED_SET_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -87,7 +101,7 @@ public class MapMutateMethodTest {
     thrown.expect(IllegalArgumentException.class);
     thrown.expectMessage("key must be non-negative");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_SET_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -99,7 +113,7 @@ public class MapMutateMethodTest {
   @Test
   public void putModifiesUnderlyingPropertyWhenChecked() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_SET_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -115,7 +129,7 @@ public class MapMutateMethodTest {
   @Test
   public void iterateEntrySetFindsContainedEntry() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_SET_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -133,7 +147,7 @@ public class MapMutateMethodTest {
   @Test
   public void callRemoveOnEntrySetIteratorModifiesUnderlyingProperty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_SET_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -155,7 +169,7 @@ public class MapMutateMethodTest {
   @Test
   public void entrySetIteratorRemainsUsableAfterCallingRemove() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_SET_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -184,7 +198,7 @@ public class MapMutateMethodTest {
     thrown.expect(IllegalArgumentException.class);
     thrown.expectMessage("value must not start with '-'");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_SET_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -198,7 +212,7 @@ public class MapMutateMethodTest {
   @Test
   public void callSetValueOnEntryModifiesUnderlyingProperty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_SET_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -215,7 +229,7 @@ public class MapMutateMethodTest {
   @Test
   public void entryRemainsUsableAfterCallingSetValue() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_SET_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -238,7 +252,7 @@ public class MapMutateMethodTest {
   @Test
   public void entrySetIteratorRemainsUsableAfterCallingSetValue() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_SET_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -264,7 +278,7 @@ public class MapMutateMethodTest {
   @Test
   public void getReturnsContainedValue() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_SET_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -278,7 +292,7 @@ public class MapMutateMethodTest {
   @Test
   public void containsKeyFindsContainedKey() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_SET_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -292,7 +306,7 @@ public class MapMutateMethodTest {
   @Test
   public void removeModifiesUnderlyingProperty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_SET_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -309,7 +323,7 @@ public class MapMutateMethodTest {
   @Test
   public void clearModifiesUnderlyingProperty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_SET_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -322,4 +336,119 @@ public class MapMutateMethodTest {
         .runTest();
   }
 
+  @Test
+  public void putAllModifiesUnderlyingProperty() {
+    behaviorTester
+        .with(new Processor(), "detected features")
+        .with(CHECKED_SET_TYPE)
+        .with(new TestBuilder()
+            .addLine("com.example.DataType value = new com.example.DataType.Builder()")
+            .addLine("    .putProperties(5, \"five\")")
+            .addLine("    .mutateProperties(map -> map.putAll(%s.of(", ImmutableMap.class)
+            .addLine("        6, \"six\", 11, \"eleven\")))")
+            .addLine("    .build();")
+            .addLine("assertThat(value.getProperties()).isEqualTo(%s.of(", ImmutableMap.class)
+            .addLine("    5, \"five\", 6, \"six\", 11, \"eleven\"));")
+            .build())
+        .runTest();
+  }
+
+  @Test
+  public void putAllChecksArguments() {
+    thrown.expect(IllegalArgumentException.class);
+    thrown.expectMessage("key must be non-negative");
+    behaviorTester
+        .with(new Processor(), "detected features")
+        .with(CHECKED_SET_TYPE)
+        .with(new TestBuilder()
+            .addLine("new com.example.DataType.Builder()")
+            .addLine("    .mutateProperties(map -> map.putAll(%s.of(", ImmutableMap.class)
+            .addLine("        6, \"six\", -11, \"minus eleven\")));")
+            .build())
+        .runTest();
+  }
+
+  @Test
+  public void computeIfAbsentModifiesUnderlyingProperty() {
+    behaviorTester
+        .with(new Processor(), "detected features")
+        .with(CHECKED_SET_TYPE)
+        .with(new TestBuilder()
+            .addLine("com.example.DataType value = new com.example.DataType.Builder()")
+            .addLine("    .putProperties(5, \"five\")")
+            .addLine("    .mutateProperties(map -> {")
+            .addLine("      assertThat(map.computeIfAbsent(5, k -> \"cinq\")).isEqualTo(\"five\");")
+            .addLine("      assertThat(map.computeIfAbsent(6, k -> \"six\")).isEqualTo(\"six\");")
+            .addLine("    })")
+            .addLine("    .build();")
+            .addLine("assertThat(value.getProperties()).isEqualTo(%s.of(", ImmutableMap.class)
+            .addLine("    5, \"five\", 6, \"six\"));")
+            .build())
+        .runTest();
+  }
+
+  @Test
+  public void computeIfAbsentReturnsValueStoredByPut() {
+    behaviorTester
+        .with(new Processor(), "detected features")
+        .with(NORMALIZING_TYPE)
+        .with(new TestBuilder()
+            .addLine("com.example.DataType value = new com.example.DataType.Builder()")
+            .addLine("    .mutateProperties(map -> {")
+            .addLine("      assertThat(map.computeIfAbsent(6, k -> \"six\")).isEqualTo(\"SIX\");")
+            .addLine("      assertThat(map.computeIfAbsent(6, k -> \"six\")).isEqualTo(\"SIX\");")
+            .addLine("    })")
+            .addLine("    .build();")
+            .addLine("assertThat(value.getProperties()).isEqualTo(%s.of(6, \"SIX\"));",
+                ImmutableMap.class)
+            .build())
+        .runTest();
+  }
+
+  @Test
+  public void computeIfAbsentChecksArguments() {
+    thrown.expect(IllegalArgumentException.class);
+    thrown.expectMessage("value must not start with '-'");
+    behaviorTester
+        .with(new Processor(), "detected features")
+        .with(CHECKED_SET_TYPE)
+        .with(new TestBuilder()
+            .addLine("new com.example.DataType.Builder()")
+            .addLine("    .mutateProperties(map -> map.computeIfAbsent(6, k -> \"-six\"));")
+            .build())
+        .runTest();
+  }
+
+  @Test
+  public void replaceAllModifiesUnderlyingProperty() {
+    behaviorTester
+        .with(new Processor(), "detected features")
+        .with(CHECKED_SET_TYPE)
+        .with(new TestBuilder()
+            .addLine("com.example.DataType value = new com.example.DataType.Builder()")
+            .addLine("    .putProperties(5, \"five\")")
+            .addLine("    .putProperties(6, \"six\")")
+            .addLine("    .mutateProperties(map -> map.replaceAll((k, v) -> v + k))")
+            .addLine("    .build();")
+            .addLine("assertThat(value.getProperties()).isEqualTo(%s.of(", ImmutableMap.class)
+            .addLine("    5, \"five5\", 6, \"six6\"));")
+            .build())
+        .runTest();
+  }
+
+  @Test
+  public void replaceAllChecksArguments() {
+    thrown.expect(IllegalArgumentException.class);
+    thrown.expectMessage("value must not start with '-'");
+    behaviorTester
+        .with(new Processor(), "detected features")
+        .with(CHECKED_SET_TYPE)
+        .with(new TestBuilder()
+            .addLine("new com.example.DataType.Builder()")
+            .addLine("    .putProperties(5, \"five\")")
+            .addLine("    .mutateProperties(map -> map.replaceAll((k, v) -> \"-\" + v));")
+            .build())
+        .runTest();
+  }
+
 }
@@ -86,7 +86,7 @@ public class MapPropertyFactoryTest {
   @Test
   public void testDefaultEmpty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MAP_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder().build();")
@@ -98,7 +98,7 @@ public class MapPropertyFactoryTest {
   @Test
   public void testPut_nonNullKey_nonNullValue() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MAP_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -115,7 +115,7 @@ public class MapPropertyFactoryTest {
   @Test
   public void testPut_primitiveKey_nonNullValue() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(PRIMITIVE_KEY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -132,7 +132,7 @@ public class MapPropertyFactoryTest {
   public void testPut_nullKey_nonNullValue() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MAP_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -144,7 +144,7 @@ public class MapPropertyFactoryTest {
   @Test
   public void testPut_nonNullKey_primitiveValue() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(PRIMITIVE_VALUE_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -160,7 +160,7 @@ public class MapPropertyFactoryTest {
   @Test
   public void testPut_primitiveKey_primitiveValue() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(PRIMITIVE_KEY_VALUE_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -177,7 +177,7 @@ public class MapPropertyFactoryTest {
   public void testPut_nullKey_primitiveValue() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(PRIMITIVE_VALUE_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -190,7 +190,7 @@ public class MapPropertyFactoryTest {
   public void testPut_nonNullKey_nullValue() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MAP_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -203,7 +203,7 @@ public class MapPropertyFactoryTest {
   public void testPut_primitiveKey_nullValue() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(PRIMITIVE_KEY_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -215,7 +215,7 @@ public class MapPropertyFactoryTest {
   @Test
   public void testPut_duplicate() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MAP_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -231,7 +231,7 @@ public class MapPropertyFactoryTest {
   @Test
   public void testPutAll_noNulls() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MAP_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -249,7 +249,7 @@ public class MapPropertyFactoryTest {
   public void testPutAll_nullKey() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MAP_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("%s<String, Object> items = new %s<String, Object>();",
@@ -266,7 +266,7 @@ public class MapPropertyFactoryTest {
   public void testPutAll_nullValue() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MAP_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("%s<String, Object> items = new %s<String, Object>();",
@@ -282,7 +282,7 @@ public class MapPropertyFactoryTest {
   @Test
   public void testPutAll_duplicate() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MAP_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -299,7 +299,7 @@ public class MapPropertyFactoryTest {
   @Test
   public void testRemove() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MAP_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -319,7 +319,7 @@ public class MapPropertyFactoryTest {
   @Test
   public void testRemove_missingKey() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MAP_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -336,7 +336,7 @@ public class MapPropertyFactoryTest {
   @Test
   public void testRemove_primitiveKeyType() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(PRIMITIVE_KEY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -356,7 +356,7 @@ public class MapPropertyFactoryTest {
   @Test
   public void testRemove_primitiveKeyType_missingKey() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(PRIMITIVE_KEY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -374,7 +374,7 @@ public class MapPropertyFactoryTest {
   public void testRemove_null() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MAP_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -388,7 +388,7 @@ public class MapPropertyFactoryTest {
   @Test
   public void testClear() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MAP_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -408,7 +408,7 @@ public class MapPropertyFactoryTest {
   @Test
   public void testGet_returnsLiveView() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MAP_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType.Builder builder = new com.example.DataType.Builder();")
@@ -428,11 +428,23 @@ public class MapPropertyFactoryTest {
         .runTest();
   }
 
+  @Test
+  public void testGet_returnsSameViewOnEachCall() {
+    behaviorTester
+        .with(new Processor(), "detected features")
+        .with(MAP_PROPERTY_TYPE)
+        .with(new TestBuilder()
+            .addLine("com.example.DataType.Builder builder = new com.example.DataType.Builder();")
+            .addLine("assertThat(builder.getItems()).isSameAs(builder.getItems());")
+            .build())
+        .runTest();
+  }
+
   @Test
   public void testGet_returnsUnmodifiableMap() {
     thrown.expect(UnsupportedOperationException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MAP_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType.Builder builder = new com.example.DataType.Builder();")
@@ -445,7 +457,7 @@ public class MapPropertyFactoryTest {
   @Test
   public void testMergeFrom_valueInstance() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MAP_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType template = new com.example.DataType.Builder()")
@@ -465,7 +477,7 @@ public class MapPropertyFactoryTest {
   @Test
   public void testMergeFrom_builder() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MAP_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType.Builder template = new com.example.DataType.Builder()")
@@ -484,7 +496,7 @@ public class MapPropertyFactoryTest {
   @Test
   public void testBuilderClear() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MAP_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -504,7 +516,7 @@ public class MapPropertyFactoryTest {
   @Test
   public void testBuilderClear_noDefaultFactory() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -536,7 +548,7 @@ public class MapPropertyFactoryTest {
   @Test
   public void testImmutableMapProperty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -561,7 +573,7 @@ public class MapPropertyFactoryTest {
   @Test
   public void testOverridingAdd() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -590,7 +602,7 @@ public class MapPropertyFactoryTest {
   @Test
   public void testOverridingAdd_primitiveKey() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -619,7 +631,7 @@ public class MapPropertyFactoryTest {
   @Test
   public void testOverridingAdd_primitiveValue() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -648,7 +660,7 @@ public class MapPropertyFactoryTest {
   @Test
   public void testOverridingAdd_primitiveKeyAndValue() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -677,7 +689,7 @@ public class MapPropertyFactoryTest {
   @Test
   public void testEquality() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MAP_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("new %s()", EqualsTester.class)
@@ -709,7 +721,7 @@ public class MapPropertyFactoryTest {
   public void testJacksonInteroperability() {
     // See also https://github.com/google/FreeBuilder/issues/68
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("import " + JsonProperty.class.getName() + ";")
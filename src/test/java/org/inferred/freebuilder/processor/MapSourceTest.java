@@ -64,6 +64,7 @@ public class MapSourceTest {
         "",
         "  private final LinkedHashMap<Integer, String> name = "
             + "new LinkedHashMap<Integer, String>();",
+        "  private Map<Integer, String> _unmodifiableName;",
         "",
         "  /**",
         "   * Associates {@code key} with {@code value} in the map to be returned from",
@@ -123,7 +124,10 @@ public class MapSourceTest {
         "   * Changes to this builder will be reflected in the view.",
         "   */",
         "  public Map<Integer, String> getName() {",
-        "    return Collections.unmodifiableMap(name);",
+        "    if (_unmodifiableName == null) {",
+        "      _unmodifiableName = Collections.unmodifiableMap(name);",
+        "    }",
+        "    return _unmodifiableName;",
         "  }",
         "",
         "  /**",
@@ -196,7 +200,9 @@ public class MapSourceTest {
         "",
         "    @Override",
         "    public int hashCode() {",
-        "      return Arrays.hashCode(new Object[] {name});",
+        "      int result = 1;",
+        "      result = 31 * result + this.name.hashCode();",
+        "      return result;",
         "    }",
         "",
         "    @Override",
@@ -263,6 +269,7 @@ public class MapSourceTest {
         "  }",
         "",
         "  private final LinkedHashMap<Integer, String> name = new LinkedHashMap<>();",
+        "  private Map<Integer, String> _unmodifiableName;",
         "",
         "  /**",
         "   * Associates {@code key} with {@code value} in the map to be returned from",
@@ -322,7 +329,10 @@ public class MapSourceTest {
         "   * Changes to this builder will be reflected in the view.",
         "   */",
         "  public Map<Integer, String> getName() {",
-        "    return Collections.unmodifiableMap(name);",
+        "    if (_unmodifiableName == null) {",
+        "      _unmodifiableName = Collections.unmodifiableMap(name);",
+        "    }",
+        "    return _unmodifiableName;",
         "  }",
         "",
         "  /**",
@@ -392,7 +402,9 @@ public class MapSourceTest {
         "",
         "    @Override",
         "    public int hashCode() {",
-        "      return Objects.hash(name);",
+        "      int result = 1;",
+        "      result = 31 * result + this.name.hashCode();",
+        "      return result;",
         "    }",
         "",
         "    @Override",
@@ -456,6 +468,7 @@ public class MapSourceTest {
         "",
         "  private final LinkedHashMap<Integer, String> name = "
             + "new LinkedHashMap<Integer, String>();",
+        "  private Map<Integer, String> _unmodifiableName;",
         "",
         "  /**",
         "   * Associates {@code key} with {@code value} in the map to be returned from",
@@ -517,7 +530,10 @@ public class MapSourceTest {
         "   * Changes to this builder will be reflected in the view.",
         "   */",
         "  public Map<Integer, String> getName() {",
-        "    return Collections.unmodifiableMap(name);",
+        "    if (_unmodifiableName == null) {",
+        "      _unmodifiableName = Collections.unmodifiableMap(name);",
+        "    }",
+        "    return _unmodifiableName;",
         "  }",
         "",
         "  /**",
@@ -589,7 +605,9 @@ public class MapSourceTest {
         "",
         "    @Override",
         "    public int hashCode() {",
-        "      return Arrays.hashCode(new Object[] {name});",
+        "      int result = 1;",
+        "      result = 31 * result + this.name.hashCode();",
+        "      return result;",
         "    }",
         "",
         "    @Override",
@@ -667,6 +685,7 @@ public class MapSourceTest {
         "  }",
         "",
         "  private final LinkedHashMap<Integer, String> name = new LinkedHashMap<>();",
+        "  private Map<Integer, String> _unmodifiableName;",
         "",
         "  /**",
         "   * Associates {@code key} with {@code value} in the map to be returned from",
@@ -726,7 +745,10 @@ public class MapSourceTest {
         "   * Changes to this builder will be reflected in the view.",
         "   */",
         "  public Map<Integer, String> getName() {",
-        "    return Collections.unmodifiableMap(name);",
+        "    if (_unmodifiableName == null) {",
+        "      _unmodifiableName = Collections.unmodifiableMap(name);",
+        "    }",
+        "    return _unmodifiableName;",
         "  }",
         "",
         "  /**",
@@ -795,7 +817,9 @@ public class MapSourceTest {
         "",
         "    @Override",
         "    public int hashCode() {",
-        "      return Objects.hash(name);",
+        "      int result = 1;",
+        "      result = 31 * result + this.name.hashCode();",
+        "      return result;",
         "    }",
         "",
         "    @Override",
@@ -166,6 +166,21 @@ public class MethodFinderTest {
     assertThat(methodsOn(MySink.class)).containsExactly("void MySink::accept(String)");
   }
 
+  private abstract static class MyIntegerSink implements Receiver<Integer> {
+    abstract void accept(String object);
+  }
+
+  @Test
+  public void testSharedCacheResolvesOverridesPerType() {
+    MethodFinder.Cache cache = new MethodFinder.Cache();
+    assertThat(methodsOn(MySink.class, cache)).containsExactly("void MySink::accept(String)");
+    assertThat(methodsOn(MyIntegerSink.class, cache)).containsExactly(
+        "void Receiver::accept(T)", "void MyIntegerSink::accept(String)");
+    assertThat(methodsOn(MySink.class, cache)).containsExactly("void MySink::accept(String)");
+    assertThat(methodsOn(NarrowMethodSubclass.class, cache))
+        .containsExactly("Integer NarrowMethodSubclass::doSomething(Integer)");
+  }
+
   // Utility methods
   ///////////////////////////////////////////////////////////////////////////////////////////////
 
@@ -177,6 +192,15 @@ public class MethodFinderTest {
     }
   }
 
+  private static ImmutableList<String> methodsOn(Class<?> cls, MethodFinder.Cache cache) {
+    try {
+      return toStrings(
+          MethodFinder.methodsOn(model.typeElement(cls), model.elementUtils(), cache));
+    } catch (CannotGenerateCodeException e) {
+      throw new AssertionError(e);
+    }
+  }
+
   private static ImmutableList<String> toStrings(Iterable<? extends ExecutableElement> methods) {
     ImmutableList.Builder<String> resultBuilder = ImmutableList.builder();
     for (ExecutableElement method : methods) {
@@ -81,7 +81,7 @@ public class MultisetMutateMethodTest {
   @Test
   public void mutateAndAddModifiesUnderlyingProperty_whenUnchecked() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(UNCHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -96,7 +96,7 @@ public class MultisetMutateMethodTest {
   @Test
   public void mutateAndAddModifiesUnderlyingProperty_whenChecked() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -113,7 +113,7 @@ public class MultisetMutateMethodTest {
     thrown.expect(IllegalArgumentException.class);
     thrown.expectMessage("elements must be non-negative");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("new DataType.Builder()")
@@ -126,7 +126,7 @@ public class MultisetMutateMethodTest {
   @Test
   public void mutateAndAddAcceptsMaxIntOccurrences() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -143,7 +143,7 @@ public class MultisetMutateMethodTest {
     thrown.expect(IllegalArgumentException.class);
     thrown.expectMessage("too many occurrences: 2147483648");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("new DataType.Builder()")
@@ -156,7 +156,7 @@ public class MultisetMutateMethodTest {
   @Test
   public void mutateAndAddKeepsSubstitute() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(INTERNED_PROPERTY)
         .with(testBuilder()
             .addLine("String s = new String(\"foobar\");")
@@ -173,7 +173,7 @@ public class MultisetMutateMethodTest {
   @Test
   public void mutateAndAddMultipleModifiesUnderlyingProperty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -190,7 +190,7 @@ public class MultisetMutateMethodTest {
     thrown.expect(IllegalArgumentException.class);
     thrown.expectMessage("occurrences cannot be negative: -2");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("new DataType.Builder()")
@@ -203,7 +203,7 @@ public class MultisetMutateMethodTest {
   @Test
   public void mutateAndAddMultipleAcceptsMaxIntOccurrences() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -220,7 +220,7 @@ public class MultisetMutateMethodTest {
     thrown.expect(IllegalArgumentException.class);
     thrown.expectMessage("too many occurrences: 2147483648");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("new DataType.Builder()")
@@ -233,7 +233,7 @@ public class MultisetMutateMethodTest {
   @Test
   public void mutateAndAddMultipleReturnsOldCount() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("new DataType.Builder()")
@@ -248,7 +248,7 @@ public class MultisetMutateMethodTest {
     thrown.expect(IllegalArgumentException.class);
     thrown.expectMessage("elements must be non-negative");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("new DataType.Builder()")
@@ -261,7 +261,7 @@ public class MultisetMutateMethodTest {
   @Test
   public void mutateAndAddMultipleKeepsSubstitute() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(INTERNED_PROPERTY)
         .with(testBuilder()
             .addLine("String s = new String(\"foobar\");")
@@ -278,7 +278,7 @@ public class MultisetMutateMethodTest {
   @Test
   public void mutateAndSetCountModifiesUnderlyingProperty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -293,7 +293,7 @@ public class MultisetMutateMethodTest {
   @Test
   public void mutateAndSetCountReturnsOldCount() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("new DataType.Builder()")
@@ -308,7 +308,7 @@ public class MultisetMutateMethodTest {
     thrown.expect(IllegalArgumentException.class);
     thrown.expectMessage("elements must be non-negative");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("new DataType.Builder()")
@@ -323,7 +323,7 @@ public class MultisetMutateMethodTest {
     thrown.expect(IllegalArgumentException.class);
     thrown.expectMessage("count cannot be negative but was: -3");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("new DataType.Builder()")
@@ -336,7 +336,7 @@ public class MultisetMutateMethodTest {
   @Test
   public void mutateAndSetCountKeepsSubstitute() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(INTERNED_PROPERTY)
         .with(testBuilder()
             .addLine("String s = new String(\"foobar\");")
@@ -353,7 +353,7 @@ public class MultisetMutateMethodTest {
   @Test
   public void mutateAndConditionallySetCountModifiesUnderlyingPropertyIfOldCountMatches() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -368,7 +368,7 @@ public class MultisetMutateMethodTest {
   @Test
   public void mutateAndConditionallySetCountDoesNothingIfOldCountDoesNotMatch() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -383,7 +383,7 @@ public class MultisetMutateMethodTest {
   @Test
   public void mutateAndConditionallySetCountReturnsTrueIfOldCountMatches() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("new DataType.Builder()")
@@ -396,7 +396,7 @@ public class MultisetMutateMethodTest {
   @Test
   public void mutateAndConditionallySetCountReturnsFalseIfOldCountDoesNotMatch() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("new DataType.Builder()")
@@ -411,7 +411,7 @@ public class MultisetMutateMethodTest {
     thrown.expect(IllegalArgumentException.class);
     thrown.expectMessage("elements must be non-negative");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("new DataType.Builder()")
@@ -426,7 +426,7 @@ public class MultisetMutateMethodTest {
     thrown.expect(IllegalArgumentException.class);
     thrown.expectMessage("newCount cannot be negative but was: -3");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("new DataType.Builder()")
@@ -439,7 +439,7 @@ public class MultisetMutateMethodTest {
   @Test
   public void mutateAndConditionallySetCountKeepsSubstitute() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(INTERNED_PROPERTY)
         .with(testBuilder()
             .addLine("String s = new String(\"foobar\");")
@@ -456,7 +456,7 @@ public class MultisetMutateMethodTest {
   @Test
   public void mutateAndAddAllModifiesUnderlyingProperty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -473,7 +473,7 @@ public class MultisetMutateMethodTest {
     thrown.expect(IllegalArgumentException.class);
     thrown.expectMessage("elements must be non-negative");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("new DataType.Builder()")
@@ -486,7 +486,7 @@ public class MultisetMutateMethodTest {
   @Test
   public void mutateAndAddAllAcceptsMaxIntOccurrences() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -503,7 +503,7 @@ public class MultisetMutateMethodTest {
     thrown.expect(IllegalArgumentException.class);
     thrown.expectMessage("too many occurrences: 2147483648");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("new DataType.Builder()")
@@ -516,7 +516,7 @@ public class MultisetMutateMethodTest {
   @Test
   public void mutateAndAddAllKeepsSubstitute() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(INTERNED_PROPERTY)
         .with(testBuilder()
             .addLine("String s = new String(\"foobar\");")
@@ -533,7 +533,7 @@ public class MultisetMutateMethodTest {
   @Test
   public void mutateAndSizeReturnsSize() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("new DataType.Builder()")
@@ -546,7 +546,7 @@ public class MultisetMutateMethodTest {
   @Test
   public void mutateAndContainsReturnsTrueForContainedElement() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("new DataType.Builder()")
@@ -559,7 +559,7 @@ public class MultisetMutateMethodTest {
   @Test
   public void mutateAndIterateFindsContainedElement() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("new DataType.Builder()")
@@ -575,7 +575,7 @@ public class MultisetMutateMethodTest {
   @Test
   public void mutateAndRemoveModifiesUnderlyingProperty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -590,7 +590,7 @@ public class MultisetMutateMethodTest {
   @Test
   public void mutateAndCallRemoveOnIteratorModifiesUnderlyingProperty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -612,7 +612,7 @@ public class MultisetMutateMethodTest {
   @Test
   public void mutateAndClearModifiesUnderlyingProperty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -624,6 +624,36 @@ public class MultisetMutateMethodTest {
         .runTest();
   }
 
+  @Test
+  public void mutateAndAddAllMultisetModifiesUnderlyingProperty() {
+    behaviorTester
+        .with(new Processor(), "detected features")
+        .with(CHECKED_PROPERTY)
+        .with(testBuilder()
+            .addLine("DataType value = new DataType.Builder()")
+            .addLine("    .addProperties(5)")
+            .addLine("    .mutateProperties(set -> set.addAll(")
+            .addLine("        ImmutableMultiset.of(5, 11, 11, 12)))")
+            .addLine("    .build();")
+            .addLine("assertThat(value.getProperties()).containsExactly(5, 5, 11, 11, 12);")
+            .build())
+        .runTest();
+  }
+
+  @Test
+  public void mutateAndAddAllMultisetChecksArguments() {
+    thrown.expect(IllegalArgumentException.class);
+    thrown.expectMessage("elements must be non-negative");
+    behaviorTester
+        .with(new Processor(), "detected features")
+        .with(CHECKED_PROPERTY)
+        .with(testBuilder()
+            .addLine("new DataType.Builder().mutateProperties(set -> set.addAll(")
+            .addLine("    ImmutableMultiset.of(3, -3)));")
+            .build())
+        .runTest();
+  }
+
   private static TestBuilder testBuilder() {
     return new TestBuilder()
         .addImport("com.example.DataType")
@@ -74,7 +74,7 @@ public class MultisetPropertyFactoryTest {
   @Test
   public void testDefaultEmpty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTISET_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder().build();")
@@ -86,7 +86,7 @@ public class MultisetPropertyFactoryTest {
   @Test
   public void testAddSingleElement() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTISET_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -102,7 +102,7 @@ public class MultisetPropertyFactoryTest {
   public void testAddSingleElement_null() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTISET_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -115,7 +115,7 @@ public class MultisetPropertyFactoryTest {
   @Test
   public void testAddSingleElement_duplicate() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTISET_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -130,7 +130,7 @@ public class MultisetPropertyFactoryTest {
   @Test
   public void testAddVarargs() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTISET_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -145,7 +145,7 @@ public class MultisetPropertyFactoryTest {
   public void testAddVarargs_null() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTISET_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder().addItems(\"one\", null);")
@@ -156,7 +156,7 @@ public class MultisetPropertyFactoryTest {
   @Test
   public void testAddVarargs_duplicate() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTISET_PROPERTY_TYPE)
         .with(new TestBuilder()
         .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -170,7 +170,7 @@ public class MultisetPropertyFactoryTest {
   @Test
   public void testAddAllIterable() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTISET_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -185,7 +185,7 @@ public class MultisetPropertyFactoryTest {
   public void testAddAllIterable_null() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTISET_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -197,7 +197,7 @@ public class MultisetPropertyFactoryTest {
   @Test
   public void testAddAllIterable_duplicate() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTISET_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -211,7 +211,7 @@ public class MultisetPropertyFactoryTest {
   @Test
   public void testAddAllIterable_iteratesOnce() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTISET_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -243,7 +243,7 @@ public class MultisetPropertyFactoryTest {
   @Test
   public void testAddCopies() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTISET_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -260,7 +260,7 @@ public class MultisetPropertyFactoryTest {
   public void testAddCopies_null() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTISET_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -274,7 +274,7 @@ public class MultisetPropertyFactoryTest {
   public void testAddCopies_negativeOccurrences() {
     thrown.expect(IllegalArgumentException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTISET_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -287,7 +287,7 @@ public class MultisetPropertyFactoryTest {
   @Test
   public void testAddCopies_duplicate() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTISET_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -303,7 +303,7 @@ public class MultisetPropertyFactoryTest {
   @Test
   public void testSetCountOf() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTISET_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -320,7 +320,7 @@ public class MultisetPropertyFactoryTest {
   @Test
   public void testSetCountOf_toZero() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTISET_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -336,7 +336,7 @@ public class MultisetPropertyFactoryTest {
   @Test
   public void testClear() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTISET_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -352,7 +352,7 @@ public class MultisetPropertyFactoryTest {
   @Test
   public void testDefaultEmpty_primitive() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTISET_PRIMITIVES_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder().build();")
@@ -364,7 +364,7 @@ public class MultisetPropertyFactoryTest {
   @Test
   public void testAddSingleElement_primitive() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTISET_PRIMITIVES_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -380,7 +380,7 @@ public class MultisetPropertyFactoryTest {
   public void testAddSingleElement_null_primitive() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTISET_PRIMITIVES_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -393,7 +393,7 @@ public class MultisetPropertyFactoryTest {
   @Test
   public void testAddSingleElement_duplicate_primitive() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTISET_PRIMITIVES_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -408,7 +408,7 @@ public class MultisetPropertyFactoryTest {
   @Test
   public void testAddVarargs_primitive() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTISET_PRIMITIVES_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -422,7 +422,7 @@ public class MultisetPropertyFactoryTest {
   @Test
   public void testAddVarargs_null_primitive() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTISET_PRIMITIVES_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder().addItems(1, null);")
@@ -434,7 +434,7 @@ public class MultisetPropertyFactoryTest {
   @Test
   public void testAddVarargs_duplicate_primitive() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTISET_PRIMITIVES_TYPE)
         .with(new TestBuilder()
         .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -448,7 +448,7 @@ public class MultisetPropertyFactoryTest {
   @Test
   public void testAddAllIterable_primitive() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTISET_PRIMITIVES_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -463,7 +463,7 @@ public class MultisetPropertyFactoryTest {
   public void testAddAllIterable_null_primitive() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTISET_PRIMITIVES_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -475,7 +475,7 @@ public class MultisetPropertyFactoryTest {
   @Test
   public void testAddAllIterable_duplicate_primitive() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTISET_PRIMITIVES_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -489,7 +489,7 @@ public class MultisetPropertyFactoryTest {
   @Test
   public void testAddCopies_primitive() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTISET_PRIMITIVES_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -505,7 +505,7 @@ public class MultisetPropertyFactoryTest {
   public void testAddCopies_null_primitive() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTISET_PRIMITIVES_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -519,7 +519,7 @@ public class MultisetPropertyFactoryTest {
   public void testAddCopies_negativeOccurrences_primitive() {
     thrown.expect(IllegalArgumentException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTISET_PRIMITIVES_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -532,7 +532,7 @@ public class MultisetPropertyFactoryTest {
   @Test
   public void testAddCopies_duplicate_primitive() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTISET_PRIMITIVES_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -547,7 +547,7 @@ public class MultisetPropertyFactoryTest {
   @Test
   public void testSetCountOf_primitive() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTISET_PRIMITIVES_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -563,7 +563,7 @@ public class MultisetPropertyFactoryTest {
   @Test
   public void testSetCountOf_toZero_primitive() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTISET_PRIMITIVES_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -579,7 +579,7 @@ public class MultisetPropertyFactoryTest {
   @Test
   public void testClear_primitive() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTISET_PRIMITIVES_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -595,7 +595,7 @@ public class MultisetPropertyFactoryTest {
   @Test
   public void testGet_returnsLiveView() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTISET_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType.Builder builder = new com.example.DataType.Builder();")
@@ -611,11 +611,23 @@ public class MultisetPropertyFactoryTest {
         .runTest();
   }
 
+  @Test
+  public void testGet_returnsSameViewOnEachCall() {
+    behaviorTester
+        .with(new Processor(), "detected features")
+        .with(MULTISET_PROPERTY_TYPE)
+        .with(new TestBuilder()
+            .addLine("com.example.DataType.Builder builder = new com.example.DataType.Builder();")
+            .addLine("assertThat(builder.getItems()).isSameAs(builder.getItems());")
+            .build())
+        .runTest();
+  }
+
   @Test
   public void testGet_returnsUnmodifiableSet() {
     thrown.expect(UnsupportedOperationException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTISET_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType.Builder builder = new com.example.DataType.Builder();")
@@ -628,7 +640,7 @@ public class MultisetPropertyFactoryTest {
   @Test
   public void testMergeFrom_valueInstance() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTISET_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = com.example.DataType.builder()")
@@ -644,7 +656,7 @@ public class MultisetPropertyFactoryTest {
   @Test
   public void testMergeFrom_builder() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTISET_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType.Builder template = com.example.DataType.builder()")
@@ -659,7 +671,7 @@ public class MultisetPropertyFactoryTest {
   @Test
   public void testBuilderClear() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTISET_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -675,7 +687,7 @@ public class MultisetPropertyFactoryTest {
   @Test
   public void testBuilderClear_noBuilderFactory() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -702,7 +714,7 @@ public class MultisetPropertyFactoryTest {
   @Test
   public void testImmutableSetProperty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -728,7 +740,7 @@ public class MultisetPropertyFactoryTest {
   @Test
   public void testOverridingAdd() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -761,7 +773,7 @@ public class MultisetPropertyFactoryTest {
   @Test
   public void testOverridingAdd_primitive() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -794,7 +806,7 @@ public class MultisetPropertyFactoryTest {
   @Test
   public void testEquality() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTISET_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("new %s()", EqualsTester.class)
@@ -831,7 +843,7 @@ public class MultisetPropertyFactoryTest {
   public void testJacksonInteroperability() {
     // See also https://github.com/google/FreeBuilder/issues/68
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("import " + JsonProperty.class.getName() + ";")
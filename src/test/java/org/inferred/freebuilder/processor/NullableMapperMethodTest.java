@@ -49,7 +49,7 @@ public class NullableMapperMethodTest {
   @Test
   public void replacesValueToBeReturnedFromGetter() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(NULLABLE_INTEGER_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -66,7 +66,7 @@ public class NullableMapperMethodTest {
     thrown.expect(IllegalArgumentException.class);
     thrown.expectMessage("property must be non-negative");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -96,7 +96,7 @@ public class NullableMapperMethodTest {
   public void throwsNpeIfMapperIsNull() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(NULLABLE_INTEGER_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -110,7 +110,7 @@ public class NullableMapperMethodTest {
   public void throwsNpeIfMapperIsNullForUnsetNullableProperty() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(NULLABLE_INTEGER_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -122,7 +122,7 @@ public class NullableMapperMethodTest {
   @Test
   public void allowsNullReturn() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(NULLABLE_INTEGER_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -137,7 +137,7 @@ public class NullableMapperMethodTest {
   @Test
   public void skipsMapperIfNullablePropertyIsUnset() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(NULLABLE_INTEGER_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder().mapProperty(a -> {")
@@ -79,7 +79,7 @@ public class NullablePropertyTest {
   @Test
   public void testConstructor_defaultAbsent() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(NULLABLE_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder().build();")
@@ -91,7 +91,7 @@ public class NullablePropertyTest {
   @Test
   public void testConstructor_primitive_defaultAbsent() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(NULLABLE_INTEGER_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder().build();")
@@ -103,7 +103,7 @@ public class NullablePropertyTest {
   @Test
   public void testBuilderGetter_defaultValue() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(NULLABLE_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType.Builder builder = new com.example.DataType.Builder();")
@@ -115,7 +115,7 @@ public class NullablePropertyTest {
   @Test
   public void testBuilderGetter_nonDefaultValue() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(NULLABLE_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType.Builder builder = new com.example.DataType.Builder()")
@@ -128,7 +128,7 @@ public class NullablePropertyTest {
   @Test
   public void testSet_notNull() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(NULLABLE_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -142,7 +142,7 @@ public class NullablePropertyTest {
   @Test
   public void testSet_null() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(NULLABLE_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -156,7 +156,7 @@ public class NullablePropertyTest {
   @Test
   public void testSet_primitive_notNull() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(NULLABLE_INTEGER_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -170,7 +170,7 @@ public class NullablePropertyTest {
   @Test
   public void testSet_primitive_null() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(NULLABLE_INTEGER_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -184,7 +184,7 @@ public class NullablePropertyTest {
   @Test
   public void testMergeFrom_valueInstance() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(NULLABLE_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = com.example.DataType.builder()")
@@ -200,7 +200,7 @@ public class NullablePropertyTest {
   @Test
   public void testMergeFrom_builder() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(NULLABLE_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType.Builder template = com.example.DataType.builder()")
@@ -215,7 +215,7 @@ public class NullablePropertyTest {
   @Test
   public void testBuilderClear() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(NULLABLE_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -230,7 +230,7 @@ public class NullablePropertyTest {
   @Test
   public void testBuilderClear_customDefault() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -256,7 +256,7 @@ public class NullablePropertyTest {
   @Test
   public void testBuilderClear_noBuilderFactory() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -282,7 +282,7 @@ public class NullablePropertyTest {
   @Test
   public void testEquality() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(NULLABLE_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("new %s()", EqualsTester.class)
@@ -306,7 +306,7 @@ public class NullablePropertyTest {
   @Test
   public void testValueToString_singleField() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(NULLABLE_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType absent = com.example.DataType.builder()")
@@ -323,7 +323,7 @@ public class NullablePropertyTest {
   @Test
   public void testValueToString_twoFields() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(TWO_NULLABLE_PROPERTIES_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType aa = com.example.DataType.builder()")
@@ -349,7 +349,7 @@ public class NullablePropertyTest {
   @Test
   public void testPartialToString_singleField() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(NULLABLE_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType absent = com.example.DataType.builder()")
@@ -366,7 +366,7 @@ public class NullablePropertyTest {
   @Test
   public void testPartialToString_twoFields() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(TWO_NULLABLE_PROPERTIES_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType aa = com.example.DataType.builder()")
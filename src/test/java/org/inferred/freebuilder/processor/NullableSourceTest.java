@@ -184,7 +184,10 @@ public class NullableSourceTest {
         "",
         "    @Override",
         "    public int hashCode() {",
-        "      return Arrays.hashCode(new Object[] {name, age});",
+        "      int result = 1;",
+        "      result = 31 * result + (this.name == null ? 0 : this.name.hashCode());",
+        "      result = 31 * result + (this.age == null ? 0 : this.age.hashCode());",
+        "      return result;",
         "    }",
         "",
         "    @Override",
@@ -389,7 +392,10 @@ public class NullableSourceTest {
         "",
         "    @Override",
         "    public int hashCode() {",
-        "      return Objects.hash(name, age);",
+        "      int result = 1;",
+        "      result = 31 * result + (this.name == null ? 0 : this.name.hashCode());",
+        "      result = 31 * result + (this.age == null ? 0 : this.age.hashCode());",
+        "      return result;",
         "    }",
         "",
         "    @Override",
@@ -624,7 +630,10 @@ public class NullableSourceTest {
         "",
         "    @Override",
         "    public int hashCode() {",
-        "      return Objects.hash(name, age);",
+        "      int result = 1;",
+        "      result = 31 * result + (this.name == null ? 0 : this.name.hashCode());",
+        "      result = 31 * result + (this.age == null ? 0 : this.age.hashCode());",
+        "      return result;",
         "    }",
         "",
         "    @Override",
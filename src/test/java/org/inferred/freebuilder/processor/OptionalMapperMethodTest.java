@@ -58,7 +58,7 @@ public class OptionalMapperMethodTest {
   @Test
   public void mapReplacesValueToBeReturnedFromGetterForJ8OptionalProperty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(J8_OPTIONAL_INTEGER_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -73,7 +73,7 @@ public class OptionalMapperMethodTest {
   @Test
   public void mapReplacesValueToBeReturnedFromGetterForGuavaOptionalProperty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(GUAVA_OPTIONAL_INTEGER_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -90,7 +90,7 @@ public class OptionalMapperMethodTest {
     thrown.expect(IllegalArgumentException.class);
     thrown.expectMessage("property must be non-negative");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -119,7 +119,7 @@ public class OptionalMapperMethodTest {
     thrown.expect(IllegalArgumentException.class);
     thrown.expectMessage("property must be non-negative");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -147,7 +147,7 @@ public class OptionalMapperMethodTest {
   public void mapThrowsNpeIfMapperIsNullForJ8OptionalProperty() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(J8_OPTIONAL_INTEGER_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -161,7 +161,7 @@ public class OptionalMapperMethodTest {
   public void mapThrowsNpeIfMapperIsNullForGuavaOptionalProperty() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(GUAVA_OPTIONAL_INTEGER_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -175,7 +175,7 @@ public class OptionalMapperMethodTest {
   public void mapThrowsNpeIfMapperIsNullForEmptyJ8OptionalProperty() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(J8_OPTIONAL_INTEGER_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -188,7 +188,7 @@ public class OptionalMapperMethodTest {
   public void mapThrowsNpeIfMapperIsNullForAbsentGuavaOptionalProperty() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(GUAVA_OPTIONAL_INTEGER_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -200,7 +200,7 @@ public class OptionalMapperMethodTest {
   @Test
   public void mapAllowsNullReturnForJ8OptionalProperty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(J8_OPTIONAL_INTEGER_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -215,7 +215,7 @@ public class OptionalMapperMethodTest {
   @Test
   public void mapAllowsNullReturnForGuavaOptionalProperty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(GUAVA_OPTIONAL_INTEGER_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -230,7 +230,7 @@ public class OptionalMapperMethodTest {
   @Test
   public void mapSkipsMapperIfJ8OptionalPropertyIsEmpty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(J8_OPTIONAL_INTEGER_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -244,7 +244,7 @@ public class OptionalMapperMethodTest {
   @Test
   public void mapSkipsMapperIfGuavaOptionalPropertyIsAbsent() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(GUAVA_OPTIONAL_INTEGER_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
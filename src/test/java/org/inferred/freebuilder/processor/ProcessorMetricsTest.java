@@ -0,0 +1,91 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.processor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+
+import org.inferred.freebuilder.processor.PhaseListener.Phase;
+import org.inferred.freebuilder.processor.util.feature.ProcessorOptions;
+import org.inferred.freebuilder.processor.util.testing.ModelRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Collections;
+
+import javax.lang.model.element.TypeElement;
+
+/** Tests for {@link ProcessorMetrics}. */
+@RunWith(JUnit4.class)
+public class ProcessorMetricsTest {
+
+  @Rule public final ModelRule model = new ModelRule();
+  private final ProcessorMetrics metrics = new ProcessorMetrics();
+
+  @Test
+  public void testIsRequested() {
+    assertFalse(ProcessorOptions.NONE.get(ProcessorMetrics.METRICS));
+    assertTrue(new ProcessorOptions(
+        Collections.<String, String>singletonMap("freebuilder.metrics", null))
+        .get(ProcessorMetrics.METRICS));
+    assertTrue(new ProcessorOptions(ImmutableMap.of("freebuilder.metrics", "TRUE"))
+        .get(ProcessorMetrics.METRICS));
+    assertFalse(new ProcessorOptions(ImmutableMap.of("freebuilder.metrics", "false"))
+        .get(ProcessorMetrics.METRICS));
+  }
+
+  @Test
+  public void testReport() throws IOException {
+    TypeElement fast = model.newType("package com.example; public class Fast { }");
+    TypeElement slow = model.newType("package com.example; public class Slow { }");
+    metrics.phaseFinished(fast, Phase.ANALYSE, 1000000, 100);
+    metrics.phaseFinished(fast, Phase.FIND_METHODS, 500000, 50);
+    metrics.phaseFinished(slow, Phase.ANALYSE, 3000000, -1);
+    metrics.phaseFinished(slow, Phase.GENERATE, 4000000, -1);
+    metrics.phaseFinished(fast, Phase.WRITE, 2000000, 200);
+
+    StringWriter csv = new StringWriter();
+    metrics.writeCsv(csv);
+
+    assertEquals(
+        "type,phase,nanos,allocated_bytes\n"
+            + "com.example.Fast,analyse,1000000,100\n"
+            + "com.example.Fast,find_methods,500000,50\n"
+            + "com.example.Fast,introspect,0,\n"
+            + "com.example.Fast,generate,0,\n"
+            + "com.example.Fast,format,0,\n"
+            + "com.example.Fast,write,2000000,200\n"
+            + "com.example.Slow,analyse,3000000,\n"
+            + "com.example.Slow,find_methods,0,\n"
+            + "com.example.Slow,introspect,0,\n"
+            + "com.example.Slow,generate,4000000,\n"
+            + "com.example.Slow,format,0,\n"
+            + "com.example.Slow,write,0,\n",
+        csv.toString());
+    assertEquals(
+        "FreeBuilder processed 2 types in 10 ms. Slowest:\n"
+            + "  com.example.Slow (7 ms)\n"
+            + "  com.example.Fast (3 ms)",
+        metrics.summary());
+  }
+}
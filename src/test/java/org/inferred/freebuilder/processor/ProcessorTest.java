@@ -15,7 +15,11 @@
  */
 package org.inferred.freebuilder.processor;
 
+import static com.google.common.truth.Truth.assertThat;
+
 import com.google.common.annotations.GwtCompatible;
+import com.google.common.base.Charsets;
+import com.google.common.io.Resources;
 import com.google.common.testing.EqualsTester;
 import com.google.gwt.user.client.rpc.SerializationException;
 import com.google.gwt.user.server.rpc.RPC;
@@ -24,6 +28,8 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import org.inferred.freebuilder.FreeBuilder;
+import org.inferred.freebuilder.processor.util.feature.SourceFormatting;
+import org.inferred.freebuilder.processor.util.feature.StaticFeatureSet;
 import org.inferred.freebuilder.processor.util.testing.BehaviorTester;
 import org.inferred.freebuilder.processor.util.testing.SourceBuilder;
 import org.inferred.freebuilder.processor.util.testing.TestBuilder;
@@ -41,6 +47,8 @@ import java.io.ObjectOutputStream;
 import java.io.ObjectStreamClass;
 import java.io.Serializable;
 import java.lang.reflect.Method;
+import java.net.URL;
+import java.util.Arrays;
 import java.util.List;
 
 import javax.tools.JavaFileObject;
@@ -104,7 +112,7 @@ public class ProcessorTest {
   @Test
   public void testAbstractClass() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(TWO_PROPERTY_FREE_BUILDER_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = com.example.DataType.builder()")
@@ -120,7 +128,7 @@ public class ProcessorTest {
   @Test
   public void testInterface() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(TWO_PROPERTY_FREE_BUILDER_INTERFACE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -133,10 +141,56 @@ public class ProcessorTest {
         .runTest();
   }
 
+  @Test
+  public void testFastEmit() {
+    behaviorTester
+        .with(new Processor(new StaticFeatureSet(SourceFormatting.FAST_WITHOUT_JAVADOC)))
+        .with(TWO_PROPERTY_FREE_BUILDER_TYPE)
+        .with(new TestBuilder()
+            .addLine("com.example.DataType value = com.example.DataType.builder()")
+            .addLine("    .setPropertyA(11)")
+            .addLine("    .setPropertyB(true)")
+            .addLine("    .build();")
+            .addLine("assertEquals(11, value.getPropertyA());")
+            .addLine("assertTrue(value.isPropertyB());")
+            .build())
+        .runTest();
+  }
+
+  @Test
+  public void testManyTypesInOneRound() {
+    behaviorTester.with(new Processor());
+    TestBuilder testBuilder = new TestBuilder();
+    for (int i = 0; i < 10; ++i) {
+      behaviorTester.with(new SourceBuilder()
+          .addLine("package com.example;")
+          .addLine("@%s", FreeBuilder.class)
+          .addLine("public interface DataType%s {", i)
+          .addLine("  int getProperty();")
+          .addLine("")
+          .addLine("  class Builder extends DataType%s_Builder {}", i)
+          .addLine("}")
+          .build());
+      testBuilder
+          .addLine("assertEquals(%1$s, new com.example.DataType%1$s.Builder()", i)
+          .addLine("    .setProperty(%s).build().getProperty());", i);
+    }
+    behaviorTester.with(testBuilder.build()).runTest();
+  }
+
+  @Test
+  public void testRegisteredAsIsolatingIncrementalProcessor() throws IOException {
+    URL registration = Processor.class.getClassLoader()
+        .getResource("META-INF/gradle/incremental.annotation.processors");
+    assertThat(registration).isNotNull();
+    assertThat(Resources.readLines(registration, Charsets.UTF_8))
+        .containsExactly(Processor.class.getName() + ",isolating");
+  }
+
   @Test
   public void test_nullPointerException() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(STRING_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("try {")
@@ -150,7 +204,7 @@ public class ProcessorTest {
   @Test
   public void testBuilderSerializability_nonSerializableSubclass() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(TWO_PROPERTY_FREE_BUILDER_TYPE)
         .with(new TestBuilder()
             .addLine("assertFalse(com.example.DataType.builder() instanceof %s);",
@@ -162,7 +216,7 @@ public class ProcessorTest {
   @Test
   public void testBuilderSerializability_serializableSubclass() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -190,7 +244,7 @@ public class ProcessorTest {
   @Test
   public void testFrom() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(TWO_PROPERTY_FREE_BUILDER_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = com.example.DataType.builder()")
@@ -210,7 +264,7 @@ public class ProcessorTest {
     thrown.expect(IllegalStateException.class);
     thrown.expectMessage("Not set: [propertyA, propertyB]");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -238,7 +292,7 @@ public class ProcessorTest {
     thrown.expect(IllegalStateException.class);
     thrown.expectMessage("Not set: [propertyA, propertyB]");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -268,7 +322,7 @@ public class ProcessorTest {
     thrown.expect(IllegalStateException.class);
     thrown.expectMessage("Not set: [propertyA, propertyB]");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -301,7 +355,7 @@ public class ProcessorTest {
     thrown.expect(IllegalStateException.class);
     thrown.expectMessage("Not set: [propertyA, propertyB]");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -332,7 +386,7 @@ public class ProcessorTest {
   @Test
   public void testClear_noBuilderFactory() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -361,7 +415,7 @@ public class ProcessorTest {
   @Test
   public void testPropertyNamedTemplate() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -377,7 +431,7 @@ public class ProcessorTest {
   @Test
   public void testBuilderGetters() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(TWO_PROPERTY_FREE_BUILDER_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType.Builder builder = com.example.DataType.builder()")
@@ -392,7 +446,7 @@ public class ProcessorTest {
   @Test
   public void testEquality() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(TWO_PROPERTY_FREE_BUILDER_TYPE)
         .with(new TestBuilder()
             .addLine("new %s()", EqualsTester.class)
@@ -454,7 +508,7 @@ public class ProcessorTest {
   @Test
   public void testDoubleEquality() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -507,7 +561,7 @@ public class ProcessorTest {
   @Test
   public void testToString_noProperties() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -528,7 +582,7 @@ public class ProcessorTest {
   @Test
   public void testToString_oneProperty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(STRING_PROPERTY_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = com.example.DataType.builder()")
@@ -542,7 +596,7 @@ public class ProcessorTest {
   @Test
   public void testToString_twoPrimitiveProperties() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(TWO_PROPERTY_FREE_BUILDER_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = com.example.DataType.builder()")
@@ -557,7 +611,7 @@ public class ProcessorTest {
   @Test
   public void testGwtSerialize_twoStringProperties() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -583,7 +637,7 @@ public class ProcessorTest {
   @Test
   public void testGwtSerialize_twoPrimitiveProperties() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -609,7 +663,7 @@ public class ProcessorTest {
   @Test
   public void testGwtSerialize_stringListProperty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -673,7 +727,7 @@ public class ProcessorTest {
   @Test
   public void testUnderriding_hashCodeAndEquals() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -729,7 +783,7 @@ public class ProcessorTest {
   @Test
   public void testUnderriding_toString() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -762,7 +816,7 @@ public class ProcessorTest {
   @Test
   public void testUnderriding_finalHashCodeEqualsAndToString() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -790,7 +844,7 @@ public class ProcessorTest {
   @Test
   public void testUnderriding_finalHashCodeAndEquals() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -828,7 +882,7 @@ public class ProcessorTest {
   @Test
   public void testUnderriding_finalToString() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -859,10 +913,67 @@ public class ProcessorTest {
         .runTest();
   }
 
+  @Test
+  public void testHashCode_referencePropertyNamedResult() {
+    behaviorTester
+        .with(new Processor(), "detected features")
+        .with(new SourceBuilder()
+            .addLine("package com.example;")
+            .addLine("@%s", FreeBuilder.class)
+            .addLine("public interface DataType {")
+            .addLine("  String getName();")
+            .addLine("  String getResult();")
+            .addLine("")
+            .addLine("  public static class Builder extends DataType_Builder {}")
+            .addLine("}")
+            .build())
+        .with(new TestBuilder()
+            .addLine("com.example.DataType value = new com.example.DataType.Builder()")
+            .addLine("    .setName(\"Bill\")")
+            .addLine("    .setResult(\"pass\")")
+            .addLine("    .build();")
+            .addLine("assertEquals(%s.hashCode(new Object[] { \"Bill\", \"pass\" }),",
+                Arrays.class)
+            .addLine("    value.hashCode());")
+            .build())
+        .runTest();
+  }
+
+  @Test
+  public void testHashCode_primitivePropertyNamedResult() {
+    behaviorTester
+        .with(new Processor(), "detected features")
+        .with(new SourceBuilder()
+            .addLine("package com.example;")
+            .addLine("@%s", FreeBuilder.class)
+            .addLine("public interface DataType {")
+            .addLine("  String getName();")
+            .addLine("  int getResult();")
+            .addLine("")
+            .addLine("  public static class Builder extends DataType_Builder {}")
+            .addLine("}")
+            .build())
+        .with(new TestBuilder()
+            .addLine("com.example.DataType one = new com.example.DataType.Builder()")
+            .addLine("    .setName(\"Bill\")")
+            .addLine("    .setResult(1)")
+            .addLine("    .build();")
+            .addLine("com.example.DataType two = new com.example.DataType.Builder()")
+            .addLine("    .setName(\"Bill\")")
+            .addLine("    .setResult(2)")
+            .addLine("    .build();")
+            .addLine("assertEquals(%s.hashCode(new Object[] { \"Bill\", 1 }), one.hashCode());",
+                Arrays.class)
+            .addLine("assertEquals(%s.hashCode(new Object[] { \"Bill\", 2 }), two.hashCode());",
+                Arrays.class)
+            .build())
+        .runTest();
+  }
+
   @Test
   public void testSiblingNameClashes() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("/** Block import of java.lang.String. #evil */")
@@ -889,7 +1000,7 @@ public class ProcessorTest {
   @Test
   public void testNestedNameClashes() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("/** Clashes with the inner type generated by FreeBuilder. */")
@@ -917,7 +1028,7 @@ public class ProcessorTest {
   @Test
   public void testBuilderClassIsEmpty_whenNotSubclassed() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(NO_BUILDER_CLASS)
         .with(new TestBuilder()
             .addLine("Class<?> builderClass = Class.forName(\"com.example.DataType_Builder\");")
@@ -931,7 +1042,7 @@ public class ProcessorTest {
   public void testNestedClassHidingType() {
     // See also https://github.com/google/FreeBuilder/issues/61
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -958,7 +1069,7 @@ public class ProcessorTest {
   public void testJacksonInteroperability() {
     // See also https://github.com/google/FreeBuilder/issues/68
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.processor;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Answers.RETURNS_SMART_NULLS;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.io.Files;
+
+import org.inferred.freebuilder.processor.Metadata.Property;
+import org.inferred.freebuilder.processor.PropertyCodeGenerator.Config;
+import org.inferred.freebuilder.processor.PropertyCodeGenerator.Factory;
+import org.inferred.freebuilder.processor.PropertyCodeGenerator.TypeSpecificFactory;
+import org.inferred.freebuilder.processor.util.QualifiedName;
+import org.inferred.freebuilder.processor.util.testing.ModelRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Set;
+
+import javax.lang.model.type.TypeMirror;
+
+/** Tests for {@link PropertyFactoryRegistry}. */
+@RunWith(MockitoJUnitRunner.class)
+public class PropertyFactoryRegistryTest {
+
+  @Rule public final ModelRule model = new ModelRule();
+  @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+  @Mock(answer = RETURNS_SMART_NULLS) private Config config;
+  @Mock private PropertyCodeGenerator codeGenerator;
+
+  @Test
+  public void testBuiltInFactoryChosenByErasedType() {
+    setPropertyType(model.typeMirror("java.util.Set<%1>", model.typeMirror(String.class)));
+
+    PropertyCodeGenerator result = PropertyFactoryRegistry.BUILT_IN.createCodeGenerator(config);
+
+    assertThat(result).isInstanceOf(SetPropertyFactory.CodeGenerator.class);
+  }
+
+  @Test
+  public void testDefaultFactoryUsedForOtherTypes() {
+    setPropertyType(model.typeMirror(int.class));
+
+    PropertyCodeGenerator result = PropertyFactoryRegistry.BUILT_IN.createCodeGenerator(config);
+
+    assertThat(result).isInstanceOf(DefaultPropertyFactory.CodeGenerator.class);
+  }
+
+  @Test
+  public void testTypeSpecificExtension() {
+    model.newType(
+        "package com.example.fastutil;",
+        "public interface IntList extends java.util.List<Integer> { }");
+    TypeSpecificFactory factory =
+        typeSpecificFactory(QualifiedName.of("com.example.fastutil", "IntList"));
+    PropertyFactoryRegistry registry = new PropertyFactoryRegistry(ImmutableList.of(factory));
+    setPropertyType(model.typeMirror("com.example.fastutil.IntList"));
+
+    assertSame(codeGenerator, registry.createCodeGenerator(config));
+  }
+
+  @Test
+  public void testTypeSpecificExtensionOnlyOfferedItsTypes() {
+    TypeSpecificFactory factory = typeSpecificFactory(QualifiedName.of("com.example", "IntList"));
+    PropertyFactoryRegistry registry = new PropertyFactoryRegistry(ImmutableList.of(factory));
+    setPropertyType(model.typeMirror("java.util.List<%1>", model.typeMirror(String.class)));
+
+    PropertyCodeGenerator result = registry.createCodeGenerator(config);
+
+    assertThat(result).isInstanceOf(ListPropertyFactory.CodeGenerator.class);
+    verify(factory, never()).create(any(Config.class));
+  }
+
+  @Test
+  public void testTypeSpecificExtensionOverridesBuiltInFactory() {
+    TypeSpecificFactory factory = typeSpecificFactory(QualifiedName.of(Set.class));
+    PropertyFactoryRegistry registry = new PropertyFactoryRegistry(ImmutableList.of(factory));
+    setPropertyType(model.typeMirror("java.util.Set<%1>", model.typeMirror(String.class)));
+
+    assertSame(codeGenerator, registry.createCodeGenerator(config));
+  }
+
+  @Test
+  public void testUnsupportedPropertyFallsBackToBuiltInFactory() {
+    TypeSpecificFactory factory = mock(TypeSpecificFactory.class);
+    when(factory.getSupportedTypes()).thenReturn(ImmutableSet.of(QualifiedName.of(Set.class)));
+    doReturn(Optional.absent()).when(factory).create(config);
+    PropertyFactoryRegistry registry = new PropertyFactoryRegistry(ImmutableList.of(factory));
+    setPropertyType(model.typeMirror("java.util.Set<%1>", model.typeMirror(String.class)));
+
+    PropertyCodeGenerator result = registry.createCodeGenerator(config);
+
+    assertThat(result).isInstanceOf(SetPropertyFactory.CodeGenerator.class);
+  }
+
+  @Test
+  public void testGeneralExtension() {
+    Factory factory = mock(Factory.class);
+    doReturn(Optional.of(codeGenerator)).when(factory).create(config);
+    PropertyFactoryRegistry registry = new PropertyFactoryRegistry(ImmutableList.of(factory));
+    setPropertyType(model.typeMirror(int.class));
+
+    assertSame(codeGenerator, registry.createCodeGenerator(config));
+  }
+
+  @Test
+  public void testLoadsServiceProviders() throws IOException {
+    File services =
+        new File(temporaryFolder.getRoot(), "META-INF/services/" + Factory.class.getName());
+    services.getParentFile().mkdirs();
+    Files.write(StringFactory.class.getName() + "\n", services, Charsets.UTF_8);
+    ClassLoader classLoader = new URLClassLoader(
+        new URL[] { temporaryFolder.getRoot().toURI().toURL() }, getClass().getClassLoader());
+    setPropertyType(model.typeMirror(String.class));
+
+    PropertyFactoryRegistry registry = PropertyFactoryRegistry.load(classLoader);
+
+    assertThat(registry.createCodeGenerator(config).getType())
+        .isEqualTo(PropertyCodeGenerator.Type.HAS_DEFAULT);
+    assertThat(PropertyFactoryRegistry.BUILT_IN.createCodeGenerator(config).getType())
+        .isEqualTo(PropertyCodeGenerator.Type.REQUIRED);
+  }
+
+  @Test
+  public void testLoadWithoutServiceProviders() {
+    assertSame(
+        PropertyFactoryRegistry.BUILT_IN,
+        PropertyFactoryRegistry.load(getClass().getClassLoader()));
+  }
+
+  /** Gives {@link String} properties a default; registered as a service provider in tests. */
+  public static class StringFactory implements TypeSpecificFactory {
+    @Override
+    public Set<QualifiedName> getSupportedTypes() {
+      return ImmutableSet.of(QualifiedName.of(String.class));
+    }
+
+    @Override
+    public Optional<? extends PropertyCodeGenerator> create(Config config) {
+      return Optional.of(new DefaultPropertyFactory.CodeGenerator(
+          config.getMetadata(), config.getProperty(), true));
+    }
+  }
+
+  private TypeSpecificFactory typeSpecificFactory(QualifiedName type) {
+    TypeSpecificFactory factory = mock(TypeSpecificFactory.class);
+    when(factory.getSupportedTypes()).thenReturn(ImmutableSet.of(type));
+    doReturn(Optional.of(codeGenerator)).when(factory).create(config);
+    return factory;
+  }
+
+  private void setPropertyType(TypeMirror type) {
+    when(config.getProperty()).thenReturn(new Property.Builder()
+        .setType(type)
+        .setName("name")
+        .setCapitalizedName("Name")
+        .buildPartial());
+    when(config.getElements()).thenReturn(model.elementUtils());
+    when(config.getTypes()).thenReturn(model.typeUtils());
+    when(config.getBuilder()).thenReturn(model.newType(
+        "package com.example;",
+        "public class Builder { }"));
+  }
+}
@@ -183,8 +183,7 @@ public class RequiredPropertiesSourceTest {
         "   * @throws IllegalStateException if any field has not been set",
         "   */",
         "  public Person build() {",
-        "    Preconditions.checkState(_unsetProperties.isEmpty(),"
-            + " \"Not set: %s\", _unsetProperties);",
+        "    checkState(_unsetProperties.isEmpty(), \"Not set: %s\", _unsetProperties);",
         "    return new Person_Builder.Value(this);",
         "  }",
         "",
@@ -238,7 +237,10 @@ public class RequiredPropertiesSourceTest {
         "",
         "    @Override",
         "    public int hashCode() {",
-        "      return Arrays.hashCode(new Object[] {name, age});",
+        "      int result = 1;",
+        "      result = 31 * result + this.name.hashCode();",
+        "      result = 31 * result + this.age;",
+        "      return result;",
         "    }",
         "",
         "    @Override",
@@ -305,6 +307,12 @@ public class RequiredPropertiesSourceTest {
         "          + \"}\";",
         "    }",
         "  }",
+        "",
+        "  private static void checkState(boolean expression, String template, Object arg1) {",
+        "    if (!expression) {",
+        "      Preconditions.checkState(false, template, arg1);",
+        "    }",
+        "  }",
         "}\n"));
   }
 
@@ -452,8 +460,7 @@ public class RequiredPropertiesSourceTest {
         "   * @throws IllegalStateException if any field has not been set",
         "   */",
         "  public Person build() {",
-        "    Preconditions.checkState(_unsetProperties.isEmpty(),"
-            + " \"Not set: %s\", _unsetProperties);",
+        "    checkState(_unsetProperties.isEmpty(), \"Not set: %s\", _unsetProperties);",
         "    return new Person_Builder.Value(this);",
         "  }",
         "",
@@ -501,7 +508,10 @@ public class RequiredPropertiesSourceTest {
         "",
         "    @Override",
         "    public int hashCode() {",
-        "      return Objects.hash(name, age);",
+        "      int result = 1;",
+        "      result = 31 * result + this.name.hashCode();",
+        "      result = 31 * result + this.age;",
+        "      return result;",
         "    }",
         "",
         "    @Override",
@@ -564,6 +574,12 @@ public class RequiredPropertiesSourceTest {
         "          + \"}\";",
         "    }",
         "  }",
+        "",
+        "  private static void checkState(boolean expression, String template, Object arg1) {",
+        "    if (!expression) {",
+        "      Preconditions.checkState(false, template, arg1);",
+        "    }",
+        "  }",
         "}\n"));
   }
 
@@ -713,9 +729,7 @@ public class RequiredPropertiesSourceTest {
         "   * @throws IllegalStateException if any field has not been set",
         "   */",
         "  public Person build() {",
-        "    if (!_unsetProperties.isEmpty()) {",
-        "      throw new IllegalStateException(\"Not set: \" + _unsetProperties);",
-        "    }",
+        "    checkState(_unsetProperties.isEmpty(), \"Not set: %s\", _unsetProperties);",
         "    return new Person_Builder.Value(this);",
         "  }",
         "",
@@ -768,7 +782,10 @@ public class RequiredPropertiesSourceTest {
         "",
         "    @Override",
         "    public int hashCode() {",
-        "      return Arrays.hashCode(new Object[] {name, age});",
+        "      int result = 1;",
+        "      result = 31 * result + this.name.hashCode();",
+        "      result = 31 * result + this.age;",
+        "      return result;",
         "    }",
         "",
         "    @Override",
@@ -840,6 +857,35 @@ public class RequiredPropertiesSourceTest {
         "      return result.toString();",
         "    }",
         "  }",
+        "",
+        "  private static void checkState(boolean expression, String template, Object arg1) {",
+        "    if (!expression) {",
+        "      throw new IllegalStateException(formatMessage(template, arg1));",
+        "    }",
+        "  }",
+        "",
+        "  private static String formatMessage(String template, Object... args) {",
+        "    StringBuilder message = new StringBuilder(template.length() + 16 * args.length);",
+        "    int templateStart = 0;",
+        "    int i = 0;",
+        "    while (i < args.length) {",
+        "      int placeholderStart = template.indexOf(\"%s\", templateStart);",
+        "      if (placeholderStart == -1) {",
+        "        break;",
+        "      }",
+        "      message.append(template, templateStart, placeholderStart).append(args[i++]);",
+        "      templateStart = placeholderStart + 2;",
+        "    }",
+        "    message.append(template, templateStart, template.length());",
+        "    if (i < args.length) {",
+        "      message.append(\" [\").append(args[i++]);",
+        "      while (i < args.length) {",
+        "        message.append(\", \").append(args[i++]);",
+        "      }",
+        "      message.append(']');",
+        "    }",
+        "    return message.toString();",
+        "  }",
         "}\n"));
   }
 
@@ -986,9 +1032,7 @@ public class RequiredPropertiesSourceTest {
         "   * @throws IllegalStateException if any field has not been set",
         "   */",
         "  public Person build() {",
-        "    if (!_unsetProperties.isEmpty()) {",
-        "      throw new IllegalStateException(\"Not set: \" + _unsetProperties);",
-        "    }",
+        "    checkState(_unsetProperties.isEmpty(), \"Not set: %s\", _unsetProperties);",
         "    return new Person_Builder.Value(this);",
         "  }",
         "",
@@ -1035,7 +1079,10 @@ public class RequiredPropertiesSourceTest {
         "",
         "    @Override",
         "    public int hashCode() {",
-        "      return Objects.hash(name, age);",
+        "      int result = 1;",
+        "      result = 31 * result + this.name.hashCode();",
+        "      result = 31 * result + this.age;",
+        "      return result;",
         "    }",
         "",
         "    @Override",
@@ -1103,6 +1150,35 @@ public class RequiredPropertiesSourceTest {
         "      return result.toString();",
         "    }",
         "  }",
+        "",
+        "  private static void checkState(boolean expression, String template, Object arg1) {",
+        "    if (!expression) {",
+        "      throw new IllegalStateException(formatMessage(template, arg1));",
+        "    }",
+        "  }",
+        "",
+        "  private static String formatMessage(String template, Object... args) {",
+        "    StringBuilder message = new StringBuilder(template.length() + 16 * args.length);",
+        "    int templateStart = 0;",
+        "    int i = 0;",
+        "    while (i < args.length) {",
+        "      int placeholderStart = template.indexOf(\"%s\", templateStart);",
+        "      if (placeholderStart == -1) {",
+        "        break;",
+        "      }",
+        "      message.append(template, templateStart, placeholderStart).append(args[i++]);",
+        "      templateStart = placeholderStart + 2;",
+        "    }",
+        "    message.append(template, templateStart, template.length());",
+        "    if (i < args.length) {",
+        "      message.append(\" [\").append(args[i++]);",
+        "      while (i < args.length) {",
+        "        message.append(\", \").append(args[i++]);",
+        "      }",
+        "      message.append(']');",
+        "    }",
+        "    return message.toString();",
+        "  }",
         "}\n"));
   }
 
@@ -1280,8 +1356,7 @@ public class RequiredPropertiesSourceTest {
         "   * @throws IllegalStateException if any field has not been set",
         "   */",
         "  public Person build() {",
-        "    Preconditions.checkState(_unsetProperties.isEmpty(),"
-            + " \"Not set: %s\", _unsetProperties);",
+        "    checkState(_unsetProperties.isEmpty(), \"Not set: %s\", _unsetProperties);",
         "    return new Person_Builder.Value(this);",
         "  }",
         "",
@@ -1329,7 +1404,10 @@ public class RequiredPropertiesSourceTest {
         "",
         "    @Override",
         "    public int hashCode() {",
-        "      return Objects.hash(name, age);",
+        "      int result = 1;",
+        "      result = 31 * result + this.name.hashCode();",
+        "      result = 31 * result + this.age;",
+        "      return result;",
         "    }",
         "",
         "    @Override",
@@ -1392,6 +1470,12 @@ public class RequiredPropertiesSourceTest {
         "          + \"}\";",
         "    }",
         "  }",
+        "",
+        "  private static void checkState(boolean expression, String template, Object arg1) {",
+        "    if (!expression) {",
+        "      Preconditions.checkState(false, template, arg1);",
+        "    }",
+        "  }",
         "}\n"));
   }
 
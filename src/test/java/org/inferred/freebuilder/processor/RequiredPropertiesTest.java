@@ -16,6 +16,7 @@
 package org.inferred.freebuilder.processor;
 
 import org.inferred.freebuilder.FreeBuilder;
+import org.inferred.freebuilder.processor.util.feature.StaticFeatureSet;
 import org.inferred.freebuilder.processor.util.testing.BehaviorTester;
 import org.inferred.freebuilder.processor.util.testing.SourceBuilder;
 import org.inferred.freebuilder.processor.util.testing.TestBuilder;
@@ -68,7 +69,22 @@ public class RequiredPropertiesTest {
     thrown.expect(IllegalStateException.class);
     thrown.expectMessage("Not set: [propertyB]");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
+        .with(REQUIRED_PROPERTIES_TYPE)
+        .with(testBuilder()
+            .addLine("new DataType.Builder()")
+            .addLine("    .setPropertyA(11)")
+            .addLine("    .build();")
+            .build())
+        .runTest();
+  }
+
+  @Test
+  public void testCantBuildWithAnUnsetProperty_withoutGuava() {
+    thrown.expect(IllegalStateException.class);
+    thrown.expectMessage("Not set: [propertyB]");
+    behaviorTester
+        .with(new Processor(new StaticFeatureSet()))
         .with(REQUIRED_PROPERTIES_TYPE)
         .with(testBuilder()
             .addLine("new DataType.Builder()")
@@ -83,7 +99,7 @@ public class RequiredPropertiesTest {
     thrown.expect(IllegalStateException.class);
     thrown.expectMessage("Not set: [propertyB, propertyD]");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -111,7 +127,7 @@ public class RequiredPropertiesTest {
   @Test
   public void testMergeFrom_valueInstance() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(REQUIRED_PROPERTIES_TYPE)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -129,7 +145,7 @@ public class RequiredPropertiesTest {
   @Test
   public void testMergeFrom_builder() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(REQUIRED_PROPERTIES_TYPE)
         .with(testBuilder()
             .addLine("DataType.Builder template = new DataType.Builder()")
@@ -146,7 +162,7 @@ public class RequiredPropertiesTest {
   @Test
   public void testMergeFrom_builderIgnoresUnsetField() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(REQUIRED_PROPERTIES_TYPE)
         .with(testBuilder()
             .addLine("DataType.Builder template = new DataType.Builder()")
@@ -161,7 +177,7 @@ public class RequiredPropertiesTest {
   @Test
   public void testMergeFrom_noTemplate() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(REQUIRED_PROPERTIES_TYPE_NO_TEMPLATE)
         .with(testBuilder()
             .addImport(Optional.class)
@@ -180,7 +196,7 @@ public class RequiredPropertiesTest {
     thrown.expect(IllegalStateException.class);
     thrown.expectMessage("propertyB not set");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(REQUIRED_PROPERTIES_TYPE)
         .with(testBuilder()
             .addLine("DataType.Builder template = new DataType.Builder()")
@@ -195,7 +211,7 @@ public class RequiredPropertiesTest {
   @Test
   public void testBuildPartial_ignoresUnsetField() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(REQUIRED_PROPERTIES_TYPE)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -211,7 +227,7 @@ public class RequiredPropertiesTest {
     thrown.expect(UnsupportedOperationException.class);
     thrown.expectMessage("propertyB not set");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(REQUIRED_PROPERTIES_TYPE)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -225,7 +241,7 @@ public class RequiredPropertiesTest {
   @Test
   public void testBuildPartial_toString() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(REQUIRED_PROPERTIES_TYPE)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -239,7 +255,7 @@ public class RequiredPropertiesTest {
   @Test
   public void testBuildPartial_toString_twoPrimitiveProperties() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(REQUIRED_PROPERTIES_TYPE)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -257,7 +273,7 @@ public class RequiredPropertiesTest {
     thrown.expect(IllegalStateException.class);
     thrown.expectMessage("Not set: [propertyA, propertyB]");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(REQUIRED_PROPERTIES_TYPE)
         .with(testBuilder()
             .addLine("new DataType.Builder()")
@@ -274,7 +290,7 @@ public class RequiredPropertiesTest {
     thrown.expect(IllegalStateException.class);
     thrown.expectMessage("propertyB not set");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(REQUIRED_PROPERTIES_TYPE)
         .with(testBuilder()
             .addLine("new DataType.Builder()")
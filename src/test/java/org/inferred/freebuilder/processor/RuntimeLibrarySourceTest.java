@@ -0,0 +1,154 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.processor;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.inferred.freebuilder.processor.GenericTypeElementImpl.newTopLevelGenericType;
+import static org.inferred.freebuilder.processor.util.ClassTypeImpl.newTopLevelClass;
+import static org.inferred.freebuilder.processor.util.feature.SourceLevel.JAVA_7;
+
+import com.google.common.base.Optional;
+
+import org.inferred.freebuilder.processor.GenericTypeElementImpl.GenericTypeMirrorImpl;
+import org.inferred.freebuilder.processor.Metadata.Property;
+import org.inferred.freebuilder.processor.util.ClassTypeImpl;
+import org.inferred.freebuilder.processor.util.QualifiedName;
+import org.inferred.freebuilder.processor.util.SourceBuilder;
+import org.inferred.freebuilder.processor.util.SourceStringBuilder;
+import org.inferred.freebuilder.processor.util.feature.Feature;
+import org.inferred.freebuilder.processor.util.feature.FunctionPackage;
+import org.inferred.freebuilder.processor.util.feature.GuavaLibrary;
+import org.inferred.freebuilder.processor.util.feature.RuntimeLibrary;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import javax.lang.model.type.TypeMirror;
+
+/** Tests that generated code uses the runtime library, when available, in place of excerpts. */
+@RunWith(JUnit4.class)
+public class RuntimeLibrarySourceTest {
+
+  @Test
+  public void testNoRuntimeLibrary() {
+    String source = generateSource(createMetadata(), JAVA_7, FunctionPackage.AVAILABLE);
+
+    assertThat(source).contains("private static class CheckedList<E>");
+    assertThat(source).contains("private static class CheckedMap<K, V>");
+    assertThat(source).contains("private static class CheckedEntry<K, V>");
+    assertThat(source).contains("private static <E> List<E> immutableList(");
+    assertThat(source).contains("private static <K, V> Map<K, V> immutableMap(");
+    assertThat(source).contains(" = immutableList(builder.name, String.class);");
+  }
+
+  @Test
+  public void testRuntimeLibrary() {
+    String source = generateSource(
+        createMetadata(), JAVA_7, FunctionPackage.AVAILABLE, RuntimeLibrary.AVAILABLE);
+
+    assertThat(source).doesNotContain("private static class");
+    assertThat(source).doesNotContain("private static <");
+    assertThat(source).contains("private CheckedList<String> _checkedName;");
+    assertThat(source).contains("_checkedName = new CheckedList<>(name, this::addName);");
+    assertThat(source).contains("private CheckedMap<String, Integer> _checkedAges;");
+    assertThat(source).contains(
+        " = ImmutableCollections.immutableList(builder.name, String.class);");
+    assertThat(source).contains(" = ImmutableCollections.immutableMap(builder.ages);");
+  }
+
+  @Test
+  public void testRuntimeLibrary_guava() {
+    String source = generateSource(
+        createMetadata(),
+        JAVA_7,
+        FunctionPackage.AVAILABLE,
+        GuavaLibrary.AVAILABLE,
+        RuntimeLibrary.AVAILABLE);
+
+    assertThat(source).doesNotContain("private static class");
+    assertThat(source).doesNotContain("ImmutableCollections");
+    assertThat(source).contains(" = ImmutableList.copyOf(builder.name);");
+    assertThat(source).contains(" = ImmutableMap.copyOf(builder.ages);");
+  }
+
+  private static String generateSource(Metadata metadata, Feature<?>... features) {
+    SourceBuilder sourceBuilder = SourceStringBuilder.simple(features);
+    new CodeGenerator().writeBuilderSource(sourceBuilder, metadata);
+    return sourceBuilder.toString();
+  }
+
+  /**
+   * Returns a {@link Metadata} instance for a FreeBuilder type with two properties: name, of
+   * type {@code List<String>}; and ages, of type {@code Map<String, Integer>}. The builder
+   * overrides both addName and putAges, so checked views are needed to mutate them.
+   */
+  private static Metadata createMetadata() {
+    ClassTypeImpl string = newTopLevelClass("java.lang.String");
+    ClassTypeImpl integer = newTopLevelClass("java.lang.Integer");
+    GenericTypeMirrorImpl listString = newTopLevelGenericType("java.util.List").newMirror(string);
+    GenericTypeMirrorImpl mapStringInteger =
+        newTopLevelGenericType("java.util.Map").newMirror(string, integer);
+    QualifiedName person = QualifiedName.of("com.example", "Person");
+    QualifiedName generatedBuilder = QualifiedName.of("com.example", "Person_Builder");
+    Property name = new Property.Builder()
+        .setAllCapsName("NAME")
+        .setBoxedType(listString)
+        .setCapitalizedName("Name")
+        .setFullyCheckedCast(true)
+        .setGetterName("getName")
+        .setName("name")
+        .setType(listString)
+        .build();
+    Property ages = new Property.Builder()
+        .setAllCapsName("AGES")
+        .setBoxedType(mapStringInteger)
+        .setCapitalizedName("Ages")
+        .setFullyCheckedCast(true)
+        .setGetterName("getAges")
+        .setName("ages")
+        .setType(mapStringInteger)
+        .build();
+    Metadata metadata = new Metadata.Builder()
+        .setBuilder(person.nestedType("Builder").withParameters())
+        .setBuilderFactory(BuilderFactory.NO_ARGS_CONSTRUCTOR)
+        .setBuilderSerializable(false)
+        .setGeneratedBuilder(generatedBuilder.withParameters())
+        .setInterfaceType(false)
+        .setPartialType(generatedBuilder.nestedType("Partial").withParameters())
+        .addProperties(name, ages)
+        .setPropertyEnum(generatedBuilder.nestedType("Property").withParameters())
+        .setType(person.withParameters())
+        .setValueType(generatedBuilder.nestedType("Value").withParameters())
+        .build();
+    return metadata.toBuilder()
+        .clearProperties()
+        .addProperties(name.toBuilder()
+            .setCodeGenerator(new ListPropertyFactory.CodeGenerator(
+                metadata, name, true, string, Optional.<TypeMirror>absent()))
+            .build())
+        .addProperties(ages.toBuilder()
+            .setCodeGenerator(new MapPropertyFactory.CodeGenerator(
+                metadata,
+                ages,
+                true,
+                string,
+                Optional.<TypeMirror>absent(),
+                integer,
+                Optional.<TypeMirror>absent()))
+            .build())
+        .build();
+  }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.processor;
+
+import static org.junit.Assume.assumeTrue;
+
+import com.google.common.collect.ImmutableList;
+
+import org.inferred.freebuilder.processor.util.testing.BehaviorTester;
+import org.inferred.freebuilder.processor.util.testing.StressSources;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+import javax.annotation.processing.Completion;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.tools.JavaFileObject;
+
+/**
+ * Checks the processor's time and memory grow roughly linearly with the size of its input, so
+ * that quadratic hotspots (e.g. pairwise override checks, or rescanning a package per type) fail
+ * the build rather than slowing down users with large codebases.
+ *
+ * <p>Each input from {@link StressSources} is processed at a small size and at {@value #SCALE}
+ * times that size. The cost attributable to the input, over that of a minimal input, may grow by
+ * at most {@value #MAX_GROWTH} times, comfortably above linear growth and well below quadratic.
+ * Time is the least CPU time of several runs, to discount JIT warmup and GC pauses; memory is the
+ * bytes allocated on the compiler's thread while the processor runs.
+ *
+ * <p>Only the compiler's thread is measured, so the compilations pass
+ * {@code -Afreebuilder.fastEmit}: otherwise formatting, the processor's largest cost, would run
+ * unmeasured on the formatter's thread pool. Formatting is done one compilation unit at a time,
+ * so cannot itself introduce the cross-type hotspots this test looks for.
+ */
+@RunWith(JUnit4.class)
+public class ScalingTest {
+
+  private static final int SCALE = 4;
+  private static final double MAX_GROWTH = 2.0 * SCALE;
+  private static final int RUNS = 3;
+
+  @Test
+  public void testWideType() {
+    assertScalesLinearly(
+        "properties", 100, size -> ImmutableList.of(StressSources.wideType(size)));
+  }
+
+  @Test
+  public void testDeepHierarchy() {
+    assertScalesLinearly("interfaces", 30, StressSources::deepHierarchy);
+  }
+
+  @Test
+  public void testNestedTypes() {
+    assertScalesLinearly(
+        "nested types", 15, size -> ImmutableList.of(StressSources.nestedTypes(size)));
+  }
+
+  @Test
+  public void testSiblingTypes() {
+    assertScalesLinearly("sibling types", 15, StressSources::siblingTypes);
+  }
+
+  private static void assertScalesLinearly(
+      String dimension, int size, IntFunction<List<JavaFileObject>> sources) {
+    com.sun.management.ThreadMXBean threads = threadCounters();
+    Cost baseline = measure(threads, sources.apply(1));
+    Cost small = measure(threads, sources.apply(size)).minus(baseline);
+    Cost large = measure(threads, sources.apply(size * SCALE)).minus(baseline);
+    double timeGrowth = (double) large.cpuNanos / small.cpuNanos;
+    double memoryGrowth = (double) large.allocatedBytes / small.allocatedBytes;
+    if (timeGrowth > MAX_GROWTH || memoryGrowth > MAX_GROWTH) {
+      throw new AssertionError(String.format(
+          "Going from %d to %d %s, processor CPU time grew %.1fx (%d ms to %d ms) and memory "
+              + "allocated grew %.1fx (%d KB to %d KB); expected at most %.1fx",
+          size, size * SCALE, dimension,
+          timeGrowth, small.cpuNanos / 1000000, large.cpuNanos / 1000000,
+          memoryGrowth, small.allocatedBytes / 1024, large.allocatedBytes / 1024,
+          MAX_GROWTH));
+    }
+  }
+
+  /** Returns the cheapest of {@value #RUNS} compilations of {@code sources}. */
+  private static Cost measure(
+      com.sun.management.ThreadMXBean threads, List<JavaFileObject> sources) {
+    Cost best = null;
+    for (int run = 0; run < RUNS; run++) {
+      MeasuringProcessor processor = new MeasuringProcessor(threads, new Processor());
+      BehaviorTester behaviorTester = new BehaviorTester()
+          .with(processor)
+          .withOption("-Afreebuilder.fastEmit");
+      for (JavaFileObject source : sources) {
+        behaviorTester.with(source);
+      }
+      behaviorTester.compiles();
+      best = (best == null) ? processor.cost : best.min(processor.cost);
+    }
+    return best;
+  }
+
+  private static class Cost {
+    final long cpuNanos;
+    final long allocatedBytes;
+
+    Cost(long cpuNanos, long allocatedBytes) {
+      this.cpuNanos = cpuNanos;
+      this.allocatedBytes = allocatedBytes;
+    }
+
+    Cost plus(Cost other) {
+      return new Cost(cpuNanos + other.cpuNanos, allocatedBytes + other.allocatedBytes);
+    }
+
+    Cost minus(Cost other) {
+      return new Cost(
+          Math.max(cpuNanos - other.cpuNanos, 1),
+          Math.max(allocatedBytes - other.allocatedBytes, 1));
+    }
+
+    Cost min(Cost other) {
+      return new Cost(
+          Math.min(cpuNanos, other.cpuNanos),
+          Math.min(allocatedBytes, other.allocatedBytes));
+    }
+  }
+
+  /** Totals the CPU time and memory used by a processor on the compiler's thread. */
+  private static class MeasuringProcessor implements javax.annotation.processing.Processor {
+    private final com.sun.management.ThreadMXBean threads;
+    private final javax.annotation.processing.Processor delegate;
+    Cost cost = new Cost(0, 0);
+
+    MeasuringProcessor(
+        com.sun.management.ThreadMXBean threads,
+        javax.annotation.processing.Processor delegate) {
+      this.threads = threads;
+      this.delegate = delegate;
+    }
+
+    @Override
+    public Set<String> getSupportedOptions() {
+      return delegate.getSupportedOptions();
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+      return delegate.getSupportedAnnotationTypes();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+      return delegate.getSupportedSourceVersion();
+    }
+
+    @Override
+    public void init(ProcessingEnvironment processingEnv) {
+      Cost before = now();
+      delegate.init(processingEnv);
+      cost = cost.plus(now().minus(before));
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+      Cost before = now();
+      boolean claimed = delegate.process(annotations, roundEnv);
+      cost = cost.plus(now().minus(before));
+      return claimed;
+    }
+
+    @Override
+    public Iterable<? extends Completion> getCompletions(
+        Element element,
+        AnnotationMirror annotation,
+        ExecutableElement member,
+        String userText) {
+      return delegate.getCompletions(element, annotation, member, userText);
+    }
+
+    private Cost now() {
+      long threadId = Thread.currentThread().getId();
+      return new Cost(
+          threads.getThreadCpuTime(threadId), threads.getThreadAllocatedBytes(threadId));
+    }
+  }
+
+  private static com.sun.management.ThreadMXBean threadCounters() {
+    ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    assumeTrue("Per-thread allocation counting not supported by this JVM",
+        threads instanceof com.sun.management.ThreadMXBean);
+    com.sun.management.ThreadMXBean hotspotThreads = (com.sun.management.ThreadMXBean) threads;
+    assumeTrue("Per-thread CPU time and allocation counting not supported by this JVM",
+        hotspotThreads.isCurrentThreadCpuTimeSupported()
+            && hotspotThreads.isThreadAllocatedMemorySupported());
+    if (!hotspotThreads.isThreadCpuTimeEnabled()) {
+      hotspotThreads.setThreadCpuTimeEnabled(true);
+    }
+    if (!hotspotThreads.isThreadAllocatedMemoryEnabled()) {
+      hotspotThreads.setThreadAllocatedMemoryEnabled(true);
+    }
+    return hotspotThreads;
+  }
+}
@@ -103,7 +103,7 @@ public class SetMultimapPropertyFactoryTest {
   @Test
   public void testDefaultEmpty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder().build();")
@@ -116,7 +116,7 @@ public class SetMultimapPropertyFactoryTest {
   @Test
   public void testDefaultEmpty_primitives() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PRIMITIVES)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder().build();")
@@ -129,7 +129,7 @@ public class SetMultimapPropertyFactoryTest {
   @Test
   public void testPut() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -148,7 +148,7 @@ public class SetMultimapPropertyFactoryTest {
   @Test
   public void testPut_primitiveKey() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PRIMITIVE_KEY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -167,7 +167,7 @@ public class SetMultimapPropertyFactoryTest {
   @Test
   public void testPut_primitiveValue() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PRIMITIVE_VALUE)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -186,7 +186,7 @@ public class SetMultimapPropertyFactoryTest {
   @Test
   public void testPut_primitives() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PRIMITIVES)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -206,7 +206,7 @@ public class SetMultimapPropertyFactoryTest {
   public void testPut_nullKey() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("new DataType.Builder()")
@@ -220,7 +220,7 @@ public class SetMultimapPropertyFactoryTest {
   public void testPut_nullValue() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("new DataType.Builder()")
@@ -233,7 +233,7 @@ public class SetMultimapPropertyFactoryTest {
   @Test
   public void testPut_duplicate() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -253,7 +253,7 @@ public class SetMultimapPropertyFactoryTest {
   @Test
   public void testPutAllIterable() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -273,7 +273,7 @@ public class SetMultimapPropertyFactoryTest {
   @Test
   public void testPutAllIterable_primitiveKey() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PRIMITIVE_KEY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -293,7 +293,7 @@ public class SetMultimapPropertyFactoryTest {
   @Test
   public void testPutAllIterable_primitiveValue() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PRIMITIVE_VALUE)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -313,7 +313,7 @@ public class SetMultimapPropertyFactoryTest {
   @Test
   public void testPutAllIterable_primitives() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PRIMITIVES)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -334,7 +334,7 @@ public class SetMultimapPropertyFactoryTest {
   public void testPutAllIterable_nullKey() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("new DataType.Builder()")
@@ -347,7 +347,7 @@ public class SetMultimapPropertyFactoryTest {
   public void testPutAllIterable_nullValue() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("new DataType.Builder()")
@@ -359,7 +359,7 @@ public class SetMultimapPropertyFactoryTest {
   @Test
   public void testPutAllIterable_duplicate() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -376,7 +376,7 @@ public class SetMultimapPropertyFactoryTest {
   @Test
   public void testPutAllIterable_iteratesOnce() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -412,7 +412,7 @@ public class SetMultimapPropertyFactoryTest {
   @Test
   public void testPutAllMultimap() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -434,7 +434,7 @@ public class SetMultimapPropertyFactoryTest {
   @Test
   public void testPutAllMultimap_primitiveKey() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PRIMITIVE_KEY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -456,7 +456,7 @@ public class SetMultimapPropertyFactoryTest {
   @Test
   public void testPutAllMultimap_primitiveValue() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PRIMITIVE_VALUE)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -478,7 +478,7 @@ public class SetMultimapPropertyFactoryTest {
   @Test
   public void testPutAllMultimap_primitives() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PRIMITIVES)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -501,7 +501,7 @@ public class SetMultimapPropertyFactoryTest {
   public void testPutAllMultimap_nullKey() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("%1$s<String, String> values = %1$s.create();", LinkedHashMultimap.class)
@@ -515,7 +515,7 @@ public class SetMultimapPropertyFactoryTest {
   public void testPutAllMultimap_nullValue() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("%1$s<String, String> values = %1$s.create();", LinkedHashMultimap.class)
@@ -528,7 +528,7 @@ public class SetMultimapPropertyFactoryTest {
   @Test
   public void testPutAllMultimap_duplicate() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -549,7 +549,7 @@ public class SetMultimapPropertyFactoryTest {
   @Test
   public void testRemove() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -571,7 +571,7 @@ public class SetMultimapPropertyFactoryTest {
   @Test
   public void testRemove_doesNotThrowIfEntryNotPresent() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -592,7 +592,7 @@ public class SetMultimapPropertyFactoryTest {
   @Test
   public void testRemove_primitiveKey() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PRIMITIVE_KEY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -614,7 +614,7 @@ public class SetMultimapPropertyFactoryTest {
   @Test
   public void testRemove_primitiveValue() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PRIMITIVE_VALUE)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -636,7 +636,7 @@ public class SetMultimapPropertyFactoryTest {
   @Test
   public void testRemove_primitives() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PRIMITIVES)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -659,7 +659,7 @@ public class SetMultimapPropertyFactoryTest {
   public void testRemove_nullKey() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("new DataType.Builder()")
@@ -673,7 +673,7 @@ public class SetMultimapPropertyFactoryTest {
   public void testRemove_nullValue() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("new DataType.Builder()")
@@ -686,7 +686,7 @@ public class SetMultimapPropertyFactoryTest {
   @Test
   public void testRemoveAll() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -706,7 +706,7 @@ public class SetMultimapPropertyFactoryTest {
   @Test
   public void testRemoveAll_doesNotThrowIfKeyNotPresent() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -724,7 +724,7 @@ public class SetMultimapPropertyFactoryTest {
   @Test
   public void testRemoveAll_primitiveKey() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PRIMITIVE_KEY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -744,7 +744,7 @@ public class SetMultimapPropertyFactoryTest {
   @Test
   public void testRemoveAll_primitiveValue() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PRIMITIVE_VALUE)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -764,7 +764,7 @@ public class SetMultimapPropertyFactoryTest {
   @Test
   public void testRemoveAll_primitives() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PRIMITIVES)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -785,7 +785,7 @@ public class SetMultimapPropertyFactoryTest {
   public void testRemoveAll_nullKey() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("new DataType.Builder()")
@@ -798,7 +798,7 @@ public class SetMultimapPropertyFactoryTest {
   @Test
   public void testClear() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -819,7 +819,7 @@ public class SetMultimapPropertyFactoryTest {
   @Test
   public void testGet_returnsLiveView() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("DataType.Builder builder = new DataType.Builder();")
@@ -835,11 +835,23 @@ public class SetMultimapPropertyFactoryTest {
         .runTest();
   }
 
+  @Test
+  public void testGet_returnsSameViewOnEachCall() {
+    behaviorTester
+        .with(new Processor(), "detected features")
+        .with(MULTIMAP_PROPERTY)
+        .with(testBuilder()
+            .addLine("DataType.Builder builder = new DataType.Builder();")
+            .addLine("assertThat(builder.getItems()).isSameAs(builder.getItems());")
+            .build())
+        .runTest();
+  }
+
   @Test
   public void testGet_returnsUnmodifiableSetMultimap() {
     thrown.expect(UnsupportedOperationException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("DataType.Builder builder = new DataType.Builder();")
@@ -852,7 +864,7 @@ public class SetMultimapPropertyFactoryTest {
   @Test
   public void testMergeFrom_valueInstance() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = DataType.builder()")
@@ -873,7 +885,7 @@ public class SetMultimapPropertyFactoryTest {
   @Test
   public void testMergeFrom_builder() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("DataType.Builder template = DataType.builder()")
@@ -893,7 +905,7 @@ public class SetMultimapPropertyFactoryTest {
   @Test
   public void testBuilderClear() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("DataType value = new DataType.Builder()")
@@ -914,7 +926,7 @@ public class SetMultimapPropertyFactoryTest {
   @Test
   public void testImmutableSetMultimapProperty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -944,7 +956,7 @@ public class SetMultimapPropertyFactoryTest {
   @Test
   public void testOverridingPut() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -975,7 +987,7 @@ public class SetMultimapPropertyFactoryTest {
   @Test
   public void testOverridingPut_primitiveKey() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -1006,7 +1018,7 @@ public class SetMultimapPropertyFactoryTest {
   @Test
   public void testOverridingPut_primitiveValue() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -1037,7 +1049,7 @@ public class SetMultimapPropertyFactoryTest {
   @Test
   public void testOverridingPut_primitives() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -1068,7 +1080,7 @@ public class SetMultimapPropertyFactoryTest {
   @Test
   public void testEquality() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(MULTIMAP_PROPERTY)
         .with(testBuilder()
             .addLine("new %s()", EqualsTester.class)
@@ -1102,7 +1114,7 @@ public class SetMultimapPropertyFactoryTest {
   public void testJacksonInteroperability() {
     // See also https://github.com/google/FreeBuilder/issues/68
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("import " + JsonProperty.class.getName() + ";")
@@ -68,7 +68,7 @@ public class SetMutateMethodTest {
   @Test
   public void mutateAndAddModifiesUnderlyingProperty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(UNCHECKED_SET_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -83,7 +83,7 @@ public class SetMutateMethodTest {
   @Test
   public void mutateAndSizeReturnsSize() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_SET_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -96,7 +96,7 @@ public class SetMutateMethodTest {
   @Test
   public void mutateAndContainsReturnsTrueForContainedElement() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_SET_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -109,7 +109,7 @@ public class SetMutateMethodTest {
   @Test
   public void mutateAndIterateFindsContainedElement() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_SET_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -125,7 +125,7 @@ public class SetMutateMethodTest {
   @Test
   public void mutateAndRemoveModifiesUnderlyingProperty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_SET_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -140,7 +140,7 @@ public class SetMutateMethodTest {
   @Test
   public void mutateAndCallRemoveOnIteratorModifiesUnderlyingProperty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_SET_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -162,7 +162,7 @@ public class SetMutateMethodTest {
   @Test
   public void mutateAndClearModifiesUnderlyingProperty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_SET_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -179,7 +179,7 @@ public class SetMutateMethodTest {
     thrown.expect(IllegalArgumentException.class);
     thrown.expectMessage("elements must be non-negative");
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(CHECKED_SET_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -189,4 +189,50 @@ public class SetMutateMethodTest {
         .runTest();
   }
 
+  @Test
+  public void mutateAndAddAllModifiesUnderlyingProperty() {
+    behaviorTester
+        .with(new Processor(), "detected features")
+        .with(CHECKED_SET_TYPE)
+        .with(new TestBuilder()
+            .addLine("com.example.DataType value = new com.example.DataType.Builder()")
+            .addLine("    .addProperties(5)")
+            .addLine("    .mutateProperties(set -> set.addAll(%s.of(5, 11, 12)))",
+                ImmutableSet.class)
+            .addLine("    .build();")
+            .addLine("assertThat(value.getProperties()).containsExactly(5, 11, 12).inOrder();")
+            .build())
+        .runTest();
+  }
+
+  @Test
+  public void mutateAndAddAllDelegatesToAddMethodForValidation() {
+    thrown.expect(IllegalArgumentException.class);
+    thrown.expectMessage("elements must be non-negative");
+    behaviorTester
+        .with(new Processor(), "detected features")
+        .with(CHECKED_SET_TYPE)
+        .with(new TestBuilder()
+            .addLine("new com.example.DataType.Builder()")
+            .addLine("    .mutateProperties(set -> set.addAll(%s.of(5, -3)));",
+                ImmutableSet.class)
+            .build())
+        .runTest();
+  }
+
+  @Test
+  public void mutateAndRemoveIfModifiesUnderlyingProperty() {
+    behaviorTester
+        .with(new Processor(), "detected features")
+        .with(CHECKED_SET_TYPE)
+        .with(new TestBuilder()
+            .addLine("com.example.DataType value = new com.example.DataType.Builder()")
+            .addLine("    .addProperties(1, 2, 3, 4)")
+            .addLine("    .mutateProperties(set -> set.removeIf(e -> e %% 2 == 0))")
+            .addLine("    .build();")
+            .addLine("assertThat(value.getProperties()).containsExactly(1, 3).inOrder();")
+            .build())
+        .runTest();
+  }
+
 }
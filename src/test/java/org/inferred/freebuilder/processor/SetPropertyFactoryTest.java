@@ -74,7 +74,7 @@ public class SetPropertyFactoryTest {
   @Test
   public void testDefaultEmpty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(SET_PROPERTY_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder().build();")
@@ -86,7 +86,7 @@ public class SetPropertyFactoryTest {
   @Test
   public void testAddSingleElement() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(SET_PROPERTY_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -102,7 +102,7 @@ public class SetPropertyFactoryTest {
   public void testAddSingleElement_null() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(SET_PROPERTY_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -115,7 +115,7 @@ public class SetPropertyFactoryTest {
   @Test
   public void testAddSingleElement_duplicate() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(SET_PROPERTY_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -130,7 +130,7 @@ public class SetPropertyFactoryTest {
   @Test
   public void testAddVarargs() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(SET_PROPERTY_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -145,7 +145,7 @@ public class SetPropertyFactoryTest {
   public void testAddVarargs_null() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(SET_PROPERTY_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder().addItems(\"one\", null);")
@@ -156,7 +156,7 @@ public class SetPropertyFactoryTest {
   @Test
   public void testAddVarargs_duplicate() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(SET_PROPERTY_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -170,7 +170,7 @@ public class SetPropertyFactoryTest {
   @Test
   public void testAddAllIterable() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(SET_PROPERTY_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -185,7 +185,7 @@ public class SetPropertyFactoryTest {
   public void testAddAllIterable_null() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(SET_PROPERTY_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -197,7 +197,7 @@ public class SetPropertyFactoryTest {
   @Test
   public void testAddAllIterable_duplicate() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(SET_PROPERTY_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -211,7 +211,7 @@ public class SetPropertyFactoryTest {
   @Test
   public void testAddAllIterable_iteratesOnce() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(SET_PROPERTY_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -243,7 +243,7 @@ public class SetPropertyFactoryTest {
   @Test
   public void testRemove() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(SET_PROPERTY_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -259,7 +259,7 @@ public class SetPropertyFactoryTest {
   public void testRemove_null() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(SET_PROPERTY_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -272,7 +272,7 @@ public class SetPropertyFactoryTest {
   @Test
   public void testRemove_missingElement() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(SET_PROPERTY_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -287,7 +287,7 @@ public class SetPropertyFactoryTest {
   @Test
   public void testClear() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(SET_PROPERTY_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -303,7 +303,7 @@ public class SetPropertyFactoryTest {
   @Test
   public void testDefaultEmpty_primitive() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(SET_PRIMITIVES_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder().build();")
@@ -315,7 +315,7 @@ public class SetPropertyFactoryTest {
   @Test
   public void testAddSingleElement_primitive() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(SET_PRIMITIVES_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -331,7 +331,7 @@ public class SetPropertyFactoryTest {
   public void testAddSingleElement_null_primitive() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(SET_PRIMITIVES_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -344,7 +344,7 @@ public class SetPropertyFactoryTest {
   @Test
   public void testAddSingleElement_duplicate_primitive() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(SET_PRIMITIVES_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -359,7 +359,7 @@ public class SetPropertyFactoryTest {
   @Test
   public void testAddVarargs_primitive() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(SET_PRIMITIVES_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -373,7 +373,7 @@ public class SetPropertyFactoryTest {
   @Test
   public void testAddVarargs_null_primitive() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(SET_PRIMITIVES_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder().addItems(1, null);")
@@ -385,7 +385,7 @@ public class SetPropertyFactoryTest {
   @Test
   public void testAddVarargs_duplicate_primitive() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(SET_PRIMITIVES_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
         .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -399,7 +399,7 @@ public class SetPropertyFactoryTest {
   @Test
   public void testAddAllIterable_primitive() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(SET_PRIMITIVES_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -414,7 +414,7 @@ public class SetPropertyFactoryTest {
   public void testAddAllIterable_null_primitive() {
     thrown.expect(NullPointerException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(SET_PRIMITIVES_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("new com.example.DataType.Builder()")
@@ -426,7 +426,7 @@ public class SetPropertyFactoryTest {
   @Test
   public void testAddAllIterable_duplicate_primitive() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(SET_PRIMITIVES_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -440,7 +440,7 @@ public class SetPropertyFactoryTest {
   @Test
   public void testRemove_primitive() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(SET_PRIMITIVES_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -455,7 +455,7 @@ public class SetPropertyFactoryTest {
   @Test
   public void testClear_primitive() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(SET_PRIMITIVES_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -471,7 +471,7 @@ public class SetPropertyFactoryTest {
   @Test
   public void testGet_returnsLiveView() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(SET_PROPERTY_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType.Builder builder = new com.example.DataType.Builder();")
@@ -487,11 +487,23 @@ public class SetPropertyFactoryTest {
         .runTest();
   }
 
+  @Test
+  public void testGet_returnsSameViewOnEachCall() {
+    behaviorTester
+        .with(new Processor(), "detected features")
+        .with(SET_PROPERTY_AUTO_BUILT_TYPE)
+        .with(new TestBuilder()
+            .addLine("com.example.DataType.Builder builder = new com.example.DataType.Builder();")
+            .addLine("assertThat(builder.getItems()).isSameAs(builder.getItems());")
+            .build())
+        .runTest();
+  }
+
   @Test
   public void testGet_returnsUnmodifiableSet() {
     thrown.expect(UnsupportedOperationException.class);
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(SET_PROPERTY_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType.Builder builder = new com.example.DataType.Builder();")
@@ -504,7 +516,7 @@ public class SetPropertyFactoryTest {
   @Test
   public void testMergeFrom_valueInstance() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(SET_PROPERTY_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = com.example.DataType.builder()")
@@ -521,7 +533,7 @@ public class SetPropertyFactoryTest {
   @Test
   public void testMergeFrom_builder() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(SET_PROPERTY_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType.Builder template = com.example.DataType.builder()")
@@ -537,7 +549,7 @@ public class SetPropertyFactoryTest {
   @Test
   public void testBuilderClear() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(SET_PROPERTY_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("com.example.DataType value = new com.example.DataType.Builder()")
@@ -553,7 +565,7 @@ public class SetPropertyFactoryTest {
   @Test
   public void testBuilderClear_noBuilderFactory() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -580,7 +592,7 @@ public class SetPropertyFactoryTest {
   @Test
   public void testImmutableSetProperty() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -606,7 +618,7 @@ public class SetPropertyFactoryTest {
   @Test
   public void testOverridingAdd() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -637,7 +649,7 @@ public class SetPropertyFactoryTest {
   @Test
   public void testOverridingAdd_primitive() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("@%s", FreeBuilder.class)
@@ -668,7 +680,7 @@ public class SetPropertyFactoryTest {
   @Test
   public void testEquality() {
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(SET_PROPERTY_AUTO_BUILT_TYPE)
         .with(new TestBuilder()
             .addLine("new %s()", EqualsTester.class)
@@ -698,7 +710,7 @@ public class SetPropertyFactoryTest {
   public void testJacksonInteroperability() {
     // See also https://github.com/google/FreeBuilder/issues/68
     behaviorTester
-        .with(new Processor())
+        .with(new Processor(), "detected features")
         .with(new SourceBuilder()
             .addLine("package com.example;")
             .addLine("import " + JsonProperty.class.getName() + ";")
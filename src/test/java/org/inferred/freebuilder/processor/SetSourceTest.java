@@ -63,6 +63,7 @@ public class SetSourceTest {
         "  }",
         "",
         "  private final LinkedHashSet<String> name = new LinkedHashSet<String>();",
+        "  private Set<String> _unmodifiableName;",
         "",
         "  /**",
         "   * Adds {@code element} to the set to be returned from {@link Person#getName()}.",
@@ -137,7 +138,10 @@ public class SetSourceTest {
         "   * Changes to this builder will be reflected in the view.",
         "   */",
         "  public Set<String> getName() {",
-        "    return Collections.unmodifiableSet(name);",
+        "    if (_unmodifiableName == null) {",
+        "      _unmodifiableName = Collections.unmodifiableSet(name);",
+        "    }",
+        "    return _unmodifiableName;",
         "  }",
         "",
         "  /**",
@@ -210,7 +214,9 @@ public class SetSourceTest {
         "",
         "    @Override",
         "    public int hashCode() {",
-        "      return Arrays.hashCode(new Object[] {name});",
+        "      int result = 1;",
+        "      result = 31 * result + this.name.hashCode();",
+        "      return result;",
         "    }",
         "",
         "    @Override",
@@ -277,6 +283,7 @@ public class SetSourceTest {
         "  }",
         "",
         "  private final LinkedHashSet<String> name = new LinkedHashSet<>();",
+        "  private Set<String> _unmodifiableName;",
         "",
         "  /**",
         "   * Adds {@code element} to the set to be returned from {@link Person#getName()}.",
@@ -351,7 +358,10 @@ public class SetSourceTest {
         "   * Changes to this builder will be reflected in the view.",
         "   */",
         "  public Set<String> getName() {",
-        "    return Collections.unmodifiableSet(name);",
+        "    if (_unmodifiableName == null) {",
+        "      _unmodifiableName = Collections.unmodifiableSet(name);",
+        "    }",
+        "    return _unmodifiableName;",
         "  }",
         "",
         "  /**",
@@ -421,7 +431,9 @@ public class SetSourceTest {
         "",
         "    @Override",
         "    public int hashCode() {",
-        "      return Objects.hash(name);",
+        "      int result = 1;",
+        "      result = 31 * result + this.name.hashCode();",
+        "      return result;",
         "    }",
         "",
         "    @Override",
@@ -489,6 +501,7 @@ public class SetSourceTest {
         "  }",
         "",
         "  private final LinkedHashSet<String> name = new LinkedHashSet<>();",
+        "  private Set<String> _unmodifiableName;",
         "",
         "  /**",
         "   * Adds {@code element} to the set to be returned from {@link Person#getName()}.",
@@ -579,7 +592,10 @@ public class SetSourceTest {
         "   * Changes to this builder will be reflected in the view.",
         "   */",
         "  public Set<String> getName() {",
-        "    return Collections.unmodifiableSet(name);",
+        "    if (_unmodifiableName == null) {",
+        "      _unmodifiableName = Collections.unmodifiableSet(name);",
+        "    }",
+        "    return _unmodifiableName;",
         "  }",
         "",
         "  /**",
@@ -649,7 +665,9 @@ public class SetSourceTest {
         "",
         "    @Override",
         "    public int hashCode() {",
-        "      return Objects.hash(name);",
+        "      int result = 1;",
+        "      result = 31 * result + this.name.hashCode();",
+        "      return result;",
         "    }",
         "",
         "    @Override",
@@ -712,6 +730,7 @@ public class SetSourceTest {
         "  }",
         "",
         "  private final LinkedHashSet<String> name = new LinkedHashSet<String>();",
+        "  private Set<String> _unmodifiableName;",
         "",
         "  /**",
         "   * Adds {@code element} to the set to be returned from {@link Person#getName()}.",
@@ -792,7 +811,10 @@ public class SetSourceTest {
         "   * Changes to this builder will be reflected in the view.",
         "   */",
         "  public Set<String> getName() {",
-        "    return Collections.unmodifiableSet(name);",
+        "    if (_unmodifiableName == null) {",
+        "      _unmodifiableName = Collections.unmodifiableSet(name);",
+        "    }",
+        "    return _unmodifiableName;",
         "  }",
         "",
         "  /**",
@@ -864,7 +886,9 @@ public class SetSourceTest {
         "",
         "    @Override",
         "    public int hashCode() {",
-        "      return Arrays.hashCode(new Object[] {name});",
+        "      int result = 1;",
+        "      result = 31 * result + this.name.hashCode();",
+        "      return result;",
         "    }",
         "",
         "    @Override",
@@ -941,6 +965,7 @@ public class SetSourceTest {
         "  }",
         "",
         "  private final LinkedHashSet<String> name = new LinkedHashSet<>();",
+        "  private Set<String> _unmodifiableName;",
         "",
         "  /**",
         "   * Adds {@code element} to the set to be returned from {@link Person#getName()}.",
@@ -1015,7 +1040,10 @@ public class SetSourceTest {
         "   * Changes to this builder will be reflected in the view.",
         "   */",
         "  public Set<String> getName() {",
-        "    return Collections.unmodifiableSet(name);",
+        "    if (_unmodifiableName == null) {",
+        "      _unmodifiableName = Collections.unmodifiableSet(name);",
+        "    }",
+        "    return _unmodifiableName;",
         "  }",
         "",
         "  /**",
@@ -1084,7 +1112,9 @@ public class SetSourceTest {
         "",
         "    @Override",
         "    public int hashCode() {",
-        "      return Objects.hash(name);",
+        "      int result = 1;",
+        "      result = 31 * result + this.name.hashCode();",
+        "      return result;",
         "    }",
         "",
         "    @Override",
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.processor.util;
+
+import static org.junit.Assert.assertEquals;
+
+import org.inferred.freebuilder.processor.util.testing.ModelRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.TypeElement;
+
+/** Tests for {@link AnnotationSource}. */
+@RunWith(JUnit4.class)
+public class AnnotationSourceTest {
+
+  @Rule public final ModelRule model = new ModelRule();
+
+  @Test
+  public void testSingleValue() {
+    assertEquals("@SuppressWarnings(\"unchecked\")",
+        sourceOf("@SuppressWarnings(\"unchecked\")"));
+  }
+
+  @Test
+  public void testArrayValue() {
+    assertEquals("@SuppressWarnings({\"unchecked\", \"rawtypes\"})",
+        sourceOf("@SuppressWarnings({\"unchecked\", \"rawtypes\"})"));
+  }
+
+  @Test
+  public void testStringEscaping() {
+    assertEquals("@SuppressWarnings(\"quote\\\" slash\\\\ tab\\t line\\n caf\\u00E9\")",
+        sourceOf("@SuppressWarnings(\"quote\\\" slash\\\\ tab\\t line\\n caf\\u00e9\")"));
+  }
+
+  private String sourceOf(String annotation) {
+    TypeElement type = model.newType(
+        "package com.example;",
+        annotation,
+        "public class DataType { }");
+    // ModelRule adds a second annotation, after any in the source
+    AnnotationMirror mirror = type.getAnnotationMirrors().get(0);
+    SourceBuilder code = SourceStringBuilder.simple();
+    AnnotationSource.addSource(code, mirror);
+    return code.toString();
+  }
+}
@@ -26,6 +26,8 @@ import static org.mockito.Mockito.when;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 
+import org.inferred.freebuilder.processor.util.feature.SourceFormatting;
+import org.inferred.freebuilder.processor.util.feature.StaticFeatureSet;
 import org.inferred.freebuilder.processor.util.testing.ModelRule;
 import org.junit.Before;
 import org.junit.Rule;
@@ -91,6 +93,84 @@ public class CompilationUnitBuilderTest {
         source.toString());
   }
 
+  @Test
+  public void testSharedCache() {
+    model.newType("package com.example; public class Baz { }");
+    CompilationUnitBuilder.Cache cache = new CompilationUnitBuilder.Cache();
+    CompilationUnitBuilder bar = new CompilationUnitBuilder(
+        model.environment(),
+        QualifiedName.of("com.example", "Bar"),
+        ImmutableSet.<QualifiedName>of(),
+        new StaticFeatureSet(),
+        cache);
+    bar.addLine("class Bar { %s foo; %s<?> list; }",
+        QualifiedName.of("com.example", "Foo"), ImmutableList.class);
+    CompilationUnitBuilder qux = new CompilationUnitBuilder(
+        model.environment(),
+        QualifiedName.of("com.example", "Qux"),
+        ImmutableSet.of(QualifiedName.of("com.example", "Qux", "Foo")),
+        new StaticFeatureSet(),
+        cache);
+    qux.addLine("class Qux { %s foo; %s baz; }",
+        QualifiedName.of("com.example", "Foo"), QualifiedName.of("com.example", "Baz"));
+    assertThat(bar.toString()).contains("Foo foo;");
+    assertThat(bar.toString()).contains("ImmutableList<?> list;");
+    assertThat(qux.toString()).contains("com.example.Foo foo;");
+    assertThat(qux.toString()).contains("Baz baz;");
+  }
+
+  @Test
+  public void testFastEmit() {
+    CompilationUnitBuilder source = new CompilationUnitBuilder(
+        model.environment(),
+        QualifiedName.of("com.example", "Bar"),
+        ImmutableSet.<QualifiedName>of(),
+        new StaticFeatureSet(SourceFormatting.FAST));
+    source
+        .addLine("/** Bar. */")
+        .addLine("public class Bar {")
+        .addLine("public int baz(%s<String> qux) {", ImmutableList.class)
+        .addLine("return qux.size()")
+        .addLine("+ 1;")
+        .addLine("}")
+        .addLine("}");
+    assertEquals(
+        "// Autogenerated code. Do not modify.\n"
+            + "package com.example;\n\n"
+            + "import com.google.common.collect.ImmutableList;\n\n"
+            + "/** Bar. */\n"
+            + "public class Bar {\n"
+            + "  public int baz(ImmutableList<String> qux) {\n"
+            + "    return qux.size()\n"
+            + "        + 1;\n"
+            + "  }\n"
+            + "}\n",
+        source.toString());
+  }
+
+  @Test
+  public void testFastEmit_withoutJavadoc() {
+    CompilationUnitBuilder source = new CompilationUnitBuilder(
+        model.environment(),
+        QualifiedName.of("com.example", "Bar"),
+        ImmutableSet.<QualifiedName>of(),
+        new StaticFeatureSet(SourceFormatting.FAST_WITHOUT_JAVADOC));
+    source
+        .addLine("/**")
+        .addLine(" * Bar.")
+        .addLine(" */")
+        .addLine("public class Bar {")
+        .addLine("// Baz")
+        .addLine("}");
+    assertEquals(
+        "// Autogenerated code. Do not modify.\n"
+            + "package com.example;\n\n"
+            + "public class Bar {\n"
+            + "  // Baz\n"
+            + "}\n",
+        source.toString());
+  }
+
   @Test
   public void testAddLine_typeInSamePackage() {
     CompilationUnitBuilder source = newSourceWriter("com.example", "Bar");
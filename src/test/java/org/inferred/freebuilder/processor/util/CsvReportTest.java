@@ -0,0 +1,166 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.processor.util;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import org.inferred.freebuilder.processor.util.testing.ModelRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Matchers;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URI;
+import java.util.Collection;
+
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/** Tests for {@link CsvReport}. */
+@RunWith(MockitoJUnitRunner.class)
+public class CsvReportTest {
+
+  private static final String REPORT_NAME = "META-INF/freebuilder/sizes.csv";
+
+  /** Reports a size for each type, with a row per unit of size. */
+  private static class SizeReport extends CsvReport<Integer> {
+    SizeReport() {
+      super(REPORT_NAME, "sizes", "unit", "label");
+    }
+
+    void add(TypeElement type, int size) {
+      put(type, size);
+    }
+
+    @Override
+    protected void addRows(Integer size, Rows rows) throws IOException {
+      for (int i = 1; i <= size; i++) {
+        rows.add(i, (i == 1) ? "first, \"one\"" : "");
+      }
+    }
+
+    @Override
+    protected String heading(Collection<Integer> sizes) {
+      return "Sizes of " + sizes.size() + " types. Largest:";
+    }
+
+    @Override
+    protected String describe(Integer size) {
+      return "size " + size;
+    }
+
+    @Override
+    protected int compareCost(Integer left, Integer right) {
+      return left.compareTo(right);
+    }
+  }
+
+  @Rule public final ModelRule model = new ModelRule();
+  @Mock private Filer filer;
+  @Mock private Messager messager;
+  @Mock private FileObject report;
+  private final StringWriter csv = new StringWriter();
+  private final SizeReport sizes = new SizeReport();
+
+  @Before
+  public void setup() throws IOException {
+    when(filer.createResource(
+            eq(StandardLocation.CLASS_OUTPUT),
+            eq(""),
+            eq(REPORT_NAME),
+            Matchers.<Element>anyVararg()))
+        .thenReturn(report);
+    when(report.openWriter()).thenReturn(csv);
+    when(report.toUri()).thenReturn(URI.create("file:/classes/" + REPORT_NAME));
+  }
+
+  @Test
+  public void testReport() throws IOException {
+    TypeElement small = model.newType("package com.example; public class Small { }");
+    TypeElement large = model.newType("package com.example; public class Large { }");
+    sizes.add(small, 1);
+    sizes.add(large, 2);
+
+    sizes.report(filer, messager);
+
+    verify(filer).createResource(StandardLocation.CLASS_OUTPUT, "", REPORT_NAME, small, large);
+    assertEquals(
+        "type,unit,label\n"
+            + "com.example.Small,1,\"first, \"\"one\"\"\"\n"
+            + "com.example.Large,1,\"first, \"\"one\"\"\"\n"
+            + "com.example.Large,2,\n",
+        csv.toString());
+    ArgumentCaptor<CharSequence> note = ArgumentCaptor.forClass(CharSequence.class);
+    verify(messager).printMessage(eq(Kind.NOTE), note.capture());
+    assertEquals(
+        "Sizes of 2 types. Largest:\n"
+            + "  com.example.Large (size 2)\n"
+            + "  com.example.Small (size 1)\n"
+            + "Full report: file:/classes/META-INF/freebuilder/sizes.csv",
+        note.getValue().toString());
+  }
+
+  @Test
+  public void testSummaryNamesOnlyCostliestTypes() {
+    for (int i = 1; i <= 7; i++) {
+      sizes.add(model.newType("package com.example; public class Type" + i + " { }"), i);
+    }
+
+    assertEquals(
+        "Sizes of 7 types. Largest:\n"
+            + "  com.example.Type7 (size 7)\n"
+            + "  com.example.Type6 (size 6)\n"
+            + "  com.example.Type5 (size 5)\n"
+            + "  com.example.Type4 (size 4)\n"
+            + "  com.example.Type3 (size 3)",
+        sizes.summary());
+  }
+
+  @Test
+  public void testWriteFailure() throws IOException {
+    sizes.add(model.newType("package com.example; public class DataType { }"), 1);
+    when(report.openWriter()).thenThrow(new IOException("Disk full"));
+
+    sizes.report(filer, messager);
+
+    ArgumentCaptor<CharSequence> warning = ArgumentCaptor.forClass(CharSequence.class);
+    verify(messager).printMessage(eq(Kind.WARNING), warning.capture());
+    assertThat(warning.getValue().toString())
+        .isEqualTo("Could not write FreeBuilder sizes: Disk full");
+  }
+
+  @Test
+  public void testNoTypes() {
+    sizes.report(filer, messager);
+    verifyZeroInteractions(filer, messager);
+  }
+}
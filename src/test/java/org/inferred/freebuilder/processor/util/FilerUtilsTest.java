@@ -28,6 +28,7 @@ import static org.mockito.Mockito.when;
 import org.hamcrest.BaseMatcher;
 import org.hamcrest.Description;
 import org.hamcrest.Matcher;
+import org.inferred.freebuilder.processor.util.feature.SourceFormatting;
 import org.inferred.freebuilder.processor.util.testing.ModelRule;
 import org.junit.Before;
 import org.junit.Rule;
@@ -112,6 +113,35 @@ public class FilerUtilsTest {
     FilerUtils.writeCompilationUnit(filer, CLASS_TO_WRITE, originatingElement, "Hello!");
   }
 
+  @Test
+  public void testUnformattedSource_streamsFastEmitSource() throws IOException {
+    UnformattedSource unformattedSource = new UnformattedSource(
+        "package com.example;\n\n",
+        new StringBuilder("class Bar {\n/** Baz. */\nint baz;\n}\n"),
+        SourceFormatting.FAST_WITHOUT_JAVADOC);
+    FilerUtils.writeCompilationUnit(
+        filer, CLASS_TO_WRITE, originatingElement, unformattedSource);
+    assertEquals("package com.example;\n\nclass Bar {\n  int baz;\n}\n", source.toString());
+  }
+
+  @Test
+  public void testUnformattedSource_closesWriterOnFailure() throws IOException {
+    Writer mockWriter = Mockito.mock(Writer.class);
+    doThrow(new IOException("Error writing")).when(mockWriter).write(any(String.class));
+    when(sourceFile.openWriter()).thenReturn(mockWriter);
+    UnformattedSource unformattedSource = new UnformattedSource(
+        "package com.example;\n\n", "class Bar { }\n", SourceFormatting.FAST);
+
+    thrown.expect(IOException.class);
+    thrown.expectMessage("Error writing");
+    try {
+      FilerUtils.writeCompilationUnit(
+          filer, CLASS_TO_WRITE, originatingElement, unformattedSource);
+    } finally {
+      verify(mockWriter).close();
+    }
+  }
+
   private static Matcher<Throwable> suppressed(Matcher<?> matcher) {
     return new BaseMatcher<Throwable>() {
 
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.processor.util;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.inferred.freebuilder.processor.util.feature.SourceFormatting;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.File;
+import java.io.IOException;
+
+/** Tests for {@link FormattedSourceCache}. */
+@RunWith(JUnit4.class)
+public class FormattedSourceCacheTest {
+
+  @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void testMiss() {
+    FormattedSourceCache cache = new FormattedSourceCache(temporaryFolder.getRoot());
+    assertNull(cache.get("class Foo {}"));
+  }
+
+  @Test
+  public void testHit() {
+    FormattedSourceCache cache = new FormattedSourceCache(temporaryFolder.getRoot());
+    cache.put("class Foo {}", "class Foo {}\n");
+    assertEquals("class Foo {}\n", cache.get("class Foo {}"));
+    assertNull(cache.get("class Bar {}"));
+    assertThat(temporaryFolder.getRoot().list()).hasLength(1);
+  }
+
+  @Test
+  public void testSharedBetweenInstances() {
+    new FormattedSourceCache(temporaryFolder.getRoot()).put("class Foo {}", "class Foo {}\n");
+    FormattedSourceCache cache = new FormattedSourceCache(temporaryFolder.getRoot());
+    assertEquals("class Foo {}\n", cache.get("class Foo {}"));
+  }
+
+  @Test
+  public void testCreatesDirectory() {
+    File directory = new File(temporaryFolder.getRoot(), "nested/cache");
+    FormattedSourceCache cache = new FormattedSourceCache(directory);
+    cache.put("class Foo {}", "class Foo {}\n");
+    assertEquals("class Foo {}\n", cache.get("class Foo {}"));
+  }
+
+  @Test
+  public void testUnusableDirectoryIgnored() throws IOException {
+    FormattedSourceCache cache = new FormattedSourceCache(temporaryFolder.newFile());
+    cache.put("class Foo {}", "class Foo {}\n");
+    assertNull(cache.get("class Foo {}"));
+  }
+
+  @Test
+  public void testUnformattedSourceUsesCache() {
+    FormattedSourceCache cache = new FormattedSourceCache(temporaryFolder.getRoot());
+    cache.put("class Foo {}", "/* cached */ class Foo {}\n");
+    UnformattedSource source = new UnformattedSource(
+        "package com.example;\n\n", "class Foo {}", SourceFormatting.FORMATTED);
+    assertEquals("package com.example;\n\n/* cached */ class Foo {}\n", source.format(cache));
+  }
+
+  @Test
+  public void testUnformattedSourcePopulatesCache() {
+    FormattedSourceCache cache = new FormattedSourceCache(temporaryFolder.getRoot());
+    UnformattedSource source = new UnformattedSource(
+        "package com.example;\n\n", "class Foo {int bar;}", SourceFormatting.FORMATTED);
+    String formatted = source.format(cache);
+    assertEquals(source.format(), formatted);
+    assertEquals(
+        formatted.substring("package com.example;\n\n".length()),
+        cache.get("class Foo {int bar;}"));
+  }
+}
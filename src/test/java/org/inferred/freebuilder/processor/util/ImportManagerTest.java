@@ -20,6 +20,7 @@ import static org.inferred.freebuilder.processor.util.ClassTypeImpl.newNestedCla
 import static org.inferred.freebuilder.processor.util.ClassTypeImpl.newTopLevelClass;
 import static org.junit.Assert.assertEquals;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.reflect.TypeToken;
 
 import org.inferred.freebuilder.processor.util.ClassTypeImpl.ClassElementImpl;
@@ -158,6 +159,31 @@ public class ImportManagerTest {
     assertThat(manager.getClassImports()).containsExactly("java.util.Map");
   }
 
+  @Test
+  public void testPackageImports() {
+    ImportManager.PackageImports packageImports = new ImportManager.PackageImports(ImmutableList.of(
+        QualifiedName.of("org.example", "List"), QualifiedName.of("org.example", "Foo")));
+    ImportManager manager = new ImportManager.Builder(packageImports).build();
+    assertEquals("List", manager.shorten(QualifiedName.of("org.example", "List")));
+    assertEquals("Foo", manager.shorten(QualifiedName.of("org.example", "Foo")));
+    assertEquals("java.util.List", manager.shorten(QualifiedName.of("java.util", "List")));
+    assertThat(manager.getClassImports()).isEmpty();
+  }
+
+  @Test
+  public void testPackageImports_shadowedByNestedClass() {
+    ImportManager.PackageImports packageImports = new ImportManager.PackageImports(ImmutableList.of(
+        QualifiedName.of("org.example", "List"), QualifiedName.of("org.example", "Foo")));
+    ImportManager manager = new ImportManager.Builder(packageImports)
+        .addImplicitImport(QualifiedName.of("org.example", "Bar"))
+        .addImplicitImport(QualifiedName.of("org.example", "Bar", "List"))
+        .build();
+    assertEquals("org.example.List", manager.shorten(QualifiedName.of("org.example", "List")));
+    assertEquals("Foo", manager.shorten(QualifiedName.of("org.example", "Foo")));
+    assertEquals("Bar.List", manager.shorten(QualifiedName.of("org.example", "Bar", "List")));
+    assertThat(manager.getClassImports()).isEmpty();
+  }
+
   private static class OuterClass<T> {
     private class InnerClass { }
   }
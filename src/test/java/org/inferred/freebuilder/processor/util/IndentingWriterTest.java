@@ -0,0 +1,235 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.processor.util;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.base.Joiner;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+/** Tests for {@link IndentingWriter}. */
+@RunWith(JUnit4.class)
+public class IndentingWriterTest {
+
+  @Test
+  public void testIndentsByBraceDepth() throws IOException {
+    assertEquals(lines(
+        "class Foo {",
+        "  void bar() {",
+        "    if (baz) {",
+        "      return;",
+        "    } else {",
+        "      qux();",
+        "    }",
+        "  }",
+        "}"),
+        indent(false,
+            "class Foo {",
+            "void bar() {",
+            "      if (baz) {",
+            "return;",
+            "} else {",
+            "  qux();",
+            "  }",
+            "   }",
+            "}"));
+  }
+
+  @Test
+  public void testPreservesBlankLines() throws IOException {
+    assertEquals(lines(
+        "class Foo {",
+        "",
+        "  int bar;",
+        "}"),
+        indent(false,
+            "class Foo {",
+            "   ",
+            "int bar;",
+            "}"));
+  }
+
+  @Test
+  public void testIndentsContinuationLines() throws IOException {
+    assertEquals(lines(
+        "class Foo {",
+        "  int bar = 1",
+        "      + 2",
+        "      + 3;",
+        "  int baz;",
+        "}"),
+        indent(false,
+            "class Foo {",
+            "int bar = 1",
+            "+ 2",
+            "  + 3;",
+            "int baz;",
+            "}"));
+  }
+
+  @Test
+  public void testIndentsArgumentLists() throws IOException {
+    assertEquals(lines(
+        "class Foo {",
+        "  Object bar = baz(",
+        "      1,",
+        "      2);",
+        "  int qux;",
+        "}"),
+        indent(false,
+            "class Foo {",
+            "Object bar = baz(",
+            "1,",
+            "2);",
+            "int qux;",
+            "}"));
+  }
+
+  @Test
+  public void testEnumConstantsAreNotContinuationLines() throws IOException {
+    assertEquals(lines(
+        "enum Foo {",
+        "  BAR,",
+        "  BAZ,",
+        "  ;",
+        "}"),
+        indent(false,
+            "enum Foo {",
+            "BAR,",
+            "BAZ,",
+            ";",
+            "}"));
+  }
+
+  @Test
+  public void testAnnotationsAreNotContinuationLines() throws IOException {
+    assertEquals(lines(
+        "@Generated(\"Foo\")",
+        "class Foo {",
+        "  @Override",
+        "  public String toString() {",
+        "    return \"Foo\";",
+        "  }",
+        "}"),
+        indent(false,
+            "@Generated(\"Foo\")",
+            "class Foo {",
+            "@Override",
+            "public String toString() {",
+            "return \"Foo\";",
+            "}",
+            "}"));
+  }
+
+  @Test
+  public void testIgnoresBracesInLiteralsAndComments() throws IOException {
+    assertEquals(lines(
+        "class Foo {",
+        "  String bar = \"{\\\"{\";",
+        "  char baz = '{';",
+        "  // {",
+        "  /* { */",
+        "  int qux;",
+        "}"),
+        indent(false,
+            "class Foo {",
+            "String bar = \"{\\\"{\";",
+            "char baz = '{';",
+            "// {",
+            "/* { */",
+            "int qux;",
+            "}"));
+  }
+
+  @Test
+  public void testAlignsBlockComments() throws IOException {
+    assertEquals(lines(
+        "class Foo {",
+        "  /**",
+        "   * Bar {",
+        "   */",
+        "  int bar;",
+        "}"),
+        indent(false,
+            "class Foo {",
+            "/**",
+            "* Bar {",
+            " */",
+            "int bar;",
+            "}"));
+  }
+
+  @Test
+  public void testSkipsJavadoc() throws IOException {
+    assertEquals(lines(
+        "class Foo {",
+        "  int bar;",
+        "  /* Baz */",
+        "  int baz;",
+        "  int qux;",
+        "}"),
+        indent(true,
+            "/**",
+            " * Foo",
+            " */",
+            "class Foo {",
+            "/** Bar */",
+            "int bar;",
+            "/* Baz */",
+            "int baz;",
+            "/**",
+            " * Qux",
+            " */",
+            "int qux;",
+            "}"));
+  }
+
+  @Test
+  public void testWritesUnterminatedFinalLine() throws IOException {
+    StringWriter out = new StringWriter();
+    IndentingWriter writer = new IndentingWriter(out, false);
+    writer.write("class Foo {\n  int bar;\n}");
+    writer.close();
+    assertEquals("class Foo {\n  int bar;\n}", out.toString());
+  }
+
+  @Test
+  public void testAppendsCharSequences() throws IOException {
+    StringWriter out = new StringWriter();
+    IndentingWriter writer = new IndentingWriter(out, false);
+    writer.append(new StringBuilder("class Foo {\nint bar;\n")).append("xx}xx", 2, 3);
+    writer.finish();
+    assertEquals("class Foo {\n  int bar;\n}", out.toString());
+  }
+
+  private static String indent(boolean skipJavadoc, String... lines) throws IOException {
+    StringWriter out = new StringWriter();
+    IndentingWriter writer = new IndentingWriter(out, skipJavadoc);
+    writer.write(lines(lines));
+    writer.close();
+    return out.toString();
+  }
+
+  private static String lines(String... lines) {
+    return Joiner.on('\n').join(lines) + "\n";
+  }
+}
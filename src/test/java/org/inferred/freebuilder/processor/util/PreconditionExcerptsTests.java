@@ -3,6 +3,8 @@ package org.inferred.freebuilder.processor.util;
 import static org.inferred.freebuilder.processor.util.feature.SourceLevel.JAVA_7;
 import static org.junit.Assert.assertEquals;
 
+import com.google.common.base.Joiner;
+
 import org.inferred.freebuilder.processor.util.feature.GuavaLibrary;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -77,7 +79,7 @@ public class PreconditionExcerptsTests {
         .add(PreconditionExcerpts.checkArgument(
             "foo > 0", "foo must be positive, but got %s", "foo"))
         .toString();
-    assertEquals("Preconditions.checkArgument(foo > 0, "
+    assertEquals("checkArgument(foo > 0, "
         + "\"foo must be positive, but got %s\", foo);\n", source);
   }
 
@@ -87,7 +89,7 @@ public class PreconditionExcerptsTests {
         .add(PreconditionExcerpts.checkArgument(
             "foo > bar", "foo must be greater than bar, but got %s <= %s", "foo", "bar"))
         .toString();
-    assertEquals("Preconditions.checkArgument(foo > bar, "
+    assertEquals("checkArgument(foo > bar, "
         + "\"foo must be greater than bar, but got %s <= %s\", foo, bar);\n", source);
   }
 
@@ -126,7 +128,7 @@ public class PreconditionExcerptsTests {
         .add(PreconditionExcerpts.checkArgument(
             "foo.length() <= 80", "foo should not be more than 80 characters, but got:\n%s", "foo"))
         .toString();
-    assertEquals("Preconditions.checkArgument(foo.length() <= 80, "
+    assertEquals("checkArgument(foo.length() <= 80, "
         + "\"foo should not be more than 80 characters, but got:\\n%s\", foo);\n", source);
   }
 
@@ -144,9 +146,7 @@ public class PreconditionExcerptsTests {
     String source = SourceStringBuilder.simple()
         .add(PreconditionExcerpts.checkArgument("condition", "message about %s", "foo"))
         .toString();
-    assertEquals(
-        "if (!condition) {\n  throw new IllegalArgumentException(\"message about \" + foo);\n}\n",
-        source);
+    assertEquals("checkArgument(condition, \"message about %s\", foo);\n", source);
   }
 
   @Test
@@ -154,9 +154,7 @@ public class PreconditionExcerptsTests {
     String source = SourceStringBuilder.simple()
         .add(PreconditionExcerpts.checkArgument("condition", "bar %s baz", "foo"))
         .toString();
-    assertEquals(
-        "if (!condition) {\n  throw new IllegalArgumentException(\"bar \" + foo + \" baz\");\n}\n",
-        source);
+    assertEquals("checkArgument(condition, \"bar %s baz\", foo);\n", source);
   }
 
   @Test
@@ -164,9 +162,7 @@ public class PreconditionExcerptsTests {
     String source = SourceStringBuilder.simple()
         .add(PreconditionExcerpts.checkArgument("condition", "%s is wrong", "foo"))
         .toString();
-    assertEquals(
-        "if (!condition) {\n  throw new IllegalArgumentException(foo + \" is wrong\");\n}\n",
-        source);
+    assertEquals("checkArgument(condition, \"%s is wrong\", foo);\n", source);
   }
 
   @Test
@@ -174,10 +170,7 @@ public class PreconditionExcerptsTests {
     String source = SourceStringBuilder.simple()
         .add(PreconditionExcerpts.checkArgument("condition", "a %s c %s e", "b", "d"))
         .toString();
-    assertEquals(
-        "if (!condition) {\n  throw new IllegalArgumentException("
-            + "\"a \" + b + \" c \" + d + \" e\");\n}\n",
-        source);
+    assertEquals("checkArgument(condition, \"a %s c %s e\", b, d);\n", source);
   }
 
   @Test
@@ -274,4 +267,62 @@ public class PreconditionExcerptsTests {
                 + "\"foo must not be zero\");\n}\n",
         source);
   }
+
+  @Test
+  public void testCheckStateHelpers_guava() {
+    SourceBuilder code = SourceStringBuilder.simple(GuavaLibrary.AVAILABLE);
+    for (StaticExcerpt helper : PreconditionExcerpts.checkStateHelpers(1)) {
+      code.add(helper);
+    }
+    assertEquals("\n"
+        + "private static void checkState(boolean expression, String template, Object arg1) {\n"
+        + "  if (!expression) {\n"
+        + "    Preconditions.checkState(false, template, arg1);\n"
+        + "  }\n"
+        + "}\n", code.toString());
+  }
+
+  @Test
+  public void testCheckStateHelpers_noArgs() {
+    assertEquals(0, PreconditionExcerpts.checkStateHelpers(0).size());
+  }
+
+  @Test
+  public void testCheckStateHelpers_j6() {
+    SourceBuilder code = SourceStringBuilder.simple();
+    for (StaticExcerpt helper : PreconditionExcerpts.checkStateHelpers(2)) {
+      code.add(helper);
+    }
+    assertEquals(Joiner.on('\n').join(
+        "",
+        "private static void checkState("
+            + "boolean expression, String template, Object arg1, Object arg2) {",
+        "  if (!expression) {",
+        "    throw new IllegalStateException(formatMessage(template, arg1, arg2));",
+        "  }",
+        "}",
+        "",
+        "private static String formatMessage(String template, Object... args) {",
+        "  StringBuilder message = new StringBuilder(template.length() + 16 * args.length);",
+        "  int templateStart = 0;",
+        "  int i = 0;",
+        "  while (i < args.length) {",
+        "    int placeholderStart = template.indexOf(\"%s\", templateStart);",
+        "    if (placeholderStart == -1) {",
+        "      break;",
+        "    }",
+        "    message.append(template, templateStart, placeholderStart).append(args[i++]);",
+        "    templateStart = placeholderStart + 2;",
+        "  }",
+        "  message.append(template, templateStart, template.length());",
+        "  if (i < args.length) {",
+        "    message.append(\" [\").append(args[i++]);",
+        "    while (i < args.length) {",
+        "      message.append(\", \").append(args[i++]);",
+        "    }",
+        "    message.append(']');",
+        "  }",
+        "  return message.toString();",
+        "}\n"), code.toString());
+  }
 }
@@ -32,6 +32,7 @@ import org.mockito.runners.MockitoJUnitRunner;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.MissingFormatArgumentException;
 import java.util.concurrent.atomic.AtomicLong;
 
 import javax.lang.model.element.AnnotationMirror;
@@ -175,6 +176,47 @@ public class SourceStringBuilderTest {
     assertThat(builder.toString()).isEqualTo("Foo bar = null;\n");
   }
 
+  @Test
+  public void testAddLine_nestedExcerpts() {
+    builder.addLine("%s;", Excerpts.add("%s = %s", Excerpts.add("%s x", int.class), 1));
+    assertThat(builder.toString()).isEqualTo("int x = 1;\n");
+  }
+
+  @Test
+  public void testAddLine_explicitArgumentIndices() {
+    builder.addLine("%2$s %1$s %2$s %s", java.util.List.class, java.awt.List.class);
+    assertThat(shortener.getClassImports()).containsExactly("java.util.List");
+    assertThat(builder.toString()).isEqualTo(
+        "java.awt.List List java.awt.List List\n");
+  }
+
+  @Test
+  public void testAddLine_unusedArgumentsAreStillSubstituted() {
+    builder.addLine("// %s", "Foo", AtomicLong.class);
+    assertThat(shortener.getClassImports())
+        .containsExactly("java.util.concurrent.atomic.AtomicLong");
+    assertThat(builder.toString()).isEqualTo("// Foo\n");
+  }
+
+  @Test
+  public void testAddLine_literalSpecifiers() {
+    builder.addLine("// 100%% %s%n", "Foo");
+    assertThat(builder.toString()).isEqualTo("// 100% Foo" + String.format("%n") + "\n");
+  }
+
+  @Test
+  public void testAddLine_specifiersOnlyUnderstoodByFormatter() {
+    builder.addLine("// %5s|%-4d|%x", "Foo", 7, 255);
+    assertThat(builder.toString()).isEqualTo("//   Foo|7   |ff\n");
+  }
+
+  @Test
+  public void testAddLine_missingArgument() {
+    thrown.expect(MissingFormatArgumentException.class);
+    thrown.expectMessage("%2$s");
+    builder.addLine("%s %2$s", "Foo");
+  }
+
   @Test
   public void testAddLine_emptyAnnotation() {
     testAnnotation("@MyAnnotation", "@interface MyAnnotation { }");
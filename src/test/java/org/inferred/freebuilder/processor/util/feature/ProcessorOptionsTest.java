@@ -0,0 +1,113 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.processor.util.feature;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.Collections;
+
+import javax.annotation.processing.Messager;
+import javax.tools.Diagnostic.Kind;
+
+/** Tests for {@link ProcessorOptions} and {@link ProcessorOption}. */
+@RunWith(JUnit4.class)
+public class ProcessorOptionsTest {
+
+  private static final ProcessorOption<Boolean> FLAG = ProcessorOption.flag("test.flag");
+  private static final ProcessorOption<Optional<String>> VALUE =
+      ProcessorOption.value("test.value", "example");
+
+  private final Messager messager = mock(Messager.class);
+
+  @Test
+  public void testFlag_absent() {
+    assertFalse(ProcessorOptions.NONE.get(FLAG));
+  }
+
+  @Test
+  public void testFlag_withoutValue() {
+    assertTrue(new ProcessorOptions(Collections.<String, String>singletonMap("test.flag", null))
+        .get(FLAG));
+  }
+
+  @Test
+  public void testFlag_true() {
+    assertTrue(new ProcessorOptions(ImmutableMap.of("test.flag", "True")).get(FLAG));
+  }
+
+  @Test
+  public void testFlag_false() {
+    assertFalse(new ProcessorOptions(ImmutableMap.of("test.flag", "false")).get(FLAG));
+  }
+
+  @Test
+  public void testFlag_invalid() {
+    ProcessorOptions options = new ProcessorOptions(ImmutableMap.of("test.flag", "yes"));
+    assertFalse(options.get(FLAG));
+    options.reportInvalidValues(ImmutableList.of(FLAG), messager);
+    verify(messager).printMessage(
+        Kind.WARNING, "Ignoring -Atest.flag=yes: expected true or false");
+  }
+
+  @Test
+  public void testValue_absent() {
+    assertEquals(Optional.absent(), ProcessorOptions.NONE.get(VALUE));
+  }
+
+  @Test
+  public void testValue_present() {
+    assertEquals(
+        Optional.of("dir"),
+        new ProcessorOptions(ImmutableMap.of("test.value", "dir")).get(VALUE));
+  }
+
+  @Test
+  public void testValue_withoutValue() {
+    ProcessorOptions options =
+        new ProcessorOptions(Collections.<String, String>singletonMap("test.value", null));
+    assertEquals(Optional.absent(), options.get(VALUE));
+    options.reportInvalidValues(ImmutableList.of(VALUE), messager);
+    verify(messager).printMessage(
+        Kind.WARNING, "Ignoring -Atest.value: needs a value, e.g. -Atest.value=example");
+  }
+
+  @Test
+  public void testReportInvalidValues_validValues() {
+    new ProcessorOptions(ImmutableMap.of("test.flag", "true", "test.value", "dir"))
+        .reportInvalidValues(ImmutableList.of(FLAG, VALUE), messager);
+    verifyZeroInteractions(messager);
+  }
+
+  @Test
+  public void testReportInvalidValues_unsupportedOptionsIgnored() {
+    new ProcessorOptions(ImmutableMap.of("test.flag", "yes"))
+        .reportInvalidValues(ImmutableList.of(VALUE), messager);
+    verifyZeroInteractions(messager);
+  }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.processor.util.testing;
+
+import static org.junit.Assume.assumeTrue;
+
+import com.google.common.io.ByteStreams;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Allocation assertions for code run by {@link BehaviorTester}.
+ *
+ * <p>Each operation is run repeatedly on the current thread, in rounds of
+ * {@value #CALLS_PER_ROUND} calls, until it meets its budget or the JIT has had ample time to
+ * compile it. The steady-state cost is the smallest number of bytes allocated per call in any
+ * round, as reported by HotSpot's per-thread allocation counter. Add these methods to a test with
+ * {@link TestBuilder#addStaticImport(Class, String)}:
+ *
+ * <blockquote><code><pre>
+ * new {@link TestBuilder}()
+ *     .addStaticImport(Allocations.class, "assertAllocationFree")
+ *     .addLine("DataType value = new DataType.Builder().setAge(1000).build();")
+ *     .addLine("assertAllocationFree(() -&gt; value.hashCode());")
+ *     .build()
+ * </pre></code></blockquote>
+ *
+ * <p>Tests are skipped on JVMs that do not support per-thread allocation counting.
+ */
+public class Allocations {
+
+  private static final int CALLS_PER_ROUND = 10000;
+  private static final int MIN_ROUNDS = 50;
+  private static final long MAX_WARMUP_NANOS = 3L * 1000 * 1000 * 1000;
+  private static final int ATTEMPTS = 3;
+
+  /** Fails if {@code operation} allocates any memory once warmed up. */
+  public static void assertAllocationFree(IntSupplier operation) {
+    assertAllocatesAtMost(0, operation);
+  }
+
+  /**
+   * Fails if {@code operation} allocates more than {@code maxBytes} per call once warmed up. The
+   * result is consumed as a primitive, so allocations inside the operation that do not escape it
+   * may be optimized away.
+   */
+  public static void assertAllocatesAtMost(long maxBytes, IntSupplier operation) {
+    checkBudget(bytesPerCall(IntLoop.class, operation, maxBytes), maxBytes);
+  }
+
+  /**
+   * Fails if {@code operation} allocates more than {@code maxBytes} per call once warmed up. The
+   * object returned by the operation escapes, so it counts towards the budget.
+   */
+  public static void assertAllocatesAtMost(long maxBytes, Supplier<?> operation) {
+    checkBudget(bytesPerCall(ObjectLoop.class, operation, maxBytes), maxBytes);
+  }
+
+  /**
+   * Measures {@code operation} with up to {@value #ATTEMPTS} fresh copies of {@code loopType}.
+   *
+   * <p>The JIT may compile the first loop before the operation's own profile has matured, and
+   * then fail to inline it; a later copy is compiled with the full profile available.
+   */
+  private static <T> long bytesPerCall(
+      Class<? extends Loop<T>> loopType, T operation, long maxBytes) {
+    com.sun.management.ThreadMXBean threads = allocationCounter();
+    long best = Long.MAX_VALUE;
+    for (int attempt = 0; attempt < ATTEMPTS && best > maxBytes; ++attempt) {
+      Loop<T> loop = newLoop(loopType);
+      best = Math.min(best, loop.bytesPerCall(threads, operation, maxBytes));
+    }
+    return best;
+  }
+
+  /**
+   * A measurement loop. Public only so that {@link #newLoop} can load a copy of each
+   * implementation in its own class loader.
+   */
+  public interface Loop<T> {
+    /**
+     * Returns the fewest bytes allocated per call to {@code operation} in any round, stopping
+     * early once that is no more than {@code maxBytes}.
+     */
+    long bytesPerCall(com.sun.management.ThreadMXBean threads, T operation, long maxBytes);
+  }
+
+  /** Measures an {@link IntSupplier}. */
+  public static class IntLoop implements Loop<IntSupplier> {
+    private static volatile int sink;
+
+    @Override
+    public long bytesPerCall(
+        com.sun.management.ThreadMXBean threads, IntSupplier operation, long maxBytes) {
+      long best = Long.MAX_VALUE;
+      long deadline = System.nanoTime() + MAX_WARMUP_NANOS;
+      for (int round = 0; best > maxBytes && (round < MIN_ROUNDS || System.nanoTime() < deadline);
+          ++round) {
+        long before = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        int sum = 0;
+        for (int i = 0; i < CALLS_PER_ROUND; ++i) {
+          sum += operation.getAsInt();
+        }
+        sink = sum;
+        long after = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        best = Math.min(best, (after - before) / CALLS_PER_ROUND);
+      }
+      return best;
+    }
+  }
+
+  /** Measures a {@link Supplier}, letting each result escape. */
+  public static class ObjectLoop implements Loop<Supplier<?>> {
+    private static volatile Object sink;
+
+    @Override
+    public long bytesPerCall(
+        com.sun.management.ThreadMXBean threads, Supplier<?> operation, long maxBytes) {
+      long best = Long.MAX_VALUE;
+      long deadline = System.nanoTime() + MAX_WARMUP_NANOS;
+      for (int round = 0; best > maxBytes && (round < MIN_ROUNDS || System.nanoTime() < deadline);
+          ++round) {
+        long before = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        for (int i = 0; i < CALLS_PER_ROUND; ++i) {
+          sink = operation.get();
+        }
+        long after = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        best = Math.min(best, (after - before) / CALLS_PER_ROUND);
+      }
+      sink = null;
+      return best;
+    }
+  }
+
+  /**
+   * Returns a new instance of {@code loopType}, loaded in a fresh class loader.
+   *
+   * <p>The JIT profiles each loaded class separately, so this stops operations measured by
+   * earlier tests polluting the type profile of the loop's call site. Otherwise the operation may
+   * not be inlined into the loop, and escape analysis could not be relied on.
+   */
+  private static <T> Loop<T> newLoop(Class<? extends Loop<T>> loopType) {
+    try {
+      @SuppressWarnings("unchecked")
+      Loop<T> loop = (Loop<T>) new IsolatingClassLoader(loopType)
+          .loadClass(loopType.getName())
+          .newInstance();
+      return loop;
+    } catch (ReflectiveOperationException e) {
+      throw new AssertionError(e);
+    }
+  }
+
+  /** Loads its own copy of a single class, delegating all others to the class's own loader. */
+  private static class IsolatingClassLoader extends ClassLoader {
+    private final Class<?> isolatedType;
+
+    IsolatingClassLoader(Class<?> isolatedType) {
+      super(isolatedType.getClassLoader());
+      this.isolatedType = isolatedType;
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+      if (!name.equals(isolatedType.getName())) {
+        return super.loadClass(name, resolve);
+      }
+      synchronized (getClassLoadingLock(name)) {
+        Class<?> loaded = findLoadedClass(name);
+        if (loaded == null) {
+          String resource = name.replace('.', '/') + ".class";
+          try (InputStream in = getParent().getResourceAsStream(resource)) {
+            byte[] bytes = ByteStreams.toByteArray(in);
+            loaded = defineClass(name, bytes, 0, bytes.length);
+          } catch (IOException e) {
+            throw new ClassNotFoundException(name, e);
+          }
+        }
+        if (resolve) {
+          resolveClass(loaded);
+        }
+        return loaded;
+      }
+    }
+  }
+
+  private static com.sun.management.ThreadMXBean allocationCounter() {
+    ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    assumeTrue("Per-thread allocation counting not supported by this JVM",
+        threads instanceof com.sun.management.ThreadMXBean);
+    com.sun.management.ThreadMXBean hotspotThreads = (com.sun.management.ThreadMXBean) threads;
+    assumeTrue("Per-thread allocation counting not supported by this JVM",
+        hotspotThreads.isThreadAllocatedMemorySupported());
+    if (!hotspotThreads.isThreadAllocatedMemoryEnabled()) {
+      hotspotThreads.setThreadAllocatedMemoryEnabled(true);
+    }
+    return hotspotThreads;
+  }
+
+  private static void checkBudget(long bytesPerCall, long maxBytes) {
+    if (bytesPerCall > maxBytes) {
+      throw new AssertionError("Expected at most " + maxBytes + " bytes allocated per call, but "
+          + bytesPerCall + " bytes were allocated");
+    }
+  }
+
+  private Allocations() {}
+}
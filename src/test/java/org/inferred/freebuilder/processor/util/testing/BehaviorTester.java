@@ -18,21 +18,41 @@ package org.inferred.freebuilder.processor.util.testing;
 import static com.google.common.base.Predicates.not;
 import static com.google.common.collect.Iterables.filter;
 import static com.google.common.util.concurrent.Uninterruptibles.joinUninterruptibly;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.LinkedHashMultiset;
 import com.google.common.collect.Multiset;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 
 import org.inferred.freebuilder.processor.util.testing.TestBuilder.TestFile;
 import org.inferred.freebuilder.processor.util.testing.TestBuilder.TestSource;
 import org.junit.Test;
 
+import javassist.bytecode.ClassFile;
+import javassist.bytecode.CodeAttribute;
+import javassist.bytecode.Descriptor;
+import javassist.bytecode.MethodInfo;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 
 import javax.annotation.processing.Processor;
 import javax.tools.Diagnostic;
@@ -104,14 +124,54 @@ import javax.tools.ToolProvider;
  * </pre></code></blockquote>
  */
 public class BehaviorTester {
+
+  private static final ImmutableList<String> OPTIONS =
+      ImmutableList.of("-Xlint:unchecked", "-Xdiags:verbose");
+
+  /**
+   * Successful compilations, keyed by {@link #compilationKey}, so tests sharing the same sources
+   * and processors only compile them once. Values are softly referenced, so the cache gives way to
+   * the tests' own memory needs.
+   */
+  private static final Cache<HashCode, Compilation> COMPILATIONS =
+      CacheBuilder.newBuilder().softValues().build();
+
   private final List<Processor> processors = new ArrayList<>();
+  /** The cache key of each of {@link #processors}, or null if it was added without one. */
+  private final List<String> processorKeys = new ArrayList<>();
+  private final List<String> options = new ArrayList<>();
   private final List<JavaFileObject> compilationUnits = new ArrayList<>();
   private boolean shouldSetContextClassLoader = false;
   private final Multiset<String> seenNames = LinkedHashMultiset.create();
 
-  /** Adds a {@link Processor} to pass to the compiler when {@link #runTest} is invoked. */
+  /**
+   * Adds a {@link Processor} to pass to the compiler when {@link #runTest} is invoked. Sources
+   * are always compiled afresh with it, as it may record what it sees.
+   */
   public BehaviorTester with(Processor processor) {
     processors.add(processor);
+    processorKeys.add(null);
+    return this;
+  }
+
+  /**
+   * Adds a {@link Processor} to pass to the compiler when {@link #runTest} is invoked, which
+   * generates the same code as any other processor of its class added with an equal
+   * {@code cacheKey}. If every processor has a key, tests compiling the same sources with the
+   * same options share a single compilation of them.
+   */
+  public BehaviorTester with(Processor processor, Object cacheKey) {
+    processors.add(processor);
+    processorKeys.add(processor.getClass().getName() + ":" + cacheKey);
+    return this;
+  }
+
+  /**
+   * Adds an option, e.g. {@code -Afreebuilder.fastEmit}, to pass to the compiler when the
+   * sources are compiled.
+   */
+  public BehaviorTester withOption(String option) {
+    options.add(option);
     return this;
   }
 
@@ -150,9 +210,13 @@ public class BehaviorTester {
   public static class CompilationSubject {
 
     private final List<Diagnostic<? extends JavaFileObject>> diagnostics;
+    private final Map<String, byte[]> classFiles;
 
-    private CompilationSubject(List<Diagnostic<? extends JavaFileObject>> diagnostics) {
+    private CompilationSubject(
+        List<Diagnostic<? extends JavaFileObject>> diagnostics,
+        Map<String, byte[]> classFiles) {
       this.diagnostics = diagnostics;
+      this.classFiles = classFiles;
     }
 
     /**
@@ -174,6 +238,33 @@ public class BehaviorTester {
       }
       return this;
     }
+
+    /**
+     * Returns the bytecode length of each method of the compiled class {@code className}, keyed
+     * by method name and parameter types, e.g. {@code "setName(java.lang.String)"}.
+     */
+    public Map<String, Integer> methodSizes(String className) {
+      byte[] classFile = classFiles.get(className);
+      if (classFile == null) {
+        throw new AssertionError("No class " + className + " was compiled");
+      }
+      ClassFile parsed;
+      try {
+        parsed = new ClassFile(new DataInputStream(new ByteArrayInputStream(classFile)));
+      } catch (IOException e) {
+        throw new AssertionError("Could not parse class file for " + className, e);
+      }
+      Map<String, Integer> sizes = new LinkedHashMap<>();
+      for (Object method : parsed.getMethods()) {
+        MethodInfo methodInfo = (MethodInfo) method;
+        CodeAttribute code = methodInfo.getCodeAttribute();
+        if (code != null) {
+          String descriptor = Descriptor.toString(methodInfo.getDescriptor());
+          sizes.put(methodInfo.getName() + descriptor, code.getCodeLength());
+        }
+      }
+      return sizes;
+    }
   }
 
   /**
@@ -183,11 +274,8 @@ public class BehaviorTester {
    */
   public CompilationSubject compiles() {
     System.gc();
-    try (TempJavaFileManager fileManager = new TempJavaFileManager()) {
-      List<Diagnostic<? extends JavaFileObject>> diagnostics =
-          compile(fileManager, compilationUnits, processors);
-      return new CompilationSubject(diagnostics);
-    }
+    Compilation compilation = compile(compilationUnits, processors, processorKeys, options);
+    return new CompilationSubject(compilation.diagnostics, compilation.classFiles);
   }
 
   /**
@@ -196,10 +284,23 @@ public class BehaviorTester {
    * <p>Runs the compiler with the provided sources and processors. Loads the generated code into a
    * classloader. Finds all {@link Test @Test}-annotated methods (e.g. those built by {@link
    * TestBuilder}) and invokes them. Aggregates all exceptions, and propagates them to the caller.
+   *
+   * <p>The tests are compiled separately, against the rest of the code, so that tests sharing
+   * the same sources and processors can share the cached compilation of them.
    */
   public void runTest() {
-    try (TempJavaFileManager fileManager = new TempJavaFileManager()) {
-      compile(fileManager, compilationUnits, processors);
+    List<JavaFileObject> sources = new ArrayList<>();
+    List<JavaFileObject> tests = new ArrayList<>();
+    for (JavaFileObject compilationUnit : compilationUnits) {
+      (compilationUnit instanceof TestFile ? tests : sources).add(compilationUnit);
+    }
+    Map<String, byte[]> classpath = sources.isEmpty()
+        ? ImmutableMap.<String, byte[]>of()
+        : compile(sources, processors, processorKeys, options).classFiles;
+    try (TempJavaFileManager fileManager = new TempJavaFileManager(classpath)) {
+      if (!tests.isEmpty()) {
+        compile(fileManager, tests, ImmutableList.<Processor>of(), "-proc:none");
+      }
       final ClassLoader classLoader = fileManager.getClassLoader(StandardLocation.CLASS_OUTPUT);
       final List<Throwable> exceptions = new ArrayList<Throwable>();
       if (shouldSetContextClassLoader) {
@@ -249,16 +350,52 @@ public class BehaviorTester {
     }
   }
 
+  /**
+   * Compiles {@code compilationUnits} with {@code processors} and {@code options}, reusing an
+   * earlier compilation of the same sources if every processor has a cache key.
+   */
+  private static Compilation compile(
+      final List<JavaFileObject> compilationUnits,
+      final List<Processor> processors,
+      List<String> processorKeys,
+      final List<String> options) {
+    HashCode key = compilationKey(compilationUnits, processorKeys, options);
+    if (key == null) {
+      return compileUncached(compilationUnits, processors, options);
+    }
+    try {
+      return COMPILATIONS.get(key, new Callable<Compilation>() {
+        @Override
+        public Compilation call() {
+          return compileUncached(compilationUnits, processors, options);
+        }
+      });
+    } catch (UncheckedExecutionException | ExecutionException e) {
+      Throwables.propagateIfPossible(e.getCause());
+      throw new AssertionError("Unexpected failure", e.getCause());
+    }
+  }
+
+  private static Compilation compileUncached(
+      List<JavaFileObject> compilationUnits, List<Processor> processors, List<String> options) {
+    try (TempJavaFileManager fileManager = new TempJavaFileManager()) {
+      List<Diagnostic<? extends JavaFileObject>> diagnostics = compile(
+          fileManager, compilationUnits, processors, options.toArray(new String[options.size()]));
+      return new Compilation(diagnostics, fileManager.getClassFiles());
+    }
+  }
+
   private static ImmutableList<Diagnostic<? extends JavaFileObject>> compile(
       JavaFileManager fileManager,
       Iterable<? extends JavaFileObject> compilationUnits,
-      Iterable<? extends Processor> processors) {
+      Iterable<? extends Processor> processors,
+      String... extraOptions) {
     DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
     CompilationTask task = getCompiler().getTask(
         null,
         fileManager,
         diagnostics,
-        ImmutableList.of("-Xlint:unchecked", "-Xdiags:verbose"),
+        ImmutableList.<String>builder().addAll(OPTIONS).add(extraOptions).build(),
         null,
         compilationUnits);
     task.setProcessors(processors);
@@ -273,6 +410,45 @@ public class BehaviorTester {
         .toList();
   }
 
+  /**
+   * Returns a hash of the compiler options, processors and sources, or null if a processor has
+   * no cache key.
+   */
+  private static HashCode compilationKey(
+      List<JavaFileObject> compilationUnits, List<String> processorKeys, List<String> options) {
+    Hasher hasher = Hashing.sha256().newHasher();
+    hasher.putString(OPTIONS.toString(), UTF_8).putString(options.toString(), UTF_8);
+    for (String processorKey : processorKeys) {
+      if (processorKey == null) {
+        return null;
+      }
+      hasher.putString(processorKey, UTF_8).putByte((byte) 0);
+    }
+    for (JavaFileObject compilationUnit : compilationUnits) {
+      try {
+        hasher.putByte((byte) 1)
+            .putString(compilationUnit.toUri().toString(), UTF_8)
+            .putByte((byte) 0)
+            .putString(compilationUnit.getCharContent(true), UTF_8);
+      } catch (IOException e) {
+        return null;
+      }
+    }
+    return hasher.hash();
+  }
+
+  /** The diagnostics and class files of a successful compilation. */
+  private static class Compilation {
+    final List<Diagnostic<? extends JavaFileObject>> diagnostics;
+    final Map<String, byte[]> classFiles;
+
+    Compilation(
+        List<Diagnostic<? extends JavaFileObject>> diagnostics, Map<String, byte[]> classFiles) {
+      this.diagnostics = diagnostics;
+      this.classFiles = classFiles;
+    }
+  }
+
   private static JavaCompiler getCompiler() {
     return ToolProvider.getSystemJavaCompiler();
   }
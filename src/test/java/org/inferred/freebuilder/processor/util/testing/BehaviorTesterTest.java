@@ -31,6 +31,7 @@ import java.io.Writer;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.annotation.processing.AbstractProcessor;
 import javax.annotation.processing.RoundEnvironment;
@@ -133,6 +134,82 @@ public class BehaviorTesterTest {
     }
   }
 
+  @Test
+  public void compilationSharedBetweenEquivalentProcessors() {
+    CountingProcessor.rounds.set(0);
+    for (int i = 0; i < 3; i++) {
+      new BehaviorTester()
+          .with(new CountingProcessor(), "equivalent")
+          .with(new SourceBuilder()
+              .addLine("package com.example.shared;")
+              .addLine("public class MyClass { }")
+              .build())
+          .with(new TestBuilder()
+              .addLine("new com.example.shared.MyClass();")
+              .build())
+          .runTest();
+    }
+    assertEquals(2, CountingProcessor.rounds.get());  // One compilation, with two rounds
+  }
+
+  @Test
+  public void compilationNotSharedBetweenOtherProcessors() {
+    CountingProcessor.rounds.set(0);
+    for (int i = 0; i < 3; i++) {
+      new BehaviorTester()
+          .with(new CountingProcessor(), "processor " + i)
+          .with(new SourceBuilder()
+              .addLine("package com.example.unshared;")
+              .addLine("public class MyClass { }")
+              .build())
+          .compiles();
+    }
+    assertEquals(6, CountingProcessor.rounds.get());
+  }
+
+  @Test
+  public void compilationNotSharedWithoutCacheKey() {
+    final AtomicInteger rounds = new AtomicInteger();
+    for (int i = 0; i < 3; i++) {
+      new BehaviorTester()
+          .with(new TestProcessor() {
+            @Override
+            public Set<String> getSupportedAnnotationTypes() {
+              return ImmutableSet.of("*");
+            }
+
+            @Override
+            public boolean process(
+                Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+              rounds.incrementAndGet();
+              return false;
+            }
+          })
+          .with(new SourceBuilder()
+              .addLine("package com.example.uncached;")
+              .addLine("public class MyClass { }")
+              .build())
+          .compiles();
+    }
+    assertEquals(6, rounds.get());
+  }
+
+  /** Counts the rounds run by all instances. */
+  private static class CountingProcessor extends TestProcessor {
+    static final AtomicInteger rounds = new AtomicInteger();
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+      return ImmutableSet.of("*");
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+      rounds.incrementAndGet();
+      return false;
+    }
+  }
+
   private abstract static class TestProcessor extends AbstractProcessor {
     @Override public Set<String> getSupportedAnnotationTypes() {
       return ImmutableSet.of("com.example.TestAnnotation");
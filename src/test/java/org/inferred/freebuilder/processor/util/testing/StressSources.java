@@ -0,0 +1,177 @@
+/*
+ * Copyright 2016 Google Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.inferred.freebuilder.processor.util.testing;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+
+import org.inferred.freebuilder.FreeBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+import javax.tools.JavaFileObject;
+
+/**
+ * Synthetic {@link FreeBuilder} sources, scaled along one dimension at a time, for stressing the
+ * processor. Every type is in package {@value #PACKAGE}, and compiles with Guava on the
+ * classpath.
+ *
+ * <pre>
+ * new {@link BehaviorTester}()
+ *     .with(new Processor(), "detected features")
+ *     .with(StressSources.wideType(2000))
+ *     .compiles();
+ * </pre>
+ */
+public class StressSources {
+
+  public static final String PACKAGE = "com.example.stress";
+
+  /**
+   * Returns a type with {@code properties} properties, cycling through scalars, nullable and
+   * optional values, collections and maps.
+   */
+  public static JavaFileObject wideType(int properties) {
+    checkArgument(properties >= 0, "Negative property count %s", properties);
+    SourceBuilder source = new SourceBuilder()
+        .addLine("package %s;", PACKAGE)
+        .addLine("@%s", FreeBuilder.class)
+        .addLine("public abstract class WideType {");
+    for (int i = 0; i < properties; i++) {
+      addProperty(source, i);
+    }
+    return source
+        .addLine("")
+        .addLine("  public static class Builder extends WideType_Builder {}")
+        .addLine("}")
+        .build();
+  }
+
+  /**
+   * Returns a type extending a chain of {@code depth} interfaces. Each interface adds a property,
+   * and redeclares its parent's property, so every level has methods to check for overrides.
+   */
+  public static List<JavaFileObject> deepHierarchy(int depth) {
+    checkArgument(depth >= 1, "Depth %s is not positive", depth);
+    ImmutableList.Builder<JavaFileObject> sources = ImmutableList.builder();
+    for (int i = 0; i < depth; i++) {
+      SourceBuilder source = new SourceBuilder()
+          .addLine("package %s;", PACKAGE)
+          .addLine("public interface Level%s%s {", i, (i == 0) ? "" : " extends Level" + (i - 1));
+      if (i > 0) {
+        source.addLine("  @Override String getP%s();", i - 1);
+      }
+      sources.add(source
+          .addLine("  String getP%s();", i)
+          .addLine("}")
+          .build());
+    }
+    sources.add(new SourceBuilder()
+        .addLine("package %s;", PACKAGE)
+        .addLine("@%s", FreeBuilder.class)
+        .addLine("public interface DeepType extends Level%s {", depth - 1)
+        .addLine("  class Builder extends DeepType_Builder {}")
+        .addLine("}")
+        .build());
+    return sources.build();
+  }
+
+  /**
+   * Returns a class containing {@code count} nested types, each with a few properties, some
+   * referring to their neighbours.
+   */
+  public static JavaFileObject nestedTypes(int count) {
+    checkArgument(count >= 0, "Negative type count %s", count);
+    SourceBuilder source = new SourceBuilder()
+        .addLine("package %s;", PACKAGE)
+        .addLine("public class Outer {");
+    for (int i = 0; i < count; i++) {
+      source.addLine("  @%s", FreeBuilder.class)
+          .addLine("  public interface Nested%s {", i);
+      for (int j = 0; j < 3; j++) {
+        addProperty(source, j);
+      }
+      if (i > 0) {
+        source.addLine("    Nested%s getNeighbour();", i - 1);
+      }
+      source.addLine("    class Builder extends Outer_Nested%s_Builder {}", i)
+          .addLine("  }");
+    }
+    return source
+        .addLine("}")
+        .build();
+  }
+
+  /**
+   * Returns {@code count} top-level types in the same package, each with a few properties, some
+   * referring to their neighbours.
+   */
+  public static List<JavaFileObject> siblingTypes(int count) {
+    checkArgument(count >= 0, "Negative type count %s", count);
+    ImmutableList.Builder<JavaFileObject> sources = ImmutableList.builder();
+    for (int i = 0; i < count; i++) {
+      SourceBuilder source = new SourceBuilder()
+          .addLine("package %s;", PACKAGE)
+          .addLine("@%s", FreeBuilder.class)
+          .addLine("public interface Sibling%s {", i);
+      for (int j = 0; j < 3; j++) {
+        addProperty(source, j);
+      }
+      if (i > 0) {
+        source.addLine("  Sibling%s getNeighbour();", i - 1);
+      }
+      sources.add(source
+          .addLine("  class Builder extends Sibling%s_Builder {}", i)
+          .addLine("}")
+          .build());
+    }
+    return sources.build();
+  }
+
+  /** Adds property {@code index}; the getter is valid in both classes and interfaces. */
+  private static void addProperty(SourceBuilder source, int index) {
+    switch (index % 7) {
+      case 0:
+        source.addLine("  public abstract int getP%s();", index);
+        break;
+      case 1:
+        source.addLine("  public abstract String getP%s();", index);
+        break;
+      case 2:
+        source.addLine("  public abstract %s<String> getP%s();", List.class, index);
+        break;
+      case 3:
+        source.addLine("  @%s public abstract String getP%s();", Nullable.class, index);
+        break;
+      case 4:
+        source.addLine("  public abstract %s<String> getP%s();", Optional.class, index);
+        break;
+      case 5:
+        source.addLine("  public abstract %s<String> getP%s();", Set.class, index);
+        break;
+      default:
+        source.addLine("  public abstract %s<String, Integer> getP%s();", Map.class, index);
+        break;
+    }
+  }
+
+  private StressSources() {}
+}
@@ -15,39 +15,85 @@
  */
 package org.inferred.freebuilder.processor.util.testing;
 
-import static com.google.common.collect.Iterables.getOnlyElement;
-import static com.google.common.io.Files.createTempDir;
+import static com.google.common.collect.Iterables.concat;
 import static javax.tools.ToolProvider.getSystemJavaCompiler;
 
-import com.google.common.base.Throwables;
-import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 
-import java.io.File;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import javax.tools.FileObject;
 import javax.tools.JavaFileManager;
 import javax.tools.JavaFileObject;
 import javax.tools.JavaFileObject.Kind;
+import javax.tools.SimpleJavaFileObject;
 import javax.tools.StandardJavaFileManager;
 import javax.tools.StandardLocation;
 
-/** Implementation of {@link JavaFileManager} that provides its own temporary output storage. */
+/**
+ * Implementation of {@link JavaFileManager} that provides its own temporary output storage, in
+ * memory.
+ *
+ * <p>Opening the platform classes and classpath jars is the most expensive part of setting up a
+ * compilation, so inputs are read through a {@link StandardJavaFileManager} shared by every
+ * instance on the same thread. As the standard file manager is not thread-safe, this is still
+ * safe for tests running in parallel.
+ */
 public class TempJavaFileManager implements JavaFileManager {
-  private final StandardJavaFileManager delegate;
+
+  private static final ThreadLocal<StandardJavaFileManager> SHARED_DELEGATE =
+      new ThreadLocal<StandardJavaFileManager>() {
+        @Override
+        protected StandardJavaFileManager initialValue() {
+          return getSystemJavaCompiler().getStandardFileManager(null, null, null);
+        }
+      };
+
+  private final StandardJavaFileManager delegate = SHARED_DELEGATE.get();
+  private final Map<String, InMemoryFile> classpath = new LinkedHashMap<>();
+  private final Map<URI, InMemoryFile> outputs = new LinkedHashMap<>();
 
   public TempJavaFileManager() {
-    delegate = getSystemJavaCompiler().getStandardFileManager(null, null, null);
-    try {
-      delegate.setLocation(StandardLocation.SOURCE_OUTPUT, ImmutableList.of(createTempDir()));
-      delegate.setLocation(StandardLocation.CLASS_OUTPUT, ImmutableList.of(createTempDir()));
-    } catch (IOException e) {
-      throw new IllegalStateException("Directory rejected by standard file manager", e);
+    this(ImmutableMap.<String, byte[]>of());
+  }
+
+  /**
+   * Returns a file manager that adds {@code classFiles}, keyed by binary name, to the classpath,
+   * e.g. the output of an earlier compilation.
+   */
+  public TempJavaFileManager(Map<String, byte[]> classFiles) {
+    for (Map.Entry<String, byte[]> classFile : classFiles.entrySet()) {
+      InMemoryFile file = new InMemoryFile(
+          StandardLocation.CLASS_PATH, classFile.getKey(), Kind.CLASS, classFile.getValue());
+      classpath.put(classFile.getKey(), file);
     }
   }
 
+  /** Returns the contents of every class file written, keyed by binary name. */
+  public Map<String, byte[]> getClassFiles() {
+    ImmutableMap.Builder<String, byte[]> classFiles = ImmutableMap.builder();
+    for (InMemoryFile file : outputs.values()) {
+      if (file.location == StandardLocation.CLASS_OUTPUT && file.getKind() == Kind.CLASS) {
+        classFiles.put(file.binaryName, file.contents);
+      }
+    }
+    return classFiles.build();
+  }
+
   @Override
   public int isSupportedOption(String option) {
     return delegate.isSupportedOption(option);
@@ -55,22 +101,38 @@ public class TempJavaFileManager implements JavaFileManager {
 
   @Override
   public ClassLoader getClassLoader(Location location) {
+    if (location == StandardLocation.CLASS_OUTPUT) {
+      return new InMemoryClassLoader(getClassFiles(), classpath);
+    }
     return delegate.getClassLoader(location);
   }
 
   @Override
   public boolean isSameFile(FileObject a, FileObject b) {
+    if (a instanceof InMemoryFile || b instanceof InMemoryFile) {
+      return a.toUri().equals(b.toUri());
+    }
     return delegate.isSameFile(a, b);
   }
 
   @Override
   public Iterable<JavaFileObject> list(
       Location location, String packageName, Set<Kind> kinds, boolean recurse) throws IOException {
-    return delegate.list(location, packageName, kinds, recurse);
+    if (isOutput(location)) {
+      return inPackage(outputs.values(), location, packageName, kinds, recurse);
+    }
+    Iterable<JavaFileObject> files = delegate.list(location, packageName, kinds, recurse);
+    if (location == StandardLocation.CLASS_PATH && kinds.contains(Kind.CLASS)) {
+      return concat(files, inPackage(classpath.values(), location, packageName, kinds, recurse));
+    }
+    return files;
   }
 
   @Override
   public String inferBinaryName(Location location, JavaFileObject file) {
+    if (file instanceof InMemoryFile) {
+      return ((InMemoryFile) file).binaryName;
+    }
     return delegate.inferBinaryName(location, file);
   }
 
@@ -81,24 +143,39 @@ public class TempJavaFileManager implements JavaFileManager {
 
   @Override
   public boolean hasLocation(Location location) {
-    return delegate.hasLocation(location);
+    return isOutput(location) || delegate.hasLocation(location);
   }
 
   @Override
   public JavaFileObject getJavaFileForInput(Location location, String className, Kind kind)
       throws IOException {
+    if (isOutput(location)) {
+      return outputs.get(InMemoryFile.uri(location, className, kind));
+    }
+    InMemoryFile classFile = classpath.get(className);
+    if (location == StandardLocation.CLASS_PATH && kind == Kind.CLASS && classFile != null) {
+      return classFile;
+    }
     return delegate.getJavaFileForInput(location, className, kind);
   }
 
   @Override
   public JavaFileObject getJavaFileForOutput(
       Location location, String className, Kind kind, FileObject sibling) throws IOException {
+    if (isOutput(location)) {
+      InMemoryFile file = new InMemoryFile(location, className, kind, new byte[0]);
+      outputs.put(file.toUri(), file);
+      return file;
+    }
     return delegate.getJavaFileForOutput(location, className, kind, sibling);
   }
 
   @Override
   public FileObject getFileForInput(Location location, String packageName, String relativeName)
       throws IOException {
+    if (isOutput(location)) {
+      return outputs.get(InMemoryFile.uri(location, packageName, relativeName));
+    }
     return delegate.getFileForInput(location, packageName, relativeName);
   }
 
@@ -106,33 +183,134 @@ public class TempJavaFileManager implements JavaFileManager {
   public FileObject getFileForOutput(
       Location location, String packageName, String relativeName, FileObject sibling)
       throws IOException {
+    if (isOutput(location)) {
+      InMemoryFile file = new InMemoryFile(location, packageName, relativeName);
+      outputs.put(file.toUri(), file);
+      return file;
+    }
     return delegate.getFileForOutput(location, packageName, relativeName, sibling);
   }
 
   @Override
-  public void flush() throws IOException {
-    delegate.flush();
-  }
+  public void flush() {}
 
+  /** Discards all output. The shared input file manager is left open for reuse. */
   @Override
   public void close() {
-    try {
-      delegate.close();
-    } catch (IOException e) {
-      throw Throwables.propagate(e);
-    } finally {
-      recursiveDelete(getOnlyElement(delegate.getLocation(StandardLocation.SOURCE_OUTPUT)));
-      recursiveDelete(getOnlyElement(delegate.getLocation(StandardLocation.CLASS_OUTPUT)));
+    outputs.clear();
+  }
+
+  private static boolean isOutput(Location location) {
+    return location == StandardLocation.CLASS_OUTPUT
+        || location == StandardLocation.SOURCE_OUTPUT;
+  }
+
+  private static List<JavaFileObject> inPackage(
+      Iterable<InMemoryFile> files,
+      Location location,
+      String packageName,
+      Set<Kind> kinds,
+      boolean recurse) {
+    List<JavaFileObject> result = new ArrayList<>();
+    for (InMemoryFile file : files) {
+      if (file.location == location
+          && kinds.contains(file.getKind())
+          && file.isInPackage(packageName, recurse)) {
+        result.add(file);
+      }
     }
+    return result;
   }
 
-  private static void recursiveDelete(File file) {
-    File[] files = file.listFiles();
-    if (files != null) {
-      for (File each : files) {
-        recursiveDelete(each);
+  /** A class, source or resource file held in memory. */
+  private static class InMemoryFile extends SimpleJavaFileObject {
+
+    final Location location;
+    /** The binary name of the class or source file, or null for a resource. */
+    final String binaryName;
+    final String packageName;
+    byte[] contents;
+
+    InMemoryFile(Location location, String binaryName, Kind kind, byte[] contents) {
+      super(uri(location, binaryName, kind), kind);
+      this.location = location;
+      this.binaryName = binaryName;
+      int lastDot = binaryName.lastIndexOf('.');
+      this.packageName = (lastDot == -1) ? "" : binaryName.substring(0, lastDot);
+      this.contents = contents;
+    }
+
+    InMemoryFile(Location location, String packageName, String relativeName) {
+      super(uri(location, packageName, relativeName), Kind.OTHER);
+      this.location = location;
+      this.binaryName = null;
+      this.packageName = packageName;
+      this.contents = new byte[0];
+    }
+
+    static URI uri(Location location, String binaryName, Kind kind) {
+      return URI.create(
+          "mem:///" + location.getName() + "/" + binaryName.replace('.', '/') + kind.extension);
+    }
+
+    static URI uri(Location location, String packageName, String relativeName) {
+      String directory = packageName.isEmpty() ? "" : packageName.replace('.', '/') + "/";
+      return URI.create("mem:///" + location.getName() + "/" + directory + relativeName);
+    }
+
+    boolean isInPackage(String parent, boolean recurse) {
+      return packageName.equals(parent)
+          || (recurse && (parent.isEmpty() || packageName.startsWith(parent + ".")));
+    }
+
+    @Override
+    public InputStream openInputStream() {
+      return new ByteArrayInputStream(contents);
+    }
+
+    @Override
+    public OutputStream openOutputStream() {
+      return new ByteArrayOutputStream() {
+        @Override
+        public void close() {
+          contents = toByteArray();
+        }
+      };
+    }
+
+    @Override
+    public Writer openWriter() {
+      return new OutputStreamWriter(openOutputStream(), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+      return new String(contents, StandardCharsets.UTF_8);
+    }
+  }
+
+  /** Loads classes from memory, falling back to the test's own class loader. */
+  private static class InMemoryClassLoader extends ClassLoader {
+
+    private final Map<String, byte[]> classFiles;
+    private final Map<String, InMemoryFile> classpath;
+
+    InMemoryClassLoader(Map<String, byte[]> classFiles, Map<String, InMemoryFile> classpath) {
+      super(TempJavaFileManager.class.getClassLoader());
+      this.classFiles = classFiles;
+      this.classpath = classpath;
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+      byte[] bytes = classFiles.get(name);
+      if (bytes == null && classpath.containsKey(name)) {
+        bytes = classpath.get(name).contents;
+      }
+      if (bytes == null) {
+        throw new ClassNotFoundException(name);
       }
+      return defineClass(name, bytes, 0, bytes.length);
     }
-    file.delete();
   }
 }